@@ -23,7 +23,10 @@ CREATE TABLE user_log
     pre_value VARCHAR(255) COMMENT '수정 전 값',
     post_value VARCHAR(255) COMMENT '수정 후 값',
     ip_address VARCHAR(255) COMMENT 'ip',
-    user_agent VARCHAR(255) COMMENT 'user-agent'
+    user_agent VARCHAR(255) COMMENT 'user-agent',
+    # keyset 조회 (created_at DESC, id DESC), InnoDB 보조 인덱스는 PK(id)를 포함하므로 id 정렬도 인덱스로 처리
+    INDEX idx_user_log_user_id_created_at (user_id, created_at),
+    INDEX idx_user_log_message_created_at (message, created_at)
     # CONSTRAINT fk_user_log_user_id FOREIGN KEY (user_id) REFERENCES user (id)
 );
 
@@ -37,15 +40,24 @@ CREATE TABLE link
     created_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '링크 생성일',
     updated_at DATETIME COMMENT '링크 수정일',
     deleted_at DATETIME COMMENT '링크 삭제일',
-    access_count INT UNSIGNED DEFAULT 0 COMMENT '접속 수'
+    access_count INT UNSIGNED DEFAULT 0 COMMENT '접속 수',
+    redirect_type VARCHAR(255) COMMENT '리다이렉트 타입 (NULL: 전역 설정)'
     # CONSTRAINT fk_link_user_id FOREIGN KEY (user_id) REFERENCES user (id)
 );
 
+# link_id 컬럼은 모두 BIGINT (link.shard.enabled=true 이면 link id 는 LinkIdGenerator 의 64bit id)
+CREATE TABLE link_count_checkpoint
+(
+    link_id BIGINT UNSIGNED PRIMARY KEY COMMENT '링크 ID',
+    last_bucket BIGINT NOT NULL COMMENT '마지막으로 access_count 에 반영된 bucket',
+    updated_at DATETIME COMMENT '반영일'
+);
+
 CREATE TABLE link_log
 (
     id INT UNSIGNED AUTO_INCREMENT PRIMARY KEY,
     created_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '로그 생성일',
-    link_id INT UNSIGNED COMMENT '링크 ID',
+    link_id BIGINT UNSIGNED COMMENT '링크 ID',
     user_id INT UNSIGNED NOT NULL COMMENT '생성 회원 ID',
     link_state VARCHAR(255) NOT NULL COMMENT '링크 상태',
     url_path VARCHAR(255) NOT NULL COMMENT '생성 URL path',
@@ -56,14 +68,74 @@ CREATE TABLE link_log
     # CONSTRAINT fk_link_log_link_id FOREIGN KEY (link_id) REFERENCES link (id)
 );
 
+# 일 단위 RANGE partition (LinkAnalyticsPartitionManager 가 p_future 에서 분리 / 보관 기간 지난 partition 삭제)
+# partition key 는 모든 unique key 에 포함되어야 하므로 PK 를 (id, created_at) 로 구성
 CREATE TABLE link_analytics
+(
+    id INT UNSIGNED AUTO_INCREMENT,
+    created_at DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6) COMMENT '접속 일 (삭제 요청 시각과 같은 초의 클릭을 구분하도록 microsecond 단위)',
+    link_id BIGINT UNSIGNED NOT NULL COMMENT '링크 ID',
+    ip_address VARBINARY(16) COMMENT '접속 IP (IPv4 4 byte, IPv6 16 byte)',
+    user_agent_id INT UNSIGNED COMMENT '접속 에이전트 (analytics_dimension.id)',
+    location_id INT UNSIGNED COMMENT '접속 지역 (analytics_dimension.id)',
+    referer_id INT UNSIGNED COMMENT 'referer 링크 (analytics_dimension.id)',
+    weight INT UNSIGNED NOT NULL DEFAULT 1 COMMENT '조회수 샘플링 시 이 row 가 대표하는 클릭 수',
+    PRIMARY KEY (id, created_at),
+    INDEX idx_link_analytics_link_id_created_at (link_id, created_at)
+    # partition 테이블은 foreign key 를 지원하지 않음
+)
+PARTITION BY RANGE (TO_DAYS(created_at))
+(
+    PARTITION p_future VALUES LESS THAN MAXVALUE
+);
+
+CREATE TABLE analytics_dimension
+(
+    id INT UNSIGNED AUTO_INCREMENT PRIMARY KEY,
+    type VARCHAR(32) NOT NULL COMMENT '종류 (USER_AGENT, LOCATION, REFERER)',
+    value VARCHAR(255) NOT NULL COMMENT '값',
+    UNIQUE KEY uk_analytics_dimension_type_value (type, value)
+);
+
+CREATE TABLE link_top_k
+(
+    id INT UNSIGNED AUTO_INCREMENT PRIMARY KEY,
+    link_id BIGINT UNSIGNED NOT NULL COMMENT '링크 ID',
+    day DATE NOT NULL COMMENT '집계 일',
+    type VARCHAR(32) NOT NULL COMMENT '종류 (USER_AGENT, LOCATION, REFERER)',
+    summary TEXT COMMENT 'top-K 요약 (SpaceSaving counter 목록 JSON)',
+    updated_at DATETIME COMMENT '반영일',
+    UNIQUE KEY uk_link_top_k (link_id, day, type)
+);
+
+CREATE TABLE link_analytics_purge
 (
     id INT UNSIGNED AUTO_INCREMENT PRIMARY KEY,
-    created_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '접속 일',
-    link_id INT UNSIGNED NOT NULL COMMENT '링크 ID',
-    ip_address VARCHAR(255) COMMENT '접속 IP',
-    user_agent VARCHAR(255) COMMENT '접속 에이전트',
-    location VARCHAR(255) COMMENT '접속 지역',
-    referer VARCHAR(255) COMMENT 'referer 링크'
-    # CONSTRAINT fk_link_analytics_link_id FOREIGN KEY (link_id) REFERENCES link (id)
+    link_id BIGINT UNSIGNED NOT NULL COMMENT '링크 ID',
+    purge_before DATETIME(6) NOT NULL COMMENT '이 시점 이전에 기록된 접속 로그 삭제 (이 시점은 제외)',
+    deleted_count BIGINT UNSIGNED NOT NULL DEFAULT 0 COMMENT '삭제된 row 수',
+    created_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '삭제 요청일',
+    completed_at DATETIME COMMENT '삭제 완료일',
+    INDEX idx_link_analytics_purge_link_id (link_id, purge_before)
+);
+
+# pooled id 할당용 sequence 테이블 (MySQL 은 sequence 가 없어 Hibernate 가 테이블로 흉내냄)
+# 한 번에 엔티티의 allocationSize 만큼 next_val 을 증가시키고 그 범위의 id 를 메모리에서 할당
+# 기존 데이터가 있는 경우 next_val 을 MAX(id) + 1 이상으로 설정해야 함
+CREATE TABLE user_seq
+(
+    next_val BIGINT NOT NULL
+);
+INSERT INTO user_seq (next_val) VALUES (1);
+
+CREATE TABLE link_seq
+(
+    next_val BIGINT NOT NULL
+);
+INSERT INTO link_seq (next_val) VALUES (1);
+
+CREATE TABLE link_analytics_seq
+(
+    next_val BIGINT NOT NULL
 );
+INSERT INTO link_analytics_seq (next_val) VALUES (1);
@@ -0,0 +1,22 @@
+-- link shard 스키마 (각 shard DB 에 동일하게 생성, MySQL / H2(MODE=MySQL) 공용)
+-- id 는 애플리케이션(LinkIdGenerator)에서 생성, bucket 은 url_path hash (resharding 단위)
+-- count_bucket 은 access_count 에 반영한 마지막 Redis bucket (LinkCountReconciler 중복 반영 방지)
+CREATE TABLE link
+(
+    id BIGINT NOT NULL PRIMARY KEY,
+    bucket INT NOT NULL,
+    state VARCHAR(255) NOT NULL,
+    user_id BIGINT NOT NULL,
+    url_path VARCHAR(255) NOT NULL,
+    redirection_url VARCHAR(255) NOT NULL,
+    created_at DATETIME NOT NULL,
+    updated_at DATETIME,
+    deleted_at DATETIME,
+    access_count BIGINT NOT NULL DEFAULT 0,
+    redirect_type VARCHAR(255),
+    count_bucket BIGINT NOT NULL DEFAULT 0,
+    CONSTRAINT uk_link_url_path UNIQUE (url_path)
+);
+
+CREATE INDEX idx_link_bucket_id ON link (bucket, id);
+CREATE INDEX idx_link_user_id_created_at ON link (user_id, created_at);
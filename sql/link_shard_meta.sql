@@ -0,0 +1,26 @@
+-- link shard 메타데이터 (메인 DB 에 생성, 모든 인스턴스가 공유, MySQL / H2(MODE=MySQL) 공용)
+-- 현재 shard map, 변경할 때마다 version 증가 (id 는 항상 1)
+-- migrations / cleanups 형식: "10=shard2,11=shard2" (이동 중인 bucket=대상 shard, 정리 대기 bucket=원래 shard)
+CREATE TABLE link_shard_map
+(
+    id INT NOT NULL PRIMARY KEY,
+    version BIGINT NOT NULL,
+    bucket_count INT NOT NULL,
+    spec TEXT NOT NULL,
+    migrations TEXT NOT NULL,
+    cleanups TEXT NOT NULL,
+    updated_at DATETIME NOT NULL
+);
+
+-- 인스턴스별로 적용한 shard map version 과 heartbeat
+-- worker_id 는 link id 생성에 쓰는 link.shard.node-id, 실행 중인 인스턴스끼리 겹치지 않도록 unique
+CREATE TABLE link_shard_node
+(
+    node_id VARCHAR(64) NOT NULL PRIMARY KEY,
+    worker_id INT NOT NULL,
+    version BIGINT NOT NULL,
+    heartbeat_at DATETIME NOT NULL,
+    CONSTRAINT uk_link_shard_node_worker_id UNIQUE (worker_id)
+);
+
+CREATE INDEX idx_link_shard_node_heartbeat_at ON link_shard_node (heartbeat_at);
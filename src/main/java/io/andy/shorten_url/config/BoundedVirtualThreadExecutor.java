@@ -0,0 +1,85 @@
+package io.andy.shorten_url.config;
+
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 작업마다 virtual thread 를 만들되 동시에 실행하는 작업은 maxConcurrency 개로 제한
+ * - 실행을 기다리는 작업이 queueCap 개를 넘으면 RejectedExecutionException (bounded elastic 의 queue-cap 과 같은 역할)
+ */
+final class BoundedVirtualThreadExecutor extends AbstractExecutorService {
+    private final ExecutorService delegate = Executors.newVirtualThreadPerTaskExecutor();
+    private final Semaphore running;
+    private final Semaphore admitted;
+
+    BoundedVirtualThreadExecutor(int maxConcurrency, int queueCap) {
+        if (maxConcurrency <= 0 || queueCap < 0) {
+            throw new IllegalArgumentException("maxConcurrency must be greater than 0 and queueCap must not be negative");
+        }
+        this.running = new Semaphore(maxConcurrency);
+        this.admitted = new Semaphore(maxConcurrency + queueCap);
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        if (!admitted.tryAcquire()) {
+            throw new RejectedExecutionException("blocking-io executor is full");
+        }
+        try {
+            delegate.execute(() -> run(task));
+        } catch (RejectedExecutionException e) {
+            admitted.release();
+            throw e;
+        }
+    }
+
+    private void run(Runnable task) {
+        try {
+            running.acquire();
+            try {
+                task.run();
+            } finally {
+                running.release();
+            }
+        } catch (InterruptedException e) {
+            // 실행 전에 취소된 작업
+            Thread.currentThread().interrupt();
+        } finally {
+            admitted.release();
+        }
+    }
+
+    int availablePermits() {
+        return running.availablePermits();
+    }
+
+    @Override
+    public void shutdown() {
+        delegate.shutdown();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        return delegate.shutdownNow();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return delegate.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return delegate.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return delegate.awaitTermination(timeout, unit);
+    }
+}
@@ -0,0 +1,24 @@
+package io.andy.shorten_url.config;
+
+import io.andy.shorten_url.util.mapper.RequestClientInfo;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+// 요청마다 접속 정보 holder 를 등록 (값은 처음 사용할 때 파싱)
+@Component
+public class ClientInfoFilter extends OncePerRequestFilter {
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestClientInfo.from(request);
+        filterChain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,103 @@
+package io.andy.shorten_url.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.andy.shorten_url.link.shard.LinkIdGenerator;
+import io.andy.shorten_url.link.shard.LinkReshardingService;
+import io.andy.shorten_url.link.shard.LinkShardMap;
+import io.andy.shorten_url.link.shard.LinkShardMapStore;
+import io.andy.shorten_url.link.shard.ShardedLinkRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import reactor.core.scheduler.Scheduler;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * link shard 구성 (link.shard.enabled=true 일 때만)
+ * - link.shard.datasources.{shard}.* 와 shard map 의 shard 이름마다 pool 생성
+ *   (jdbc-url, username, password, maximum-pool-size 등, 나머지는 spring.datasource.hikari.* 공유)
+ * - shard 스키마는 sql/link_shard.sql, 공유 shard map 스키마는 메인 DB 의 sql/link_shard_meta.sql
+ * - link.shard.map 은 공유 shard map 이 없을 때의 초기값, 이후에는 저장된 map 을 사용
+ * - ShardedLinkRepository 가 LinkStore 로 등록되어 JpaLinkStore 를 대신함 (단일 DB 의 link 테이블은 사용하지 않음)
+ */
+@Configuration
+@ConditionalOnProperty(name = "link.shard.enabled", havingValue = "true")
+public class LinkShardConfig {
+    @Value("${link.shard.map}")
+    private String shardMap;
+
+    @Value("${link.shard.bucket-count:1024}")
+    private int bucketCount;
+
+    // 인스턴스마다 달라야 함 (link id 의 node bit), 기본값 없음
+    @Value("${link.shard.node-id}")
+    private long nodeId;
+
+    @Value("${link.shard.migration-chunk-size:1000}")
+    private int migrationChunkSize;
+
+    @Value("${link.shard.node-timeout-millis:30000}")
+    private long nodeTimeoutMillis;
+
+    @Bean
+    public LinkShardMapStore linkShardMapStore(JdbcTemplate jdbcTemplate) {
+        return new LinkShardMapStore(jdbcTemplate, nodeId, Duration.ofMillis(nodeTimeoutMillis));
+    }
+
+    @Bean(destroyMethod = "close")
+    public ShardedLinkRepository shardedLinkRepository(
+            Environment environment,
+            MeterRegistry meterRegistry,
+            Scheduler blockingIoScheduler,
+            LinkShardMapStore linkShardMapStore
+    ) {
+        LinkIdGenerator idGenerator = new LinkIdGenerator(nodeId);
+        LinkShardMapStore.VersionedShardMap stored = linkShardMapStore.loadOrInit(LinkShardMap.parse(shardMap, bucketCount));
+        // 같은 node-id 로 실행 중인 인스턴스가 있으면 시작하지 않음 (같은 ms 에 같은 link id 생성 방지)
+        linkShardMapStore.register(stored.version());
+        LinkShardMap map = stored.map();
+        MicrometerMetricsTrackerFactory metricsTrackerFactory = new MicrometerMetricsTrackerFactory(meterRegistry);
+        Binder binder = Binder.get(environment);
+
+        // 이동 대상 shard 는 아직 map 에 없을 수 있으므로 설정된 datasource 도 모두 포함
+        Set<String> shardNames = new LinkedHashSet<>(map.shards());
+        shardNames.addAll(map.cleanups().values());
+        shardNames.addAll(binder.bind("link.shard.datasources", Bindable.mapOf(String.class, Object.class))
+                .orElse(Map.of())
+                .keySet());
+        Map<String, JdbcTemplate> shards = new HashMap<>();
+        for (String shard : shardNames) {
+            HikariDataSource dataSource = new HikariDataSource();
+            binder.bind("spring.datasource.hikari", Bindable.ofInstance(dataSource));
+            binder.bind("link.shard.datasources." + shard, Bindable.ofInstance(dataSource));
+            dataSource.setPoolName("link-" + shard);
+            dataSource.setMetricsTrackerFactory(metricsTrackerFactory);
+            shards.put(shard, new JdbcTemplate(dataSource));
+        }
+        return new ShardedLinkRepository(shards, map, stored.version(), idGenerator, blockingIoScheduler);
+    }
+
+    @Bean
+    public LinkReshardingService linkReshardingService(
+            ShardedLinkRepository shardedLinkRepository,
+            LinkShardMapStore linkShardMapStore
+    ) {
+        return new LinkReshardingService(shardedLinkRepository, linkShardMapStore, migrationChunkSize);
+    }
+}
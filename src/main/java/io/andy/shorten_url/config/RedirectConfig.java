@@ -0,0 +1,104 @@
+package io.andy.shorten_url.config;
+
+import io.andy.shorten_url.link.constant.RedirectType;
+import io.andy.shorten_url.util.mapper.RequestClientInfo;
+
+import lombok.Getter;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+
+@Getter
+@Configuration
+public class RedirectConfig {
+    @Value("${link.redirect.default-type:FOUND}")
+    private RedirectType defaultType;
+
+    @Value("${link.redirect.max-age:0}")
+    private long maxAge;
+
+    @Value("${link.redirect.stale-while-revalidate:0}")
+    private long staleWhileRevalidate;
+
+    @Value("${link.redirect.purge-url:}")
+    private String purgeUrl;
+
+    // max-age 사용 시 캐시된 리다이렉트는 서버로 오지 않으므로, 일부 client 에게만 no-store 로 응답해 집계 후 비율만큼 보정
+    @Value("${link.redirect.count-sample-rate:0}")
+    private double countSampleRate;
+
+    // 공유 캐시(CDN)가 샘플링 대상 여부를 정해 전달하는 요청 헤더, 값이 "1" 이면 대상 (edge 의 대상 비율은 count-sample-rate 와 같게 설정)
+    // 설정하면 응답에 Vary 로 지정해 대상/비대상 응답을 따로 캐시하므로 비대상 응답도 공유 캐시에 둘 수 있음
+    @Value("${link.redirect.count-sample-header:}")
+    private String countSampleHeader;
+
+    public RedirectType resolveType(RedirectType linkRedirectType) {
+        return Objects.isNull(linkRedirectType) ? defaultType : linkRedirectType;
+    }
+
+    public boolean isCountSampling() {
+        return maxAge > 0 && countSampleRate > 0;
+    }
+
+    /**
+     * 조회수 집계 대상 요청 여부
+     * count-sample-header 설정 시 edge 가 정한 값을 따르고, 아니면 ip, user agent hash 로 선택
+     */
+    public boolean isCountSampled(RequestClientInfo clientInfo) {
+        if (isCountSampling() && isEdgeSampling()) {
+            return "1".equals(clientInfo.header(countSampleHeader));
+        }
+        return isCountSampled(clientInfo.ipAddress(), clientInfo.userAgent());
+    }
+
+    /**
+     * 조회수 집계 대상 client 여부
+     * 샘플링 중에는 같은 client 가 항상 같은 결과를 받도록 ip, user agent hash 로 선택
+     */
+    public boolean isCountSampled(String ipAddress, String userAgent) {
+        if (!isCountSampling()) {
+            return true;
+        }
+        int hash = Objects.hash(ipAddress, userAgent) * 0x9E3779B9;
+        return Integer.toUnsignedLong(hash) < countSampleRate * (1L << 32);
+    }
+
+    // 샘플링된 1회 클릭이 대표하는 클릭 수, 정수가 아닌 배율은 확률적으로 올림해 기대값을 맞춤
+    public long countWeight() {
+        if (!isCountSampling() || countSampleRate >= 1) {
+            return 1L;
+        }
+        double weight = 1.0 / countSampleRate;
+        long base = (long) weight;
+        return ThreadLocalRandom.current().nextDouble() < weight - base ? base + 1 : base;
+    }
+
+    // 샘플링 대상/비대상 응답을 공유 캐시가 구분하도록 Vary 에 지정할 요청 헤더
+    public Optional<String> countSampleVary() {
+        return isCountSampling() && isEdgeSampling() ? Optional.of(countSampleHeader) : Optional.empty();
+    }
+
+    public CacheControl cacheControl(boolean countSampled) {
+        // max-age 미설정시 모든 요청이 서버로 돌아오도록 캐시 금지, 샘플링 대상 client 도 매번 서버에서 집계
+        if (maxAge <= 0 || (isCountSampling() && countSampled)) {
+            return CacheControl.noStore();
+        }
+        CacheControl cacheControl = CacheControl.maxAge(Duration.ofSeconds(maxAge));
+        // edge 가 샘플링 대상을 구분하지 못하면 대상 client 에게 캐시된 응답을 주지 않도록 브라우저 캐시만 허용
+        cacheControl = isCountSampling() && !isEdgeSampling() ? cacheControl.cachePrivate() : cacheControl.cachePublic();
+        if (staleWhileRevalidate > 0) {
+            cacheControl = cacheControl.staleWhileRevalidate(Duration.ofSeconds(staleWhileRevalidate));
+        }
+        return cacheControl;
+    }
+
+    private boolean isEdgeSampling() {
+        return Objects.nonNull(countSampleHeader) && !countSampleHeader.isBlank();
+    }
+}
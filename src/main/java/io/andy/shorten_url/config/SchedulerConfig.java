@@ -0,0 +1,35 @@
+package io.andy.shorten_url.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+@Configuration
+@EnableScheduling
+public class SchedulerConfig {
+    @Value("${scheduler.blocking-io.thread-cap:32}")
+    private int threadCap;
+
+    @Value("${scheduler.blocking-io.queue-cap:10000}")
+    private int queueCap;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreadsEnabled;
+
+    @Value("${spring.datasource.hikari.maximum-pool-size:10}")
+    private int dbPoolSize;
+
+    // JDBC 등 blocking 호출을 event-loop 밖에서 실행하기 위한 scheduler
+    @Bean(destroyMethod = "dispose")
+    public Scheduler blockingIoScheduler() {
+        if (virtualThreadsEnabled) {
+            // 동시 실행은 connection pool 크기로 제한하여 connection 을 기다리는 virtual thread 가 쌓이지 않도록 함
+            return Schedulers.fromExecutorService(new BoundedVirtualThreadExecutor(dbPoolSize, queueCap), "blocking-io");
+        }
+        return Schedulers.newBoundedElastic(threadCap, queueCap, "blocking-io");
+    }
+}
@@ -0,0 +1,29 @@
+package io.andy.shorten_url.config;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+
+import java.util.Map;
+
+/**
+ * virtual thread 모드에서만 connection pool 대기 시간을 짧게 적용
+ * 요청 수가 thread pool 로 제한되지 않아 pool 이 고갈되면 대기가 길게 쌓이므로 빠르게 실패시킴
+ * spring.datasource.hikari.connection-timeout 을 직접 설정한 경우 그 값을 그대로 사용
+ */
+public class VirtualThreadDataSourceEnvironmentPostProcessor implements EnvironmentPostProcessor {
+    static final String CONNECTION_TIMEOUT = "spring.datasource.hikari.connection-timeout";
+    static final String VIRTUAL_CONNECTION_TIMEOUT = "datasource.virtual-threads.connection-timeout";
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        if (!environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false)
+                || environment.containsProperty(CONNECTION_TIMEOUT)) {
+            return;
+        }
+        String timeout = environment.getProperty(VIRTUAL_CONNECTION_TIMEOUT, "3000");
+        environment.getPropertySources().addLast(
+                new MapPropertySource("virtualThreadDataSource", Map.of(CONNECTION_TIMEOUT, timeout)));
+    }
+}
@@ -0,0 +1,24 @@
+package io.andy.shorten_url.link.cache;
+
+import io.andy.shorten_url.link.constant.LinkState;
+import io.andy.shorten_url.link.constant.RedirectType;
+import io.andy.shorten_url.link.entity.Link;
+
+// 리다이렉트에 필요한 최소한의 링크 정보
+public record LinkCacheEntry(
+        Long id,
+        LinkState state,
+        String urlPath,
+        String redirectionUrl,
+        RedirectType redirectType
+) {
+    public static LinkCacheEntry from(Link link) {
+        return new LinkCacheEntry(
+                link.getId(),
+                link.getState(),
+                link.getUrlPath(),
+                link.getRedirectionUrl(),
+                link.getRedirectType()
+        );
+    }
+}
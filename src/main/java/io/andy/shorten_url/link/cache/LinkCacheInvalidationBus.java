@@ -0,0 +1,68 @@
+package io.andy.shorten_url.link.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.andy.shorten_url.link.entity.Link;
+import io.andy.shorten_url.link.hotkey.HotLinkCache;
+import io.andy.shorten_url.link.service.LinkPurgeHook;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * 링크 변경을 Redis pub/sub 으로 전파하여 다른 노드의 로컬 캐시(RedirectCache, HotLinkCache)도 갱신
+ * pub/sub 은 전달을 보장하지 않으므로 메시지를 놓친 노드는 캐시 TTL 이 지나야 반영됨
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LinkCacheInvalidationBus implements LinkPurgeHook, MessageListener {
+    public static final String CHANNEL = "link:cache:invalidate";
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ObjectMapper objectMapper;
+    private final RedirectCache redirectCache;
+    private final HotLinkCache hotLinkCache;
+
+    @Override
+    public void purge(Link link) {
+        // 현재 노드의 로컬 캐시는 각 purge hook 에서 이미 갱신됨
+        try {
+            String message = objectMapper.writeValueAsString(new Invalidation(nodeId, LinkCacheEntry.from(link)));
+            stringRedisTemplate.convertAndSend(CHANNEL, message);
+        } catch (Exception e) {
+            log.error("failed to publish link cache invalidation, urlPath={}, message={}", link.getUrlPath(), e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        Invalidation invalidation;
+        try {
+            invalidation = objectMapper.readValue(message.getBody(), Invalidation.class);
+        } catch (Exception e) {
+            log.warn("ignored invalid link cache invalidation, message={}", e.getMessage());
+            return;
+        }
+        if (nodeId.equals(invalidation.nodeId())) {
+            return;
+        }
+        redirectCache.invalidate(invalidation.entry());
+        hotLinkCache.invalidate(invalidation.entry());
+        log.debug("applied link cache invalidation from node={}, urlPath={}", invalidation.nodeId(), invalidation.entry().urlPath());
+    }
+
+    String nodeId() {
+        return nodeId;
+    }
+
+    record Invalidation(String nodeId, LinkCacheEntry entry) { }
+}
@@ -0,0 +1,119 @@
+package io.andy.shorten_url.link.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.andy.shorten_url.link.constant.LinkPolicy;
+import io.andy.shorten_url.link.entity.Link;
+import io.andy.shorten_url.link.service.LinkPurgeHook;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * reactive 리다이렉트용 Redis 링크 캐시
+ * purge 마다 key 별 generation 을 올리고, 조회 시작 시점의 generation 이 그대로일 때만 저장하여
+ * purge 전에 DB 를 읽은 조회가 purge 이후 이전 값을 다시 캐시하지 않도록 함 (RedirectCache 와 같은 방식)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "link.redirect.reactive.enabled", havingValue = "true")
+public class ReactiveLinkCache implements LinkPurgeHook {
+    // generation 을 알 수 없으면(Redis 장애) 저장하지 않음
+    public static final long UNKNOWN_GENERATION = -1L;
+
+    // KEYS[1]: 링크 캐시, KEYS[2]: generation / ARGV[1]: 값, ARGV[2]: TTL(ms), ARGV[3]: 조회 시작 시점의 generation
+    private static final RedisScript<Long> SET_IF_GENERATION = new DefaultRedisScript<>(
+            "if (redis.call('GET', KEYS[2]) or '0') ~= ARGV[3] then return 0 end "
+                    + "redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[2]) return 1",
+            Long.class);
+    // generation 은 캐시 TTL 보다 오래 유지하여 진행 중인 조회가 끝나기 전에 초기화되지 않도록 함
+    private static final RedisScript<Long> PURGE = new DefaultRedisScript<>(
+            "redis.call('INCR', KEYS[2]) redis.call('PEXPIRE', KEYS[2], ARGV[1]) return redis.call('DEL', KEYS[1])",
+            Long.class);
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+
+    public Mono<LinkCacheEntry> get(String urlPath) {
+        return redisTemplate.opsForValue()
+                .get(createCacheKey(urlPath))
+                .map(this::deserialize)
+                .onErrorResume(e -> {
+                    // 캐시 장애시 DB 조회로 대체
+                    log.warn("failed to get link cache, urlPath={}, message={}", urlPath, e.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    // DB 조회 전에 읽어 두고 put 에 전달
+    public Mono<Long> generation(String urlPath) {
+        return redisTemplate.opsForValue()
+                .get(createGenerationKey(urlPath))
+                .map(Long::valueOf)
+                .defaultIfEmpty(0L)
+                .onErrorResume(e -> {
+                    log.warn("failed to get link cache generation, urlPath={}, message={}", urlPath, e.getMessage());
+                    return Mono.just(UNKNOWN_GENERATION);
+                });
+    }
+
+    /**
+     * generation 이후 purge 가 없었던 경우에만 저장
+     * @return 저장 여부
+     */
+    public Mono<Boolean> put(LinkCacheEntry entry, long generation) {
+        if (generation == UNKNOWN_GENERATION) {
+            return Mono.just(false);
+        }
+        return Mono.fromCallable(() -> objectMapper.writeValueAsString(entry))
+                .flatMap(value -> redisTemplate.execute(SET_IF_GENERATION,
+                                List.of(createCacheKey(entry.urlPath()), createGenerationKey(entry.urlPath())),
+                                List.of(value, String.valueOf(LinkPolicy.LINK_CACHE_TTL), String.valueOf(generation)))
+                        .next())
+                .map(stored -> stored == 1L)
+                .defaultIfEmpty(false)
+                .onErrorResume(e -> {
+                    log.warn("failed to put link cache, urlPath={}, message={}", entry.urlPath(), e.getMessage());
+                    return Mono.just(false);
+                });
+    }
+
+    @Override
+    public void purge(Link link) {
+        redisTemplate.execute(PURGE,
+                        List.of(createCacheKey(link.getUrlPath()), createGenerationKey(link.getUrlPath())),
+                        List.of(String.valueOf(LinkPolicy.LINK_CACHE_TTL * 2)))
+                .next()
+                .subscribe(
+                        deleted -> log.debug("evicted link cache, urlPath={}, deleted={}", link.getUrlPath(), deleted),
+                        e -> log.error("failed to evict link cache, urlPath={}, message={}", link.getUrlPath(), e.getMessage())
+                );
+    }
+
+    private LinkCacheEntry deserialize(String value) {
+        try {
+            return objectMapper.readValue(value, LinkCacheEntry.class);
+        } catch (Exception e) {
+            throw new IllegalStateException("FAILED TO DESERIALIZE LINK CACHE", e);
+        }
+    }
+
+    private String createCacheKey(String urlPath) {
+        return String.format("%s:%s", LinkPolicy.LINK_CACHE_KEY_PREFIX, urlPath);
+    }
+
+    private String createGenerationKey(String urlPath) {
+        return String.format("%s:gen:%s", LinkPolicy.LINK_CACHE_KEY_PREFIX, urlPath);
+    }
+}
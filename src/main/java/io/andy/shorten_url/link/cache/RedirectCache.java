@@ -0,0 +1,220 @@
+package io.andy.shorten_url.link.cache;
+
+import io.andy.shorten_url.link.entity.Link;
+import io.andy.shorten_url.link.service.LinkPurgeHook;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import reactor.core.scheduler.Scheduler;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * 리다이렉트 조회용 노드 로컬 캐시
+ * - 같은 key 에 대한 동시 miss 는 한 번만 로딩 (single-flight)
+ * - TTL 만료 전 확률적으로 미리 갱신 (XFetch)
+ * - 만료 후 stale 구간에서는 이전 값을 응답하며 백그라운드 갱신
+ * - purge 마다 key 의 generation 을 올려, purge 이전에 시작된 로딩 결과가 덮어쓰지 못하도록 함
+ */
+@Slf4j
+@Component
+public class RedirectCache implements LinkPurgeHook {
+    private final Map<String, CachedValue> entries = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<LinkCacheEntry>> inflight = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final Executor refreshExecutor;
+    private final long ttlNanos;
+    private final long staleNanos;
+    private final double beta;
+    private final int maxSize;
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter staleCounter;
+    private final Counter earlyRefreshCounter;
+    private final Counter collapsedCounter;
+
+    @Autowired
+    public RedirectCache(
+            MeterRegistry meterRegistry,
+            Scheduler blockingIoScheduler,
+            @Value("${link.redirect.cache.ttl-millis:60000}") long ttlMillis,
+            @Value("${link.redirect.cache.stale-millis:30000}") long staleMillis,
+            @Value("${link.redirect.cache.early-refresh-beta:1.0}") double beta,
+            @Value("${link.redirect.cache.max-size:100000}") int maxSize
+    ) {
+        this(meterRegistry, blockingIoScheduler::schedule, ttlMillis, staleMillis, beta, maxSize);
+    }
+
+    public RedirectCache(
+            MeterRegistry meterRegistry,
+            Executor refreshExecutor,
+            long ttlMillis,
+            long staleMillis,
+            double beta,
+            int maxSize
+    ) {
+        this.refreshExecutor = refreshExecutor;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+        this.staleNanos = TimeUnit.MILLISECONDS.toNanos(staleMillis);
+        this.beta = beta;
+        this.maxSize = maxSize;
+        this.hitCounter = meterRegistry.counter("link.redirect.cache", "result", "hit");
+        this.missCounter = meterRegistry.counter("link.redirect.cache", "result", "miss");
+        this.staleCounter = meterRegistry.counter("link.redirect.cache", "result", "stale");
+        this.earlyRefreshCounter = meterRegistry.counter("link.redirect.cache", "result", "early_refresh");
+        this.collapsedCounter = meterRegistry.counter("link.redirect.cache", "result", "collapsed");
+    }
+
+    public LinkCacheEntry get(String urlPath, Function<String, LinkCacheEntry> loader) {
+        long now = System.nanoTime();
+        CachedValue cached = entries.get(urlPath);
+        if (cached != null) {
+            if (now < cached.expiresAt()) {
+                hitCounter.increment();
+                if (shouldRefreshEarly(cached, now)) {
+                    earlyRefreshCounter.increment();
+                    refreshAsync(urlPath, loader);
+                }
+                return cached.value();
+            }
+            if (now < cached.expiresAt() + staleNanos) {
+                staleCounter.increment();
+                refreshAsync(urlPath, loader);
+                return cached.value();
+            }
+        }
+        missCounter.increment();
+        return load(urlPath, loader);
+    }
+
+    // 미리 적재(warm-up)용, 이미 캐싱된 값은 더 최신일 수 있으므로 덮어쓰지 않음
+    public boolean putIfAbsent(LinkCacheEntry entry) {
+        if (entries.size() >= maxSize) {
+            return false;
+        }
+        long now = System.nanoTime();
+        return entries.putIfAbsent(entry.urlPath(), new CachedValue(entry, generation.get(), 0L, now + ttlNanos)) == null;
+    }
+
+    public boolean contains(String urlPath) {
+        return entries.containsKey(urlPath);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    @Override
+    public void purge(Link link) {
+        invalidate(LinkCacheEntry.from(link));
+    }
+
+    /**
+     * 무효화 대신 변경된 값으로 덮어써서 변경 직후 DB 로 요청이 몰리지 않도록 함
+     * 캐싱되지 않은 key 도 기록하여 진행 중인 로딩이 변경 이전 값을 저장하지 못하도록 함 (tombstone)
+     */
+    public void invalidate(LinkCacheEntry entry) {
+        long purgedGeneration = generation.incrementAndGet();
+        long now = System.nanoTime();
+        entries.compute(entry.urlPath(), (urlPath, cached) ->
+                new CachedValue(entry, purgedGeneration, cached == null ? 0L : cached.loadNanos(), now + ttlNanos));
+    }
+
+    private LinkCacheEntry load(String urlPath, Function<String, LinkCacheEntry> loader) {
+        CompletableFuture<LinkCacheEntry> future = new CompletableFuture<>();
+        CompletableFuture<LinkCacheEntry> running = inflight.putIfAbsent(urlPath, future);
+        if (running != null) {
+            collapsedCounter.increment();
+            return await(running);
+        }
+
+        long startedGeneration = generation.get();
+        long startedAt = System.nanoTime();
+        try {
+            LinkCacheEntry value = loader.apply(urlPath);
+            long loadedAt = System.nanoTime();
+            store(urlPath, new CachedValue(value, startedGeneration, loadedAt - startedAt, loadedAt + ttlNanos));
+            future.complete(value);
+            return value;
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inflight.remove(urlPath, future);
+        }
+    }
+
+    private void refreshAsync(String urlPath, Function<String, LinkCacheEntry> loader) {
+        if (inflight.containsKey(urlPath)) {
+            collapsedCounter.increment();
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    load(urlPath, loader);
+                } catch (Exception e) {
+                    log.warn("failed to refresh redirect cache, urlPath={}, message={}", urlPath, e.getMessage());
+                }
+            });
+        } catch (Exception e) {
+            log.warn("failed to schedule redirect cache refresh, urlPath={}, message={}", urlPath, e.getMessage());
+        }
+    }
+
+    // XFetch: 로딩 비용이 클수록, 만료가 가까울수록 높은 확률로 미리 갱신
+    private boolean shouldRefreshEarly(CachedValue cached, long now) {
+        if (cached.loadNanos() <= 0 || beta <= 0) {
+            return false;
+        }
+        double random = ThreadLocalRandom.current().nextDouble();
+        return now - cached.loadNanos() * beta * Math.log(random) >= cached.expiresAt();
+    }
+
+    // 로딩 시작 이후 purge 로 기록된 값이 있으면 덮어쓰지 않음
+    private void store(String urlPath, CachedValue value) {
+        if (!entries.containsKey(urlPath) && entries.size() >= maxSize) {
+            evictOne();
+        }
+        entries.compute(urlPath, (key, existing) ->
+                existing != null && existing.generation() > value.generation() ? existing : value);
+    }
+
+    private void evictOne() {
+        Iterator<String> iterator = entries.keySet().iterator();
+        if (iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    private LinkCacheEntry await(CompletableFuture<LinkCacheEntry> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private record CachedValue(LinkCacheEntry value, long generation, long loadNanos, long expiresAt) { }
+}
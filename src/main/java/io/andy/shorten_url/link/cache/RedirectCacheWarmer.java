@@ -0,0 +1,65 @@
+package io.andy.shorten_url.link.cache;
+
+import io.andy.shorten_url.link.entity.Link;
+import io.andy.shorten_url.link.repository.LinkStore;
+import io.andy.shorten_url.link_analytics.constant.TrendingWindow;
+import io.andy.shorten_url.link_analytics.dto.TrendingLinkDto;
+import io.andy.shorten_url.link_analytics.trending.TrendingLinkTracker;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 최근 1시간 인기 링크를 RedirectCache 에 미리 적재 (재시작 직후 DB 로 몰리는 miss 방지)
+ */
+@Slf4j
+@Component
+public class RedirectCacheWarmer {
+    private final TrendingLinkTracker trendingLinkTracker;
+    private final LinkStore linkStore;
+    private final RedirectCache redirectCache;
+    private final int size;
+
+    public RedirectCacheWarmer(
+            TrendingLinkTracker trendingLinkTracker,
+            LinkStore linkStore,
+            RedirectCache redirectCache,
+            @Value("${link.trending.warm-up-size:1000}") int size
+    ) {
+        this.trendingLinkTracker = trendingLinkTracker;
+        this.linkStore = linkStore;
+        this.redirectCache = redirectCache;
+        this.size = size;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${link.trending.warm-up-millis:60000}", initialDelayString = "${link.trending.warm-up-millis:60000}")
+    public void warmUp() {
+        try {
+            List<Long> linkIds = trendingLinkTracker.findTop(TrendingWindow.ONE_HOUR, size)
+                    .stream()
+                    .map(TrendingLinkDto::linkId)
+                    .toList();
+            if (linkIds.isEmpty()) {
+                return;
+            }
+
+            int loaded = 0;
+            for (Link link : linkStore.findAllById(linkIds)) {
+                if (!redirectCache.contains(link.getUrlPath()) && redirectCache.putIfAbsent(LinkCacheEntry.from(link))) {
+                    loaded++;
+                }
+            }
+            log.info("warmed up redirect cache, trending={}, loaded={}", linkIds.size(), loaded);
+        } catch (Exception e) {
+            log.warn("failed to warm up redirect cache, message={}", e.getMessage());
+        }
+    }
+}
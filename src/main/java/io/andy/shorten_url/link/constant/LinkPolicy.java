@@ -2,4 +2,12 @@ package io.andy.shorten_url.link.constant;
 
 public final class LinkPolicy {
     public static final int URL_PATH_LENGTH = 8;
+
+    // CDN purge
+    public static final String SURROGATE_KEY_HEADER = "Surrogate-Key";
+    public static final String SURROGATE_KEY_PREFIX = "link-";
+
+    // link cache
+    public static final String LINK_CACHE_KEY_PREFIX = "link:path";
+    public static final long LINK_CACHE_TTL = 1000 * 60 * 10; // 10 minutes
 }
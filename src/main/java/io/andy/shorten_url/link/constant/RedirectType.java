@@ -0,0 +1,19 @@
+package io.andy.shorten_url.link.constant;
+
+import lombok.Getter;
+
+import org.springframework.http.HttpStatus;
+
+@Getter
+public enum RedirectType {
+    MOVED_PERMANENTLY(HttpStatus.MOVED_PERMANENTLY),   // 301, 브라우저/CDN 영구 캐시 가능
+    FOUND(HttpStatus.FOUND),                           // 302, 기본값
+    TEMPORARY_REDIRECT(HttpStatus.TEMPORARY_REDIRECT), // 307, 메서드 유지
+    PERMANENT_REDIRECT(HttpStatus.PERMANENT_REDIRECT); // 308, 메서드 유지 + 영구
+
+    private final HttpStatus status;
+
+    RedirectType(HttpStatus status) {
+        this.status = status;
+    }
+}
@@ -0,0 +1,60 @@
+package io.andy.shorten_url.link.controller;
+
+import io.andy.shorten_url.exception.client.BadRequestException;
+import io.andy.shorten_url.link.entity.Link;
+import io.andy.shorten_url.link.service.LinkService;
+import io.andy.shorten_url.link_analytics.columnar.ClickColumnStore;
+import io.andy.shorten_url.link_analytics.constant.ClickDimension;
+
+import lombok.AllArgsConstructor;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+@AllArgsConstructor
+@RestController
+@ConditionalOnProperty(name = "link.analytics.columnar.enabled", havingValue = "true", matchIfMissing = true)
+public class ClickAnalyticsController {
+    private final LinkService linkService;
+    private final ClickColumnStore clickColumnStore;
+
+    @GetMapping("/api/link/analytics/clicks")
+    public ResponseEntity<Map<String, Object>> countClicks(
+            @RequestParam Long userId,
+            @RequestParam(required = false) Long linkId,
+            @RequestParam(defaultValue = "COUNTRY") ClickDimension groupBy,
+            @RequestParam(defaultValue = "7") int days
+    ) {
+        if (days < 1 || days > clickColumnStore.getRetentionDays()) {
+            throw new BadRequestException("INVALID DAYS RANGE");
+        }
+        List<Long> linkIds = linkService.findLinksByUserId(userId)
+                .stream()
+                .map(Link::getId)
+                .filter(id -> Objects.isNull(linkId) || id.equals(linkId))
+                .toList();
+
+        // 오늘 포함 최근 N일
+        LocalDateTime from = LocalDate.now().minusDays(days - 1L).atStartOfDay();
+        LocalDateTime to = LocalDateTime.now().plusMinutes(1);
+        Map<String, Object> response = new HashMap<>();
+        response.put("userId", userId);
+        response.put("groupBy", groupBy);
+        response.put("from", from.toLocalDate());
+        response.put("clicks", clickColumnStore.countClicks(linkIds, from, to, groupBy));
+        // localSince 이후 클릭은 응답한 노드에서 처리된 것만 포함
+        response.put("scope", "node");
+        response.put("localSince", clickColumnStore.getLocalSince());
+        return ResponseEntity.ok(response);
+    }
+}
@@ -0,0 +1,30 @@
+package io.andy.shorten_url.link.controller;
+
+import io.andy.shorten_url.link.hotkey.HotKeyDetector;
+import io.andy.shorten_url.link.hotkey.HotLinkCache;
+
+import lombok.AllArgsConstructor;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@AllArgsConstructor
+@RestController
+public class HotKeyController {
+    private final HotKeyDetector hotKeyDetector;
+    private final HotLinkCache hotLinkCache;
+
+    @GetMapping("/api/link/hot-keys")
+    public ResponseEntity<Map<String, Object>> findHotKeys(@RequestParam(defaultValue = "10") int limit) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("hotKeys", hotKeyDetector.getHotKeyStats());
+        response.put("pinned", hotLinkCache.getPinned().keySet());
+        response.put("currentWindowTop", hotKeyDetector.currentSlotTop(limit));
+        return ResponseEntity.ok(response);
+    }
+}
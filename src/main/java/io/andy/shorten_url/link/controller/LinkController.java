@@ -1,30 +1,38 @@
 package io.andy.shorten_url.link.controller;
 
+import io.andy.shorten_url.config.RedirectConfig;
+import io.andy.shorten_url.link.cache.LinkCacheEntry;
+import io.andy.shorten_url.link.constant.LinkPolicy;
 import io.andy.shorten_url.link.constant.LinkState;
+import io.andy.shorten_url.link.constant.RedirectType;
 import io.andy.shorten_url.link.dto.CreateLinkDto;
 import io.andy.shorten_url.link.entity.Link;
 import io.andy.shorten_url.link.service.LinkService;
-import io.andy.shorten_url.link_analytics.dto.PutAccessLogDto;
+import io.andy.shorten_url.link.service.SurrogateKeyPurgeHook;
+import io.andy.shorten_url.link_analytics.constant.DimensionType;
+import io.andy.shorten_url.link_analytics.dto.ClickEvent;
+import io.andy.shorten_url.link_analytics.service.ClickEventPublisher;
 import io.andy.shorten_url.link_analytics.service.LinkAnalyticsService;
-import io.andy.shorten_url.util.mapper.ClientMapper;
-
-import jakarta.servlet.http.HttpServletRequest;
-import jakarta.servlet.http.HttpServletResponse;
+import io.andy.shorten_url.util.mapper.RequestClientInfo;
+import io.andy.shorten_url.util.sketch.SpaceSaving;
 
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 
-import java.io.IOException;
+import java.net.URI;
+import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 @Slf4j
 @AllArgsConstructor
@@ -32,6 +40,8 @@ import java.util.Map;
 public class LinkController {
     private final LinkService linkService;
     private final LinkAnalyticsService linkAnalyticsService;
+    private final RedirectConfig redirectConfig;
+    private final ClickEventPublisher clickEventPublisher;
 
     @PostMapping("/api/link/create")
     public ResponseEntity<Link> createLink(@RequestBody CreateLinkDto createLinkDto) {
@@ -51,37 +61,86 @@ public class LinkController {
         return ResponseEntity.ok(response);
     }
 
-    @Transactional
     @GetMapping(value = {"/{urlPath}", "/{urlPath}/"})
-    public ResponseEntity<Void> redirectUrl(
-            HttpServletRequest request,
-            HttpServletResponse response,
-            @PathVariable String urlPath
-    ) {
-        Link link = linkService.findLinkByUrlPath(urlPath);
-        if (!link.getState().equals(LinkState.PUBLIC)) {
-            String clientIp = ClientMapper.parseClientIp(request);
-            String userAgent = request.getHeader("User-Agent");
-            log.debug("접근 불가능한 링크에 대한 접근 시도입니다. link_id={}, link_state={}, ip={}, userAgent={}", link.getId(), link.getState(), clientIp, userAgent);
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "UNAVAILABLE ACCESS LINK");
-        }
-        // TODO 비동기 메시지 큐 도입하여 대체
+    public ResponseEntity<Void> redirectUrl(RequestClientInfo clientInfo, @PathVariable String urlPath) {
+        LinkCacheEntry link = findAccessibleLink(clientInfo, urlPath);
+        // 캐시된 리다이렉트는 서버로 오지 않으므로 샘플링 중에는 대상 client 만 집계 후 비율만큼 보정
+        boolean countSampled = redirectConfig.isCountSampled(clientInfo);
         try {
-            linkService.increaseLinkCount(link.getId());
-            linkAnalyticsService.putAccessCount(link.getId(),
-                PutAccessLogDto.builder()
-                        .ipAddress(ClientMapper.parseClientIp(request))
-                        .userAgent(ClientMapper.parseUserAgent(request))
-                        .referer(ClientMapper.parseReferer(request))
-                        .build());
-            response.sendRedirect(link.getRedirectionUrl());
-            return ResponseEntity.ok().build();
-        } catch (IOException | ResponseStatusException e) {
+            // 집계(IP 위치 조회, DB 저장)는 응답을 기다리게 하지 않도록 publisher 에서 별도 트랜잭션으로 처리
+            if (countSampled) {
+                clickEventPublisher.publish(ClickEvent.of(link.id(), link.urlPath(), clientInfo.ipAddress(),
+                        clientInfo.userAgent(), clientInfo.referer(), redirectConfig.countWeight()));
+            }
+            RedirectType redirectType = redirectConfig.resolveType(link.redirectType());
+            ResponseEntity.BodyBuilder response = ResponseEntity.status(redirectType.getStatus())
+                    .location(URI.create(link.redirectionUrl()))
+                    .cacheControl(redirectConfig.cacheControl(countSampled))
+                    .header(LinkPolicy.SURROGATE_KEY_HEADER, SurrogateKeyPurgeHook.surrogateKey(link.urlPath()));
+            redirectConfig.countSampleVary().ifPresent(header -> response.varyBy(header));
+            return response.build();
+        } catch (IllegalArgumentException | ResponseStatusException e) {
             log.error("[VERY IMPORTANT] failed to redirect url path={}", urlPath);
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "FAILED REDIRECTION BY SERVER ERROR");
         }
     }
 
+    @GetMapping("/api/link/{id}/count")
+    public ResponseEntity<Map<String, Object>> findAccessCount(@PathVariable Long id) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("linkId", id);
+        response.put("accessCount", linkService.findAccessCount(id));
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/api/link/{id}/unique-visitors")
+    public ResponseEntity<Map<String, Object>> countUniqueVisitors(
+            @PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        // 기간 미지정 시 최근 7일
+        LocalDate until = Objects.isNull(to) ? LocalDate.now() : to;
+        LocalDate since = Objects.isNull(from) ? until.minusDays(6) : from;
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("linkId", id);
+        response.put("from", since);
+        response.put("to", until);
+        response.put("uniqueVisitors", linkAnalyticsService.countUniqueVisitors(id, since, until));
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/api/link/{id}/top/{type}")
+    public ResponseEntity<Map<String, Object>> findTopValues(
+            @PathVariable Long id,
+            @PathVariable DimensionType type,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        // 기간 미지정 시 오늘
+        LocalDate until = Objects.isNull(to) ? LocalDate.now() : to;
+        LocalDate since = Objects.isNull(from) ? until : from;
+        List<SpaceSaving.Counter<String>> topValues = linkAnalyticsService.findTopValues(id, type, since, until, limit);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("linkId", id);
+        response.put("type", type);
+        response.put("from", since);
+        response.put("to", until);
+        response.put("topValues", topValues);
+        return ResponseEntity.ok(response);
+    }
+
+    @Transactional
+    @PatchMapping("/api/link/{id}/redirect-type")
+    public ResponseEntity<Link> updateRedirectType(@PathVariable Long id, @RequestBody RedirectType redirectType) {
+        Link link = linkService.updateRedirectType(id, redirectType);
+        log.info("Updated redirect type of link id={} to {}", id, redirectType);
+        return ResponseEntity.ok(link);
+    }
+
     @Transactional
     @PutMapping("/api/link/update/{id}")
     public ResponseEntity<Link> updateLink(@PathVariable Long id, @RequestBody String redirectionUrl) {
@@ -104,4 +163,13 @@ public class LinkController {
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "FAILED DELETE LINK");
         }
     }
+
+    private LinkCacheEntry findAccessibleLink(RequestClientInfo clientInfo, String urlPath) {
+        LinkCacheEntry link = linkService.findRedirectionByUrlPath(urlPath);
+        if (!link.state().equals(LinkState.PUBLIC)) {
+            log.debug("접근 불가능한 링크에 대한 접근 시도입니다. link_id={}, link_state={}, ip={}, userAgent={}", link.id(), link.state(), clientInfo.ipAddress(), clientInfo.userAgent());
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "UNAVAILABLE ACCESS LINK");
+        }
+        return link;
+    }
 }
@@ -0,0 +1,22 @@
+package io.andy.shorten_url.link.controller;
+
+import io.andy.shorten_url.link.live.LiveClickStream;
+
+import lombok.AllArgsConstructor;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@AllArgsConstructor
+@RestController
+public class LiveClickController {
+    private final LiveClickStream liveClickStream;
+
+    @GetMapping(value = "/api/link/{id}/live", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamClicks(@PathVariable Long id) {
+        return liveClickStream.open(id);
+    }
+}
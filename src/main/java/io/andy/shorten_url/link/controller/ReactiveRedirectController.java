@@ -0,0 +1,88 @@
+package io.andy.shorten_url.link.controller;
+
+import io.andy.shorten_url.config.RedirectConfig;
+import io.andy.shorten_url.exception.client.BadRequestException;
+import io.andy.shorten_url.link.cache.LinkCacheEntry;
+import io.andy.shorten_url.link.cache.ReactiveLinkCache;
+import io.andy.shorten_url.link.constant.LinkPolicy;
+import io.andy.shorten_url.link.constant.LinkState;
+import io.andy.shorten_url.link.hotkey.HotKeyDetector;
+import io.andy.shorten_url.link.hotkey.HotLinkCache;
+import io.andy.shorten_url.link.service.LinkService;
+import io.andy.shorten_url.link.service.SurrogateKeyPurgeHook;
+import io.andy.shorten_url.link_analytics.dto.ClickEvent;
+import io.andy.shorten_url.link_analytics.service.ClickEventPublisher;
+import io.andy.shorten_url.util.mapper.RequestClientInfo;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.net.URI;
+import java.util.Objects;
+
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "link.redirect.reactive.enabled", havingValue = "true")
+public class ReactiveRedirectController {
+    private final LinkService linkService;
+    private final ReactiveLinkCache linkCache;
+    private final HotKeyDetector hotKeyDetector;
+    private final HotLinkCache hotLinkCache;
+    private final ClickEventPublisher clickEventPublisher;
+    private final RedirectConfig redirectConfig;
+    private final Scheduler blockingIoScheduler;
+
+    @GetMapping(value = {"/r/{urlPath}", "/r/{urlPath}/"})
+    public Mono<ResponseEntity<Void>> redirectUrl(RequestClientInfo clientInfo, @PathVariable String urlPath) {
+        // 비동기 처리 이후에는 request 재사용이 불가하므로 요청 스레드에서 파싱
+        String clientIp = clientInfo.ipAddress();
+        String userAgent = clientInfo.userAgent();
+        String referer = clientInfo.referer();
+        boolean countSampled = redirectConfig.isCountSampled(clientInfo);
+
+        // hot link 는 노드 로컬 캐시에서 응답
+        hotKeyDetector.record(urlPath);
+        LinkCacheEntry hotLink = hotLinkCache.get(urlPath);
+        Mono<LinkCacheEntry> cached = Objects.nonNull(hotLink) ? Mono.just(hotLink) : linkCache.get(urlPath);
+
+        return cached
+                .switchIfEmpty(Mono.defer(() -> loadLink(urlPath)))
+                .map(entry -> {
+                    if (!entry.state().equals(LinkState.PUBLIC)) {
+                        log.debug("접근 불가능한 링크에 대한 접근 시도입니다. link_id={}, link_state={}, ip={}, userAgent={}", entry.id(), entry.state(), clientIp, userAgent);
+                        throw new BadRequestException("UNAVAILABLE ACCESS LINK");
+                    }
+                    if (countSampled) {
+                        clickEventPublisher.publish(ClickEvent.of(entry.id(), urlPath, clientIp, userAgent, referer, redirectConfig.countWeight()));
+                    }
+                    return redirect(entry, countSampled);
+                });
+    }
+
+    // cache miss 시 JDBC 조회는 bounded scheduler 에서 실행, 조회 중 purge 된 경우 캐시에 저장하지 않음
+    private Mono<LinkCacheEntry> loadLink(String urlPath) {
+        return linkCache.generation(urlPath)
+                .flatMap(generation -> Mono.fromCallable(() -> LinkCacheEntry.from(linkService.findLinkByUrlPath(urlPath)))
+                        .subscribeOn(blockingIoScheduler)
+                        .flatMap(entry -> linkCache.put(entry, generation).thenReturn(entry)));
+    }
+
+    private ResponseEntity<Void> redirect(LinkCacheEntry entry, boolean countSampled) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(redirectConfig.resolveType(entry.redirectType()).getStatus())
+                .location(URI.create(entry.redirectionUrl()))
+                .cacheControl(redirectConfig.cacheControl(countSampled))
+                .header(LinkPolicy.SURROGATE_KEY_HEADER, SurrogateKeyPurgeHook.surrogateKey(entry.urlPath()));
+        redirectConfig.countSampleVary().ifPresent(header -> response.varyBy(header));
+        return response.build();
+    }
+}
@@ -0,0 +1,32 @@
+package io.andy.shorten_url.link.controller;
+
+import io.andy.shorten_url.link_analytics.constant.TrendingWindow;
+import io.andy.shorten_url.link_analytics.trending.TrendingLinkTracker;
+
+import lombok.AllArgsConstructor;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@AllArgsConstructor
+@RestController
+public class TrendingLinkController {
+    private final TrendingLinkTracker trendingLinkTracker;
+
+    @GetMapping("/api/link/trending")
+    public ResponseEntity<Map<String, Object>> findTrendingLinks(
+            @RequestParam(defaultValue = "5m") String window,
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        TrendingWindow trendingWindow = TrendingWindow.fromLabel(window);
+        Map<String, Object> response = new HashMap<>();
+        response.put("window", trendingWindow.getLabel());
+        response.put("links", trendingLinkTracker.findTop(trendingWindow, limit));
+        return ResponseEntity.ok(response);
+    }
+}
@@ -0,0 +1,30 @@
+package io.andy.shorten_url.link.counter;
+
+import io.andy.shorten_url.exception.client.NotFoundException;
+import io.andy.shorten_url.link.entity.Link;
+import io.andy.shorten_url.link.repository.LinkStore;
+
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "link.counter.mode", havingValue = "database", matchIfMissing = true)
+public class DatabaseLinkCounter implements LinkCounter {
+    private final LinkStore linkStore;
+
+    @Override
+    public void increment(Long linkId, long delta) {
+        // 엔티티 dirty checking 대신 원자적 UPDATE 로 반영하여 동시 요청 시 유실 방지
+        linkStore.increaseAccessCount(linkId, delta);
+    }
+
+    @Override
+    public long currentCount(Long linkId) {
+        return linkStore.findById(linkId)
+                .map(Link::getAccessCount)
+                .orElseThrow(() -> new NotFoundException("NOT FOUND LINK"));
+    }
+}
@@ -0,0 +1,127 @@
+package io.andy.shorten_url.link.counter;
+
+import io.andy.shorten_url.link.entity.LinkCountCheckpoint;
+import io.andy.shorten_url.link.repository.LinkCountCheckpointRepository;
+import io.andy.shorten_url.link.repository.LinkStore;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * 닫힌 bucket 을 link.access_count 에 반영
+ * 반영량과 checkpoint(last_bucket)를 같은 트랜잭션에서 갱신하므로 Redis 정리 전에 실패해도 중복 반영되지 않음
+ * (shard 는 checkpoint 와 다른 DB 이므로 반영한 bucket 을 shard 의 link.count_bucket 에 함께 기록)
+ * 노드 간 시계 차이나 bucket 경계 직전에 시작된 HINCRBY 가 늦게 도착할 수 있으므로 grace 만큼 지난 bucket 만 닫힌 것으로 봄
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "link.counter.mode", havingValue = "redis")
+public class LinkCountReconciler {
+    // 남은 bucket 이 없을 때만 dirty set 에서 제거 (increment 와의 경합 방지)
+    private static final RedisScript<Long> REMOVE_IF_EMPTY = new DefaultRedisScript<>(
+            "if redis.call('HLEN', KEYS[1]) == 0 then return redis.call('SREM', KEYS[2], ARGV[1]) end return 0",
+            Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisLinkCounter redisLinkCounter;
+    private final LinkStore linkStore;
+    private final LinkCountCheckpointRepository checkpointRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final long graceBuckets;
+
+    public LinkCountReconciler(
+            StringRedisTemplate stringRedisTemplate,
+            RedisLinkCounter redisLinkCounter,
+            LinkStore linkStore,
+            LinkCountCheckpointRepository checkpointRepository,
+            TransactionTemplate transactionTemplate,
+            @Value("${link.counter.reconcile-grace-buckets:1}") long graceBuckets
+    ) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.redisLinkCounter = redisLinkCounter;
+        this.linkStore = linkStore;
+        this.checkpointRepository = checkpointRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.graceBuckets = Math.max(0L, graceBuckets);
+    }
+
+    @Scheduled(fixedDelayString = "${link.counter.reconcile-millis:60000}")
+    public void reconcile() {
+        Set<String> dirtyLinkIds = stringRedisTemplate.opsForSet().members(RedisLinkCounter.DIRTY_KEY);
+        if (dirtyLinkIds == null || dirtyLinkIds.isEmpty()) {
+            return;
+        }
+        long closedBefore = redisLinkCounter.currentBucket() - graceBuckets;
+        for (String linkId : dirtyLinkIds) {
+            try {
+                reconcile(Long.valueOf(linkId), closedBefore);
+            } catch (Exception e) {
+                log.error("failed to reconcile link count, linkId={}, message={}", linkId, e.getMessage());
+            }
+        }
+    }
+
+    // closedBefore 미만의 bucket 만 반영
+    void reconcile(Long linkId, long closedBefore) {
+        String key = RedisLinkCounter.clicksKey(linkId);
+        Map<Object, Object> buckets = stringRedisTemplate.opsForHash().entries(key);
+
+        List<Object> closedBuckets = new ArrayList<>();
+        long maxClosedBucket = Long.MIN_VALUE;
+        for (Map.Entry<Object, Object> bucket : buckets.entrySet()) {
+            long bucketId = Long.parseLong(bucket.getKey().toString());
+            if (bucketId < closedBefore) {
+                closedBuckets.add(bucket.getKey());
+                maxClosedBucket = Math.max(maxClosedBucket, bucketId);
+            }
+        }
+        if (!closedBuckets.isEmpty()) {
+            fold(linkId, buckets, maxClosedBucket);
+            stringRedisTemplate.opsForHash().delete(key, closedBuckets.toArray());
+        }
+        stringRedisTemplate.execute(REMOVE_IF_EMPTY, List.of(key, RedisLinkCounter.DIRTY_KEY), String.valueOf(linkId));
+    }
+
+    private void fold(Long linkId, Map<Object, Object> buckets, long maxClosedBucket) {
+        transactionTemplate.executeWithoutResult(status -> {
+            // 여러 노드가 같은 링크를 동시에 반영하지 않도록 checkpoint 를 읽는 시점에 lock
+            // 처음 반영하는 링크는 동시 insert 중 하나가 실패하여 rollback 되고 다음 주기에 다시 반영됨
+            LinkCountCheckpoint checkpoint = checkpointRepository.findForUpdate(linkId)
+                    .orElseGet(() -> new LinkCountCheckpoint(linkId));
+
+            // 이미 반영된 bucket 은 제외
+            SortedMap<Long, Long> deltaByBucket = new TreeMap<>();
+            for (Map.Entry<Object, Object> bucket : buckets.entrySet()) {
+                long bucketId = Long.parseLong(bucket.getKey().toString());
+                if (bucketId > checkpoint.getLastBucket() && bucketId <= maxClosedBucket) {
+                    deltaByBucket.put(bucketId, Long.parseLong(bucket.getValue().toString()));
+                }
+            }
+            if (maxClosedBucket <= checkpoint.getLastBucket()) {
+                return;
+            }
+            // shard 사용 시 조회수는 shard DB 에서 따로 커밋되므로, 반영한 bucket 을 shard row 에 함께 기록해 다시 반영하지 않음
+            linkStore.increaseAccessCount(linkId, deltaByBucket);
+            checkpoint.setLastBucket(maxClosedBucket);
+            checkpoint.setUpdatedAt(LocalDateTime.now());
+            checkpointRepository.save(checkpoint);
+            log.debug("reconciled link count, linkId={}, buckets={}, lastBucket={}", linkId, deltaByBucket.size(), maxClosedBucket);
+        });
+    }
+}
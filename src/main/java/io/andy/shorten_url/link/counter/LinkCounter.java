@@ -0,0 +1,11 @@
+package io.andy.shorten_url.link.counter;
+
+/**
+ * 링크 조회수 집계 방식
+ * - database: link.access_count 에 바로 반영
+ * - redis: 시간 bucket 별로 Redis 에 누적 후 주기적으로 link.access_count 에 반영
+ */
+public interface LinkCounter {
+    void increment(Long linkId, long delta);
+    long currentCount(Long linkId);
+}
@@ -0,0 +1,76 @@
+package io.andy.shorten_url.link.counter;
+
+import io.andy.shorten_url.exception.client.NotFoundException;
+import io.andy.shorten_url.link.entity.Link;
+import io.andy.shorten_url.link.entity.LinkCountCheckpoint;
+import io.andy.shorten_url.link.repository.LinkCountCheckpointRepository;
+import io.andy.shorten_url.link.repository.LinkStore;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * link:clicks:{linkId} hash 에 bucket(= epoch millis / bucket-millis) 단위로 HINCRBY
+ * 반영 대상 링크는 link:clicks:dirty set 으로 관리
+ */
+@Component
+@ConditionalOnProperty(name = "link.counter.mode", havingValue = "redis")
+public class RedisLinkCounter implements LinkCounter {
+    public static final String CLICKS_KEY_PREFIX = "link:clicks:";
+    public static final String DIRTY_KEY = "link:clicks:dirty";
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final LinkStore linkStore;
+    private final LinkCountCheckpointRepository checkpointRepository;
+    private final long bucketMillis;
+
+    public RedisLinkCounter(
+            StringRedisTemplate stringRedisTemplate,
+            LinkStore linkStore,
+            LinkCountCheckpointRepository checkpointRepository,
+            @Value("${link.counter.bucket-millis:60000}") long bucketMillis
+    ) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.linkStore = linkStore;
+        this.checkpointRepository = checkpointRepository;
+        this.bucketMillis = bucketMillis;
+    }
+
+    public static String clicksKey(Long linkId) {
+        return CLICKS_KEY_PREFIX + linkId;
+    }
+
+    public long currentBucket() {
+        return System.currentTimeMillis() / bucketMillis;
+    }
+
+    @Override
+    public void increment(Long linkId, long delta) {
+        stringRedisTemplate.opsForHash().increment(clicksKey(linkId), String.valueOf(currentBucket()), delta);
+        stringRedisTemplate.opsForSet().add(DIRTY_KEY, String.valueOf(linkId));
+    }
+
+    @Override
+    public long currentCount(Long linkId) {
+        long persisted = linkStore.findById(linkId)
+                .map(Link::getAccessCount)
+                .orElseThrow(() -> new NotFoundException("NOT FOUND LINK"));
+        long lastBucket = checkpointRepository.findById(linkId)
+                .map(LinkCountCheckpoint::getLastBucket)
+                .orElse(Long.MIN_VALUE);
+
+        // 아직 DB 에 반영되지 않은 bucket 만 합산
+        long pending = 0L;
+        Map<Object, Object> buckets = stringRedisTemplate.opsForHash().entries(clicksKey(linkId));
+        for (Map.Entry<Object, Object> bucket : buckets.entrySet()) {
+            if (Long.parseLong(bucket.getKey().toString()) > lastBucket) {
+                pending += Long.parseLong(bucket.getValue().toString());
+            }
+        }
+        return persisted + pending;
+    }
+}
@@ -0,0 +1,11 @@
+package io.andy.shorten_url.link.dto;
+
+import java.time.LocalDateTime;
+
+public record LiveClickDto(
+        Long linkId,
+        long delta,
+        long total,
+        LocalDateTime at
+) {
+}
@@ -1,6 +1,7 @@
 package io.andy.shorten_url.link.entity;
 
 import io.andy.shorten_url.link.constant.LinkState;
+import io.andy.shorten_url.link.constant.RedirectType;
 
 import jakarta.persistence.*;
 
@@ -14,7 +15,9 @@ import java.time.LocalDateTime;
 @Getter @Setter
 @ToString
 public class Link {
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // MySQL 에서는 link_seq 테이블로 sequence 를 흉내냄 (pooled, allocationSize 만큼 한 번에 할당하여 insert batch 가능)
+    @Id @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "link_seq")
+    @SequenceGenerator(name = "link_seq", sequenceName = "link_seq", allocationSize = 50)
     private Long id;
     @Enumerated(EnumType.STRING)
     private LinkState state;
@@ -25,6 +28,8 @@ public class Link {
     private LocalDateTime updatedAt;
     private LocalDateTime deletedAt;
     private Long accessCount;
+    @Enumerated(EnumType.STRING)
+    private RedirectType redirectType; // null 이면 전역 설정을 따름
 
     protected Link() {}
 
@@ -0,0 +1,27 @@
+package io.andy.shorten_url.link.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Getter @Setter
+@ToString
+public class LinkCountCheckpoint {
+    @Id
+    private Long linkId;
+    private Long lastBucket; // 마지막으로 access_count 에 반영된 bucket
+    private LocalDateTime updatedAt;
+
+    protected LinkCountCheckpoint() {}
+
+    public LinkCountCheckpoint(Long linkId) {
+        this.linkId = linkId;
+        this.lastBucket = Long.MIN_VALUE;
+    }
+}
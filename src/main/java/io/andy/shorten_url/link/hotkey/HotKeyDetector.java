@@ -0,0 +1,104 @@
+package io.andy.shorten_url.link.hotkey;
+
+import io.andy.shorten_url.util.sketch.SpaceSaving;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 리다이렉트 트래픽의 sliding window heavy hitter 탐지
+ * window 를 여러 slot 으로 나누고, slot 마다 Space-Saving 요약을 유지한다.
+ * 요청 스레드는 스레드별로 나눈 stripe 요약에만 기록하고(lock 경합 분산), rotate 에서 stripe 를 비우며 현재 slot 으로 합친다.
+ */
+@Slf4j
+@Component
+public class HotKeyDetector {
+    private final int capacity;
+    private final long threshold;
+    private final SpaceSaving<String>[] stripes;
+    private final SpaceSaving<String>[] slots; // rotate 스레드만 변경
+    private int currentSlot = 0;
+    private volatile Map<String, Long> hotKeys = Collections.emptyMap();
+
+    @SuppressWarnings("unchecked")
+    public HotKeyDetector(
+            @Value("${link.hot-key.capacity:128}") int capacity,
+            @Value("${link.hot-key.window-slots:6}") int windowSlots,
+            @Value("${link.hot-key.threshold:1000}") long threshold,
+            @Value("${link.hot-key.stripes:16}") int stripes
+    ) {
+        this.capacity = capacity;
+        this.threshold = threshold;
+        this.stripes = new SpaceSaving[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new SpaceSaving<>(capacity);
+        }
+        this.slots = new SpaceSaving[windowSlots];
+        for (int i = 0; i < windowSlots; i++) {
+            slots[i] = new SpaceSaving<>(capacity);
+        }
+    }
+
+    public void record(String urlPath) {
+        stripes[(int) Math.floorMod(Thread.currentThread().threadId(), (long) stripes.length)].offer(urlPath);
+    }
+
+    public boolean isHot(String urlPath) {
+        return hotKeys.containsKey(urlPath);
+    }
+
+    public Set<String> getHotKeys() {
+        return hotKeys.keySet();
+    }
+
+    public Map<String, Long> getHotKeyStats() {
+        return hotKeys;
+    }
+
+    // slot 주기마다 stripe 를 현재 slot 으로 합친 뒤 window 전체를 합산하여 hot key 를 갱신하고, 가장 오래된 slot 을 비운다
+    @Scheduled(fixedRateString = "${link.hot-key.slot-millis:10000}")
+    public void rotate() {
+        SpaceSaving<String> closed = slots[currentSlot];
+        for (SpaceSaving<String> stripe : stripes) {
+            closed.merge(SpaceSaving.of(capacity, stripe.drain()));
+        }
+
+        Map<String, Long> windowCounts = new HashMap<>();
+        for (SpaceSaving<String> slot : slots) {
+            for (SpaceSaving.Counter<String> counter : slot.top(capacity)) {
+                windowCounts.merge(counter.item(), counter.count(), Long::sum);
+            }
+        }
+        Map<String, Long> detected = windowCounts.entrySet()
+                .stream()
+                .filter(entry -> entry.getValue() >= threshold)
+                .collect(Collectors.toUnmodifiableMap(Map.Entry::getKey, Map.Entry::getValue));
+
+        if (!detected.keySet().equals(hotKeys.keySet())) {
+            log.info("hot keys changed, hotKeys={}", detected);
+        }
+        hotKeys = detected;
+
+        currentSlot = (currentSlot + 1) % slots.length;
+        slots[currentSlot] = new SpaceSaving<>(capacity);
+    }
+
+    // 아직 slot 으로 합쳐지지 않은 stripe 요약을 합쳐서 조회
+    public List<SpaceSaving.Counter<String>> currentSlotTop(int k) {
+        SpaceSaving<String> current = new SpaceSaving<>(capacity);
+        for (SpaceSaving<String> stripe : stripes) {
+            current.merge(stripe);
+        }
+        return current.top(k);
+    }
+}
@@ -0,0 +1,66 @@
+package io.andy.shorten_url.link.hotkey;
+
+import io.andy.shorten_url.link.cache.LinkCacheEntry;
+import io.andy.shorten_url.link.entity.Link;
+import io.andy.shorten_url.link.repository.LinkStore;
+import io.andy.shorten_url.link.service.LinkPurgeHook;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * hot key 로 탐지된 링크를 노드 로컬 메모리에 고정(pin)하는 L1 캐시
+ * 만료 없이 주기적으로 DB 에서 다시 읽어 갱신한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class HotLinkCache implements LinkPurgeHook {
+    private final HotKeyDetector hotKeyDetector;
+    private final LinkStore linkStore;
+    private final Map<String, LinkCacheEntry> pinned = new ConcurrentHashMap<>();
+
+    public LinkCacheEntry get(String urlPath) {
+        return pinned.get(urlPath);
+    }
+
+    public Map<String, LinkCacheEntry> getPinned() {
+        return Collections.unmodifiableMap(pinned);
+    }
+
+    @Scheduled(fixedRateString = "${link.hot-key.refresh-millis:5000}")
+    public void refresh() {
+        Set<String> hotKeys = hotKeyDetector.getHotKeys();
+        pinned.keySet().removeIf(urlPath -> !hotKeys.contains(urlPath));
+
+        for (String urlPath : hotKeys) {
+            try {
+                linkStore.findByUrlPath(urlPath).ifPresentOrElse(
+                        link -> pinned.put(urlPath, LinkCacheEntry.from(link)),
+                        () -> pinned.remove(urlPath)
+                );
+            } catch (Exception e) {
+                // 갱신 실패시 기존 값 유지
+                log.warn("failed to refresh hot link, urlPath={}, message={}", urlPath, e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void purge(Link link) {
+        invalidate(LinkCacheEntry.from(link));
+    }
+
+    // 다른 노드의 변경은 LinkCacheInvalidationBus 를 통해 전달되며, 놓친 경우 다음 refresh 주기에 반영됨
+    public void invalidate(LinkCacheEntry entry) {
+        pinned.computeIfPresent(entry.urlPath(), (urlPath, pinnedEntry) -> entry);
+    }
+}
@@ -0,0 +1,85 @@
+package io.andy.shorten_url.link.hotkey;
+
+import io.andy.shorten_url.link.counter.LinkCounter;
+
+import jakarta.annotation.PreDestroy;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * hot link 의 조회수를 row 단위 UPDATE 대신 striped counter(LongAdder)에 모았다가 주기적으로 반영
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ShardedLinkCounter {
+    private final LinkCounter linkCounter;
+    private final Map<Long, LongAdder> counters = new ConcurrentHashMap<>();
+
+    public void increment(Long linkId, long delta) {
+        LongAdder adder = counters.computeIfAbsent(linkId, id -> new LongAdder());
+        adder.add(delta);
+        // evictIdle 가 이미 제거하고 비운 counter 에 더했다면 남은 증가분을 현재 counter 로 옮김
+        if (counters.get(linkId) != adder) {
+            moveRemaining(linkId, adder);
+        }
+    }
+
+    public long pending(Long linkId) {
+        LongAdder adder = counters.get(linkId);
+        return adder == null ? 0L : adder.sum();
+    }
+
+    int size() {
+        return counters.size();
+    }
+
+    @Scheduled(fixedRateString = "${link.hot-key.counter-flush-millis:1000}")
+    public void flush() {
+        for (Map.Entry<Long, LongAdder> entry : counters.entrySet()) {
+            long delta = entry.getValue().sumThenReset();
+            if (delta == 0) {
+                evictIdle(entry.getKey(), entry.getValue());
+                continue;
+            }
+            try {
+                linkCounter.increment(entry.getKey(), delta);
+            } catch (Exception e) {
+                // 다음 주기에 다시 반영
+                entry.getValue().add(delta);
+                log.error("failed to flush sharded link count, linkId={}, delta={}, message={}", entry.getKey(), delta, e.getMessage());
+            }
+        }
+    }
+
+    // 종료 시 아직 반영되지 않은 집계를 유실하지 않도록 마지막으로 반영
+    @PreDestroy
+    public void close() {
+        flush();
+    }
+
+    // 한 주기 동안 증가가 없던 링크는 제거하여 더 이상 hot 하지 않은 링크가 쌓이지 않도록 함
+    private void evictIdle(Long linkId, LongAdder adder) {
+        if (!counters.remove(linkId, adder)) {
+            return;
+        }
+        // 제거 직전에 들어온 증가분은 새 counter 로 옮겨 다음 주기에 반영
+        moveRemaining(linkId, adder);
+    }
+
+    // 제거된 counter 의 값을 옮김, sumThenReset 으로 가져가므로 evictIdle 과 increment 가 동시에 옮겨도 중복되지 않음
+    private void moveRemaining(Long linkId, LongAdder removed) {
+        long remaining = removed.sumThenReset();
+        if (remaining != 0) {
+            increment(linkId, remaining);
+        }
+    }
+}
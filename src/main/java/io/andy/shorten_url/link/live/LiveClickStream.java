@@ -0,0 +1,163 @@
+package io.andy.shorten_url.link.live;
+
+import io.andy.shorten_url.exception.client.BadRequestException;
+import io.andy.shorten_url.link.dto.LiveClickDto;
+import io.andy.shorten_url.link.service.LinkService;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 링크별 실시간 클릭 수 stream
+ * - 같은 링크를 보는 구독자는 하나의 tick stream 을 공유하여, 구독자 수와 무관하게 tick 당 한 번만 카운터 조회
+ * - tick 사이의 클릭은 delta 하나로 합쳐 전송, 변화가 없으면 전송하지 않음
+ * - 느린 구독자는 최신 값만 받도록 onBackpressureLatest
+ * - MVC 응답은 SseEmitter 로 내보내 async timeout 을 SSE 에만 따로 적용 (전역 async timeout 은 기본값 유지)
+ */
+@Slf4j
+@Component
+public class LiveClickStream {
+    static final String CLICK_EVENT = "click";
+
+    private final LinkService linkService;
+    private final Scheduler blockingIoScheduler;
+    private final Duration tick;
+    private final Duration heartbeat;
+    private final Duration maxDuration;
+    private final int maxLinks;
+    private final Map<Long, Flux<LiveClickDto>> streams = new ConcurrentHashMap<>();
+
+    public LiveClickStream(
+            LinkService linkService,
+            Scheduler blockingIoScheduler,
+            @Value("${link.live.tick-millis:1000}") long tickMillis,
+            @Value("${link.live.heartbeat-millis:15000}") long heartbeatMillis,
+            @Value("${link.live.max-duration-millis:1800000}") long maxDurationMillis,
+            @Value("${link.live.max-links:1000}") int maxLinks
+    ) {
+        this.linkService = linkService;
+        this.blockingIoScheduler = blockingIoScheduler;
+        this.tick = Duration.ofMillis(tickMillis);
+        this.heartbeat = Duration.ofMillis(heartbeatMillis);
+        this.maxDuration = Duration.ofMillis(maxDurationMillis);
+        this.maxLinks = maxLinks;
+    }
+
+    public Flux<ServerSentEvent<LiveClickDto>> subscribe(Long linkId) {
+        Flux<ServerSentEvent<LiveClickDto>> clicks = sharedStream(linkId)
+                .onBackpressureLatest()
+                .map(click -> ServerSentEvent.<LiveClickDto>builder()
+                        .event(CLICK_EVENT)
+                        .data(click)
+                        .build());
+        // 프록시의 idle timeout 으로 연결이 끊기지 않도록 주기적으로 comment 전송
+        Flux<ServerSentEvent<LiveClickDto>> heartbeats = Flux.interval(heartbeat, heartbeat)
+                .onBackpressureDrop()
+                .map(i -> ServerSentEvent.<LiveClickDto>builder().comment("heartbeat").build());
+        // 최대 구독 시간이 지나면 종료, 클라이언트(EventSource)가 재연결
+        return Flux.merge(clicks, heartbeats)
+                .take(maxDuration);
+    }
+
+    /**
+     * subscribe 결과를 SseEmitter 로 연결
+     * - timeout 은 최대 구독 시간 + heartbeat 간격, stream 이 먼저 끝나면 complete
+     * - 연결이 끊기거나 timeout 되면 구독 해제
+     */
+    public SseEmitter open(Long linkId) {
+        Flux<ServerSentEvent<LiveClickDto>> events = subscribe(linkId);
+        SseEmitter emitter = new SseEmitter(maxDuration.plus(heartbeat).toMillis());
+        Disposable subscription = events.subscribe(
+                event -> send(emitter, event),
+                emitter::completeWithError,
+                emitter::complete);
+        emitter.onTimeout(subscription::dispose);
+        emitter.onError(e -> subscription.dispose());
+        emitter.onCompletion(subscription::dispose);
+        return emitter;
+    }
+
+    int activeLinks() {
+        return streams.size();
+    }
+
+    private void send(SseEmitter emitter, ServerSentEvent<LiveClickDto> event) {
+        SseEmitter.SseEventBuilder builder = SseEmitter.event();
+        if (event.comment() != null) {
+            builder.comment(event.comment());
+        }
+        if (event.event() != null) {
+            builder.name(event.event());
+        }
+        if (event.data() != null) {
+            builder.data(event.data(), MediaType.APPLICATION_JSON);
+        }
+        try {
+            emitter.send(builder);
+        } catch (IOException | IllegalStateException e) {
+            // 클라이언트 연결 종료 또는 이미 완료된 emitter
+            log.debug("failed to send live click event, message={}", e.getMessage());
+            emitter.completeWithError(e);
+        }
+    }
+
+    private Flux<LiveClickDto> sharedStream(Long linkId) {
+        Flux<LiveClickDto> existing = streams.get(linkId);
+        if (existing != null) {
+            return existing;
+        }
+        if (streams.size() >= maxLinks) {
+            log.warn("too many live click streams, active={}", streams.size());
+            throw new BadRequestException("TOO MANY LIVE STREAMS");
+        }
+        return streams.computeIfAbsent(linkId, this::createStream);
+    }
+
+    private Flux<LiveClickDto> createStream(Long linkId) {
+        AtomicReference<Flux<LiveClickDto>> self = new AtomicReference<>();
+        Flux<LiveClickDto> stream = Flux.interval(Duration.ZERO, tick, Schedulers.parallel())
+                .onBackpressureDrop()
+                .concatMap(i -> readCount(linkId), 1)
+                .scan(new LiveClickDto(linkId, 0L, -1L, LocalDateTime.now()), (previous, total) -> new LiveClickDto(
+                        linkId,
+                        previous.total() < 0 ? 0L : Math.max(0L, total - previous.total()),
+                        total,
+                        LocalDateTime.now()))
+                .skip(1)
+                // 첫 값(현재 누적치)은 항상 전송, 이후에는 변화가 있을 때만 전송
+                .distinctUntilChanged(LiveClickDto::total)
+                .doFinally(signal -> streams.remove(linkId, self.get()))
+                // 늦게 들어온 구독자도 최근 값을 바로 받도록 마지막 1개를 replay
+                .replay(1)
+                .refCount();
+        self.set(stream);
+        return stream;
+    }
+
+    private Mono<Long> readCount(Long linkId) {
+        return Mono.fromCallable(() -> linkService.findAccessCount(linkId))
+                .subscribeOn(blockingIoScheduler)
+                .onErrorResume(e -> {
+                    log.error("failed to read live click count, linkId={}, message={}", linkId, e.getMessage());
+                    return Mono.empty();
+                });
+    }
+}
@@ -0,0 +1,68 @@
+package io.andy.shorten_url.link.repository;
+
+import io.andy.shorten_url.link.entity.Link;
+
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.SortedMap;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "link.shard.enabled", havingValue = "false", matchIfMissing = true)
+public class JpaLinkStore implements LinkStore {
+    private final LinkRepository linkRepository;
+
+    @Override
+    public Link save(Link link) {
+        return linkRepository.save(link);
+    }
+
+    @Override
+    public void update(Link link) {
+        // 트랜잭션 안에서 조회한 엔티티는 이미 managed 상태이므로 merge 는 flush 시점에 반영됨
+        linkRepository.save(link);
+    }
+
+    @Override
+    public Optional<Link> findById(Long id) {
+        return linkRepository.findById(id);
+    }
+
+    @Override
+    public List<Link> findAllById(Collection<Long> ids) {
+        return linkRepository.findAllById(ids);
+    }
+
+    @Override
+    public List<Link> findByUserId(Long userId) {
+        return linkRepository.findByUserId(userId);
+    }
+
+    @Override
+    public List<Link> findAll() {
+        return linkRepository.findAll();
+    }
+
+    @Override
+    public Optional<Link> findByUrlPath(String urlPath) {
+        return linkRepository.findByUrlPath(urlPath);
+    }
+
+    @Override
+    public int increaseAccessCount(Long id, long delta) {
+        return linkRepository.increaseAccessCount(id, delta);
+    }
+
+    // checkpoint 와 같은 DB 의 같은 트랜잭션에서 반영되므로 이미 반영한 bucket 은 checkpoint 로 걸러짐
+    @Override
+    public int increaseAccessCount(Long id, SortedMap<Long, Long> deltaByBucket) {
+        long delta = deltaByBucket.values().stream().mapToLong(Long::longValue).sum();
+        return delta == 0 ? 0 : linkRepository.increaseAccessCount(id, delta);
+    }
+}
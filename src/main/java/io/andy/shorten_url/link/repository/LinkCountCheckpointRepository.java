@@ -0,0 +1,21 @@
+package io.andy.shorten_url.link.repository;
+
+import io.andy.shorten_url.link.entity.LinkCountCheckpoint;
+
+import jakarta.persistence.LockModeType;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface LinkCountCheckpointRepository extends JpaRepository<LinkCountCheckpoint, Long> {
+    // 여러 노드의 reconciler 가 같은 링크를 중복 반영하지 않도록 읽는 시점에 lock
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM LinkCountCheckpoint c WHERE c.linkId = :linkId")
+    Optional<LinkCountCheckpoint> findForUpdate(@Param("linkId") Long linkId);
+}
@@ -4,7 +4,11 @@ import io.andy.shorten_url.common.CommonRepository;
 import io.andy.shorten_url.link.entity.Link;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -13,4 +17,9 @@ import java.util.Optional;
 public interface LinkRepository extends JpaRepository<Link, Long>, CommonRepository<Link> {
     List<Link> findByUserId(Long userId);
     Optional<Link> findByUrlPath(String urlPath);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Link l SET l.accessCount = l.accessCount + :delta WHERE l.id = :id")
+    int increaseAccessCount(@Param("id") Long id, @Param("delta") long delta);
 }
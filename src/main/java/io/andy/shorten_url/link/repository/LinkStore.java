@@ -0,0 +1,31 @@
+package io.andy.shorten_url.link.repository;
+
+import io.andy.shorten_url.link.entity.Link;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.SortedMap;
+
+/**
+ * 링크 저장소
+ * - JpaLinkStore: 단일 DB 의 JPA LinkRepository 사용 (기본)
+ * - ShardedLinkRepository: urlPath hash 로 shard 를 골라 저장 (link.shard.enabled=true)
+ * 변경 사항은 dirty checking 에 기대지 않고 update 로 반영
+ */
+public interface LinkStore {
+    Link save(Link link);
+    void update(Link link);
+    Optional<Link> findById(Long id);
+    List<Link> findAllById(Collection<Long> ids);
+    List<Link> findByUserId(Long userId);
+    List<Link> findAll();
+    Optional<Link> findByUrlPath(String urlPath);
+    int increaseAccessCount(Long id, long delta);
+
+    /**
+     * bucket 별 조회수 반영 (LinkCountReconciler), 이미 반영한 bucket 은 다시 반영하지 않음
+     * @param deltaByBucket bucket id -> 증가량
+     */
+    int increaseAccessCount(Long id, SortedMap<Long, Long> deltaByBucket);
+}
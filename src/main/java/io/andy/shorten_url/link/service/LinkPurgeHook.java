@@ -0,0 +1,8 @@
+package io.andy.shorten_url.link.service;
+
+import io.andy.shorten_url.link.entity.Link;
+
+// 링크의 리다이렉션 정보가 변경되었을 때 캐시된 응답을 무효화하기 위한 hook
+public interface LinkPurgeHook {
+    void purge(Link link);
+}
@@ -1,6 +1,8 @@
 package io.andy.shorten_url.link.service;
 
+import io.andy.shorten_url.link.cache.LinkCacheEntry;
 import io.andy.shorten_url.link.constant.LinkState;
+import io.andy.shorten_url.link.constant.RedirectType;
 import io.andy.shorten_url.link.entity.Link;
 import io.andy.shorten_url.link.dto.CreateLinkDto;
 import org.springframework.data.domain.Pageable;
@@ -11,11 +13,15 @@ public interface LinkService {
     Link createLink(CreateLinkDto dto);
     Link findLinkById(Long id);
     Link findLinkByUrlPath(String urlPath);
+    LinkCacheEntry findRedirectionByUrlPath(String urlPath);
     List<Link> findLinksByUserId(Long userId);
     List<Link> findAllLinks(Pageable pageable);
     boolean isUniqueUrlPath(String urlPath);
     Link updateLinkState(Long id, LinkState state);
     Link updateRedirectionUrl(Long id, String redirectionUrl);
+    Link updateRedirectType(Long id, RedirectType redirectType);
     void deleteLinkById(Long id);
     long increaseLinkCount(Long id);
+    void countAccess(Long id, String urlPath, long delta);
+    long findAccessCount(Long id);
 }
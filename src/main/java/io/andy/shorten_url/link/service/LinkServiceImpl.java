@@ -3,11 +3,18 @@ package io.andy.shorten_url.link.service;
 import io.andy.shorten_url.exception.client.BadRequestException;
 import io.andy.shorten_url.exception.client.NotFoundException;
 import io.andy.shorten_url.exception.server.InternalServerException;
+import io.andy.shorten_url.link.cache.LinkCacheEntry;
+import io.andy.shorten_url.link.cache.RedirectCache;
 import io.andy.shorten_url.link.constant.LinkPolicy;
 import io.andy.shorten_url.link.constant.LinkState;
+import io.andy.shorten_url.link.constant.RedirectType;
+import io.andy.shorten_url.link.counter.LinkCounter;
 import io.andy.shorten_url.link.dto.CreateLinkDto;
 import io.andy.shorten_url.link.entity.Link;
-import io.andy.shorten_url.link.repository.LinkRepository;
+import io.andy.shorten_url.link.hotkey.HotKeyDetector;
+import io.andy.shorten_url.link.hotkey.HotLinkCache;
+import io.andy.shorten_url.link.hotkey.ShardedLinkCounter;
+import io.andy.shorten_url.link.repository.LinkStore;
 import io.andy.shorten_url.util.encrypt.EncodeUtil;
 import io.andy.shorten_url.util.random.RandomUtility;
 import io.andy.shorten_url.util.validation.Validator;
@@ -18,24 +25,45 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 @Slf4j
 @Service
 public class LinkServiceImpl implements LinkService {
-    private final LinkRepository linkRepository;
+    private final LinkStore linkStore;
     private final RandomUtility randomUtility;
+    private final List<LinkPurgeHook> purgeHooks;
+    private final HotKeyDetector hotKeyDetector;
+    private final HotLinkCache hotLinkCache;
+    private final ShardedLinkCounter shardedLinkCounter;
+    private final RedirectCache redirectCache;
+    private final LinkCounter linkCounter;
 
     @Autowired
     public LinkServiceImpl(
-            LinkRepository linkRepository,
-            @Qualifier("RandomStringGenerator") RandomUtility randomUtility
+            LinkStore linkStore,
+            @Qualifier("RandomStringGenerator") RandomUtility randomUtility,
+            List<LinkPurgeHook> purgeHooks,
+            HotKeyDetector hotKeyDetector,
+            HotLinkCache hotLinkCache,
+            ShardedLinkCounter shardedLinkCounter,
+            RedirectCache redirectCache,
+            LinkCounter linkCounter
     ) {
-        this.linkRepository = linkRepository;
+        this.linkStore = linkStore;
         this.randomUtility = randomUtility;
+        this.purgeHooks = purgeHooks;
+        this.hotKeyDetector = hotKeyDetector;
+        this.hotLinkCache = hotLinkCache;
+        this.shardedLinkCounter = shardedLinkCounter;
+        this.redirectCache = redirectCache;
+        this.linkCounter = linkCounter;
     }
 
     @Override
@@ -50,7 +78,7 @@ public class LinkServiceImpl implements LinkService {
             shortenUrlPath = randomUtility.generate(LinkPolicy.URL_PATH_LENGTH);
         } while (!isUniqueUrlPath(shortenUrlPath));
         try {
-            Link link = linkRepository.save(new Link(
+            Link link = linkStore.save(new Link(
                     linkDto.userId(),
                     LinkState.PUBLIC,
                     shortenUrlPath,
@@ -68,7 +96,7 @@ public class LinkServiceImpl implements LinkService {
 
     @Override
     public Link findLinkById(Long id) {
-        Optional<Link> link = linkRepository.findById(id);
+        Optional<Link> link = linkStore.findById(id);
         if (link.isPresent()) {
             return link.get();
         }
@@ -77,29 +105,42 @@ public class LinkServiceImpl implements LinkService {
 
     @Override
     public List<Link> findLinksByUserId(Long userId) {
-        return linkRepository.findByUserId(userId);
+        return linkStore.findByUserId(userId);
     }
 
     @Override
     public List<Link> findAllLinks(Pageable pageable) {
-        return linkRepository.findAll();
+        return linkStore.findAll();
     }
 
     @Override
     public boolean isUniqueUrlPath(String urlPath) {
-        Optional<Link> link = linkRepository.findByUrlPath(urlPath);
+        Optional<Link> link = linkStore.findByUrlPath(urlPath);
         return link.isEmpty();
     }
 
     @Override
     public Link findLinkByUrlPath(String urlPath) {
-        Optional<Link> link = linkRepository.findByUrlPath(urlPath);
+        Optional<Link> link = linkStore.findByUrlPath(urlPath);
         if (link.isPresent()) {
             return link.get();
         }
         throw new NotFoundException("NOT FOUND LINK");
     }
 
+    @Override
+    public LinkCacheEntry findRedirectionByUrlPath(String urlPath) {
+        hotKeyDetector.record(urlPath);
+
+        // hot link 는 노드 로컬 캐시에서 응답
+        LinkCacheEntry hotLink = hotLinkCache.get(urlPath);
+        if (Objects.nonNull(hotLink)) {
+            return hotLink;
+        }
+        // 그 외는 single-flight 로컬 캐시를 거쳐 DB 조회가 몰리지 않도록 함
+        return redirectCache.get(urlPath, path -> LinkCacheEntry.from(findLinkByUrlPath(path)));
+    }
+
     @Override
     public Link updateLinkState(Long id, LinkState state) {
         Link link = findLinkById(id);
@@ -107,7 +148,9 @@ public class LinkServiceImpl implements LinkService {
 
         link.setState(state);
         link.setUpdatedAt(LocalDateTime.now());
+        linkStore.update(link);
 
+        purge(link);
         log.info("updated link state to {} from {}", state, previousState);
         return link;
     }
@@ -119,11 +162,27 @@ public class LinkServiceImpl implements LinkService {
 
         link.setRedirectionUrl(redirectionUrl);
         link.setUpdatedAt(LocalDateTime.now());
+        linkStore.update(link);
 
+        purge(link);
         log.info("updated redirection url to {} from {}", redirectionUrl, previousRedirectionUrl);
         return link;
     }
 
+    @Override
+    public Link updateRedirectType(Long id, RedirectType redirectType) {
+        Link link = findLinkById(id);
+        RedirectType previousRedirectType = link.getRedirectType();
+
+        link.setRedirectType(redirectType);
+        link.setUpdatedAt(LocalDateTime.now());
+        linkStore.update(link);
+
+        purge(link);
+        log.info("updated redirect type to {} from {}", redirectType, previousRedirectType);
+        return link;
+    }
+
     @Override
     public void deleteLinkById(Long id) {
         Link link = findLinkById(id);
@@ -131,6 +190,9 @@ public class LinkServiceImpl implements LinkService {
         link.setState(LinkState.DELETE);
         link.setDeletedAt(LocalDateTime.now());
         link.setRedirectionUrl(EncodeUtil.encrypt(link.getRedirectionUrl()));
+        linkStore.update(link);
+
+        purge(link);
 
         log.info("deleted link={}", link);
     }
@@ -142,11 +204,51 @@ public class LinkServiceImpl implements LinkService {
         if (link.getState() == LinkState.PUBLIC) {
             long accessCount = link.getAccessCount() + 1L;
             link.setAccessCount(accessCount);
+            linkStore.update(link);
             return accessCount;
         } else {
             log.debug("공개된 링크가 아니기에 접근할 수 없습니다. link id={}, state={}", id, link.getState());
             throw new BadRequestException("FAILED TO ACCESS LINK");
         }
     }
-}
 
+    @Override
+    public void countAccess(Long id, String urlPath, long delta) {
+        // hot link 는 같은 row 에 대한 lock 경합을 피하기 위해 로컬에서 합산 후 반영
+        if (hotKeyDetector.isHot(urlPath)) {
+            shardedLinkCounter.increment(id, delta);
+            return;
+        }
+        linkCounter.increment(id, delta);
+    }
+
+    @Override
+    public long findAccessCount(Long id) {
+        // 아직 반영되지 않은 로컬 hot link 집계까지 포함
+        return linkCounter.currentCount(id) + shardedLinkCounter.pending(id);
+    }
+
+    private void purge(Link link) {
+        // 커밋 전에 purge 하면 캐시가 이전 값을 다시 읽어갈 수 있으므로 커밋 이후에 실행
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    runPurgeHooks(link);
+                }
+            });
+            return;
+        }
+        runPurgeHooks(link);
+    }
+
+    private void runPurgeHooks(Link link) {
+        for (LinkPurgeHook purgeHook : purgeHooks) {
+            try {
+                purgeHook.purge(link);
+            } catch (Exception e) {
+                log.error("failed to purge link id={} by {}, message={}", link.getId(), purgeHook.getClass().getSimpleName(), e.getMessage());
+            }
+        }
+    }
+}
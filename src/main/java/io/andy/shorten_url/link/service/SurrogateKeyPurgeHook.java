@@ -0,0 +1,47 @@
+package io.andy.shorten_url.link.service;
+
+import io.andy.shorten_url.config.RedirectConfig;
+import io.andy.shorten_url.link.constant.LinkPolicy;
+import io.andy.shorten_url.link.entity.Link;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+
+@Slf4j
+@Component
+public class SurrogateKeyPurgeHook implements LinkPurgeHook {
+    private final RedirectConfig redirectConfig;
+    private final WebClient webClient;
+
+    public SurrogateKeyPurgeHook(RedirectConfig redirectConfig) {
+        this.redirectConfig = redirectConfig;
+        this.webClient = WebClient.create();
+    }
+
+    public static String surrogateKey(String urlPath) {
+        return LinkPolicy.SURROGATE_KEY_PREFIX.concat(urlPath);
+    }
+
+    @Override
+    public void purge(Link link) {
+        String purgeUrl = redirectConfig.getPurgeUrl();
+        if (purgeUrl == null || purgeUrl.isBlank()) {
+            log.debug("skip surrogate key purge by empty purge url, link id={}", link.getId());
+            return;
+        }
+        String surrogateKey = surrogateKey(link.getUrlPath());
+
+        // 요청 스레드를 막지 않도록 응답은 기다리지 않음
+        webClient.post()
+                .uri(purgeUrl)
+                .header(LinkPolicy.SURROGATE_KEY_HEADER, surrogateKey)
+                .retrieve()
+                .toBodilessEntity()
+                .subscribe(
+                        response -> log.info("purged surrogate key={}, status={}", surrogateKey, response.getStatusCode()),
+                        e -> log.error("failed to purge surrogate key={}, message={}", surrogateKey, e.getMessage())
+                );
+    }
+}
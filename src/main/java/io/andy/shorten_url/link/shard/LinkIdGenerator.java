@@ -0,0 +1,56 @@
+package io.andy.shorten_url.link.shard;
+
+import java.time.Instant;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * shard 간에 겹치지 않는 link id 생성 (time 41 bit | node 10 bit | sequence 12 bit)
+ * shard 별 AUTO_INCREMENT 는 bucket 을 옮기면 id 가 충돌할 수 있으므로 애플리케이션에서 생성
+ */
+public class LinkIdGenerator {
+    static final long EPOCH_MILLIS = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+    static final int NODE_BITS = 10;
+    static final int SEQUENCE_BITS = 12;
+    static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private final long nodeId;
+    private final LongSupplier clock;
+    private final ReentrantLock lock = new ReentrantLock();
+    private long lastMillis = -1L;
+    private long sequence;
+
+    public LinkIdGenerator(long nodeId) {
+        this(nodeId, System::currentTimeMillis);
+    }
+
+    LinkIdGenerator(long nodeId, LongSupplier clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("nodeId must be between 0 and " + MAX_NODE_ID);
+        }
+        this.nodeId = nodeId;
+        this.clock = clock;
+    }
+
+    public long nextId() {
+        lock.lock();
+        try {
+            // 시계가 뒤로 가면 마지막 시각을 계속 사용
+            long millis = Math.max(clock.getAsLong(), lastMillis);
+            if (millis == lastMillis) {
+                sequence = (sequence + 1) & SEQUENCE_MASK;
+                if (sequence == 0) {
+                    // 같은 ms 의 sequence 를 모두 사용하면 다음 ms 로 넘김
+                    millis = lastMillis + 1;
+                }
+            } else {
+                sequence = 0;
+            }
+            lastMillis = millis;
+            return ((millis - EPOCH_MILLIS) << (NODE_BITS + SEQUENCE_BITS)) | (nodeId << SEQUENCE_BITS) | sequence;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
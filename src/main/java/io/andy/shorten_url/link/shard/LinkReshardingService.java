@@ -0,0 +1,250 @@
+package io.andy.shorten_url.link.shard;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.UnaryOperator;
+
+/**
+ * bucket 단위 online resharding
+ * 1. 이동 시작: shard map 에 이동 대상 등록 -> 이후 쓰기는 원본/대상 shard 모두에 반영
+ * 2. 복사: 원본 shard 의 bucket row 를 id 순서로 chunk 단위 복사 (이미 있는 row 는 건너뜀)
+ * 3. cutover: bucket write lock 안에서 원본과 대상을 비교해 차이를 맞춘 뒤 소유 shard 를 대상으로 변경
+ * 4. 정리: 실행 중인 모든 인스턴스가 cutover 된 version 을 적용한 뒤 원본 shard 의 bucket row 를 chunk 단위 삭제
+ *    (아직 적용하지 않은 인스턴스가 있으면 sync 에서 나중에 삭제)
+ * 실패 시 이동을 취소하고 대상 shard 에 복사된 row 를 삭제 (원본은 그대로 유지)
+ * shard map 변경은 모두 LinkShardMapStore 에 version 을 올려 저장하고, 다른 인스턴스는 sync 주기마다 적용
+ * cutover lock 은 인스턴스 내부 한정이므로 실행 중인 인스턴스가 둘 이상이면 이동을 거부
+ */
+@Slf4j
+public class LinkReshardingService {
+    private final ShardedLinkRepository repository;
+    private final LinkShardMapStore store;
+    private final int chunkSize;
+    // 이동과 정리를 한 번에 하나씩
+    private final ReentrantLock migrationLock = new ReentrantLock();
+
+    public LinkReshardingService(ShardedLinkRepository repository, LinkShardMapStore store, int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize must be greater than 0");
+        }
+        this.repository = repository;
+        this.store = store;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * 공유 저장소의 새 shard map 을 적용하고 적용한 version 을 기록 (heartbeat 겸용), 이후 정리 대기 bucket 삭제
+     */
+    @Scheduled(fixedDelayString = "${link.shard.sync-millis:5000}")
+    public void sync() {
+        try {
+            syncShardMap();
+            cleanUp();
+        } catch (Exception e) {
+            log.error("failed to sync link shard map, version={}, message={}", repository.shardMapVersion(), e.getMessage());
+        }
+    }
+
+    void syncShardMap() {
+        store.load(repository.shardMap().bucketCount()).ifPresent(stored -> {
+            if (repository.applyShardMap(stored.version(), stored.map())) {
+                log.info("applied link shard map version={}, map={}", stored.version(), stored.map().toSpec());
+            }
+        });
+        store.acknowledge(repository.shardMapVersion());
+    }
+
+    /**
+     * 모든 인스턴스가 현재 version 을 적용한 경우에만 정리 대기 bucket 을 원래 shard 에서 삭제
+     */
+    void cleanUp() {
+        if (!migrationLock.tryLock()) {
+            return;
+        }
+        try {
+            Map<Integer, String> cleanups = repository.shardMap().cleanups();
+            if (cleanups.isEmpty() || !store.adoptedByAll(repository.shardMapVersion())) {
+                return;
+            }
+            for (Map.Entry<Integer, String> cleanup : cleanups.entrySet()) {
+                int bucket = cleanup.getKey();
+                long deleted = deleteBucket(repository.shard(cleanup.getValue()), bucket);
+                publish(bucket, map -> map.completeCleanup(bucket));
+                log.info("cleaned up migrated bucket={} from {}, deleted={}", bucket, cleanup.getValue(), deleted);
+            }
+        } finally {
+            migrationLock.unlock();
+        }
+    }
+
+    /**
+     * [fromBucket, toBucket] 범위를 bucket 하나씩 이동, 이미 대상 shard 에 있는 bucket 은 건너뜀
+     */
+    public List<MigrationResult> migrateRange(int fromBucket, int toBucket, String target) {
+        repository.shard(target);
+        if (!migrationLock.tryLock()) {
+            throw new IllegalStateException("link resharding is already running");
+        }
+        try {
+            syncShardMap();
+            requireSingleNode();
+            List<MigrationResult> results = new ArrayList<>();
+            for (int bucket = fromBucket; bucket <= toBucket; bucket++) {
+                if (repository.shardMap().owner(bucket).equals(target)) {
+                    continue;
+                }
+                results.add(migrateBucket(bucket, target));
+            }
+            log.info("resharded buckets {}-{} to {}, version={}, shard map={}",
+                    fromBucket, toBucket, target, repository.shardMapVersion(), repository.shardMap().toSpec());
+            return results;
+        } finally {
+            migrationLock.unlock();
+        }
+    }
+
+    private MigrationResult migrateBucket(int bucket, String target) {
+        String source = repository.shardMap().owner(bucket);
+        JdbcTemplate sourceShard = repository.shard(source);
+        JdbcTemplate targetShard = repository.shard(target);
+
+        publish(bucket, map -> map.startMigration(bucket, target));
+        long copied;
+        long fixed;
+        try {
+            copied = copy(sourceShard, targetShard, bucket);
+            fixed = cutover(sourceShard, targetShard, bucket);
+        } catch (RuntimeException e) {
+            log.error("failed to migrate bucket={} from {} to {}, rollback, message={}", bucket, source, target, e.getMessage());
+            publish(bucket, map -> map.cancelMigration(bucket));
+            targetShard.update("DELETE FROM link WHERE bucket = ?", bucket);
+            throw e;
+        }
+        long deleted = 0;
+        if (store.adoptedByAll(repository.shardMapVersion())) {
+            deleted = deleteBucket(sourceShard, bucket);
+            publish(bucket, map -> map.completeCleanup(bucket));
+        } else {
+            log.warn("deferred cleanup of bucket={} on {} until all nodes adopt version={}",
+                    bucket, source, repository.shardMapVersion());
+        }
+        log.info("migrated bucket={} from {} to {}, copied={}, fixed={}, deleted={}", bucket, source, target, copied, fixed, deleted);
+        return new MigrationResult(bucket, source, target, copied, fixed, deleted);
+    }
+
+    // 다른 인스턴스는 cutover lock 을 공유하지 않아 cutover 중 원본에 쓸 수 있음
+    private void requireSingleNode() {
+        int liveNodes = store.liveNodes();
+        if (liveNodes > 1) {
+            throw new IllegalStateException("link resharding requires a single running instance, live nodes=" + liveNodes);
+        }
+    }
+
+    // 공유 저장소에 새 version 으로 저장한 뒤 적용하고, 이 인스턴스의 적용 version 기록
+    private void publish(int bucket, UnaryOperator<LinkShardMap> update) {
+        repository.updateShardMap(bucket, update, store::compareAndSet);
+        store.acknowledge(repository.shardMapVersion());
+    }
+
+    private long copy(JdbcTemplate source, JdbcTemplate target, int bucket) {
+        long copied = 0;
+        long afterId = Long.MIN_VALUE;
+        List<LinkRow> chunk;
+        do {
+            chunk = readChunk(source, bucket, afterId);
+            for (LinkRow row : chunk) {
+                if (insertIfAbsent(target, row)) {
+                    copied++;
+                }
+            }
+            if (!chunk.isEmpty()) {
+                afterId = chunk.get(chunk.size() - 1).id();
+            }
+        } while (chunk.size() == chunkSize);
+        return copied;
+    }
+
+    // 쓰기를 잠시 막고 원본 기준으로 대상의 누락/차이를 맞춤 (복사 중 경합으로 빠진 증가분 등)
+    private long cutover(JdbcTemplate source, JdbcTemplate target, int bucket) {
+        Lock lock = repository.cutoverLock(bucket);
+        lock.lock();
+        try {
+            long fixed = 0;
+            long afterId = Long.MIN_VALUE;
+            List<LinkRow> chunk;
+            do {
+                chunk = readChunk(source, bucket, afterId);
+                if (chunk.isEmpty()) {
+                    break;
+                }
+                Map<Long, LinkRow> copies = new HashMap<>();
+                for (LinkRow copy : readRange(target, bucket, afterId, chunk.get(chunk.size() - 1).id())) {
+                    copies.put(copy.id(), copy);
+                }
+                for (LinkRow row : chunk) {
+                    LinkRow copy = copies.get(row.id());
+                    if (copy == null) {
+                        target.update(LinkRow.INSERT_SQL, row::bindInsert);
+                        fixed++;
+                    } else if (!copy.equals(row)) {
+                        target.update(LinkRow.UPDATE_SQL, row::bindUpdate);
+                        fixed++;
+                    }
+                }
+                afterId = chunk.get(chunk.size() - 1).id();
+            } while (chunk.size() == chunkSize);
+            // 이동 중 새로 시작한 인스턴스가 있으면 cutover 하지 않고 취소
+            requireSingleNode();
+            publish(bucket, map -> map.completeMigration(bucket));
+            return fixed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private long deleteBucket(JdbcTemplate source, int bucket) {
+        long deleted = 0;
+        while (true) {
+            List<Long> ids = source.queryForList(
+                    "SELECT id FROM link WHERE bucket = ? ORDER BY id LIMIT ?", Long.class, bucket, chunkSize);
+            if (ids.isEmpty()) {
+                return deleted;
+            }
+            // id 순서로 읽었으므로 범위 삭제가 이 chunk 만 지움
+            deleted += source.update("DELETE FROM link WHERE bucket = ? AND id BETWEEN ? AND ?",
+                    bucket, ids.get(0), ids.get(ids.size() - 1));
+        }
+    }
+
+    private List<LinkRow> readChunk(JdbcTemplate shard, int bucket, long afterId) {
+        return shard.query("SELECT " + LinkRow.COLUMNS + " FROM link WHERE bucket = ? AND id > ? ORDER BY id LIMIT ?",
+                LinkRow.ROW_MAPPER, bucket, afterId, chunkSize);
+    }
+
+    private List<LinkRow> readRange(JdbcTemplate shard, int bucket, long afterId, long toId) {
+        return shard.query("SELECT " + LinkRow.COLUMNS + " FROM link WHERE bucket = ? AND id > ? AND id <= ?",
+                LinkRow.ROW_MAPPER, bucket, afterId, toId);
+    }
+
+    private boolean insertIfAbsent(JdbcTemplate target, LinkRow row) {
+        try {
+            target.update(LinkRow.INSERT_SQL, row::bindInsert);
+            return true;
+        } catch (DuplicateKeyException e) {
+            // 이동 시작 이후 새로 생성되어 이미 반영된 row
+            return false;
+        }
+    }
+
+    public record MigrationResult(int bucket, String source, String target, long copied, long fixed, long deleted) { }
+}
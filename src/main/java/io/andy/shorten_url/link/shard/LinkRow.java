@@ -0,0 +1,119 @@
+package io.andy.shorten_url.link.shard;
+
+import io.andy.shorten_url.link.constant.LinkState;
+import io.andy.shorten_url.link.constant.RedirectType;
+import io.andy.shorten_url.link.entity.Link;
+
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+
+/**
+ * shard 의 link row (값 비교로 resharding 시 원본/복사본 차이를 확인)
+ * countBucket: 조회수에 반영한 마지막 Redis bucket, Link 에서 만든 row 는 0 이므로 update 는 더 큰 값일 때만 변경
+ */
+record LinkRow(
+        long id,
+        int bucket,
+        String state,
+        long userId,
+        String urlPath,
+        String redirectionUrl,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        LocalDateTime deletedAt,
+        long accessCount,
+        String redirectType,
+        long countBucket
+) {
+    static final String COLUMNS = "id, bucket, state, user_id, url_path, redirection_url, "
+            + "created_at, updated_at, deleted_at, access_count, redirect_type, count_bucket";
+    static final String INSERT_SQL = "INSERT INTO link (" + COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    static final String UPDATE_SQL = "UPDATE link SET bucket = ?, state = ?, user_id = ?, url_path = ?, redirection_url = ?, "
+            + "created_at = ?, updated_at = ?, deleted_at = ?, access_count = ?, redirect_type = ?, "
+            + "count_bucket = GREATEST(count_bucket, ?) WHERE id = ?";
+
+    static final RowMapper<LinkRow> ROW_MAPPER = (rs, rowNum) -> new LinkRow(
+            rs.getLong("id"),
+            rs.getInt("bucket"),
+            rs.getString("state"),
+            rs.getLong("user_id"),
+            rs.getString("url_path"),
+            rs.getString("redirection_url"),
+            toLocalDateTime(rs.getTimestamp("created_at")),
+            toLocalDateTime(rs.getTimestamp("updated_at")),
+            toLocalDateTime(rs.getTimestamp("deleted_at")),
+            rs.getLong("access_count"),
+            rs.getString("redirect_type"),
+            rs.getLong("count_bucket")
+    );
+
+    static LinkRow from(Link link, int bucket) {
+        return new LinkRow(
+                link.getId(),
+                bucket,
+                link.getState().name(),
+                link.getUserId(),
+                link.getUrlPath(),
+                link.getRedirectionUrl(),
+                link.getCreatedAt(),
+                link.getUpdatedAt(),
+                link.getDeletedAt(),
+                link.getAccessCount() == null ? 0L : link.getAccessCount(),
+                link.getRedirectType() == null ? null : link.getRedirectType().name(),
+                0L
+        );
+    }
+
+    Link toLink() {
+        Link link = new Link(userId, LinkState.valueOf(state), urlPath, redirectionUrl);
+        link.setId(id);
+        link.setCreatedAt(createdAt);
+        link.setUpdatedAt(updatedAt);
+        link.setDeletedAt(deletedAt);
+        link.setAccessCount(accessCount);
+        link.setRedirectType(redirectType == null ? null : RedirectType.valueOf(redirectType));
+        return link;
+    }
+
+    void bindInsert(PreparedStatement ps) throws SQLException {
+        ps.setLong(1, id);
+        ps.setInt(2, bucket);
+        bindValues(ps, 3);
+    }
+
+    void bindUpdate(PreparedStatement ps) throws SQLException {
+        ps.setInt(1, bucket);
+        bindValues(ps, 2);
+        ps.setLong(12, id);
+    }
+
+    private void bindValues(PreparedStatement ps, int start) throws SQLException {
+        ps.setString(start, state);
+        ps.setLong(start + 1, userId);
+        ps.setString(start + 2, urlPath);
+        ps.setString(start + 3, redirectionUrl);
+        setTimestamp(ps, start + 4, createdAt);
+        setTimestamp(ps, start + 5, updatedAt);
+        setTimestamp(ps, start + 6, deletedAt);
+        ps.setLong(start + 7, accessCount);
+        ps.setString(start + 8, redirectType);
+        ps.setLong(start + 9, countBucket);
+    }
+
+    private static void setTimestamp(PreparedStatement ps, int index, LocalDateTime value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.TIMESTAMP);
+        } else {
+            ps.setTimestamp(index, Timestamp.valueOf(value));
+        }
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toLocalDateTime();
+    }
+}
@@ -0,0 +1,44 @@
+package io.andy.shorten_url.link.shard;
+
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * resharding 운영 도구 (actuator /actuator/linkshards, 사용 시 management.endpoints.web.exposure.include 에 추가)
+ * 변경된 shard map 은 공유 저장소(link_shard_map)에 version 과 함께 저장되어 다른 인스턴스도 적용함
+ * 이동은 실행 중인 인스턴스가 하나일 때만 가능
+ */
+@Component
+@RequiredArgsConstructor
+@Endpoint(id = "linkshards")
+@ConditionalOnProperty(name = "link.shard.enabled", havingValue = "true")
+public class LinkShardEndpoint {
+    private final ShardedLinkRepository shardedLinkRepository;
+    private final LinkReshardingService linkReshardingService;
+
+    @ReadOperation
+    public Map<String, Object> shardMap() {
+        LinkShardMap map = shardedLinkRepository.shardMap();
+        Map<String, Object> response = new HashMap<>();
+        response.put("version", shardedLinkRepository.shardMapVersion());
+        response.put("bucketCount", map.bucketCount());
+        response.put("map", map.toSpec());
+        response.put("migrations", map.migrations());
+        response.put("cleanups", map.cleanups());
+        return response;
+    }
+
+    @WriteOperation
+    public List<LinkReshardingService.MigrationResult> migrate(int fromBucket, int toBucket, String target) {
+        return linkReshardingService.migrateRange(fromBucket, toBucket, target);
+    }
+}
@@ -0,0 +1,210 @@
+package io.andy.shorten_url.link.shard;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.zip.CRC32C;
+
+/**
+ * short code(urlPath) hash -> bucket -> shard 매핑 (불변, 변경 시 새 객체 생성)
+ * - bucket 수는 고정하고 bucket 단위로 shard 를 옮겨 resharding
+ * - 설정 형식: "0-511=shard0,512-1023=shard1" (모든 bucket 이 정확히 한 번 포함되어야 함)
+ * - 이동 중인 bucket 은 원래 shard 가 소유하고, 쓰기는 이동 대상 shard 에도 반영
+ * - 이동이 끝난 bucket 은 모든 인스턴스가 새 map 을 적용할 때까지 원래 shard 의 row 정리를 미룸 (cleanups)
+ */
+public final class LinkShardMap {
+    private final String[] owners;
+    private final Map<Integer, String> migrations;
+    private final Map<Integer, String> cleanups;
+
+    private LinkShardMap(String[] owners, Map<Integer, String> migrations, Map<Integer, String> cleanups) {
+        this.owners = owners;
+        this.migrations = Collections.unmodifiableMap(migrations);
+        this.cleanups = Collections.unmodifiableMap(cleanups);
+    }
+
+    /**
+     * 저장된 map 복원, migrations / cleanups 형식: "10=shard2,11=shard2" (bucket=shard)
+     */
+    public static LinkShardMap restore(String spec, String migrations, String cleanups, int bucketCount) {
+        LinkShardMap map = parse(spec, bucketCount);
+        return new LinkShardMap(map.owners, parseBuckets(migrations, bucketCount), parseBuckets(cleanups, bucketCount));
+    }
+
+    public static LinkShardMap parse(String spec, int bucketCount) {
+        if (bucketCount <= 0) {
+            throw new IllegalArgumentException("bucketCount must be greater than 0");
+        }
+        String[] owners = new String[bucketCount];
+        for (String entry : spec.split(",")) {
+            String[] rangeAndShard = entry.trim().split("=");
+            if (rangeAndShard.length != 2 || rangeAndShard[1].isBlank()) {
+                throw new IllegalArgumentException("invalid shard map entry: " + entry);
+            }
+            String[] range = rangeAndShard[0].trim().split("-");
+            int from = Integer.parseInt(range[0].trim());
+            int to = range.length > 1 ? Integer.parseInt(range[1].trim()) : from;
+            if (from < 0 || to >= bucketCount || from > to) {
+                throw new IllegalArgumentException("invalid bucket range: " + rangeAndShard[0]);
+            }
+            for (int bucket = from; bucket <= to; bucket++) {
+                if (owners[bucket] != null) {
+                    throw new IllegalArgumentException("bucket " + bucket + " is mapped more than once");
+                }
+                owners[bucket] = rangeAndShard[1].trim();
+            }
+        }
+        for (int bucket = 0; bucket < bucketCount; bucket++) {
+            if (owners[bucket] == null) {
+                throw new IllegalArgumentException("bucket " + bucket + " is not mapped to any shard");
+            }
+        }
+        return new LinkShardMap(owners, Map.of(), Map.of());
+    }
+
+    private static Map<Integer, String> parseBuckets(String spec, int bucketCount) {
+        Map<Integer, String> buckets = new HashMap<>();
+        if (Objects.isNull(spec) || spec.isBlank()) {
+            return buckets;
+        }
+        for (String entry : spec.split(",")) {
+            String[] bucketAndShard = entry.trim().split("=");
+            if (bucketAndShard.length != 2 || bucketAndShard[1].isBlank()) {
+                throw new IllegalArgumentException("invalid bucket entry: " + entry);
+            }
+            int bucket = Integer.parseInt(bucketAndShard[0].trim());
+            if (bucket < 0 || bucket >= bucketCount) {
+                throw new IllegalArgumentException("invalid bucket: " + bucket);
+            }
+            buckets.put(bucket, bucketAndShard[1].trim());
+        }
+        return buckets;
+    }
+
+    public static int bucketOf(String urlPath, int bucketCount) {
+        CRC32C crc = new CRC32C();
+        crc.update(urlPath.getBytes(StandardCharsets.UTF_8));
+        return (int) (crc.getValue() % bucketCount);
+    }
+
+    public int bucketOf(String urlPath) {
+        return bucketOf(urlPath, owners.length);
+    }
+
+    public int bucketCount() {
+        return owners.length;
+    }
+
+    public String owner(int bucket) {
+        return owners[bucket];
+    }
+
+    public Optional<String> migrationTarget(int bucket) {
+        return Optional.ofNullable(migrations.get(bucket));
+    }
+
+    public Map<Integer, String> migrations() {
+        return migrations;
+    }
+
+    // 이동이 끝났지만 원래 shard 의 row 를 아직 지우지 않은 bucket -> 원래 shard
+    public Map<Integer, String> cleanups() {
+        return cleanups;
+    }
+
+    // 소유 shard 와 이동 대상 shard 를 모두 포함
+    public Set<String> shards() {
+        Set<String> shards = new LinkedHashSet<>(Arrays.asList(owners));
+        shards.addAll(migrations.values());
+        return shards;
+    }
+
+    public LinkShardMap startMigration(int bucket, String target) {
+        if (owners[bucket].equals(target) || migrations.containsKey(bucket) || cleanups.containsKey(bucket)) {
+            throw new IllegalStateException("bucket " + bucket + " is already on " + owners[bucket] + ", migrating or not cleaned up");
+        }
+        Map<Integer, String> next = new HashMap<>(migrations);
+        next.put(bucket, target);
+        return new LinkShardMap(owners, next, cleanups);
+    }
+
+    // 소유 shard 를 이동 대상으로 바꾸고, 원래 shard 는 정리 대상으로 등록
+    public LinkShardMap completeMigration(int bucket) {
+        String target = Objects.requireNonNull(migrations.get(bucket), "bucket " + bucket + " is not migrating");
+        String[] nextOwners = owners.clone();
+        nextOwners[bucket] = target;
+        Map<Integer, String> next = new HashMap<>(migrations);
+        next.remove(bucket);
+        Map<Integer, String> nextCleanups = new HashMap<>(cleanups);
+        nextCleanups.put(bucket, owners[bucket]);
+        return new LinkShardMap(nextOwners, next, nextCleanups);
+    }
+
+    public LinkShardMap cancelMigration(int bucket) {
+        Map<Integer, String> next = new HashMap<>(migrations);
+        next.remove(bucket);
+        return new LinkShardMap(owners, next, cleanups);
+    }
+
+    public LinkShardMap completeCleanup(int bucket) {
+        Map<Integer, String> next = new HashMap<>(cleanups);
+        next.remove(bucket);
+        return new LinkShardMap(owners, migrations, next);
+    }
+
+    // bucket 의 소유/이동 상태가 다른지 (map 교체 시 lock 을 잡을 bucket 선별)
+    public boolean routesDiffer(LinkShardMap other, int bucket) {
+        return !owners[bucket].equals(other.owners[bucket])
+                || !Objects.equals(migrations.get(bucket), other.migrations.get(bucket));
+    }
+
+    public String migrationsSpec() {
+        return toBucketSpec(migrations);
+    }
+
+    public String cleanupsSpec() {
+        return toBucketSpec(cleanups);
+    }
+
+    private static String toBucketSpec(Map<Integer, String> buckets) {
+        StringBuilder spec = new StringBuilder();
+        buckets.entrySet()
+                .stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(entry -> {
+                    if (!spec.isEmpty()) {
+                        spec.append(',');
+                    }
+                    spec.append(entry.getKey()).append('=').append(entry.getValue());
+                });
+        return spec.toString();
+    }
+
+    /**
+     * 설정 형식으로 변환 (연속된 bucket 은 범위로 묶음), resharding 후 link.shard.map 갱신에 사용
+     */
+    public String toSpec() {
+        StringBuilder spec = new StringBuilder();
+        int from = 0;
+        for (int bucket = 1; bucket <= owners.length; bucket++) {
+            if (bucket == owners.length || !owners[bucket].equals(owners[from])) {
+                if (!spec.isEmpty()) {
+                    spec.append(',');
+                }
+                spec.append(from);
+                if (bucket - 1 > from) {
+                    spec.append('-').append(bucket - 1);
+                }
+                spec.append('=').append(owners[from]);
+                from = bucket;
+            }
+        }
+        return spec.toString();
+    }
+}
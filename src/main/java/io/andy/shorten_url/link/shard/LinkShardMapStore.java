@@ -0,0 +1,138 @@
+package io.andy.shorten_url.link.shard;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * 모든 인스턴스가 공유하는 shard map 저장소 (메인 DB, 스키마: sql/link_shard_meta.sql)
+ * - link_shard_map: 현재 shard map 과 이동/정리 상태, 변경할 때마다 version 증가 (compare-and-set)
+ * - link_shard_node: 인스턴스별로 적용한 version 과 heartbeat, node-timeout 안에 heartbeat 가 있으면 실행 중으로 간주
+ *   link id 생성에 쓰는 worker id(link.shard.node-id)도 함께 등록해 실행 중인 인스턴스끼리 겹치지 않게 함
+ */
+@Slf4j
+public class LinkShardMapStore {
+    private static final int MAP_ID = 1;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long workerId;
+    private final Duration nodeTimeout;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    public LinkShardMapStore(JdbcTemplate jdbcTemplate, long workerId, Duration nodeTimeout) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.workerId = workerId;
+        this.nodeTimeout = nodeTimeout;
+    }
+
+    /**
+     * 이 인스턴스를 version 과 함께 등록, heartbeat 가 끊긴 인스턴스가 쓰던 worker id 는 넘겨받음
+     * @throws IllegalStateException 실행 중인 다른 인스턴스가 같은 worker id 를 사용하는 경우
+     */
+    public void register(long version) {
+        jdbcTemplate.update("DELETE FROM link_shard_node WHERE worker_id = ? AND node_id <> ? AND heartbeat_at < ?",
+                workerId, nodeId, liveSince());
+        try {
+            jdbcTemplate.update("INSERT INTO link_shard_node (node_id, worker_id, version, heartbeat_at) VALUES (?, ?, ?, ?)",
+                    nodeId, workerId, version, LocalDateTime.now());
+        } catch (DuplicateKeyException e) {
+            throw new IllegalStateException("link.shard.node-id " + workerId + " is already used by a running instance", e);
+        }
+        log.info("registered link shard node={}, workerId={}, version={}", nodeId, workerId, version);
+    }
+
+    /**
+     * 저장된 map 조회, 없으면 initial 을 version 1 로 저장 (동시에 시작한 인스턴스 중 하나만 저장됨)
+     */
+    public VersionedShardMap loadOrInit(LinkShardMap initial) {
+        Optional<VersionedShardMap> stored = load(initial.bucketCount());
+        if (stored.isPresent()) {
+            return stored.get();
+        }
+        try {
+            jdbcTemplate.update("INSERT INTO link_shard_map (id, version, bucket_count, spec, migrations, cleanups, updated_at) "
+                            + "VALUES (?, 1, ?, ?, ?, ?, ?)",
+                    MAP_ID, initial.bucketCount(), initial.toSpec(), initial.migrationsSpec(), initial.cleanupsSpec(),
+                    LocalDateTime.now());
+            log.info("initialized link shard map, version=1, map={}", initial.toSpec());
+        } catch (DuplicateKeyException e) {
+            log.debug("link shard map is already initialized by another node");
+        }
+        return load(initial.bucketCount())
+                .orElseThrow(() -> new IllegalStateException("link shard map is not initialized"));
+    }
+
+    public Optional<VersionedShardMap> load(int bucketCount) {
+        List<VersionedShardMap> rows = jdbcTemplate.query(
+                "SELECT version, bucket_count, spec, migrations, cleanups FROM link_shard_map WHERE id = ?",
+                (rs, rowNum) -> {
+                    if (rs.getInt("bucket_count") != bucketCount) {
+                        throw new IllegalStateException("stored link shard bucket count " + rs.getInt("bucket_count")
+                                + " != link.shard.bucket-count " + bucketCount);
+                    }
+                    return new VersionedShardMap(rs.getLong("version"), LinkShardMap.restore(
+                            rs.getString("spec"), rs.getString("migrations"), rs.getString("cleanups"), bucketCount));
+                },
+                MAP_ID);
+        return rows.stream().findFirst();
+    }
+
+    /**
+     * 저장된 version 이 expectedVersion 인 경우에만 next 로 변경
+     * @return 새 version
+     * @throws IllegalStateException 다른 인스턴스가 먼저 변경한 경우
+     */
+    public long compareAndSet(long expectedVersion, LinkShardMap next) {
+        int updated = jdbcTemplate.update("UPDATE link_shard_map SET version = version + 1, spec = ?, migrations = ?, "
+                        + "cleanups = ?, updated_at = ? WHERE id = ? AND version = ?",
+                next.toSpec(), next.migrationsSpec(), next.cleanupsSpec(), LocalDateTime.now(), MAP_ID, expectedVersion);
+        if (updated == 0) {
+            throw new IllegalStateException("link shard map version " + expectedVersion + " is outdated");
+        }
+        return expectedVersion + 1;
+    }
+
+    /**
+     * 이 인스턴스가 version 을 적용했음을 기록 (heartbeat 겸용)
+     * heartbeat 가 오래 끊겨 등록이 지워진 경우 다시 등록 (그 사이 worker id 를 다른 인스턴스가 가져갔으면 예외)
+     */
+    public void acknowledge(long version) {
+        int updated = jdbcTemplate.update("UPDATE link_shard_node SET version = ?, heartbeat_at = ? WHERE node_id = ?",
+                version, LocalDateTime.now(), nodeId);
+        if (updated == 0) {
+            log.warn("link shard node={} registration is missing, register again, workerId={}", nodeId, workerId);
+            register(version);
+        }
+    }
+
+    public int liveNodes() {
+        Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM link_shard_node WHERE heartbeat_at >= ?",
+                Integer.class, liveSince());
+        return count == null ? 0 : count;
+    }
+
+    // 실행 중인 모든 인스턴스가 version 이상을 적용했는지
+    public boolean adoptedByAll(long version) {
+        Integer behind = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM link_shard_node WHERE heartbeat_at >= ? AND version < ?",
+                Integer.class, liveSince(), version);
+        return behind != null && behind == 0;
+    }
+
+    String nodeId() {
+        return nodeId;
+    }
+
+    private LocalDateTime liveSince() {
+        return LocalDateTime.now().minus(nodeTimeout);
+    }
+
+    public record VersionedShardMap(long version, LinkShardMap map) { }
+}
@@ -0,0 +1,440 @@
+package io.andy.shorten_url.link.shard;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.andy.shorten_url.link.entity.Link;
+import io.andy.shorten_url.link.repository.LinkStore;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.io.Closeable;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.UnaryOperator;
+
+/**
+ * urlPath hash 로 shard 를 골라 link 를 저장/조회
+ * - urlPath 조회/쓰기는 소유 shard 하나만 사용, 이동 중인 bucket 의 쓰기는 이동 대상 shard 에도 반영
+ * - id, userId 조회는 모든 shard 에 병렬로 질의 후 병합 (scatter-gather)
+ * - id 기준 조회수 반영은 id -> urlPath 를 찾아 소유 shard 에 반영 (urlPath 는 바뀌지 않으므로 최근 것을 캐시)
+ * - 쓰기는 bucket 별 read lock 을 잡고, resharding 의 cutover 는 해당 bucket 의 write lock 을 잡음
+ *   (lock 은 인스턴스 내부 한정이므로 resharding 은 인스턴스가 하나일 때만 허용, LinkReshardingService 참고)
+ * - shard map 은 version 과 함께 보관, 다른 인스턴스가 공유 저장소에 올린 새 version 은 applyShardMap 으로 적용
+ */
+@Slf4j
+public class ShardedLinkRepository implements LinkStore, Closeable {
+    // 최신순 (created_at DESC, id DESC)
+    static final Comparator<Link> LATEST_FIRST = Comparator.comparing(Link::getCreatedAt)
+            .thenComparing(Link::getId)
+            .reversed();
+    private static final int URL_PATH_CACHE_SIZE = 10_000;
+
+    private final Map<String, JdbcTemplate> shards;
+    private final AtomicReference<LinkShardMap> shardMap;
+    private final LinkIdGenerator idGenerator;
+    private final Scheduler scheduler;
+    private final ReentrantReadWriteLock[] bucketLocks;
+    // shard map 변경(read-modify-write)을 한 번에 하나씩
+    private final ReentrantLock mapLock = new ReentrantLock();
+    private volatile long shardMapVersion;
+    private final Map<Long, String> urlPaths = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, String> eldest) {
+            return size() > URL_PATH_CACHE_SIZE;
+        }
+    });
+
+    public ShardedLinkRepository(
+            Map<String, JdbcTemplate> shards,
+            LinkShardMap shardMap,
+            LinkIdGenerator idGenerator,
+            Scheduler scheduler
+    ) {
+        this(shards, shardMap, 0, idGenerator, scheduler);
+    }
+
+    // shardMapVersion: 공유 저장소에서 불러온 map 의 version
+    public ShardedLinkRepository(
+            Map<String, JdbcTemplate> shards,
+            LinkShardMap shardMap,
+            long shardMapVersion,
+            LinkIdGenerator idGenerator,
+            Scheduler scheduler
+    ) {
+        for (String shard : shardMap.shards()) {
+            if (!shards.containsKey(shard)) {
+                throw new IllegalArgumentException("no datasource for shard: " + shard);
+            }
+        }
+        this.shards = Map.copyOf(shards);
+        this.shardMap = new AtomicReference<>(shardMap);
+        this.shardMapVersion = shardMapVersion;
+        this.idGenerator = idGenerator;
+        this.scheduler = scheduler;
+        this.bucketLocks = new ReentrantReadWriteLock[shardMap.bucketCount()];
+        for (int bucket = 0; bucket < bucketLocks.length; bucket++) {
+            bucketLocks[bucket] = new ReentrantReadWriteLock();
+        }
+    }
+
+    @Override
+    public Link save(Link link) {
+        if (Objects.isNull(link.getId())) {
+            link.setId(idGenerator.nextId());
+        }
+        if (Objects.isNull(link.getCreatedAt())) {
+            link.setCreatedAt(LocalDateTime.now());
+        }
+        if (Objects.isNull(link.getAccessCount())) {
+            link.setAccessCount(0L);
+        }
+        int bucket = shardMap.get().bucketOf(link.getUrlPath());
+        LinkRow row = LinkRow.from(link, bucket);
+        writeBucket(bucket, shard -> shard.update(LinkRow.INSERT_SQL, row::bindInsert));
+        return link;
+    }
+
+    // 상태, 삭제일 등 변경 사항 반영 (urlPath 는 변경하지 않음)
+    @Override
+    public void update(Link link) {
+        int bucket = shardMap.get().bucketOf(link.getUrlPath());
+        LinkRow row = LinkRow.from(link, bucket);
+        writeBucket(bucket, shard -> shard.update(LinkRow.UPDATE_SQL, row::bindUpdate));
+    }
+
+    @Override
+    public int increaseAccessCount(Long id, long delta) {
+        return urlPathOf(id).map(urlPath -> increaseAccessCount(urlPath, delta)).orElse(0);
+    }
+
+    public int increaseAccessCount(String urlPath, long delta) {
+        int bucket = shardMap.get().bucketOf(urlPath);
+        return writeBucket(bucket, shard -> shard.update(
+                "UPDATE link SET access_count = access_count + ? WHERE url_path = ?", delta, urlPath));
+    }
+
+    /**
+     * shard 의 count_bucket 이후 bucket 만 반영하고 count_bucket 을 함께 갱신
+     * 조회수와 반영한 bucket 이 같은 row 에 커밋되므로, checkpoint 저장 전에 실패해 다시 반영해도 중복되지 않음
+     */
+    @Override
+    public int increaseAccessCount(Long id, SortedMap<Long, Long> deltaByBucket) {
+        if (deltaByBucket.isEmpty()) {
+            return 0;
+        }
+        return urlPathOf(id).map(urlPath -> writeBucket(shardMap.get().bucketOf(urlPath),
+                shard -> increaseAccessCount(shard, urlPath, deltaByBucket))).orElse(0);
+    }
+
+    private int increaseAccessCount(JdbcTemplate shard, String urlPath, SortedMap<Long, Long> deltaByBucket) {
+        while (true) {
+            List<Long> applied = shard.queryForList(
+                    "SELECT count_bucket FROM link WHERE url_path = ?", Long.class, urlPath);
+            if (applied.isEmpty()) {
+                return 0;
+            }
+            long countBucket = applied.get(0);
+            if (countBucket >= deltaByBucket.lastKey()) {
+                return 0;
+            }
+            long delta = deltaByBucket.tailMap(countBucket + 1).values().stream().mapToLong(Long::longValue).sum();
+            // 그 사이 다른 노드가 count_bucket 을 올린 경우 다시 읽어서 남은 bucket 만 반영
+            int updated = shard.update("UPDATE link SET access_count = access_count + ?, count_bucket = ? "
+                            + "WHERE url_path = ? AND count_bucket = ?",
+                    delta, deltaByBucket.lastKey(), urlPath, countBucket);
+            if (updated > 0) {
+                return updated;
+            }
+        }
+    }
+
+    @Override
+    public Optional<Link> findByUrlPath(String urlPath) {
+        LinkShardMap map = shardMap.get();
+        JdbcTemplate owner = shards.get(map.owner(map.bucketOf(urlPath)));
+        return owner.query("SELECT " + LinkRow.COLUMNS + " FROM link WHERE url_path = ?", LinkRow.ROW_MAPPER, urlPath)
+                .stream()
+                .findFirst()
+                .map(LinkRow::toLink);
+    }
+
+    @Override
+    public Optional<Link> findById(Long id) {
+        LinkShardMap map = shardMap.get();
+        // 이동 중에는 원본/복사본이 함께 있으므로 현재 소유 shard 의 row 를 우선
+        return scatter(map, "SELECT " + LinkRow.COLUMNS + " FROM link WHERE id = ?", id)
+                .stream()
+                .flatMap(List::stream)
+                .filter(row -> map.owner(row.bucket()).equals(row.shard()))
+                .findFirst()
+                .map(ShardRow::toLink);
+    }
+
+    @Override
+    public List<Link> findAllById(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        LinkShardMap map = shardMap.get();
+        String placeholders = String.join(", ", Collections.nCopies(ids.size(), "?"));
+        return scatter(map, "SELECT " + LinkRow.COLUMNS + " FROM link WHERE id IN (" + placeholders + ")", ids.toArray())
+                .stream()
+                .flatMap(List::stream)
+                .filter(row -> map.owner(row.bucket()).equals(row.shard()))
+                .map(ShardRow::toLink)
+                .toList();
+    }
+
+    @Override
+    public List<Link> findByUserId(Long userId) {
+        return scatterSorted("SELECT " + LinkRow.COLUMNS + " FROM link WHERE user_id = ? ORDER BY created_at DESC, id DESC", userId);
+    }
+
+    @Override
+    public List<Link> findAll() {
+        return scatterSorted("SELECT " + LinkRow.COLUMNS + " FROM link ORDER BY created_at DESC, id DESC");
+    }
+
+    /**
+     * shard 별로 정렬된 결과를 k-way merge (전체를 다시 정렬하지 않음)
+     */
+    static List<Link> merge(List<List<Link>> sortedLists) {
+        PriorityQueue<PeekingIterator> heads = new PriorityQueue<>((a, b) -> LATEST_FIRST.compare(a.peek(), b.peek()));
+        int total = 0;
+        for (List<Link> sorted : sortedLists) {
+            total += sorted.size();
+            if (!sorted.isEmpty()) {
+                heads.add(new PeekingIterator(sorted.iterator()));
+            }
+        }
+        List<Link> merged = new ArrayList<>(total);
+        Set<Long> seen = new HashSet<>();
+        while (!heads.isEmpty()) {
+            PeekingIterator head = heads.poll();
+            Link link = head.next();
+            if (seen.add(link.getId())) {
+                merged.add(link);
+            }
+            if (head.hasNext()) {
+                heads.add(head);
+            }
+        }
+        return merged;
+    }
+
+    public LinkShardMap shardMap() {
+        return shardMap.get();
+    }
+
+    JdbcTemplate shard(String name) {
+        JdbcTemplate shard = shards.get(name);
+        if (Objects.isNull(shard)) {
+            throw new IllegalArgumentException("unknown shard: " + name);
+        }
+        return shard;
+    }
+
+    Lock cutoverLock(int bucket) {
+        return bucketLocks[bucket].writeLock();
+    }
+
+    public long shardMapVersion() {
+        return shardMapVersion;
+    }
+
+    /**
+     * 진행 중인 쓰기가 끝난 뒤 변경되도록 bucket write lock 안에서 shard map 교체
+     * publisher 가 새 map 을 공유 저장소에 올린 경우에만 교체 (실패 시 예외, 기존 map 유지)
+     */
+    LinkShardMap updateShardMap(int bucket, UnaryOperator<LinkShardMap> update, ShardMapPublisher publisher) {
+        Lock lock = cutoverLock(bucket);
+        lock.lock();
+        mapLock.lock();
+        try {
+            LinkShardMap next = update.apply(shardMap.get());
+            long version = publisher.publish(shardMapVersion, next);
+            shardMap.set(next);
+            shardMapVersion = version;
+            return next;
+        } finally {
+            mapLock.unlock();
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 공유 저장소의 더 새로운 version 적용, 소유/이동 상태가 바뀌는 bucket 의 write lock 을 모두 잡고 교체
+     * (교체 후에는 이전 map 으로 진행 중인 쓰기가 없음)
+     * @return 적용 여부
+     */
+    boolean applyShardMap(long version, LinkShardMap next) {
+        if (version <= shardMapVersion) {
+            return false;
+        }
+        if (next.bucketCount() != bucketLocks.length) {
+            throw new IllegalArgumentException("bucket count mismatch: " + next.bucketCount() + " != " + bucketLocks.length);
+        }
+        for (String shard : next.shards()) {
+            shard(shard);
+        }
+        while (true) {
+            LinkShardMap current = shardMap.get();
+            List<Lock> locks = new ArrayList<>();
+            for (int bucket = 0; bucket < bucketLocks.length; bucket++) {
+                if (current.routesDiffer(next, bucket)) {
+                    locks.add(cutoverLock(bucket));
+                }
+            }
+            locks.forEach(Lock::lock);
+            mapLock.lock();
+            try {
+                // lock 을 기다리는 동안 이 인스턴스가 변경한 경우
+                if (version <= shardMapVersion) {
+                    return false;
+                }
+                if (shardMap.get() == current) {
+                    shardMap.set(next);
+                    shardMapVersion = version;
+                    return true;
+                }
+            } finally {
+                mapLock.unlock();
+                locks.forEach(Lock::unlock);
+            }
+        }
+    }
+
+    private Optional<String> urlPathOf(Long id) {
+        String urlPath = urlPaths.get(id);
+        if (Objects.nonNull(urlPath)) {
+            return Optional.of(urlPath);
+        }
+        Optional<String> found = findById(id).map(Link::getUrlPath);
+        found.ifPresent(path -> urlPaths.put(id, path));
+        return found;
+    }
+
+    private int writeBucket(int bucket, ShardWrite write) {
+        Lock lock = bucketLocks[bucket].readLock();
+        lock.lock();
+        try {
+            LinkShardMap map = shardMap.get();
+            int updated = write.apply(shards.get(map.owner(bucket)));
+            Optional<String> target = map.migrationTarget(bucket);
+            if (target.isPresent()) {
+                // 아직 복사되지 않은 row 는 target 에 없으므로 update 는 0 건일 수 있음, cutover 에서 원본 기준으로 맞춤
+                try {
+                    write.apply(shards.get(target.get()));
+                } catch (RuntimeException e) {
+                    log.warn("failed to mirror link write to migration target, bucket={}, target={}, message={}",
+                            bucket, target.get(), e.getMessage());
+                }
+            }
+            return updated;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // shard 별 정렬된 결과에서 소유 shard 의 row 만 남겨 병합
+    private List<Link> scatterSorted(String sql, Object... params) {
+        LinkShardMap map = shardMap.get();
+        List<List<Link>> sorted = scatter(map, sql, params).stream()
+                .map(rows -> rows.stream()
+                        .filter(row -> map.owner(row.bucket()).equals(row.shard()))
+                        .map(ShardRow::toLink)
+                        .toList())
+                .toList();
+        return merge(sorted);
+    }
+
+    private List<List<ShardRow>> scatter(LinkShardMap map, String sql, Object... params) {
+        List<List<ShardRow>> results = Flux.fromIterable(map.shards())
+                .flatMapSequential(shard -> Mono.fromCallable(() -> shards.get(shard)
+                                .query(sql, LinkRow.ROW_MAPPER, params)
+                                .stream()
+                                .map(row -> new ShardRow(shard, row))
+                                .toList())
+                        .subscribeOn(scheduler))
+                .collectList()
+                .block();
+        return Objects.requireNonNullElse(results, List.of());
+    }
+
+    @Override
+    public void close() {
+        for (JdbcTemplate shard : shards.values()) {
+            if (shard.getDataSource() instanceof HikariDataSource hikari) {
+                hikari.close();
+            }
+        }
+    }
+
+    @FunctionalInterface
+    interface ShardMapPublisher {
+        // expectedVersion 인 경우에만 next 를 저장하고 새 version 반환
+        long publish(long expectedVersion, LinkShardMap next);
+    }
+
+    @FunctionalInterface
+    private interface ShardWrite {
+        int apply(JdbcTemplate shard);
+    }
+
+    private record ShardRow(String shard, LinkRow row) {
+        int bucket() {
+            return row.bucket();
+        }
+
+        Link toLink() {
+            return row.toLink();
+        }
+    }
+
+    private static class PeekingIterator {
+        private final Iterator<Link> iterator;
+        private Link next;
+
+        private PeekingIterator(Iterator<Link> iterator) {
+            this.iterator = iterator;
+            this.next = iterator.next();
+        }
+
+        Link peek() {
+            return next;
+        }
+
+        Link next() {
+            Link current = next;
+            next = iterator.hasNext() ? iterator.next() : null;
+            return current;
+        }
+
+        boolean hasNext() {
+            return next != null;
+        }
+    }
+}
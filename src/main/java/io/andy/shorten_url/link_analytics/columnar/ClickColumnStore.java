@@ -0,0 +1,300 @@
+package io.andy.shorten_url.link_analytics.columnar;
+
+import io.andy.shorten_url.link_analytics.constant.ClickDimension;
+import io.andy.shorten_url.link_analytics.constant.DimensionType;
+import io.andy.shorten_url.link_analytics.dictionary.AnalyticsDictionary;
+import io.andy.shorten_url.link_analytics.dto.PutAccessLogDto;
+import io.andy.shorten_url.link_analytics.entity.LinkAnalytics;
+import io.andy.shorten_url.link_analytics.repository.LinkAnalyticsRepository;
+import io.andy.shorten_url.link_analytics.service.ClickEventListener;
+import io.andy.shorten_url.util.dictionary.StringDictionary;
+import io.andy.shorten_url.util.mapper.ClientMapper;
+
+import jakarta.annotation.PreDestroy;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import reactor.core.scheduler.Scheduler;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 최근 N일 클릭을 primitive column 배열로 보관하는 in-memory 분석 저장소
+ * - 링크 ID, epoch minute, 지역/브라우저/referer host 사전 id 를 column 별 int 배열에 저장
+ * - group-by 조회는 segment 를 chunk 로 나눠 fork-join 으로 병렬 scan
+ * - 시작 시 link_analytics 에서 최근 N일을 다시 적재
+ * - 시작 이후 클릭은 이 노드의 listener 로만 적재 (node-local)
+ *   다른 노드 클릭은 다음 재시작 rebuild 전까지 반영되지 않으므로 응답에 scope / localSince 를 함께 노출
+ * - 링크 ID 는 store 내부 int key 로 매핑해 저장 (Integer.MAX_VALUE 를 넘는 ID 도 잘리지 않음)
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "link.analytics.columnar.enabled", havingValue = "true", matchIfMissing = true)
+public class ClickColumnStore implements ClickEventListener {
+    static final int MINUTES_PER_DAY = 24 * 60;
+    private static final int CHUNK_ROWS = 16_384;
+    private static final int REBUILD_BATCH_SIZE = 5_000;
+    private static final List<ClickDimension> DICTIONARY_DIMENSIONS =
+            List.of(ClickDimension.COUNTRY, ClickDimension.BROWSER, ClickDimension.REFERER_HOST);
+
+    private final LinkAnalyticsRepository linkAnalyticsRepository;
+    private final AnalyticsDictionary analyticsDictionary;
+    private final Scheduler blockingIoScheduler;
+    private final int retentionDays;
+    private final int segmentRows;
+    private final long maxRows;
+    private final ForkJoinPool scanPool;
+    private final LocalDateTime createdAt = LocalDateTime.now();
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final Map<ClickDimension, StringDictionary> dictionaries = new EnumMap<>(ClickDimension.class);
+    private final Map<ClickDimension, int[]> nextIds = new EnumMap<>(ClickDimension.class);
+    // 링크 ID <-> column 에 저장하는 int key (key 발급은 writeLock 안에서만)
+    private final Map<Long, Integer> linkKeys = new ConcurrentHashMap<>();
+    private final Map<Integer, Long> linkIdsByKey = new ConcurrentHashMap<>();
+    private int nextLinkKey;
+    private volatile List<ColumnSegment> segments = List.of();
+    private ColumnSegment head;
+
+    public ClickColumnStore(
+            LinkAnalyticsRepository linkAnalyticsRepository,
+            AnalyticsDictionary analyticsDictionary,
+            Scheduler blockingIoScheduler,
+            @Value("${link.analytics.columnar.retention-days:7}") int retentionDays,
+            @Value("${link.analytics.columnar.segment-rows:65536}") int segmentRows,
+            @Value("${link.analytics.columnar.max-rows:2000000}") long maxRows,
+            @Value("${link.analytics.columnar.parallelism:0}") int parallelism
+    ) {
+        this.linkAnalyticsRepository = linkAnalyticsRepository;
+        this.analyticsDictionary = analyticsDictionary;
+        this.blockingIoScheduler = blockingIoScheduler;
+        this.retentionDays = retentionDays;
+        this.segmentRows = segmentRows;
+        this.maxRows = maxRows;
+        this.scanPool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        for (ClickDimension dimension : DICTIONARY_DIMENSIONS) {
+            dictionaries.put(dimension, new StringDictionary(Integer.MAX_VALUE));
+            nextIds.put(dimension, new int[1]);
+        }
+    }
+
+    // 로컬 시각 기준 minute (일 단위 group-by 가 LocalDate 경계와 맞도록 offset 없이 계산)
+    static int toEpochMinute(LocalDateTime dateTime) {
+        return (int) TimeUnit.SECONDS.toMinutes(dateTime.toEpochSecond(ZoneOffset.UTC));
+    }
+
+    @Override
+    public void onClick(Long linkId, PutAccessLogDto accessLogDto) {
+        append(linkId, LocalDateTime.now(), accessLogDto.getLocation(), accessLogDto.getUserAgent(), accessLogDto.getReferer(),
+                Math.toIntExact(accessLogDto.getWeight()));
+    }
+
+    public void append(Long linkId, LocalDateTime occurredAt, String location, String userAgent, String referer) {
+        append(linkId, occurredAt, location, userAgent, referer, 1);
+    }
+
+    // weight: 조회수 샘플링 시 이 클릭이 대표하는 클릭 수
+    public void append(Long linkId, LocalDateTime occurredAt, String location, String userAgent, String referer, int weight) {
+        writeLock.lock();
+        try {
+            int countryId = encode(ClickDimension.COUNTRY, Objects.isNull(location) || location.isBlank() ? "unknown" : location);
+            int browserId = encode(ClickDimension.BROWSER, parseBrowser(userAgent));
+            int refererHostId = encode(ClickDimension.REFERER_HOST, ClientMapper.parseRefererHost(referer));
+            int linkKey = linkKey(linkId);
+            int minute = toEpochMinute(occurredAt);
+            if (head == null || !head.append(linkKey, minute, countryId, browserId, refererHostId, weight)) {
+                head = new ColumnSegment(segmentRows);
+                head.append(linkKey, minute, countryId, browserId, refererHostId, weight);
+                List<ColumnSegment> next = new ArrayList<>(segments);
+                next.add(head);
+                segments = trimToMaxRows(next);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * 기간 내 클릭 수를 groupBy 기준으로 집계 (클릭 수 내림차순)
+     * @param linkIds 대상 링크, null 이면 전체
+     */
+    public Map<String, Long> countClicks(Collection<Long> linkIds, LocalDateTime from, LocalDateTime to, ClickDimension groupBy) {
+        int fromMinute = toEpochMinute(from);
+        int toMinute = toEpochMinute(to);
+        // 적재된 적 없는 링크는 key 가 없으므로 filter 에서 제외
+        int[] linkFilter = Objects.isNull(linkIds) ? null : linkIds.stream()
+                .map(linkKeys::get)
+                .filter(Objects::nonNull)
+                .mapToInt(Integer::intValue)
+                .sorted()
+                .toArray();
+        if (linkFilter != null && linkFilter.length == 0) {
+            return Map.of();
+        }
+
+        List<ColumnScanTask.Chunk> chunks = new ArrayList<>();
+        for (ColumnSegment segment : segments) {
+            if (segment.maxMinute() < fromMinute) {
+                continue;
+            }
+            int size = segment.size();
+            for (int start = 0; start < size; start += CHUNK_ROWS) {
+                chunks.add(new ColumnScanTask.Chunk(segment, start, Math.min(size, start + CHUNK_ROWS)));
+            }
+        }
+
+        GroupCounts template = switch (groupBy) {
+            case DAY -> GroupCounts.dense(Math.floorDiv(toMinute, MINUTES_PER_DAY) - Math.floorDiv(fromMinute, MINUTES_PER_DAY) + 1);
+            case LINK -> GroupCounts.sparse();
+            default -> GroupCounts.dense(nextId(groupBy));
+        };
+        GroupCounts counts = scanPool.invoke(new ColumnScanTask(chunks, linkFilter, fromMinute, toMinute, groupBy, template));
+
+        Map<String, Long> result = new LinkedHashMap<>();
+        counts.toMap().entrySet()
+                .stream()
+                .sorted(Map.Entry.<Integer, Long>comparingByValue(Comparator.reverseOrder()))
+                .forEach(entry -> result.merge(label(groupBy, entry.getKey(), from), entry.getValue(), Long::sum));
+        return result;
+    }
+
+    public int getRetentionDays() {
+        return retentionDays;
+    }
+
+    // 이 시각 이후 클릭은 이 노드에서 처리된 것만 집계됨
+    public LocalDateTime getLocalSince() {
+        return createdAt;
+    }
+
+    public long size() {
+        return segments.stream().mapToLong(ColumnSegment::size).sum();
+    }
+
+    @Scheduled(fixedDelayString = "${link.analytics.columnar.evict-millis:600000}")
+    public void evictExpired() {
+        int oldestMinute = toEpochMinute(LocalDateTime.now().minusDays(retentionDays));
+        writeLock.lock();
+        try {
+            List<ColumnSegment> retained = segments.stream()
+                    .filter(segment -> segment == head || segment.maxMinute() >= oldestMinute)
+                    .toList();
+            if (retained.size() != segments.size()) {
+                log.info("evicted columnar segments={}", segments.size() - retained.size());
+                segments = retained;
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // 시작 전 기록된 최근 N일 접속 로그를 다시 적재 (이후 클릭은 listener 로 적재)
+    @EventListener(ApplicationReadyEvent.class)
+    public void scheduleRebuild() {
+        blockingIoScheduler.schedule(this::rebuild);
+    }
+
+    void rebuild() {
+        LocalDateTime from = createdAt.minusDays(retentionDays);
+        long afterId = 0L;
+        long loaded = 0L;
+        try {
+            List<LinkAnalytics> batch;
+            do {
+                batch = linkAnalyticsRepository.findChunkCreatedBetween(afterId, from, createdAt, PageRequest.of(0, REBUILD_BATCH_SIZE));
+                for (LinkAnalytics analytics : batch) {
+                    append(analytics.getLinkId(), analytics.getCreatedAt(),
+                            analyticsDictionary.decode(DimensionType.LOCATION, analytics.getLocationId()),
+                            analyticsDictionary.decode(DimensionType.USER_AGENT, analytics.getUserAgentId()),
+                            analyticsDictionary.decode(DimensionType.REFERER, analytics.getRefererId()),
+                            Objects.isNull(analytics.getWeight()) ? 1 : analytics.getWeight());
+                    afterId = analytics.getId();
+                }
+                loaded += batch.size();
+            } while (batch.size() == REBUILD_BATCH_SIZE);
+            log.info("rebuilt columnar click store, rows={}", loaded);
+        } catch (Exception e) {
+            log.error("failed to rebuild columnar click store, loaded={}, message={}", loaded, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scanPool.shutdown();
+    }
+
+    private int encode(ClickDimension dimension, String value) {
+        int[] nextId = nextIds.get(dimension);
+        return dictionaries.get(dimension).encode(value, v -> nextId[0]++);
+    }
+
+    private int linkKey(Long linkId) {
+        Integer key = linkKeys.get(linkId);
+        if (key != null) {
+            return key;
+        }
+        int next = nextLinkKey++;
+        linkIdsByKey.put(next, linkId);
+        linkKeys.put(linkId, next);
+        return next;
+    }
+
+    private int nextId(ClickDimension dimension) {
+        writeLock.lock();
+        try {
+            return nextIds.get(dimension)[0];
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private String label(ClickDimension groupBy, int key, LocalDateTime from) {
+        return switch (groupBy) {
+            case DAY -> LocalDate.from(from).plusDays(key).toString();
+            case LINK -> String.valueOf(linkIdsByKey.get(key));
+            default -> Objects.requireNonNullElse(dictionaries.get(groupBy).decode(key, id -> null), "unknown");
+        };
+    }
+
+    // 최대 row 수를 넘으면 오래된 segment 부터 제거
+    private List<ColumnSegment> trimToMaxRows(List<ColumnSegment> candidates) {
+        long rows = candidates.stream().mapToLong(ColumnSegment::size).sum();
+        int dropped = 0;
+        while (rows > maxRows && candidates.size() - dropped > 1) {
+            rows -= candidates.get(dropped).size();
+            dropped++;
+        }
+        return dropped == 0 ? candidates : new ArrayList<>(candidates.subList(dropped, candidates.size()));
+    }
+
+    // "OS Browser" 형태에서 브라우저만 추출
+    private static String parseBrowser(String userAgent) {
+        if (Objects.isNull(userAgent) || userAgent.isBlank()) {
+            return "unknown";
+        }
+        String[] tokens = userAgent.trim().split(" ");
+        return tokens.length == 2 ? tokens[1] : "undefined";
+    }
+}
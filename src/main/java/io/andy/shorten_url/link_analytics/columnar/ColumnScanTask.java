@@ -0,0 +1,69 @@
+package io.andy.shorten_url.link_analytics.columnar;
+
+import io.andy.shorten_url.link_analytics.constant.ClickDimension;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * segment 의 row 구간(chunk) 목록을 반으로 나눠 병렬 scan
+ */
+final class ColumnScanTask extends RecursiveTask<GroupCounts> {
+    private final List<Chunk> chunks;
+    private final int[] linkFilter; // 정렬된 링크 ID, null 이면 전체
+    private final int fromMinute;
+    private final int toMinute;
+    private final ClickDimension groupBy;
+    private final GroupCounts template;
+
+    ColumnScanTask(List<Chunk> chunks, int[] linkFilter, int fromMinute, int toMinute, ClickDimension groupBy, GroupCounts template) {
+        this.chunks = chunks;
+        this.linkFilter = linkFilter;
+        this.fromMinute = fromMinute;
+        this.toMinute = toMinute;
+        this.groupBy = groupBy;
+        this.template = template;
+    }
+
+    @Override
+    protected GroupCounts compute() {
+        if (chunks.size() > 1) {
+            int middle = chunks.size() / 2;
+            ColumnScanTask left = new ColumnScanTask(chunks.subList(0, middle), linkFilter, fromMinute, toMinute, groupBy, template);
+            ColumnScanTask right = new ColumnScanTask(chunks.subList(middle, chunks.size()), linkFilter, fromMinute, toMinute, groupBy, template);
+            left.fork();
+            GroupCounts rightCounts = right.compute();
+            return left.join().merge(rightCounts);
+        }
+
+        GroupCounts counts = template.emptyCopy();
+        if (chunks.isEmpty()) {
+            return counts;
+        }
+        Chunk chunk = chunks.get(0);
+        ColumnSegment segment = chunk.segment();
+        int[] minutes = segment.minutes;
+        int[] linkIds = segment.linkIds;
+        int fromDay = Math.floorDiv(fromMinute, ClickColumnStore.MINUTES_PER_DAY);
+        for (int i = chunk.from(); i < chunk.to(); i++) {
+            int minute = minutes[i];
+            if (minute < fromMinute || minute >= toMinute) {
+                continue;
+            }
+            if (linkFilter != null && Arrays.binarySearch(linkFilter, linkIds[i]) < 0) {
+                continue;
+            }
+            counts.increment(switch (groupBy) {
+                case COUNTRY -> segment.countryIds[i];
+                case BROWSER -> segment.browserIds[i];
+                case REFERER_HOST -> segment.refererHostIds[i];
+                case DAY -> Math.floorDiv(minute, ClickColumnStore.MINUTES_PER_DAY) - fromDay;
+                case LINK -> linkIds[i];
+            }, segment.weights[i]);
+        }
+        return counts;
+    }
+
+    record Chunk(ColumnSegment segment, int from, int to) { }
+}
@@ -0,0 +1,51 @@
+package io.andy.shorten_url.link_analytics.columnar;
+
+/**
+ * 고정 크기 column 배열 묶음
+ * 쓰기는 ClickColumnStore 의 lock 안에서 한 스레드만 하고, size(volatile) 를 마지막에 갱신하여 읽기 스레드에 공개
+ */
+final class ColumnSegment {
+    final int[] linkIds;
+    final int[] minutes;
+    final int[] countryIds;
+    final int[] browserIds;
+    final int[] refererHostIds;
+    final int[] weights; // 조회수 샘플링 시 이 row 가 대표하는 클릭 수
+    private volatile int size;
+    private volatile int maxMinute = Integer.MIN_VALUE;
+
+    ColumnSegment(int capacity) {
+        this.linkIds = new int[capacity];
+        this.minutes = new int[capacity];
+        this.countryIds = new int[capacity];
+        this.browserIds = new int[capacity];
+        this.refererHostIds = new int[capacity];
+        this.weights = new int[capacity];
+    }
+
+    boolean append(int linkId, int minute, int countryId, int browserId, int refererHostId, int weight) {
+        int index = size;
+        if (index == linkIds.length) {
+            return false;
+        }
+        linkIds[index] = linkId;
+        minutes[index] = minute;
+        countryIds[index] = countryId;
+        browserIds[index] = browserId;
+        refererHostIds[index] = refererHostId;
+        weights[index] = weight;
+        if (minute > maxMinute) {
+            maxMinute = minute;
+        }
+        size = index + 1;
+        return true;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int maxMinute() {
+        return maxMinute;
+    }
+}
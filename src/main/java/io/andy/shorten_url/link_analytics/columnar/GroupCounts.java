@@ -0,0 +1,64 @@
+package io.andy.shorten_url.link_analytics.columnar;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * group-by 집계 결과, key 범위를 알면 배열로, 모르면(링크 ID) map 으로 집계
+ */
+final class GroupCounts {
+    private final long[] dense;
+    private final Map<Integer, long[]> sparse;
+
+    private GroupCounts(long[] dense, Map<Integer, long[]> sparse) {
+        this.dense = dense;
+        this.sparse = sparse;
+    }
+
+    static GroupCounts dense(int cardinality) {
+        return new GroupCounts(new long[cardinality], null);
+    }
+
+    static GroupCounts sparse() {
+        return new GroupCounts(null, new HashMap<>());
+    }
+
+    GroupCounts emptyCopy() {
+        return dense != null ? dense(dense.length) : sparse();
+    }
+
+    void increment(int key, long amount) {
+        if (dense != null) {
+            if (key >= 0 && key < dense.length) {
+                dense[key] += amount;
+            }
+            return;
+        }
+        sparse.computeIfAbsent(key, k -> new long[1])[0] += amount;
+    }
+
+    GroupCounts merge(GroupCounts other) {
+        if (dense != null) {
+            for (int i = 0; i < dense.length; i++) {
+                dense[i] += other.dense[i];
+            }
+            return this;
+        }
+        other.sparse.forEach((key, count) -> sparse.computeIfAbsent(key, k -> new long[1])[0] += count[0]);
+        return this;
+    }
+
+    Map<Integer, Long> toMap() {
+        Map<Integer, Long> result = new HashMap<>();
+        if (dense != null) {
+            for (int i = 0; i < dense.length; i++) {
+                if (dense[i] > 0) {
+                    result.put(i, dense[i]);
+                }
+            }
+            return result;
+        }
+        sparse.forEach((key, count) -> result.put(key, count[0]));
+        return result;
+    }
+}
@@ -0,0 +1,9 @@
+package io.andy.shorten_url.link_analytics.constant;
+
+public enum ClickDimension {
+    COUNTRY,      // 접속 지역
+    BROWSER,      // 브라우저
+    REFERER_HOST, // referer host
+    DAY,          // 접속 일
+    LINK          // 링크 ID
+}
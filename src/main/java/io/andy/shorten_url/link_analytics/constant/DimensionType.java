@@ -0,0 +1,7 @@
+package io.andy.shorten_url.link_analytics.constant;
+
+public enum DimensionType {
+    USER_AGENT, // ClientMapper.parseUserAgent 결과 ("OS Browser")
+    LOCATION,   // 접속 지역
+    REFERER     // referer 링크
+}
@@ -0,0 +1,31 @@
+package io.andy.shorten_url.link_analytics.constant;
+
+import io.andy.shorten_url.exception.client.BadRequestException;
+
+import lombok.Getter;
+
+@Getter
+public enum TrendingWindow {
+    FIVE_MINUTES("5m", false, 5),
+    ONE_HOUR("1h", false, 60),
+    ONE_DAY("24h", true, 24);
+
+    private final String label;
+    private final boolean hourly;  // true: 시간 bucket, false: 분 bucket
+    private final int buckets;     // 합산할 bucket 수
+
+    TrendingWindow(String label, boolean hourly, int buckets) {
+        this.label = label;
+        this.hourly = hourly;
+        this.buckets = buckets;
+    }
+
+    public static TrendingWindow fromLabel(String label) {
+        for (TrendingWindow window : values()) {
+            if (window.label.equals(label)) {
+                return window;
+            }
+        }
+        throw new BadRequestException("INVALID TRENDING WINDOW");
+    }
+}
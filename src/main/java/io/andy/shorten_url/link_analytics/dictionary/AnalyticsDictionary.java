@@ -0,0 +1,82 @@
+package io.andy.shorten_url.link_analytics.dictionary;
+
+import io.andy.shorten_url.link_analytics.constant.DimensionType;
+import io.andy.shorten_url.link_analytics.entity.AnalyticsDimension;
+import io.andy.shorten_url.link_analytics.repository.AnalyticsDimensionRepository;
+import io.andy.shorten_url.util.dictionary.StringDictionary;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 접속 로그의 반복되는 문자열(user agent, 지역, referer)을 analytics_dimension id 로 치환
+ */
+@Slf4j
+@Component
+public class AnalyticsDictionary {
+    static final int MAX_VALUE_LENGTH = 255;
+    private static final List<DimensionType> WARM_UP_TYPES = List.of(DimensionType.USER_AGENT, DimensionType.LOCATION);
+
+    private final AnalyticsDimensionRepository dimensionRepository;
+    private final AnalyticsDimensionWriter dimensionWriter;
+    private final Map<DimensionType, StringDictionary> dictionaries = new EnumMap<>(DimensionType.class);
+
+    public AnalyticsDictionary(
+            AnalyticsDimensionRepository dimensionRepository,
+            AnalyticsDimensionWriter dimensionWriter,
+            @Value("${link.analytics.dictionary.max-size:100000}") int maxSize
+    ) {
+        this.dimensionRepository = dimensionRepository;
+        // 접속 로그 저장이 롤백되어도 사전에 캐싱된 id 가 유효하도록 별도 pool 에서 autocommit 으로 등록
+        this.dimensionWriter = dimensionWriter;
+        for (DimensionType type : DimensionType.values()) {
+            dictionaries.put(type, new StringDictionary(maxSize));
+        }
+    }
+
+    // 종류가 적은 user agent, 지역만 미리 적재 (referer 는 필요할 때 적재)
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        for (DimensionType type : WARM_UP_TYPES) {
+            try {
+                for (AnalyticsDimension dimension : dimensionRepository.findByType(type)) {
+                    dictionaries.get(type).put(dimension.getId(), dimension.getValue());
+                }
+            } catch (Exception e) {
+                log.warn("failed to warm up analytics dictionary, type={}, message={}", type, e.getMessage());
+            }
+        }
+    }
+
+    public Integer encode(DimensionType type, String value) {
+        if (Objects.isNull(value)) {
+            return null;
+        }
+        String normalized = value.length() > MAX_VALUE_LENGTH ? value.substring(0, MAX_VALUE_LENGTH) : value;
+        return dictionaries.get(type).encode(normalized, v -> findOrCreate(type, v));
+    }
+
+    public String decode(DimensionType type, Integer id) {
+        if (Objects.isNull(id)) {
+            return null;
+        }
+        return dictionaries.get(type).decode(id, i -> dimensionRepository.findById(i)
+                .map(AnalyticsDimension::getValue)
+                .orElse(null));
+    }
+
+    private int findOrCreate(DimensionType type, String value) {
+        return dimensionRepository.findByTypeAndValue(type, value)
+                .map(AnalyticsDimension::getId)
+                .orElseGet(() -> dimensionWriter.findOrCreate(type, value));
+    }
+}
@@ -0,0 +1,107 @@
+package io.andy.shorten_url.link_analytics.dictionary;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.andy.shorten_url.link_analytics.constant.DimensionType;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.PreparedStatement;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * analytics_dimension 등록 전용 connection pool
+ * 클릭 트랜잭션이 connection 을 잡은 채로 같은 pool 의 connection 을 하나 더 기다리면 pool 고갈 시 서로를 기다리게 되므로,
+ * 처음 보는 값은 별도 pool 에서 autocommit 으로 등록
+ */
+@Slf4j
+@Component
+public class AnalyticsDimensionWriter implements Closeable {
+    static final String SELECT_SQL = "SELECT id FROM analytics_dimension WHERE type = ? AND value = ?";
+    static final String INSERT_SQL = "INSERT INTO analytics_dimension (type, value) VALUES (?, ?)";
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public AnalyticsDimensionWriter(
+            DataSourceProperties properties,
+            Environment environment,
+            @Value("${link.analytics.dictionary.pool-size:2}") int poolSize
+    ) {
+        this(createPool(properties, environment, poolSize));
+    }
+
+    AnalyticsDimensionWriter(DataSource dataSource) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    public int findOrCreate(DimensionType type, String value) {
+        Integer id = find(type, value);
+        if (Objects.nonNull(id)) {
+            return id;
+        }
+        try {
+            return insert(type, value);
+        } catch (DuplicateKeyException e) {
+            // 다른 thread 나 노드가 먼저 등록한 경우, 커밋된 값을 바로 읽을 수 있도록 같은 pool 에서 다시 조회
+            Integer registered = find(type, value);
+            if (Objects.isNull(registered)) {
+                throw e;
+            }
+            return registered;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (dataSource instanceof Closeable closeable) {
+            closeable.close();
+        }
+    }
+
+    private Integer find(DimensionType type, String value) {
+        List<Integer> ids = jdbcTemplate.queryForList(SELECT_SQL, Integer.class, type.name(), value);
+        return ids.isEmpty() ? null : ids.get(0);
+    }
+
+    private int insert(DimensionType type, String value) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(INSERT_SQL, new String[]{"id"});
+            statement.setString(1, type.name());
+            statement.setString(2, value);
+            return statement;
+        }, keyHolder);
+        int id = Objects.requireNonNull(keyHolder.getKey()).intValue();
+        log.debug("registered analytics dimension, type={}, id={}", type, id);
+        return id;
+    }
+
+    private static HikariDataSource createPool(DataSourceProperties properties, Environment environment, int poolSize) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(dataSource));
+        dataSource.setPoolName("analytics-dictionary");
+        dataSource.setMaximumPoolSize(poolSize);
+        dataSource.setMinimumIdle(0);
+        dataSource.setAutoCommit(true);
+        return dataSource;
+    }
+}
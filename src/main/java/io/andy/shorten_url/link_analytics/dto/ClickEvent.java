@@ -0,0 +1,32 @@
+package io.andy.shorten_url.link_analytics.dto;
+
+import java.time.LocalDateTime;
+
+public record ClickEvent(
+        Long linkId,
+        String urlPath,
+        String ipAddress,
+        String userAgent,
+        String referer,
+        LocalDateTime occurredAt,
+        long weight
+) {
+    public static ClickEvent of(Long linkId, String urlPath, String ipAddress, String userAgent, String referer) {
+        return of(linkId, urlPath, ipAddress, userAgent, referer, 1L);
+    }
+
+    // weight: 조회수 샘플링 시 이 클릭이 대표하는 클릭 수
+    public static ClickEvent of(Long linkId, String urlPath, String ipAddress, String userAgent, String referer, long weight) {
+        return new ClickEvent(linkId, urlPath, ipAddress, userAgent, referer, LocalDateTime.now(), weight);
+    }
+
+    public PutAccessLogDto toAccessLogDto() {
+        return PutAccessLogDto.builder()
+                .ipAddress(ipAddress)
+                .userAgent(userAgent)
+                .referer(referer)
+                .occurredAt(occurredAt)
+                .weight(weight)
+                .build();
+    }
+}
@@ -0,0 +1,15 @@
+package io.andy.shorten_url.link_analytics.dto;
+
+import java.time.LocalDateTime;
+
+public record LinkAnalyticsDto(
+        Long id,
+        LocalDateTime createdAt,
+        Long linkId,
+        String ipAddress,
+        String userAgent,
+        String location,
+        String referer,
+        Integer weight
+) {
+}
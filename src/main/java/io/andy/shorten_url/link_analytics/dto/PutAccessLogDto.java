@@ -4,6 +4,8 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.time.LocalDateTime;
+
 @Getter @Setter
 @Builder
 public class PutAccessLogDto {
@@ -11,4 +13,7 @@ public class PutAccessLogDto {
     private String location;
     private String userAgent;
     private String referer;
+    private LocalDateTime occurredAt; // null 이면 저장 시각
+    @Builder.Default
+    private long weight = 1L; // 조회수 샘플링 시 이 클릭이 대표하는 클릭 수
 }
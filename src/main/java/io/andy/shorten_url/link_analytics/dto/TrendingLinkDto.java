@@ -0,0 +1,7 @@
+package io.andy.shorten_url.link_analytics.dto;
+
+public record TrendingLinkDto(
+        Long linkId,
+        long clicks
+) {
+}
@@ -0,0 +1,27 @@
+package io.andy.shorten_url.link_analytics.entity;
+
+import io.andy.shorten_url.link_analytics.constant.DimensionType;
+
+import jakarta.persistence.*;
+
+import lombok.Getter;
+import lombok.ToString;
+
+@Entity
+@Getter
+@ToString
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_analytics_dimension_type_value", columnNames = {"type", "value"}))
+public class AnalyticsDimension {
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+    @Enumerated(EnumType.STRING)
+    private DimensionType type;
+    private String value;
+
+    protected AnalyticsDimension() {}
+
+    public AnalyticsDimension(DimensionType type, String value) {
+        this.type = type;
+        this.value = value;
+    }
+}
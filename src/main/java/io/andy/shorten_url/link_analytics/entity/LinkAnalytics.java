@@ -1,7 +1,5 @@
 package io.andy.shorten_url.link_analytics.entity;
 
-import io.andy.shorten_url.link_analytics.dto.PutAccessLogDto;
-
 import jakarta.persistence.*;
 
 import lombok.Getter;
@@ -9,31 +7,53 @@ import org.springframework.context.annotation.Profile;
 
 import java.time.LocalDateTime;
 
+/**
+ * 접속 로그 (고정 길이 row)
+ * user agent, 지역, referer 는 analytics_dimension id, IP 는 VARBINARY(16) 로 저장
+ * weight 는 조회수 샘플링 시 이 row 가 대표하는 클릭 수 (샘플링하지 않으면 1)
+ */
 @Entity
 @Getter
+@Table(indexes = @Index(name = "idx_link_analytics_link_id_created_at", columnList = "link_id, created_at"))
 public class LinkAnalytics {
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Id @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "link_analytics_seq")
+    @SequenceGenerator(name = "link_analytics_seq", sequenceName = "link_analytics_seq", allocationSize = 500)
     private Long id;
     private LocalDateTime createdAt;
     private Long linkId;
-    private String ipAddress;
-    private String userAgent;
-    private String location;
-    private String referer;
+    @Column(columnDefinition = "VARBINARY(16)")
+    private byte[] ipAddress;
+    private Integer userAgentId;
+    private Integer locationId;
+    private Integer refererId;
+    private Integer weight = 1;
 
     protected LinkAnalytics() {}
 
-    public LinkAnalytics(Long linkId, PutAccessLogDto accessLogDto) {
+    public LinkAnalytics(Long linkId, byte[] ipAddress, Integer userAgentId, Integer locationId, Integer refererId) {
         this.linkId = linkId;
-        this.ipAddress = accessLogDto.getIpAddress();
-        this.userAgent = accessLogDto.getUserAgent();
-        this.location = accessLogDto.getLocation();
-        this.referer = accessLogDto.getReferer();
+        this.ipAddress = ipAddress;
+        this.userAgentId = userAgentId;
+        this.locationId = locationId;
+        this.refererId = refererId;
+    }
+
+    // journal 재처리 등 클릭 시각이 저장 시각과 다른 경우
+    public LinkAnalytics(Long linkId, byte[] ipAddress, Integer userAgentId, Integer locationId, Integer refererId, LocalDateTime createdAt) {
+        this(linkId, ipAddress, userAgentId, locationId, refererId);
+        this.createdAt = createdAt;
+    }
+
+    public LinkAnalytics(Long linkId, byte[] ipAddress, Integer userAgentId, Integer locationId, Integer refererId, LocalDateTime createdAt, int weight) {
+        this(linkId, ipAddress, userAgentId, locationId, refererId, createdAt);
+        this.weight = weight;
     }
 
     @PrePersist
     protected void onCreate() {
-        createdAt = LocalDateTime.now();
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
     }
 
     @Profile("test")
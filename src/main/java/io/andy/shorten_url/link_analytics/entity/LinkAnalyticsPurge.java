@@ -0,0 +1,40 @@
+package io.andy.shorten_url.link_analytics.entity;
+
+import jakarta.persistence.*;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+/**
+ * link analytics 삭제 요청 (tombstone)
+ * purgeBefore 이전에 기록된 row 는 조회에서 제외되고, 백그라운드 작업이 나눠서 삭제
+ */
+@Entity
+@Getter @Setter
+@ToString
+@Table(indexes = @Index(name = "idx_link_analytics_purge_link_id", columnList = "link_id, purge_before"))
+public class LinkAnalyticsPurge {
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    private Long linkId;
+    private LocalDateTime purgeBefore;
+    private Long deletedCount;
+    private LocalDateTime createdAt;
+    private LocalDateTime completedAt;
+
+    protected LinkAnalyticsPurge() {}
+
+    public LinkAnalyticsPurge(Long linkId, LocalDateTime purgeBefore) {
+        this.linkId = linkId;
+        this.purgeBefore = purgeBefore;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        deletedCount = 0L;
+    }
+}
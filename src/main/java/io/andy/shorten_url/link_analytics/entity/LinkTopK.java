@@ -0,0 +1,39 @@
+package io.andy.shorten_url.link_analytics.entity;
+
+import io.andy.shorten_url.link_analytics.constant.DimensionType;
+
+import jakarta.persistence.*;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 링크/일/종류 별 top-K 요약 (SpaceSaving counter 목록 JSON)
+ */
+@Entity
+@Getter @Setter
+@ToString
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_link_top_k", columnNames = {"link_id", "day", "type"}))
+public class LinkTopK {
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    private Long linkId;
+    private LocalDate day;
+    @Enumerated(EnumType.STRING)
+    private DimensionType type;
+    @Lob
+    private String summary;
+    private LocalDateTime updatedAt;
+
+    protected LinkTopK() {}
+
+    public LinkTopK(Long linkId, LocalDate day, DimensionType type) {
+        this.linkId = linkId;
+        this.day = day;
+        this.type = type;
+    }
+}
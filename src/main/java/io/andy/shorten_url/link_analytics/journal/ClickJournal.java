@@ -0,0 +1,234 @@
+package io.andy.shorten_url.link_analytics.journal;
+
+import io.andy.shorten_url.link_analytics.dto.ClickEvent;
+
+import jakarta.annotation.PreDestroy;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * 클릭 이벤트 append-only journal (memory-mapped segment)
+ * - record: [length(int)][crc32c(int)][payload], length 를 마지막에 기록하여 0 이면 미기록 영역
+ * - 한 segment 가 차면 force 후 다음 segment 로 교체
+ * - fsync 는 flusher 스레드가 모아서 수행 (group commit), append 결과 future 는 fsync 이후 완료
+ * - 재시작 시 이전 segment 는 이어 쓰지 않고 새 segment 부터 기록 (이전 segment 는 replayer 가 소비)
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "link.analytics.journal.enabled", havingValue = "true")
+public class ClickJournal {
+    static final int HEADER_BYTES = Integer.BYTES * 2;
+    static final String SEGMENT_SUFFIX = ".seg";
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final long flushMillis;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition flushRequested = lock.newCondition();
+    private long segmentId;
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private int writePosition;
+    private List<CompletableFuture<Void>> pending = new ArrayList<>();
+    private volatile JournalPosition durablePosition;
+    private volatile boolean running = true;
+    private final Thread flusher;
+
+    public ClickJournal(
+            @Value("${link.analytics.journal.directory:./data/click-journal}") String directory,
+            @Value("${link.analytics.journal.segment-bytes:67108864}") int segmentBytes,
+            @Value("${link.analytics.journal.flush-millis:5}") long flushMillis
+    ) throws IOException {
+        this.directory = Path.of(directory);
+        this.segmentBytes = segmentBytes;
+        this.flushMillis = flushMillis;
+        Files.createDirectories(this.directory);
+
+        List<Long> existing = segmentIds(this.directory);
+        openSegment(existing.isEmpty() ? 1L : existing.get(existing.size() - 1) + 1);
+        this.durablePosition = new JournalPosition(segmentId, 0);
+
+        this.flusher = new Thread(this::flushLoop, "click-journal-flusher");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    /**
+     * @return fsync 완료 시 완료되는 future
+     */
+    public CompletableFuture<Void> append(ClickEvent event) {
+        byte[] payload = ClickJournalCodec.encode(event);
+        int recordBytes = HEADER_BYTES + payload.length;
+        // segment 끝의 end marker(length 0) 자리를 남겨둠
+        if (recordBytes + Integer.BYTES > segmentBytes) {
+            throw new IllegalArgumentException("click journal record is larger than segment, bytes=" + recordBytes);
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(payload);
+
+        CompletableFuture<Void> durable = new CompletableFuture<>();
+        lock.lock();
+        try {
+            if (!running) {
+                throw new IllegalStateException("click journal is closed");
+            }
+            if (writePosition + recordBytes + Integer.BYTES > segmentBytes) {
+                rotate();
+            }
+            int position = writePosition;
+            buffer.putInt(position + Integer.BYTES, (int) crc.getValue());
+            buffer.put(position + HEADER_BYTES, payload);
+            buffer.putInt(position, payload.length);
+            writePosition = position + recordBytes;
+            pending.add(durable);
+            flushRequested.signal();
+        } finally {
+            lock.unlock();
+        }
+        return durable;
+    }
+
+    /**
+     * fsync 가 끝난 마지막 위치, replayer 는 active segment 를 이 위치까지만 읽음
+     */
+    public JournalPosition durablePosition() {
+        return durablePosition;
+    }
+
+    public Path directory() {
+        return directory;
+    }
+
+    static Path segmentPath(Path directory, long segmentId) {
+        return directory.resolve(String.format("%020d%s", segmentId, SEGMENT_SUFFIX));
+    }
+
+    static List<Long> segmentIds(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.endsWith(SEGMENT_SUFFIX))
+                    .map(name -> Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length())))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException, InterruptedException {
+        lock.lock();
+        try {
+            running = false;
+            flushRequested.signal();
+        } finally {
+            lock.unlock();
+        }
+        flusher.join(TimeUnit.SECONDS.toMillis(5));
+        lock.lock();
+        try {
+            flush();
+            channel.close();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void flushLoop() {
+        while (running) {
+            try {
+                lock.lock();
+                try {
+                    while (running && pending.isEmpty()) {
+                        flushRequested.await();
+                    }
+                } finally {
+                    lock.unlock();
+                }
+                // 짧게 기다려 동시에 들어온 append 를 한 번의 fsync 로 처리
+                if (flushMillis > 0) {
+                    Thread.sleep(flushMillis);
+                }
+                flush();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("failed to flush click journal, message={}", e.getMessage());
+            }
+        }
+    }
+
+    private void flush() {
+        List<CompletableFuture<Void>> flushing;
+        MappedByteBuffer flushingBuffer;
+        JournalPosition position;
+        lock.lock();
+        try {
+            if (pending.isEmpty()) {
+                return;
+            }
+            flushing = pending;
+            pending = new ArrayList<>();
+            flushingBuffer = buffer;
+            position = new JournalPosition(segmentId, writePosition);
+        } finally {
+            lock.unlock();
+        }
+
+        // 쓰기는 절대 위치로만 하므로 lock 밖에서 force 해도 안전 (rotate 된 segment 는 rotate 시 force 완료)
+        try {
+            flushingBuffer.force(0, position.offset());
+            durablePosition = position;
+            flushing.forEach(future -> future.complete(null));
+        } catch (Exception e) {
+            flushing.forEach(future -> future.completeExceptionally(e));
+            throw e;
+        }
+    }
+
+    // lock 안에서 호출
+    private void rotate() {
+        buffer.force();
+        try {
+            channel.close();
+        } catch (IOException e) {
+            log.warn("failed to close click journal segment={}, message={}", segmentId, e.getMessage());
+        }
+        durablePosition = new JournalPosition(segmentId, writePosition);
+        openSegment(segmentId + 1);
+        log.info("rotated click journal, segment={}", segmentId);
+    }
+
+    private void openSegment(long nextSegmentId) {
+        try {
+            Path path = segmentPath(directory, nextSegmentId);
+            FileChannel next = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            this.buffer = next.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+            this.channel = next;
+            this.segmentId = nextSegmentId;
+            this.writePosition = 0;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
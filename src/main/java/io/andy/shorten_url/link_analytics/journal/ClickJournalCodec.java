@@ -0,0 +1,73 @@
+package io.andy.shorten_url.link_analytics.journal;
+
+import io.andy.shorten_url.link_analytics.dto.ClickEvent;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Objects;
+
+/**
+ * ClickEvent <-> journal record payload 변환
+ */
+final class ClickJournalCodec {
+    // 2: weight 추가, 1 은 weight 1 로 읽음
+    private static final byte VERSION = 2;
+    private static final byte VERSION_WITHOUT_WEIGHT = 1;
+    private static final int MAX_STRING_LENGTH = 2048;
+
+    private ClickJournalCodec() {}
+
+    static byte[] encode(ClickEvent event) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            out.writeLong(event.linkId());
+            out.writeLong(event.occurredAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+            writeString(out, event.urlPath());
+            writeString(out, event.ipAddress());
+            writeString(out, event.userAgent());
+            writeString(out, event.referer());
+            out.writeLong(event.weight());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    static ClickEvent decode(byte[] payload) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload))) {
+            byte version = in.readByte();
+            if (version != VERSION && version != VERSION_WITHOUT_WEIGHT) {
+                throw new IllegalStateException("unsupported click journal version: " + version);
+            }
+            long linkId = in.readLong();
+            LocalDateTime occurredAt = LocalDateTime.ofInstant(Instant.ofEpochMilli(in.readLong()), ZoneId.systemDefault());
+            String urlPath = readString(in);
+            String ipAddress = readString(in);
+            String userAgent = readString(in);
+            String referer = readString(in);
+            long weight = version == VERSION ? in.readLong() : 1L;
+            return new ClickEvent(linkId, urlPath, ipAddress, userAgent, referer, occurredAt, weight);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(Objects.nonNull(value));
+        if (Objects.nonNull(value)) {
+            out.writeUTF(value.length() > MAX_STRING_LENGTH ? value.substring(0, MAX_STRING_LENGTH) : value);
+        }
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
@@ -0,0 +1,157 @@
+package io.andy.shorten_url.link_analytics.journal;
+
+import io.andy.shorten_url.link_analytics.dto.ClickEvent;
+import io.andy.shorten_url.link_analytics.service.ClickEventPublisher;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+/**
+ * journal 의 클릭 이벤트를 link_analytics, 카운터에 반영
+ * - checkpoint(segment, offset) 는 batch 반영(commit) 이후 기록하므로 장애 시 마지막 batch 가 중복 반영될 수 있음 (at-least-once)
+ * - 끝까지 소비한 segment 는 삭제
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "link.analytics.journal.enabled", havingValue = "true")
+public class ClickJournalReplayer {
+    static final String CHECKPOINT_FILE = "checkpoint";
+
+    private final ClickJournal clickJournal;
+    private final ClickEventPublisher clickEventPublisher;
+    private final int batchSize;
+
+    public ClickJournalReplayer(
+            ClickJournal clickJournal,
+            ClickEventPublisher clickEventPublisher,
+            @Value("${link.analytics.journal.replay-batch-size:500}") int batchSize
+    ) {
+        this.clickJournal = clickJournal;
+        this.clickEventPublisher = clickEventPublisher;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${link.analytics.journal.replay-millis:1000}")
+    public void replay() {
+        try {
+            int replayed = replayOnce();
+            if (replayed > 0) {
+                log.debug("replayed click journal, events={}", replayed);
+            }
+        } catch (Exception e) {
+            log.error("failed to replay click journal, message={}", e.getMessage());
+        }
+    }
+
+    int replayOnce() throws IOException {
+        Path directory = clickJournal.directory();
+        JournalPosition checkpoint = loadCheckpoint();
+        JournalPosition durable = clickJournal.durablePosition();
+        int replayed = 0;
+        for (long segmentId : ClickJournal.segmentIds(directory)) {
+            if (segmentId > durable.segmentId()) {
+                break;
+            }
+            Path path = ClickJournal.segmentPath(directory, segmentId);
+            if (segmentId < checkpoint.segmentId()) {
+                Files.deleteIfExists(path);
+                continue;
+            }
+            // active segment 는 fsync 된 위치까지만 읽음
+            boolean sealed = segmentId < durable.segmentId();
+            int from = segmentId == checkpoint.segmentId() ? checkpoint.offset() : 0;
+            int limit = sealed ? Integer.MAX_VALUE : durable.offset();
+            replayed += replaySegment(segmentId, path, from, limit);
+            if (!sealed) {
+                break;
+            }
+            storeCheckpoint(new JournalPosition(segmentId + 1, 0));
+            Files.deleteIfExists(path);
+        }
+        return replayed;
+    }
+
+    private int replaySegment(long segmentId, Path path, int from, int limit) throws IOException {
+        int replayed = 0;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer view = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            int end = (int) Math.min(channel.size(), limit);
+            int offset = from;
+            List<ClickEvent> batch = new ArrayList<>(batchSize);
+            while (offset + ClickJournal.HEADER_BYTES <= end) {
+                int length = view.getInt(offset);
+                if (length <= 0 || offset + ClickJournal.HEADER_BYTES + length > end) {
+                    break;
+                }
+                byte[] payload = new byte[length];
+                view.get(offset + ClickJournal.HEADER_BYTES, payload);
+                CRC32C crc = new CRC32C();
+                crc.update(payload);
+                if ((int) crc.getValue() != view.getInt(offset + Integer.BYTES)) {
+                    // fsync 전에 중단된 마지막 record
+                    log.warn("found torn click journal record, segment={}, offset={}", segmentId, offset);
+                    break;
+                }
+                offset += ClickJournal.HEADER_BYTES + length;
+                try {
+                    batch.add(ClickJournalCodec.decode(payload));
+                } catch (RuntimeException e) {
+                    log.error("skipped unreadable click journal record, segment={}, message={}", segmentId, e.getMessage());
+                }
+                if (batch.size() >= batchSize) {
+                    replayed += apply(batch, new JournalPosition(segmentId, offset));
+                }
+            }
+            if (!batch.isEmpty() || offset != from) {
+                replayed += apply(batch, new JournalPosition(segmentId, offset));
+            }
+        }
+        return replayed;
+    }
+
+    private int apply(List<ClickEvent> batch, JournalPosition position) throws IOException {
+        int size = batch.size();
+        if (size > 0) {
+            clickEventPublisher.recordAll(batch);
+        }
+        storeCheckpoint(position);
+        batch.clear();
+        return size;
+    }
+
+    JournalPosition loadCheckpoint() throws IOException {
+        Path path = clickJournal.directory().resolve(CHECKPOINT_FILE);
+        if (!Files.exists(path)) {
+            return JournalPosition.START;
+        }
+        String[] tokens = Files.readString(path, StandardCharsets.UTF_8).trim().split(" ");
+        return new JournalPosition(Long.parseLong(tokens[0]), Integer.parseInt(tokens[1]));
+    }
+
+    // 임시 파일에 fsync 후 rename 하여 checkpoint 가 깨지지 않도록 함
+    private void storeCheckpoint(JournalPosition position) throws IOException {
+        Path target = clickJournal.directory().resolve(CHECKPOINT_FILE);
+        Path temp = clickJournal.directory().resolve(CHECKPOINT_FILE + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel.write(StandardCharsets.UTF_8.encode(position.segmentId() + " " + position.offset()));
+            channel.force(true);
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
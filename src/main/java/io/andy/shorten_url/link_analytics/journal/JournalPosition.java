@@ -0,0 +1,11 @@
+package io.andy.shorten_url.link_analytics.journal;
+
+/**
+ * journal 내 위치 (segment id, segment 내 byte offset)
+ */
+public record JournalPosition(
+        long segmentId,
+        int offset
+) {
+    public static final JournalPosition START = new JournalPosition(0L, 0);
+}
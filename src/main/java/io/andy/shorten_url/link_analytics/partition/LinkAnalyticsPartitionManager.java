@@ -0,0 +1,125 @@
+package io.andy.shorten_url.link_analytics.partition;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * link_analytics 일 단위 RANGE partition 관리
+ * - ahead-days 만큼 미래 partition 을 p_future 에서 분리하여 미리 생성
+ * - retention-days 가 지난 partition 은 DELETE 대신 DROP PARTITION 으로 제거
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "link.analytics.partition.enabled", havingValue = "true")
+public class LinkAnalyticsPartitionManager {
+    static final String TABLE_NAME = "link_analytics";
+    static final String FUTURE_PARTITION = "p_future";
+    private static final DateTimeFormatter PARTITION_NAME_FORMAT = DateTimeFormatter.ofPattern("'p'yyyyMMdd");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int aheadDays;
+    private final int retentionDays;
+
+    public LinkAnalyticsPartitionManager(
+            JdbcTemplate jdbcTemplate,
+            @Value("${link.analytics.partition.ahead-days:7}") int aheadDays,
+            @Value("${link.analytics.partition.retention-days:400}") int retentionDays
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.aheadDays = aheadDays;
+        this.retentionDays = retentionDays;
+    }
+
+    static String partitionName(LocalDate day) {
+        return day.format(PARTITION_NAME_FORMAT);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${link.analytics.partition.cron:0 10 0 * * *}")
+    public void maintain() {
+        try {
+            maintain(LocalDate.now());
+        } catch (Exception e) {
+            log.error("failed to maintain link analytics partitions, message={}", e.getMessage());
+        }
+    }
+
+    void maintain(LocalDate today) {
+        List<String> partitionNames = jdbcTemplate.queryForList(
+                "SELECT PARTITION_NAME FROM information_schema.PARTITIONS "
+                        + "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? ORDER BY PARTITION_ORDINAL_POSITION",
+                String.class, TABLE_NAME);
+        if (!partitionNames.contains(FUTURE_PARTITION)) {
+            log.warn("{} is not partitioned by day, skip partition maintenance", TABLE_NAME);
+            return;
+        }
+
+        List<LocalDate> days = partitionNames.stream()
+                .filter(Objects::nonNull)
+                .map(LinkAnalyticsPartitionManager::parseDay)
+                .filter(Objects::nonNull)
+                .sorted()
+                .toList();
+
+        addPartitions(days, today);
+        dropPartitions(days, today);
+    }
+
+    // 새 partition 은 항상 마지막 partition 뒤에만 추가할 수 있으므로 가장 최근 partition 다음 날부터 생성
+    private void addPartitions(List<LocalDate> days, LocalDate today) {
+        LocalDate from = days.isEmpty() ? today : days.get(days.size() - 1).plusDays(1);
+        if (from.isBefore(today)) {
+            from = today;
+        }
+        LocalDate until = today.plusDays(aheadDays);
+        if (from.isAfter(until)) {
+            return;
+        }
+
+        List<String> definitions = new ArrayList<>();
+        for (LocalDate day = from; !day.isAfter(until); day = day.plusDays(1)) {
+            definitions.add(String.format("PARTITION %s VALUES LESS THAN (TO_DAYS('%s'))", partitionName(day), day.plusDays(1)));
+        }
+        definitions.add(String.format("PARTITION %s VALUES LESS THAN MAXVALUE", FUTURE_PARTITION));
+
+        jdbcTemplate.execute(String.format("ALTER TABLE %s REORGANIZE PARTITION %s INTO (%s)",
+                TABLE_NAME, FUTURE_PARTITION, String.join(", ", definitions)));
+        log.info("added link analytics partitions from {} to {}", from, until);
+    }
+
+    private void dropPartitions(List<LocalDate> days, LocalDate today) {
+        LocalDate oldestRetained = today.minusDays(retentionDays);
+        List<String> expired = days.stream()
+                .filter(day -> day.isBefore(oldestRetained))
+                .map(LinkAnalyticsPartitionManager::partitionName)
+                .toList();
+        if (expired.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.execute(String.format("ALTER TABLE %s DROP PARTITION %s", TABLE_NAME, String.join(", ", expired)));
+        log.info("dropped link analytics partitions={}", expired);
+    }
+
+    private static LocalDate parseDay(String partitionName) {
+        try {
+            return LocalDate.parse(partitionName, PARTITION_NAME_FORMAT);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
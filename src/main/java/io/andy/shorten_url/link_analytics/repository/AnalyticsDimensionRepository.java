@@ -0,0 +1,16 @@
+package io.andy.shorten_url.link_analytics.repository;
+
+import io.andy.shorten_url.link_analytics.constant.DimensionType;
+import io.andy.shorten_url.link_analytics.entity.AnalyticsDimension;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface AnalyticsDimensionRepository extends JpaRepository<AnalyticsDimension, Integer> {
+    Optional<AnalyticsDimension> findByTypeAndValue(DimensionType type, String value);
+    List<AnalyticsDimension> findByType(DimensionType type);
+}
@@ -0,0 +1,15 @@
+package io.andy.shorten_url.link_analytics.repository;
+
+import io.andy.shorten_url.link_analytics.entity.LinkAnalyticsPurge;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface LinkAnalyticsPurgeRepository extends JpaRepository<LinkAnalyticsPurge, Long> {
+    List<LinkAnalyticsPurge> findByCompletedAtIsNullOrderByIdAsc();
+    Optional<LinkAnalyticsPurge> findTopByLinkIdOrderByPurgeBeforeDesc(Long linkId);
+}
@@ -6,11 +6,56 @@ import io.andy.shorten_url.link_analytics.entity.LinkAnalytics;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
 
 @Repository
 public interface LinkAnalyticsRepository extends JpaRepository<LinkAnalytics, Long>, CommonRepository<LinkAnalytics> {
     Long countByLinkId(Long linkId);
     Page<LinkAnalytics> findByLinkId(Long linkId, Pageable pageable);
     void deleteByLinkId(Long linkId);
+
+    // (link_id, created_at) 인덱스 범위 조회, count 는 join/정렬 없이 같은 인덱스로 처리
+    @Query(value = "SELECT a FROM LinkAnalytics a WHERE a.linkId = :linkId AND a.createdAt > :from",
+            countQuery = "SELECT COUNT(a.id) FROM LinkAnalytics a WHERE a.linkId = :linkId AND a.createdAt > :from")
+    Page<LinkAnalytics> findByLinkIdAndCreatedAtAfter(
+            @Param("linkId") Long linkId,
+            @Param("from") LocalDateTime from,
+            Pageable pageable
+    );
+
+    // 삭제 요청 이후 기록된 row 조회, purgeBefore 와 같은 시각의 row 는 삭제 대상이 아니므로 포함
+    @Query(value = "SELECT a FROM LinkAnalytics a WHERE a.linkId = :linkId AND a.createdAt >= :purgeBefore",
+            countQuery = "SELECT COUNT(a.id) FROM LinkAnalytics a WHERE a.linkId = :linkId AND a.createdAt >= :purgeBefore")
+    Page<LinkAnalytics> findByLinkIdAndCreatedAtNotBefore(
+            @Param("linkId") Long linkId,
+            @Param("purgeBefore") LocalDateTime purgeBefore,
+            Pageable pageable
+    );
+
+    // id 순서로 나눠 읽기 (columnar 저장소 재적재용)
+    @Query("SELECT a FROM LinkAnalytics a WHERE a.id > :afterId AND a.createdAt >= :from AND a.createdAt < :to ORDER BY a.id")
+    List<LinkAnalytics> findChunkCreatedBetween(
+            @Param("afterId") Long afterId,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to,
+            Pageable pageable
+    );
+
+    // 엔티티를 읽지 않고 set 단위로 삭제, 한 번에 limit 건까지만 처리 (purgeBefore 는 제외, 같은 시각의 클릭은 남김)
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM link_analytics WHERE link_id = :linkId AND created_at < :purgeBefore LIMIT :limit",
+            nativeQuery = true)
+    int deleteChunkByLinkId(
+            @Param("linkId") Long linkId,
+            @Param("purgeBefore") LocalDateTime purgeBefore,
+            @Param("limit") int limit
+    );
 }
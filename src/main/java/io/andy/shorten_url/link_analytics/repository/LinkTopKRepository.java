@@ -0,0 +1,30 @@
+package io.andy.shorten_url.link_analytics.repository;
+
+import io.andy.shorten_url.link_analytics.constant.DimensionType;
+import io.andy.shorten_url.link_analytics.entity.LinkTopK;
+
+import jakarta.persistence.LockModeType;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface LinkTopKRepository extends JpaRepository<LinkTopK, Long> {
+    List<LinkTopK> findByLinkIdAndTypeAndDayBetween(Long linkId, DimensionType type, LocalDate from, LocalDate to);
+
+    // 여러 노드가 같은 row 에 요약을 합치므로 읽는 시점에 lock
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM LinkTopK t WHERE t.linkId = :linkId AND t.day = :day AND t.type = :type")
+    Optional<LinkTopK> findForUpdate(
+            @Param("linkId") Long linkId,
+            @Param("day") LocalDate day,
+            @Param("type") DimensionType type
+    );
+}
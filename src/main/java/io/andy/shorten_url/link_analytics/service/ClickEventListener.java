@@ -0,0 +1,10 @@
+package io.andy.shorten_url.link_analytics.service;
+
+import io.andy.shorten_url.link_analytics.dto.PutAccessLogDto;
+
+/**
+ * 접속 로그가 기록될 때 함께 갱신되는 집계 (unique visitor, top-K 등)
+ */
+public interface ClickEventListener {
+    void onClick(Long linkId, PutAccessLogDto accessLogDto);
+}
@@ -0,0 +1,86 @@
+package io.andy.shorten_url.link_analytics.service;
+
+import io.andy.shorten_url.link.service.LinkService;
+import io.andy.shorten_url.link_analytics.dto.ClickEvent;
+import io.andy.shorten_url.link_analytics.journal.ClickJournal;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.List;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ClickEventPublisher {
+    private final LinkService linkService;
+    private final LinkAnalyticsService linkAnalyticsService;
+    private final TransactionTemplate transactionTemplate;
+    private final Scheduler blockingIoScheduler;
+    private final ObjectProvider<ClickJournal> clickJournal;
+
+    // 리다이렉트 응답을 기다리게 하지 않도록 결과를 기다리지 않음
+    public void publish(ClickEvent clickEvent) {
+        // journal 사용 시 로컬 디스크에 기록하고, DB 반영은 replayer 가 수행
+        ClickJournal journal = clickJournal.getIfAvailable();
+        if (journal != null) {
+            try {
+                journal.append(clickEvent).whenComplete((ignored, e) -> {
+                    if (e != null) {
+                        log.error("failed to sync click journal, linkId={}, message={}", clickEvent.linkId(), e.getMessage());
+                    }
+                });
+                return;
+            } catch (RuntimeException e) {
+                log.error("failed to append click journal, record directly, linkId={}, message={}", clickEvent.linkId(), e.getMessage());
+            }
+        }
+        Mono.fromRunnable(() -> record(clickEvent))
+                .subscribeOn(blockingIoScheduler)
+                .subscribe(
+                        null,
+                        e -> log.error("failed to record click event, linkId={}, message={}", clickEvent.linkId(), e.getMessage())
+                );
+    }
+
+    public void record(ClickEvent clickEvent) {
+        transactionTemplate.executeWithoutResult(status -> apply(clickEvent));
+    }
+
+    /**
+     * 여러 이벤트를 한 트랜잭션으로 반영
+     * 실패 시 건별로 재시도하며, 삭제된 링크나 제약 조건 위반 등 처리할 수 없는 이벤트는 로그를 남기고 건너뜀
+     * DB 연결 실패 등 일시적인 오류는 그대로 던져 replayer 가 checkpoint 를 옮기지 않고 다음 주기에 재시도
+     */
+    public void recordAll(List<ClickEvent> clickEvents) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> clickEvents.forEach(this::apply));
+        } catch (RuntimeException e) {
+            log.warn("failed to record click events in batch, retry one by one, size={}, message={}", clickEvents.size(), e.getMessage());
+            for (ClickEvent clickEvent : clickEvents) {
+                try {
+                    record(clickEvent);
+                } catch (TransientDataAccessException | DataAccessResourceFailureException retryable) {
+                    throw retryable;
+                } catch (RuntimeException skipped) {
+                    log.error("skipped click event, linkId={}, urlPath={}, occurredAt={}, message={}",
+                            clickEvent.linkId(), clickEvent.urlPath(), clickEvent.occurredAt(), skipped.getMessage());
+                }
+            }
+        }
+    }
+
+    private void apply(ClickEvent clickEvent) {
+        linkService.countAccess(clickEvent.linkId(), clickEvent.urlPath(), clickEvent.weight());
+        linkAnalyticsService.putAccessCount(clickEvent.linkId(), clickEvent.toAccessLogDto());
+    }
+}
@@ -0,0 +1,135 @@
+package io.andy.shorten_url.link_analytics.service;
+
+import io.andy.shorten_url.link_analytics.entity.LinkAnalyticsPurge;
+import io.andy.shorten_url.link_analytics.repository.LinkAnalyticsPurgeRepository;
+import io.andy.shorten_url.link_analytics.repository.LinkAnalyticsRepository;
+
+import jakarta.annotation.PreDestroy;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * tombstone 으로 요청된 link analytics 를 chunk 단위로 삭제
+ * chunk 마다 트랜잭션을 끊고 쉬어가며 lock 점유 시간과 replication lag 을 제한
+ * 쉬는 동안 공용 scheduler thread 를 점유하지 않도록 전용 thread 에서 실행
+ */
+@Slf4j
+@Component
+public class LinkAnalyticsPurgeJob {
+    private final LinkAnalyticsRepository linkAnalyticsRepository;
+    private final LinkAnalyticsPurgeRepository purgeRepository;
+    private final int chunkSize;
+    private final long pauseMillis;
+    private final int maxChunksPerRun;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "link-analytics-purge");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile boolean stopped;
+
+    public LinkAnalyticsPurgeJob(
+            LinkAnalyticsRepository linkAnalyticsRepository,
+            LinkAnalyticsPurgeRepository purgeRepository,
+            @Value("${link.analytics.purge.chunk-size:1000}") int chunkSize,
+            @Value("${link.analytics.purge.pause-millis:100}") long pauseMillis,
+            @Value("${link.analytics.purge.max-chunks-per-run:100}") int maxChunksPerRun
+    ) {
+        this.linkAnalyticsRepository = linkAnalyticsRepository;
+        this.purgeRepository = purgeRepository;
+        this.chunkSize = chunkSize;
+        this.pauseMillis = pauseMillis;
+        this.maxChunksPerRun = maxChunksPerRun;
+    }
+
+    @Scheduled(fixedDelayString = "${link.analytics.purge.interval-millis:10000}")
+    public void schedule() {
+        // 이전 실행이 끝나지 않았으면 건너뜀
+        if (stopped || !running.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    run();
+                } catch (Exception e) {
+                    log.error("failed to run link analytics purge, message={}", e.getMessage());
+                } finally {
+                    running.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            running.set(false);
+        }
+    }
+
+    // JDBC 호출 중 interrupt 하지 않도록 chunk 사이에서 멈추고 진행 상황을 저장한 뒤 종료
+    @PreDestroy
+    public void close() throws InterruptedException {
+        stopped = true;
+        executor.shutdown();
+        if (!executor.awaitTermination(pauseMillis + 5000, TimeUnit.MILLISECONDS)) {
+            log.warn("link analytics purge did not stop in time");
+        }
+    }
+
+    public void run() {
+        List<LinkAnalyticsPurge> purges = purgeRepository.findByCompletedAtIsNullOrderByIdAsc();
+        int chunks = 0;
+        for (LinkAnalyticsPurge purge : purges) {
+            while (chunks < maxChunksPerRun) {
+                int deleted;
+                try {
+                    deleted = linkAnalyticsRepository.deleteChunkByLinkId(purge.getLinkId(), purge.getPurgeBefore(), chunkSize);
+                } catch (Exception e) {
+                    log.error("failed to purge link analytics, linkId={}, message={}", purge.getLinkId(), e.getMessage());
+                    return;
+                }
+                chunks++;
+                purge.setDeletedCount(purge.getDeletedCount() + deleted);
+                if (deleted < chunkSize) {
+                    purge.setCompletedAt(LocalDateTime.now());
+                    log.info("purged link analytics, linkId={}, deleted={}", purge.getLinkId(), purge.getDeletedCount());
+                    break;
+                }
+                if (!pause()) {
+                    purgeRepository.save(purge);
+                    return;
+                }
+            }
+            purgeRepository.save(purge);
+            if (chunks >= maxChunksPerRun) {
+                return;
+            }
+        }
+    }
+
+    private boolean pause() {
+        if (stopped) {
+            return false;
+        }
+        if (pauseMillis <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(pauseMillis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -1,15 +1,22 @@
 package io.andy.shorten_url.link_analytics.service;
 
+import io.andy.shorten_url.link_analytics.constant.DimensionType;
 import io.andy.shorten_url.link_analytics.dto.PutAccessLogDto;
-import io.andy.shorten_url.link_analytics.entity.LinkAnalytics;
+import io.andy.shorten_url.link_analytics.dto.LinkAnalyticsDto;
+import io.andy.shorten_url.util.sketch.SpaceSaving;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.time.LocalDate;
+import java.util.List;
+
 public interface LinkAnalyticsService {
     void putAccessCount(Long linkId, PutAccessLogDto putAccessLogDto);
-    Page<LinkAnalytics> findAllAccessCounts(Pageable pageable);
-    Page<LinkAnalytics> findAccessCountsByLinkId(Long linkId, Pageable pageable);
-    Page<LinkAnalytics> findLatestLinkCountsWithinNdays(Long linkId, int days, Pageable pageable);
+    Page<LinkAnalyticsDto> findAllAccessCounts(Pageable pageable);
+    Page<LinkAnalyticsDto> findAccessCountsByLinkId(Long linkId, Pageable pageable);
+    Page<LinkAnalyticsDto> findLatestLinkCountsWithinNdays(Long linkId, int days, Pageable pageable);
     void deleteAccessCountsByLinkId(Long linkId);
+    long countUniqueVisitors(Long linkId, LocalDate from, LocalDate to);
+    List<SpaceSaving.Counter<String>> findTopValues(Long linkId, DimensionType type, LocalDate from, LocalDate to, int limit);
 }
@@ -1,21 +1,38 @@
 package io.andy.shorten_url.link_analytics.service;
 
 import io.andy.shorten_url.exception.server.InternalServerException;
+import io.andy.shorten_url.link_analytics.constant.DimensionType;
+import io.andy.shorten_url.link_analytics.dictionary.AnalyticsDictionary;
+import io.andy.shorten_url.link_analytics.dto.LinkAnalyticsDto;
 import io.andy.shorten_url.link_analytics.dto.PutAccessLogDto;
 import io.andy.shorten_url.link_analytics.repository.LinkAnalyticsRepository;
 import io.andy.shorten_url.link_analytics.entity.LinkAnalytics;
+import io.andy.shorten_url.link_analytics.entity.LinkAnalyticsPurge;
+import io.andy.shorten_url.link_analytics.repository.LinkAnalyticsPurgeRepository;
+import io.andy.shorten_url.link_analytics.topk.LinkTopKAggregator;
+import io.andy.shorten_url.link_analytics.visitor.UniqueVisitorCounter;
+import io.andy.shorten_url.util.ip.IpAddressCodec;
 import io.andy.shorten_url.util.ip.IpApiResponse;
 import io.andy.shorten_url.util.ip.IpLocationUtils;
+import io.andy.shorten_url.util.sketch.SpaceSaving;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.Objects;
 
@@ -25,51 +42,142 @@ import java.util.Objects;
 public class LinkAnalyticsServiceImpl implements LinkAnalyticsService {
     private final LinkAnalyticsRepository linkAnalyticsRepository;
     private final IpLocationUtils ipLocationUtils;
+    private final LinkAnalyticsPurgeRepository purgeRepository;
+    private final AnalyticsDictionary analyticsDictionary;
+    private final UniqueVisitorCounter uniqueVisitorCounter;
+    private final LinkTopKAggregator linkTopKAggregator;
+    private final List<ClickEventListener> clickEventListeners;
+    private final PlatformTransactionManager transactionManager;
 
     @Override
     public void putAccessCount(Long linkId, PutAccessLogDto accessLogDto) {
         try {
             IpApiResponse externalApiResponse = ipLocationUtils.getLocationByIp(accessLogDto.getIpAddress());
-            if (Objects.isNull(externalApiResponse)) {
-                accessLogDto.setLocation("unknown");
-            }
-            linkAnalyticsRepository.save(new LinkAnalytics(linkId, accessLogDto));
+            accessLogDto.setLocation(resolveLocation(externalApiResponse, accessLogDto.getLocation()));
+            linkAnalyticsRepository.save(new LinkAnalytics(
+                    linkId,
+                    IpAddressCodec.encode(accessLogDto.getIpAddress()),
+                    analyticsDictionary.encode(DimensionType.USER_AGENT, accessLogDto.getUserAgent()),
+                    analyticsDictionary.encode(DimensionType.LOCATION, accessLogDto.getLocation()),
+                    analyticsDictionary.encode(DimensionType.REFERER, accessLogDto.getReferer()),
+                    accessLogDto.getOccurredAt(),
+                    Math.toIntExact(accessLogDto.getWeight())
+            ));
         } catch (Exception e) {
             log.error("failed to get location by ip, message={}", e.getMessage());
         }
+        publishClick(linkId, accessLogDto);
+    }
+
+    @Override
+    public long countUniqueVisitors(Long linkId, LocalDate from, LocalDate to) {
+        return uniqueVisitorCounter.count(linkId, from, to);
+    }
+
+    @Override
+    public List<SpaceSaving.Counter<String>> findTopValues(Long linkId, DimensionType type, LocalDate from, LocalDate to, int limit) {
+        return linkTopKAggregator.findTop(linkId, type, from, to, limit);
     }
 
     @Override
-    public Page<LinkAnalytics> findAllAccessCounts(Pageable pageable) {
-        return linkAnalyticsRepository.findAll(pageable);
+    public Page<LinkAnalyticsDto> findAllAccessCounts(Pageable pageable) {
+        return linkAnalyticsRepository.findAll(pageable).map(this::toDto);
     }
 
     @Override
-    public Page<LinkAnalytics> findAccessCountsByLinkId(Long linkId, Pageable pageable) {
-        return linkAnalyticsRepository.findByLinkId(linkId, pageable);
+    public Page<LinkAnalyticsDto> findAccessCountsByLinkId(Long linkId, Pageable pageable) {
+        LocalDateTime purgeBefore = findPurgeBefore(linkId);
+        if (Objects.nonNull(purgeBefore)) {
+            return linkAnalyticsRepository.findByLinkIdAndCreatedAtNotBefore(linkId, purgeBefore, pageable).map(this::toDto);
+        }
+        return linkAnalyticsRepository.findByLinkId(linkId, pageable).map(this::toDto);
     }
 
     @Override
-    public Page<LinkAnalytics> findLatestLinkCountsWithinNdays(Long linkId, int days, Pageable pageable) {
-        Page<LinkAnalytics> linkAnalytics = findAccessCountsByLinkId(linkId, pageable);
-        List<LinkAnalytics> list = linkAnalytics.getContent()
-                .stream()
-                .filter(analytic -> analytic
-                        .getCreatedAt()
-                        .isAfter(LocalDateTime.now().minusDays(days)))
-                .toList();
-        return new PageImpl<>(list, pageable, linkAnalytics.getTotalElements());
+    public Page<LinkAnalyticsDto> findLatestLinkCountsWithinNdays(Long linkId, int days, Pageable pageable) {
+        LocalDateTime from = LocalDateTime.now().minusDays(days);
+        LocalDateTime purgeBefore = findPurgeBefore(linkId);
+        // 정렬 조건이 없으면 최신순 (인덱스 역방향 스캔)
+        Pageable latestFirst = pageable.getSort().isSorted()
+                ? pageable
+                : PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), Sort.by(Sort.Direction.DESC, "createdAt"));
+        if (Objects.nonNull(purgeBefore) && purgeBefore.isAfter(from)) {
+            return linkAnalyticsRepository.findByLinkIdAndCreatedAtNotBefore(linkId, purgeBefore, latestFirst).map(this::toDto);
+        }
+        return linkAnalyticsRepository.findByLinkIdAndCreatedAtAfter(linkId, from, latestFirst).map(this::toDto);
     }
 
     @Override
     public void deleteAccessCountsByLinkId(Long linkId) {
+        // 삭제 요청만 기록하고 실제 삭제는 LinkAnalyticsPurgeJob 이 나눠서 처리
+        // 링크 변경이 rollback 되면 접속 로그를 지우지 않도록 커밋 이후에 기록, 커밋 전에 기록된 클릭까지 삭제 대상
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    // 커밋이 끝난 트랜잭션에 참여하지 않도록 새 트랜잭션에서 저장
+                    TransactionTemplate requiresNew = new TransactionTemplate(transactionManager);
+                    requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+                    try {
+                        requiresNew.executeWithoutResult(status -> requestPurge(linkId));
+                    } catch (Exception e) {
+                        log.error("failed to delete analytics by link id={} after commit, message={}", linkId, e.getMessage());
+                    }
+                }
+            });
+            return;
+        }
         try {
-            Long counts = linkAnalyticsRepository.countByLinkId(linkId);
-            linkAnalyticsRepository.deleteByLinkId(linkId);
-            log.info("deleted access counts={} by linkId={}", counts, linkId);
+            requestPurge(linkId);
         } catch (Exception e) {
             log.error("failed to delete analytics by link id={}, message={}", linkId, e.getMessage());
             throw new InternalServerException();
         }
     }
+
+    // DATETIME(6) 정밀도로 저장되도록 microsecond 단위로 자름
+    private void requestPurge(Long linkId) {
+        LinkAnalyticsPurge purge = purgeRepository.save(
+                new LinkAnalyticsPurge(linkId, LocalDateTime.now().truncatedTo(ChronoUnit.MICROS)));
+        log.info("requested to purge access counts by linkId={}, purgeBefore={}", linkId, purge.getPurgeBefore());
+    }
+
+    // 국가 코드를 우선 사용, 조회하지 못하면 기존 값 또는 unknown
+    private static String resolveLocation(IpApiResponse response, String fallback) {
+        if (Objects.nonNull(response) && Objects.nonNull(response.countryCode()) && !response.countryCode().isBlank()) {
+            return response.countryCode();
+        }
+        return Objects.isNull(fallback) ? IpApiResponse.UNKNOWN : fallback;
+    }
+
+    // 집계 실패가 접속 로그 저장에 영향을 주지 않도록 listener 별로 예외 처리
+    private void publishClick(Long linkId, PutAccessLogDto accessLogDto) {
+        for (ClickEventListener listener : clickEventListeners) {
+            try {
+                listener.onClick(linkId, accessLogDto);
+            } catch (Exception e) {
+                log.error("failed to handle click event by {}, linkId={}, message={}", listener.getClass().getSimpleName(), linkId, e.getMessage());
+            }
+        }
+    }
+
+    private LinkAnalyticsDto toDto(LinkAnalytics linkAnalytics) {
+        return new LinkAnalyticsDto(
+                linkAnalytics.getId(),
+                linkAnalytics.getCreatedAt(),
+                linkAnalytics.getLinkId(),
+                IpAddressCodec.decode(linkAnalytics.getIpAddress()),
+                analyticsDictionary.decode(DimensionType.USER_AGENT, linkAnalytics.getUserAgentId()),
+                analyticsDictionary.decode(DimensionType.LOCATION, linkAnalytics.getLocationId()),
+                analyticsDictionary.decode(DimensionType.REFERER, linkAnalytics.getRefererId()),
+                linkAnalytics.getWeight()
+        );
+    }
+
+    // 삭제 요청 이전에 기록된 row 는 삭제가 끝나기 전이라도 조회에서 제외
+    private LocalDateTime findPurgeBefore(Long linkId) {
+        return purgeRepository.findTopByLinkIdOrderByPurgeBeforeDesc(linkId)
+                .map(LinkAnalyticsPurge::getPurgeBefore)
+                .orElse(null);
+    }
 }
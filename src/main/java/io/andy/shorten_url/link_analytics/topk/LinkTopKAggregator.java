@@ -0,0 +1,162 @@
+package io.andy.shorten_url.link_analytics.topk;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.andy.shorten_url.exception.client.BadRequestException;
+import io.andy.shorten_url.link_analytics.constant.DimensionType;
+import io.andy.shorten_url.link_analytics.dto.PutAccessLogDto;
+import io.andy.shorten_url.link_analytics.entity.LinkTopK;
+import io.andy.shorten_url.link_analytics.repository.LinkTopKRepository;
+import io.andy.shorten_url.link_analytics.service.ClickEventListener;
+import io.andy.shorten_url.util.sketch.SpaceSaving;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 링크/일 단위 user agent, 지역, referer top-K
+ * 노드마다 마지막 반영 이후의 변화량만 SpaceSaving 으로 모았다가, 주기적으로 DB 의 요약과 합쳐서 저장
+ */
+@Slf4j
+@Component
+public class LinkTopKAggregator implements ClickEventListener {
+    static final String DIRECT = "(direct)";
+    static final String UNKNOWN = "unknown";
+    private static final TypeReference<List<SpaceSaving.Counter<String>>> COUNTERS_TYPE = new TypeReference<>() {};
+
+    private final LinkTopKRepository topKRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final int capacity;
+    private final int maxRangeDays;
+    private final Map<SummaryKey, SpaceSaving<String>> pending = new ConcurrentHashMap<>();
+
+    public LinkTopKAggregator(
+            LinkTopKRepository topKRepository,
+            TransactionTemplate transactionTemplate,
+            ObjectMapper objectMapper,
+            @Value("${link.analytics.top-k.capacity:64}") int capacity,
+            @Value("${link.analytics.top-k.max-range-days:31}") int maxRangeDays
+    ) {
+        this.topKRepository = topKRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.capacity = capacity;
+        this.maxRangeDays = maxRangeDays;
+    }
+
+    @Override
+    public void onClick(Long linkId, PutAccessLogDto accessLogDto) {
+        LocalDate today = LocalDate.now();
+        long weight = accessLogDto.getWeight();
+        offer(new SummaryKey(linkId, today, DimensionType.USER_AGENT), valueOrDefault(accessLogDto.getUserAgent(), UNKNOWN), weight);
+        offer(new SummaryKey(linkId, today, DimensionType.LOCATION), valueOrDefault(accessLogDto.getLocation(), UNKNOWN), weight);
+        offer(new SummaryKey(linkId, today, DimensionType.REFERER), valueOrDefault(accessLogDto.getReferer(), DIRECT), weight);
+    }
+
+    public List<SpaceSaving.Counter<String>> findTop(Long linkId, DimensionType type, LocalDate from, LocalDate to, int limit) {
+        if (from.isAfter(to)) {
+            throw new BadRequestException("INVALID DATE RANGE");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= maxRangeDays) {
+            throw new BadRequestException("DATE RANGE TOO LONG");
+        }
+
+        // 저장된 요약 + 아직 반영되지 않은 로컬 변화량
+        SpaceSaving<String> merged = new SpaceSaving<>(capacity);
+        for (LinkTopK topK : topKRepository.findByLinkIdAndTypeAndDayBetween(linkId, type, from, to)) {
+            merged.merge(deserialize(topK.getSummary()));
+        }
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            SpaceSaving<String> delta = pending.get(new SummaryKey(linkId, day, type));
+            if (Objects.nonNull(delta)) {
+                merged.merge(delta);
+            }
+        }
+        return merged.top(limit);
+    }
+
+    @Scheduled(fixedDelayString = "${link.analytics.top-k.flush-millis:60000}")
+    public void flush() {
+        for (SummaryKey key : new ArrayList<>(pending.keySet())) {
+            SpaceSaving<String> delta = pending.remove(key);
+            if (Objects.isNull(delta)) {
+                continue;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> persist(key, delta));
+            } catch (Exception e) {
+                // 다음 주기에 다시 반영
+                pending.merge(key, delta, (current, failed) -> {
+                    current.merge(failed);
+                    return current;
+                });
+                log.error("failed to persist top-k summary, key={}, message={}", key, e.getMessage());
+            }
+        }
+    }
+
+    int pendingSize() {
+        return pending.size();
+    }
+
+    private void offer(SummaryKey key, String value, long weight) {
+        // flush 의 remove 와 같은 bin lock 안에서 갱신하여 변화량 유실 방지
+        pending.compute(key, (k, summary) -> {
+            SpaceSaving<String> target = Objects.isNull(summary) ? new SpaceSaving<>(capacity) : summary;
+            target.offer(value, weight);
+            return target;
+        });
+    }
+
+    private void persist(SummaryKey key, SpaceSaving<String> delta) {
+        LinkTopK topK = topKRepository.findForUpdate(key.linkId(), key.day(), key.type())
+                .orElseGet(() -> new LinkTopK(key.linkId(), key.day(), key.type()));
+        SpaceSaving<String> summary = deserialize(topK.getSummary());
+        summary.merge(delta);
+        topK.setSummary(serialize(summary));
+        topK.setUpdatedAt(LocalDateTime.now());
+        topKRepository.save(topK);
+    }
+
+    private SpaceSaving<String> deserialize(String summary) {
+        if (Objects.isNull(summary) || summary.isBlank()) {
+            return new SpaceSaving<>(capacity);
+        }
+        try {
+            return SpaceSaving.of(capacity, objectMapper.readValue(summary, COUNTERS_TYPE));
+        } catch (JsonProcessingException e) {
+            log.error("failed to read top-k summary, message={}", e.getMessage());
+            return new SpaceSaving<>(capacity);
+        }
+    }
+
+    private String serialize(SpaceSaving<String> summary) {
+        try {
+            return objectMapper.writeValueAsString(summary.top(capacity));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("FAILED TO WRITE TOP-K SUMMARY", e);
+        }
+    }
+
+    private static String valueOrDefault(String value, String defaultValue) {
+        return Objects.isNull(value) || value.isBlank() ? defaultValue : value;
+    }
+
+    record SummaryKey(Long linkId, LocalDate day, DimensionType type) { }
+}
@@ -0,0 +1,174 @@
+package io.andy.shorten_url.link_analytics.trending;
+
+import io.andy.shorten_url.link_analytics.constant.TrendingWindow;
+import io.andy.shorten_url.link_analytics.dto.PutAccessLogDto;
+import io.andy.shorten_url.link_analytics.dto.TrendingLinkDto;
+import io.andy.shorten_url.link_analytics.service.ClickEventListener;
+
+import jakarta.annotation.PreDestroy;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 전체 노드 기준 최근 5분/1시간/24시간 인기 링크
+ * - 노드별로 클릭 수를 모았다가 분/시간 bucket ZSET 에 ZINCRBY
+ * - 조회 시 window 에 해당하는 bucket 들을 ZUNIONSTORE 로 합치고 잠시 재사용
+ */
+@Slf4j
+@Component
+public class TrendingLinkTracker implements ClickEventListener {
+    static final String MINUTE_KEY_PREFIX = "link:trending:m:";
+    static final String HOUR_KEY_PREFIX = "link:trending:h:";
+    static final String WINDOW_KEY_PREFIX = "link:trending:w:";
+    private static final long MINUTE_MILLIS = TimeUnit.MINUTES.toMillis(1);
+    private static final long HOUR_MILLIS = TimeUnit.HOURS.toMillis(1);
+    private static final Duration MINUTE_KEY_TTL = Duration.ofMinutes(65);
+    private static final Duration HOUR_KEY_TTL = Duration.ofHours(25);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final Duration windowCacheTtl;
+    private final Map<Long, LongAdder> pending = new ConcurrentHashMap<>();
+
+    public TrendingLinkTracker(
+            StringRedisTemplate stringRedisTemplate,
+            @Value("${link.trending.window-cache-millis:5000}") long windowCacheMillis
+    ) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.windowCacheTtl = Duration.ofMillis(windowCacheMillis);
+    }
+
+    static List<String> bucketKeys(TrendingWindow window, long nowMillis) {
+        String prefix = window.isHourly() ? HOUR_KEY_PREFIX : MINUTE_KEY_PREFIX;
+        long current = nowMillis / (window.isHourly() ? HOUR_MILLIS : MINUTE_MILLIS);
+        List<String> keys = new ArrayList<>(window.getBuckets());
+        for (int i = 0; i < window.getBuckets(); i++) {
+            keys.add(prefix + (current - i));
+        }
+        return keys;
+    }
+
+    @Override
+    public void onClick(Long linkId, PutAccessLogDto accessLogDto) {
+        pending.computeIfAbsent(linkId, id -> new LongAdder()).add(accessLogDto.getWeight());
+    }
+
+    long pending(Long linkId) {
+        LongAdder adder = pending.get(linkId);
+        return Objects.isNull(adder) ? 0L : adder.sum();
+    }
+
+    int size() {
+        return pending.size();
+    }
+
+    @Scheduled(fixedRateString = "${link.trending.flush-millis:5000}")
+    public void flush() {
+        Map<Long, Long> deltas = new HashMap<>();
+        for (Map.Entry<Long, LongAdder> entry : pending.entrySet()) {
+            long delta = entry.getValue().sumThenReset();
+            if (delta > 0) {
+                deltas.put(entry.getKey(), delta);
+            } else {
+                evictIdle(entry.getKey(), entry.getValue());
+            }
+        }
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        String minuteKey = MINUTE_KEY_PREFIX + (now / MINUTE_MILLIS);
+        String hourKey = HOUR_KEY_PREFIX + (now / HOUR_MILLIS);
+        try {
+            stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection stringConnection = (StringRedisConnection) connection;
+                for (Map.Entry<Long, Long> delta : deltas.entrySet()) {
+                    String member = String.valueOf(delta.getKey());
+                    stringConnection.zIncrBy(minuteKey, delta.getValue(), member);
+                    stringConnection.zIncrBy(hourKey, delta.getValue(), member);
+                }
+                stringConnection.expire(minuteKey, MINUTE_KEY_TTL.toSeconds());
+                stringConnection.expire(hourKey, HOUR_KEY_TTL.toSeconds());
+                return null;
+            });
+        } catch (Exception e) {
+            // 다음 주기에 다시 반영
+            deltas.forEach((linkId, delta) -> pending.computeIfAbsent(linkId, id -> new LongAdder()).add(delta));
+            log.error("failed to flush trending link counts, links={}, message={}", deltas.size(), e.getMessage());
+        }
+    }
+
+    // 종료 시 아직 반영되지 않은 클릭 수를 마지막으로 반영
+    @PreDestroy
+    public void close() {
+        flush();
+    }
+
+    public List<TrendingLinkDto> findTop(TrendingWindow window, int limit) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        String windowKey = WINDOW_KEY_PREFIX + window.getLabel();
+        if (!Boolean.TRUE.equals(stringRedisTemplate.hasKey(windowKey))) {
+            aggregate(windowKey, bucketKeys(window, System.currentTimeMillis()));
+        }
+
+        Set<ZSetOperations.TypedTuple<String>> tuples = stringRedisTemplate.opsForZSet()
+                .reverseRangeWithScores(windowKey, 0, limit - 1);
+        if (Objects.isNull(tuples)) {
+            return List.of();
+        }
+        return tuples.stream()
+                .map(tuple -> new TrendingLinkDto(
+                        Long.valueOf(Objects.requireNonNull(tuple.getValue())),
+                        Objects.isNull(tuple.getScore()) ? 0L : tuple.getScore().longValue()))
+                .toList();
+    }
+
+    // 한 주기 동안 클릭이 없던 링크는 제거하여 한 번 클릭된 링크가 계속 쌓이지 않도록 함
+    private void evictIdle(Long linkId, LongAdder adder) {
+        if (!pending.remove(linkId, adder)) {
+            return;
+        }
+        // 제거 직전에 들어온 클릭은 새 counter 로 옮겨 다음 주기에 반영
+        long late = adder.sumThenReset();
+        if (late != 0) {
+            pending.computeIfAbsent(linkId, id -> new LongAdder()).add(late);
+        }
+    }
+
+    // 합산 결과와 만료 시간을 함께 반영하여 만료 없는 window key 가 남지 않도록 함
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private void aggregate(String windowKey, List<String> bucketKeys) {
+        stringRedisTemplate.execute(new SessionCallback<List<Object>>() {
+            @Override
+            public List<Object> execute(RedisOperations operations) {
+                operations.multi();
+                operations.opsForZSet().unionAndStore(bucketKeys.get(0), bucketKeys.subList(1, bucketKeys.size()), windowKey);
+                operations.expire(windowKey, windowCacheTtl);
+                return operations.exec();
+            }
+        });
+    }
+}
@@ -12,8 +12,8 @@ import io.andy.shorten_url.user_log.dto.AccessUserInfoDto;
 import io.andy.shorten_url.user_log.dto.UpdatePrivacyInfoDto;
 import io.andy.shorten_url.user_log.dto.UpdateUserInfoDto;
 import io.andy.shorten_url.user_log.service.UserLogService;
-import io.andy.shorten_url.util.mapper.ClientInfo;
 import io.andy.shorten_url.util.mapper.ClientMapper;
+import io.andy.shorten_url.util.mapper.RequestClientInfo;
 
 import jakarta.servlet.http.HttpServletRequest;
 
@@ -26,7 +26,6 @@ import org.springframework.web.server.ResponseStatusException;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 
 @RequestMapping("/api/user")
 @RestController
@@ -36,11 +35,8 @@ public class UserController {
     private final UserLogService userLogService;
 
     @PostMapping("/create")
-    public ResponseEntity<UserResponseDto> SignUp(HttpServletRequest request, @RequestBody CreateUserRequestDto signUpDto) {
+    public ResponseEntity<UserResponseDto> SignUp(RequestClientInfo clientInfo, @RequestBody CreateUserRequestDto signUpDto) {
         try {
-            // parse client access into
-            Map<ClientInfo, String> accessInfo = ClientMapper.parseAccessInfo(request);
-
             // create user
             UserResponseDto userDto = userService.createByEmail(CreateUserServiceDto.from(signUpDto));
 
@@ -48,8 +44,8 @@ public class UserController {
             userLogService.putUserAccessLog(AccessUserInfoDto.build(
                     userDto,
                     UserLogMessage.SIGNUP,
-                    accessInfo.get(ClientInfo.IP_ADDRESS),
-                    accessInfo.get(ClientInfo.USER_AGENT))
+                    clientInfo.ipAddress(),
+                    clientInfo.userAgent())
             );
 
             return new ResponseEntity<>(userDto, HttpStatus.CREATED);
@@ -61,24 +57,21 @@ public class UserController {
     }
 
     @PostMapping("/login")
-    public ResponseEntity<UserLoginResponseDto> Login(HttpServletRequest request, @RequestBody UserLoginRequestDto loginDto) {
+    public ResponseEntity<UserLoginResponseDto> Login(RequestClientInfo clientInfo, @RequestBody UserLoginRequestDto loginDto) {
         try {
-            // parse client access into
-            Map<ClientInfo, String> accessInfo = ClientMapper.parseAccessInfo(request);
-
             // grant token
             UserLoginResponseDto userDto = userService.login(UserLoginServiceDto.build(
                     loginDto,
-                    accessInfo.get(ClientInfo.IP_ADDRESS),
-                    accessInfo.get(ClientInfo.USER_AGENT))
+                    clientInfo.ipAddress(),
+                    clientInfo.userAgent())
             );
 
             // put log
             userLogService.putUserAccessLog(AccessUserInfoDto.build(
                     userDto,
                     UserLogMessage.LOGIN,
-                    accessInfo.get(ClientInfo.IP_ADDRESS),
-                    accessInfo.get(ClientInfo.USER_AGENT))
+                    clientInfo.ipAddress(),
+                    clientInfo.userAgent())
             );
 
             return ResponseEntity.ok(userDto);
@@ -114,20 +107,17 @@ public class UserController {
     }
 
     @DeleteMapping("/logout")
-    public ResponseEntity<String> logout(HttpServletRequest request) {
+    public ResponseEntity<String> logout(RequestClientInfo clientInfo) {
         try {
-            // parse client access into
-            Map<ClientInfo, String> accessInfo = ClientMapper.parseAccessInfo(request);
-
             // verify token
-            UserLogoutResponseDto logoutResponseDto = userService.logout(UserLogoutRequestDto.build(accessInfo.get(ClientInfo.TOKEN)));
+            UserLogoutResponseDto logoutResponseDto = userService.logout(UserLogoutRequestDto.build(clientInfo.token()));
 
             // put log
             userLogService.putUserAccessLog(AccessUserInfoDto.build(
                     logoutResponseDto,
                     UserLogMessage.LOGOUT,
-                    accessInfo.get(ClientInfo.IP_ADDRESS),
-                    accessInfo.get(ClientInfo.USER_AGENT))
+                    clientInfo.ipAddress(),
+                    clientInfo.userAgent())
             );
 
             return ResponseEntity.ok("success");
@@ -176,10 +166,10 @@ public class UserController {
     }
 
     @PatchMapping("/username")
-    public ResponseEntity<String> updateUsername(HttpServletRequest request, @RequestBody String givenUsername) {
+    public ResponseEntity<String> updateUsername(RequestClientInfo clientInfo, @RequestBody String givenUsername) {
         try {
             // parse token from request
-            String accessToken = ClientMapper.parseAuthToken(request);
+            String accessToken = clientInfo.authToken();
 
             long userId = userService.parseUserIdFromToken(accessToken);
             UserResponseDto previousUser = userService.findById(userId);
@@ -202,19 +192,16 @@ public class UserController {
     }
 
     @PatchMapping("/password")
-    public ResponseEntity<String> updatePassword(HttpServletRequest request, @RequestBody String givenPassword) {
+    public ResponseEntity<String> updatePassword(RequestClientInfo clientInfo, @RequestBody String givenPassword) {
         try {
-            // parse client access into
-            Map<ClientInfo, String> clientInfo = ClientMapper.parseAccessInfo(request);
-
-            long userId = userService.parseUserIdFromToken(clientInfo.get(ClientInfo.TOKEN));
+            long userId = userService.parseUserIdFromToken(clientInfo.token());
             UserResponseDto userDto = userService.updatePasswordById(userId, givenPassword);
 
             userLogService.putUpdateInfoLog(UpdatePrivacyInfoDto.build(
                     userDto,
                     UserLogMessage.UPDATE_PASSWORD,
-                    clientInfo.get(ClientInfo.IP_ADDRESS),
-                    clientInfo.get(ClientInfo.USER_AGENT))
+                    clientInfo.ipAddress(),
+                    clientInfo.userAgent())
             );
 
             return ResponseEntity.ok("success");
@@ -226,9 +213,9 @@ public class UserController {
     }
 
     @PatchMapping("/state")
-    public ResponseEntity<String> updateState(HttpServletRequest request, @RequestBody UserState givenState) {
+    public ResponseEntity<String> updateState(RequestClientInfo clientInfo, @RequestBody UserState givenState) {
         try {
-            String accessToken = ClientMapper.parseAuthToken(request);
+            String accessToken = clientInfo.authToken();
 
             long userId = userService.parseUserIdFromToken(accessToken);
             UserResponseDto previousUserDto = userService.findById(userId);
@@ -250,20 +237,17 @@ public class UserController {
     }
 
     @DeleteMapping("/withdraw")
-    public ResponseEntity<String> withdrawUser(HttpServletRequest request) {
+    public ResponseEntity<String> withdrawUser(RequestClientInfo clientInfo) {
         try {
-            // parse client access into
-            Map<ClientInfo, String> clientInfo = ClientMapper.parseAccessInfo(request);
-
-            long userId = userService.parseUserIdFromToken(clientInfo.get(ClientInfo.TOKEN));
+            long userId = userService.parseUserIdFromToken(clientInfo.token());
             UserResponseDto previousUserDto = userService.findById(userId);
             userService.updateStateById(userId, UserState.WITHDRAWN);
 
             userLogService.putUpdateInfoLog(UpdatePrivacyInfoDto.build(
                     previousUserDto,
                     UserLogMessage.DELETE_USER,
-                    clientInfo.get(ClientInfo.IP_ADDRESS),
-                    clientInfo.get(ClientInfo.USER_AGENT))
+                    clientInfo.ipAddress(),
+                    clientInfo.userAgent())
             );
 
             return ResponseEntity.ok("success");
@@ -305,24 +289,22 @@ public class UserController {
     /**
      * verificationCode와 username 쿼리스트링으로 받아서 비밀번호 초기화 진행
      *
-     * @param request
+     * @param clientInfo
      * @param username
      * @param verificationCode
      * @return
      */
     @PatchMapping("/reset-password")
-    public ResponseEntity<String> resetPassword(HttpServletRequest request, @RequestParam String username, @RequestParam String verificationCode) {
+    public ResponseEntity<String> resetPassword(RequestClientInfo clientInfo, @RequestParam String username, @RequestParam String verificationCode) {
         try {
             // authenticate username and reset password
             userService.resetPassword(username, verificationCode);
 
-            // parse client access into
-            Map<ClientInfo, String> clientInfo = ClientMapper.parseAccessInfo(request);
             userLogService.putUpdateInfoLog(UpdatePrivacyInfoDto.build(
                     userService.findByUsername(username),
                     UserLogMessage.UPDATE_PASSWORD,
-                    clientInfo.get(ClientInfo.IP_ADDRESS),
-                    clientInfo.get(ClientInfo.USER_AGENT))
+                    clientInfo.ipAddress(),
+                    clientInfo.userAgent())
             );
 
             return ResponseEntity.ok("success");
@@ -21,7 +21,8 @@ import java.util.Collection;
 @Getter @Setter
 @ToString(exclude = "password")
 public class User implements UserDetails {
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Id @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_seq")
+    @SequenceGenerator(name = "user_seq", sequenceName = "user_seq", allocationSize = 20)
     private Long id;
     @Column(nullable = false, unique = true)
     private String username;
@@ -0,0 +1,6 @@
+package io.andy.shorten_url.user_log.constant;
+
+public enum UserLogWriteMode {
+    ASYNC, // queue 에 넣고 바로 반환 (fire-and-forget)
+    FLUSH, // batch insert 가 commit 될 때까지 대기
+}
@@ -0,0 +1,135 @@
+package io.andy.shorten_url.user_log.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.andy.shorten_url.exception.client.BadRequestException;
+import io.andy.shorten_url.exception.client.ForbiddenException;
+import io.andy.shorten_url.user.constant.UserRole;
+import io.andy.shorten_url.user.dto.UserResponseDto;
+import io.andy.shorten_url.user.service.UserService;
+import io.andy.shorten_url.user_log.constant.UserLogMessage;
+import io.andy.shorten_url.user_log.dto.UserLogPageDto;
+import io.andy.shorten_url.user_log.service.UserLogService;
+import io.andy.shorten_url.util.mapper.RequestClientInfo;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import reactor.core.scheduler.Scheduler;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Objects;
+
+/**
+ * 회원 로그 조회
+ * - 본인 로그는 누구나, 다른 회원 로그와 메시지별 로그는 ADMIN 만 조회
+ * - 목록은 keyset cursor 로 페이지 조회, 전체 내역은 NDJSON 으로 stream
+ * - stream 은 전역 async timeout 대신 user.log.stream.timeout-millis 를 사용
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/user/log")
+public class UserLogController {
+    private final UserService userService;
+    private final UserLogService userLogService;
+    private final ObjectMapper objectMapper;
+    private final Scheduler blockingIoScheduler;
+    private final long streamTimeoutMillis;
+
+    public UserLogController(
+            UserService userService,
+            UserLogService userLogService,
+            ObjectMapper objectMapper,
+            Scheduler blockingIoScheduler,
+            @Value("${user.log.stream.timeout-millis:600000}") long streamTimeoutMillis
+    ) {
+        this.userService = userService;
+        this.userLogService = userLogService;
+        this.objectMapper = objectMapper;
+        this.blockingIoScheduler = blockingIoScheduler;
+        this.streamTimeoutMillis = streamTimeoutMillis;
+    }
+
+    @GetMapping
+    public ResponseEntity<UserLogPageDto> findUserLogs(
+            RequestClientInfo clientInfo,
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) UserLogMessage message,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int size
+    ) {
+        authorize(clientInfo, userId, message);
+        UserLogPageDto page = Objects.nonNull(userId)
+                ? userLogService.findUserLogsByUserId(userId, cursor, size)
+                : userLogService.findUserLogsByMessage(message, cursor, size);
+        return ResponseEntity.ok(page);
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<ResponseBodyEmitter> streamUserLogs(
+            RequestClientInfo clientInfo,
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) UserLogMessage message
+    ) {
+        authorize(clientInfo, userId, message);
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(streamTimeoutMillis);
+        blockingIoScheduler.schedule(() -> {
+            try {
+                if (Objects.nonNull(userId)) {
+                    userLogService.streamUserLogsByUserId(userId, userLog -> writeLine(emitter, userLog));
+                } else {
+                    userLogService.streamUserLogsByMessage(message, userLog -> writeLine(emitter, userLog));
+                }
+                emitter.complete();
+            } catch (UncheckedIOException e) {
+                // 클라이언트 연결 종료 또는 timeout
+                log.debug("user log stream aborted, message={}", e.getMessage());
+                emitter.completeWithError(e.getCause());
+            } catch (Exception e) {
+                log.error("failed to stream user logs, message={}", e.getMessage());
+                emitter.completeWithError(e);
+            }
+        });
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(emitter);
+    }
+
+    private void writeLine(ResponseBodyEmitter emitter, Object value) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(value);
+            byte[] line = new byte[json.length + 1];
+            System.arraycopy(json, 0, line, 0, json.length);
+            line[json.length] = '\n';
+            emitter.send(line, MediaType.APPLICATION_NDJSON);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (IllegalStateException e) {
+            // timeout 등으로 이미 완료된 emitter
+            throw new UncheckedIOException(new IOException(e.getMessage(), e));
+        }
+    }
+
+    private void authorize(RequestClientInfo clientInfo, Long userId, UserLogMessage message) {
+        if (Objects.isNull(userId) == Objects.isNull(message)) {
+            throw new BadRequestException("EITHER USER ID OR MESSAGE IS REQUIRED");
+        }
+        long requesterId = userService.parseUserIdFromToken(clientInfo.authToken());
+        if (Objects.nonNull(userId) && userId == requesterId) {
+            return;
+        }
+        UserResponseDto requester = userService.findById(requesterId);
+        if (requester.role() != UserRole.ADMIN) {
+            throw new ForbiddenException("NOT ALLOWED TO READ USER LOGS");
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package io.andy.shorten_url.user_log.dto;
+
+import io.andy.shorten_url.exception.client.BadRequestException;
+import io.andy.shorten_url.user_log.entity.UserLog;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * keyset cursor, 마지막으로 읽은 로그의 (createdAt, id)
+ * 클라이언트에는 "createdAt,id" 를 base64url 로 인코딩한 문자열로 전달
+ */
+public record UserLogCursor(LocalDateTime createdAt, Long id) {
+    public static UserLogCursor of(UserLog userLog) {
+        return new UserLogCursor(userLog.getCreatedAt(), userLog.getId());
+    }
+
+    public String encode() {
+        String raw = createdAt + "," + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static UserLogCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(',');
+            if (separator < 0) {
+                throw new BadRequestException("INVALID CURSOR");
+            }
+            return new UserLogCursor(
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.valueOf(raw.substring(separator + 1))
+            );
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BadRequestException("INVALID CURSOR");
+        }
+    }
+}
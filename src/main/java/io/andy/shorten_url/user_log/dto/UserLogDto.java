@@ -0,0 +1,36 @@
+package io.andy.shorten_url.user_log.dto;
+
+import io.andy.shorten_url.user.constant.UserRole;
+import io.andy.shorten_url.user.constant.UserState;
+import io.andy.shorten_url.user_log.constant.UserLogMessage;
+import io.andy.shorten_url.user_log.entity.UserLog;
+
+import java.time.LocalDateTime;
+
+public record UserLogDto(
+        Long id,
+        Long userId,
+        LocalDateTime createdAt,
+        UserState state,
+        UserRole role,
+        UserLogMessage message,
+        String preValue,
+        String postValue,
+        String ipAddress,
+        String userAgent
+) {
+    public static UserLogDto from(UserLog userLog) {
+        return new UserLogDto(
+                userLog.getId(),
+                userLog.getUserId(),
+                userLog.getCreatedAt(),
+                userLog.getState(),
+                userLog.getRole(),
+                userLog.getMessage(),
+                userLog.getPreValue(),
+                userLog.getPostValue(),
+                userLog.getIpAddress(),
+                userLog.getUserAgent()
+        );
+    }
+}
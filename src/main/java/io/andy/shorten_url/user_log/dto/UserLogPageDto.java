@@ -0,0 +1,12 @@
+package io.andy.shorten_url.user_log.dto;
+
+import java.util.List;
+
+/**
+ * keyset 페이지, 다음 페이지가 없으면 nextCursor 는 null
+ */
+public record UserLogPageDto(
+        List<UserLogDto> items,
+        String nextCursor
+) {
+}
@@ -13,6 +13,8 @@ import jakarta.persistence.EnumType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
 
 import lombok.Getter;
 import lombok.Setter;
@@ -22,7 +24,12 @@ import java.time.LocalDateTime;
 
 @Entity
 @Getter @Setter @ToString
+@Table(indexes = {
+        @Index(name = "idx_user_log_user_id_created_at", columnList = "user_id, created_at"),
+        @Index(name = "idx_user_log_message_created_at", columnList = "message, created_at")
+})
 public class UserLog {
+    // UserLogWriter 가 JDBC batch 로 직접 insert 하므로 id 는 AUTO_INCREMENT 로 생성 (Hibernate 로 저장하지 않음)
     @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id; // to be update db schema
     private Long userId;
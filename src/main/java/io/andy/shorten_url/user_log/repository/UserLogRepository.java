@@ -5,9 +5,13 @@ import io.andy.shorten_url.user_log.constant.UserLogMessage;
 import io.andy.shorten_url.user_log.entity.UserLog;
 
 import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,4 +20,28 @@ public interface UserLogRepository extends JpaRepository<UserLog, Long>, CommonR
     Optional<List<UserLog>> findByUserId(Long userId);
     Optional<List<UserLog>> findByMessage(UserLogMessage message);
     @Override @Profile("test") void deleteAll();
+
+    // keyset 조회: (created_at, id) 내림차순, 첫 페이지는 cursor 없이 조회
+    List<UserLog> findByUserIdOrderByCreatedAtDescIdDesc(Long userId, Pageable pageable);
+    List<UserLog> findByMessageOrderByCreatedAtDescIdDesc(UserLogMessage message, Pageable pageable);
+
+    @Query("SELECT l FROM UserLog l WHERE l.userId = :userId "
+            + "AND (l.createdAt < :createdAt OR (l.createdAt = :createdAt AND l.id < :id)) "
+            + "ORDER BY l.createdAt DESC, l.id DESC")
+    List<UserLog> findByUserIdBefore(
+            @Param("userId") Long userId,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            Pageable pageable
+    );
+
+    @Query("SELECT l FROM UserLog l WHERE l.message = :message "
+            + "AND (l.createdAt < :createdAt OR (l.createdAt = :createdAt AND l.id < :id)) "
+            + "ORDER BY l.createdAt DESC, l.id DESC")
+    List<UserLog> findByMessageBefore(
+            @Param("message") UserLogMessage message,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            Pageable pageable
+    );
 }
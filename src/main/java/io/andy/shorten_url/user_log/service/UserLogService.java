@@ -4,9 +4,12 @@ import io.andy.shorten_url.user_log.constant.UserLogMessage;
 import io.andy.shorten_url.user_log.dto.AccessUserInfoDto;
 import io.andy.shorten_url.user_log.dto.UpdateUserInfoDto;
 import io.andy.shorten_url.user_log.dto.UpdatePrivacyInfoDto;
+import io.andy.shorten_url.user_log.dto.UserLogDto;
+import io.andy.shorten_url.user_log.dto.UserLogPageDto;
 import io.andy.shorten_url.user_log.entity.UserLog;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface UserLogService {
     void putUserAccessLog(AccessUserInfoDto logDto);
@@ -16,4 +19,8 @@ public interface UserLogService {
     List<UserLog> getUserLogsByMessage(UserLogMessage message);
     List<UserLog> findAllUserLogs();
     List<UserLog> findLatestUserLogs(int limit);
+    UserLogPageDto findUserLogsByUserId(Long userId, String cursor, int size);
+    UserLogPageDto findUserLogsByMessage(UserLogMessage message, String cursor, int size);
+    long streamUserLogsByUserId(Long userId, Consumer<UserLogDto> consumer);
+    long streamUserLogsByMessage(UserLogMessage message, Consumer<UserLogDto> consumer);
 }
@@ -1,42 +1,70 @@
 package io.andy.shorten_url.user_log.service;
 
+import io.andy.shorten_url.exception.client.BadRequestException;
 import io.andy.shorten_url.exception.client.NotFoundException;
 import io.andy.shorten_url.user_log.constant.UserLogMessage;
 import io.andy.shorten_url.user_log.dto.AccessUserInfoDto;
 import io.andy.shorten_url.user_log.dto.UpdateUserInfoDto;
 import io.andy.shorten_url.user_log.dto.UpdatePrivacyInfoDto;
+import io.andy.shorten_url.user_log.dto.UserLogCursor;
+import io.andy.shorten_url.user_log.dto.UserLogDto;
+import io.andy.shorten_url.user_log.dto.UserLogPageDto;
 import io.andy.shorten_url.user_log.entity.UserLog;
 import io.andy.shorten_url.user_log.repository.UserLogRepository;
+import io.andy.shorten_url.user_log.writer.UserLogWriter;
+
+import jakarta.persistence.EntityManager;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
 
 @Slf4j
 @Service
-@Transactional
-@RequiredArgsConstructor
 public class UserLogServiceImpl implements UserLogService {
+    static final int MAX_PAGE_SIZE = 1000;
+    static final int STREAM_CHUNK_SIZE = 500;
+
     private final UserLogRepository userLogRepository;
+    private final UserLogWriter userLogWriter;
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public UserLogServiceImpl(
+            UserLogRepository userLogRepository,
+            UserLogWriter userLogWriter,
+            EntityManager entityManager,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.userLogRepository = userLogRepository;
+        this.userLogWriter = userLogWriter;
+        this.entityManager = entityManager;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
 
+    // 로그 저장은 writer 가 batch 로 수행하므로 요청 경로에서 트랜잭션/커넥션을 잡지 않음
     @Override
     public void putUserAccessLog(AccessUserInfoDto userAccessDto) {
-        userLogRepository.save(new UserLog(userAccessDto));
+        userLogWriter.write(new UserLog(userAccessDto));
     }
 
     @Override
     public void putUpdateInfoLog(UpdateUserInfoDto updateUserInfoDto) {
-        userLogRepository.save(new UserLog(updateUserInfoDto));
+        userLogWriter.write(new UserLog(updateUserInfoDto));
     }
 
     @Override
     public void putUpdateInfoLog(UpdatePrivacyInfoDto logDto) {
-        userLogRepository.save(new UserLog(logDto));
+        userLogWriter.write(new UserLog(logDto));
     }
 
     @Override
@@ -68,4 +96,88 @@ public class UserLogServiceImpl implements UserLogService {
     public List<UserLog> findLatestUserLogs(int limit) {
         return userLogRepository.findAllByOrderByCreatedAtDesc(PageRequest.of(0, limit)).orElseThrow(() -> new NotFoundException("NOT FOUND USER LOGS"));
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public UserLogPageDto findUserLogsByUserId(Long userId, String cursor, int size) {
+        return findPage(cursor, size, byUserId(userId));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public UserLogPageDto findUserLogsByMessage(UserLogMessage message, String cursor, int size) {
+        return findPage(cursor, size, byMessage(message));
+    }
+
+    // 트랜잭션 없이 호출, chunk 마다 짧은 트랜잭션을 사용
+    @Override
+    public long streamUserLogsByUserId(Long userId, Consumer<UserLogDto> consumer) {
+        return stream(byUserId(userId), consumer);
+    }
+
+    @Override
+    public long streamUserLogsByMessage(UserLogMessage message, Consumer<UserLogDto> consumer) {
+        return stream(byMessage(message), consumer);
+    }
+
+    private PageQuery byUserId(Long userId) {
+        return (pageable, after) -> Objects.isNull(after)
+                ? userLogRepository.findByUserIdOrderByCreatedAtDescIdDesc(userId, pageable)
+                : userLogRepository.findByUserIdBefore(userId, after.createdAt(), after.id(), pageable);
+    }
+
+    private PageQuery byMessage(UserLogMessage message) {
+        return (pageable, after) -> Objects.isNull(after)
+                ? userLogRepository.findByMessageOrderByCreatedAtDescIdDesc(message, pageable)
+                : userLogRepository.findByMessageBefore(message, after.createdAt(), after.id(), pageable);
+    }
+
+    // size + 1 건을 읽어 다음 페이지 존재 여부를 판단 (count 쿼리 없음)
+    private UserLogPageDto findPage(String cursor, int size, PageQuery query) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new BadRequestException("INVALID PAGE SIZE");
+        }
+        UserLogCursor after = Objects.isNull(cursor) || cursor.isBlank() ? null : UserLogCursor.decode(cursor);
+        List<UserLog> userLogs = query.find(PageRequest.of(0, size + 1), after);
+
+        boolean hasNext = userLogs.size() > size;
+        List<UserLog> page = hasNext ? userLogs.subList(0, size) : userLogs;
+        String nextCursor = hasNext ? UserLogCursor.of(page.get(page.size() - 1)).encode() : null;
+        return new UserLogPageDto(page.stream().map(UserLogDto::from).toList(), nextCursor);
+    }
+
+    /**
+     * keyset chunk 단위로 전체 로그를 consumer 에 전달
+     * - chunk 조회마다 짧은 read-only 트랜잭션을 사용하고, consumer 호출(응답 쓰기)은 트랜잭션 밖에서 수행
+     * - 느린 클라이언트가 커넥션과 트랜잭션을 오래 잡지 않음
+     */
+    private long stream(PageQuery query, Consumer<UserLogDto> consumer) {
+        PageRequest pageable = PageRequest.of(0, STREAM_CHUNK_SIZE);
+        long count = 0;
+        UserLogCursor after = null;
+        List<UserLog> chunk;
+        do {
+            UserLogCursor cursor = after;
+            chunk = readOnlyTransaction.execute(status -> {
+                List<UserLog> userLogs = query.find(pageable, cursor);
+                // 읽은 엔티티는 바로 detach 하여 persistence context 에 쌓이지 않도록 함
+                userLogs.forEach(entityManager::detach);
+                return userLogs;
+            });
+            if (Objects.isNull(chunk) || chunk.isEmpty()) {
+                break;
+            }
+            for (UserLog userLog : chunk) {
+                consumer.accept(UserLogDto.from(userLog));
+                count++;
+            }
+            after = UserLogCursor.of(chunk.get(chunk.size() - 1));
+        } while (chunk.size() == STREAM_CHUNK_SIZE);
+        return count;
+    }
+
+    @FunctionalInterface
+    private interface PageQuery {
+        List<UserLog> find(PageRequest pageable, UserLogCursor after);
+    }
 }
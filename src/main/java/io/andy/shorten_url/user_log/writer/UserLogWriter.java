@@ -0,0 +1,220 @@
+package io.andy.shorten_url.user_log.writer;
+
+import io.andy.shorten_url.user_log.constant.UserLogWriteMode;
+import io.andy.shorten_url.user_log.entity.UserLog;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.annotation.PreDestroy;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * user_log 비동기 batch writer
+ * - 요청 스레드는 bounded queue 에 넣기만 하고, writer 스레드가 모아서 JDBC batch insert
+ * - ASYNC: 바로 반환, FLUSH: 해당 로그가 포함된 batch 가 commit 될 때까지 대기
+ * - queue 가 가득 차면 offer-timeout 만큼 기다린 뒤 호출 스레드에서 직접 저장 (감사 로그는 버리지 않음)
+ * - 종료 시 queue 에 남은 로그를 모두 저장한 뒤 writer 스레드를 멈춤
+ */
+@Slf4j
+@Component
+public class UserLogWriter {
+    static final String INSERT_SQL = "INSERT INTO user_log "
+            + "(user_id, created_at, state, role, message, pre_value, post_value, ip_address, user_agent) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final UserLogWriteMode mode;
+    private final int batchSize;
+    private final long flushMillis;
+    private final long offerTimeoutMillis;
+    private final long flushTimeoutMillis;
+
+    private final BlockingQueue<Pending> queue;
+    private volatile boolean running = true;
+    private final Thread writer;
+
+    @Autowired
+    public UserLogWriter(
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${user.log.writer.mode:ASYNC}") UserLogWriteMode mode,
+            @Value("${user.log.writer.queue-size:10000}") int queueSize,
+            @Value("${user.log.writer.batch-size:200}") int batchSize,
+            @Value("${user.log.writer.flush-millis:50}") long flushMillis,
+            @Value("${user.log.writer.offer-timeout-millis:10}") long offerTimeoutMillis,
+            @Value("${user.log.writer.flush-timeout-millis:3000}") long flushTimeoutMillis
+    ) {
+        this(jdbcTemplate, transactionTemplate, mode, queueSize, batchSize, flushMillis, offerTimeoutMillis, flushTimeoutMillis);
+        Gauge.builder("user.log.writer.queue", queue, BlockingQueue::size)
+                .description("user log entries waiting to be written")
+                .register(meterRegistry);
+    }
+
+    public UserLogWriter(
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            UserLogWriteMode mode,
+            int queueSize,
+            int batchSize,
+            long flushMillis,
+            long offerTimeoutMillis,
+            long flushTimeoutMillis
+    ) {
+        if (queueSize <= 0 || batchSize <= 0) {
+            throw new IllegalArgumentException("queueSize and batchSize must be greater than 0");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.mode = mode;
+        this.batchSize = batchSize;
+        this.flushMillis = flushMillis;
+        this.offerTimeoutMillis = offerTimeoutMillis;
+        this.flushTimeoutMillis = flushTimeoutMillis;
+        this.queue = new ArrayBlockingQueue<>(queueSize);
+
+        this.writer = new Thread(this::writeLoop, "user-log-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    public void write(UserLog userLog) {
+        Objects.requireNonNull(userLog, "userLog must not be null");
+        if (userLog.getCreatedAt() == null) {
+            userLog.setCreatedAt(LocalDateTime.now());
+        }
+        Pending pending = new Pending(userLog, new CompletableFuture<>());
+        // 종료 중에 들어온 로그는 writer 가 처리하지 못할 수 있으므로 직접 저장
+        if (!enqueue(pending) || (!running && queue.remove(pending))) {
+            log.warn("user log queue is full or closed, write directly, userId={}, message={}", userLog.getUserId(), userLog.getMessage());
+            insert(List.of(pending));
+        }
+        if (mode == UserLogWriteMode.FLUSH) {
+            await(pending);
+        }
+    }
+
+    public int pendingSize() {
+        return queue.size();
+    }
+
+    private boolean enqueue(Pending pending) {
+        if (!running) {
+            return false;
+        }
+        try {
+            return queue.offer(pending, offerTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void await(Pending pending) {
+        try {
+            pending.written().get(flushTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            log.error("failed to write user log, userId={}, message={}", pending.userLog().getUserId(), e.getCause().getMessage());
+        } catch (TimeoutException e) {
+            log.warn("timed out waiting for user log flush, userId={}", pending.userLog().getUserId());
+        }
+    }
+
+    private void writeLoop() {
+        List<Pending> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Pending first = queue.poll(flushMillis, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                insert(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("failed to write user logs, size={}, message={}", batch.size(), e.getMessage());
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * 한 트랜잭션에서 batch insert, 실패하면 건별로 재시도하여 문제 있는 로그만 실패 처리
+     */
+    void insert(List<Pending> batch) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(
+                    INSERT_SQL, batch, batch.size(), (ps, pending) -> bind(ps, pending.userLog())));
+            batch.forEach(pending -> pending.written().complete(null));
+        } catch (RuntimeException e) {
+            log.warn("failed to write user logs in batch, retry one by one, size={}, message={}", batch.size(), e.getMessage());
+            for (Pending pending : batch) {
+                try {
+                    jdbcTemplate.update(INSERT_SQL, ps -> bind(ps, pending.userLog()));
+                    pending.written().complete(null);
+                } catch (RuntimeException skipped) {
+                    log.error("skipped user log, userId={}, message={}", pending.userLog().getUserId(), skipped.getMessage());
+                    pending.written().completeExceptionally(skipped);
+                }
+            }
+        }
+    }
+
+    private static void bind(PreparedStatement ps, UserLog userLog) throws SQLException {
+        ps.setObject(1, userLog.getUserId(), Types.BIGINT);
+        ps.setTimestamp(2, Timestamp.valueOf(userLog.getCreatedAt()));
+        ps.setString(3, userLog.getState() == null ? null : userLog.getState().name());
+        ps.setString(4, userLog.getRole() == null ? null : userLog.getRole().name());
+        ps.setString(5, userLog.getMessage() == null ? null : userLog.getMessage().name());
+        ps.setString(6, userLog.getPreValue());
+        ps.setString(7, userLog.getPostValue());
+        ps.setString(8, userLog.getIpAddress());
+        ps.setString(9, userLog.getUserAgent());
+    }
+
+    @PreDestroy
+    public void close() throws InterruptedException {
+        // JDBC 호출 중 interrupt 되지 않도록 flag 만 내리고, writer 는 queue 를 비운 뒤 스스로 종료
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+        // writer 가 제한 시간 안에 끝나지 않았으면 남은 로그를 직접 저장
+        List<Pending> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            log.warn("writer did not drain user logs in time, write remaining, size={}", remaining.size());
+            insert(remaining);
+        }
+    }
+
+    record Pending(UserLog userLog, CompletableFuture<Void> written) { }
+}
@@ -0,0 +1,56 @@
+package io.andy.shorten_url.util.datasource;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * replica 복제 지연을 주기적으로 확인하여 routing 대상에서 넣고 뺌
+ * MySQL 8.0.22 이상은 SHOW REPLICA STATUS, 이전 버전은 SHOW SLAVE STATUS 사용
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "datasource.routing.enabled", havingValue = "true")
+public class ReplicaLagMonitor {
+    private final ReplicaRoutingDataSource routingDataSource;
+
+    @Scheduled(fixedDelayString = "${datasource.routing.health-check-millis:5000}")
+    public void check() {
+        for (String name : routingDataSource.replicaNames()) {
+            Long lagSeconds;
+            try {
+                lagSeconds = queryLag(new JdbcTemplate(routingDataSource.replica(name)));
+            } catch (Exception e) {
+                log.error("failed to check replica lag, replica={}, message={}", name, e.getMessage());
+                lagSeconds = null;
+            }
+            routingDataSource.updateLag(name, lagSeconds);
+        }
+    }
+
+    static Long queryLag(JdbcTemplate jdbcTemplate) {
+        List<Map<String, Object>> status;
+        try {
+            status = jdbcTemplate.queryForList("SHOW REPLICA STATUS");
+        } catch (Exception e) {
+            status = jdbcTemplate.queryForList("SHOW SLAVE STATUS");
+        }
+        if (status.isEmpty()) {
+            // 복제 설정이 없는 서버 (지연 없음으로 간주)
+            return 0L;
+        }
+        Object lag = status.get(0).containsKey("Seconds_Behind_Source")
+                ? status.get(0).get("Seconds_Behind_Source")
+                : status.get(0).get("Seconds_Behind_Master");
+        // 복제 스레드가 멈추면 NULL
+        return lag instanceof Number number ? number.longValue() : null;
+    }
+}
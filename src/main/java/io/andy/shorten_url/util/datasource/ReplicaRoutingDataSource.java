@@ -0,0 +1,134 @@
+package io.andy.shorten_url.util.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * readOnly 트랜잭션은 replica, 그 외는 primary 로 보내는 DataSource
+ * - 정상 replica 사이에서 round-robin
+ * - replica 지연이 max-lag 를 넘거나 상태 확인에 실패하면 제외하고, 정상 replica 가 없으면 primary 사용
+ * - 트랜잭션 시작 시점에 readOnly 여부가 정해지도록 LazyConnectionDataSourceProxy 로 감싸서 사용
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+    public static final String PRIMARY = "primary";
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final long maxLagSeconds;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas, long maxLagSeconds) {
+        this.primary = primary;
+        this.maxLagSeconds = maxLagSeconds;
+        this.replicas = new ArrayList<>(replicas.size());
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        replicas.forEach((name, dataSource) -> {
+            this.replicas.add(new Replica(name, dataSource));
+            targets.put(name, dataSource);
+        });
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return PRIMARY;
+        }
+        return selectReplica();
+    }
+
+    String selectReplica() {
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.healthy) {
+                return replica.name;
+            }
+        }
+        return PRIMARY;
+    }
+
+    /**
+     * @param lagSeconds 복제 지연(초), 복제가 멈췄거나 확인할 수 없으면 null
+     */
+    public void updateLag(String name, Long lagSeconds) {
+        Replica replica = find(name);
+        boolean healthy = Objects.nonNull(lagSeconds) && lagSeconds <= maxLagSeconds;
+        if (replica.healthy != healthy) {
+            log.warn("replica {} is {}, lag={}s", name, healthy ? "back in rotation" : "out of rotation", lagSeconds);
+        }
+        replica.lagSeconds = Objects.isNull(lagSeconds) ? -1 : lagSeconds;
+        replica.healthy = healthy;
+    }
+
+    public List<String> replicaNames() {
+        return replicas.stream().map(replica -> replica.name).toList();
+    }
+
+    public DataSource replica(String name) {
+        return find(name).dataSource;
+    }
+
+    public boolean isHealthy(String name) {
+        return find(name).healthy;
+    }
+
+    // 확인 전이거나 확인 실패 시 -1
+    public long lagSeconds(String name) {
+        return find(name).lagSeconds;
+    }
+
+    private Replica find(String name) {
+        return replicas.stream()
+                .filter(replica -> replica.name.equals(name))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("unknown replica: " + name));
+    }
+
+    @Override
+    public void close() throws IOException {
+        close(primary);
+        for (Replica replica : replicas) {
+            close(replica.dataSource);
+        }
+    }
+
+    private static void close(DataSource dataSource) {
+        if (dataSource instanceof HikariDataSource hikari) {
+            hikari.close();
+        }
+    }
+
+    private static class Replica {
+        private final String name;
+        private final DataSource dataSource;
+        // 첫 상태 확인 전에는 사용 가능으로 간주
+        private volatile boolean healthy = true;
+        private volatile long lagSeconds = -1;
+
+        private Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+}
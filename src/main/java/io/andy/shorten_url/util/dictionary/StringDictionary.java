@@ -0,0 +1,55 @@
+package io.andy.shorten_url.util.dictionary;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntFunction;
+import java.util.function.ToIntFunction;
+
+/**
+ * 문자열 <-> 정수 id 양방향 사전
+ * 사전에 없는 값은 loader 로 id 를 얻어 캐싱, maxSize 이상은 캐싱하지 않고 loader 결과만 반환
+ */
+public class StringDictionary {
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private final Map<Integer, String> values = new ConcurrentHashMap<>();
+    private final int maxSize;
+
+    public StringDictionary(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public int encode(String value, ToIntFunction<String> loader) {
+        Integer id = ids.get(value);
+        if (Objects.nonNull(id)) {
+            return id;
+        }
+        int loaded = loader.applyAsInt(value);
+        put(loaded, value);
+        return loaded;
+    }
+
+    public String decode(int id, IntFunction<String> loader) {
+        String value = values.get(id);
+        if (Objects.nonNull(value)) {
+            return value;
+        }
+        String loaded = loader.apply(id);
+        if (Objects.nonNull(loaded)) {
+            put(id, loaded);
+        }
+        return loaded;
+    }
+
+    public void put(int id, String value) {
+        if (ids.size() >= maxSize) {
+            return;
+        }
+        ids.put(value, id);
+        values.put(id, value);
+    }
+
+    public int size() {
+        return ids.size();
+    }
+}
@@ -3,4 +3,5 @@ package io.andy.shorten_url.util.ip;
 public final class ExternalApiHostUrl {
     private ExternalApiHostUrl() {}
     public final static String IP_API = "http://ip-api.com/json";
+    public final static String IP_API_BATCH = "http://ip-api.com/batch";
 }
@@ -0,0 +1,178 @@
+package io.andy.shorten_url.util.ip;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * IP 문자열 <-> VARBINARY(16) 변환 (IPv4 4 byte, IPv6 16 byte)
+ * InetAddress.getByName 을 거치지 않고 IP literal 만 직접 파싱하여 DNS 조회가 일어나지 않도록 함
+ */
+@Slf4j
+public class IpAddressCodec {
+    private static final int IPV4_LENGTH = 4;
+    private static final int IPV6_LENGTH = 16;
+    private static final int IPV6_GROUPS = 8;
+
+    private IpAddressCodec() {}
+
+    public static byte[] encode(String ip) {
+        if (Objects.isNull(ip) || ip.isBlank()) {
+            return null;
+        }
+        String literal = ip.trim();
+        byte[] address = literal.contains(":") ? parseIpv6(literal) : parseIpv4(literal);
+        if (Objects.isNull(address)) {
+            log.debug("failed to encode ip address, ip={}", ip);
+        }
+        return address;
+    }
+
+    public static String decode(byte[] address) {
+        if (Objects.isNull(address)) {
+            return null;
+        }
+        try {
+            // byte 배열로 생성하므로 DNS 조회 없음
+            return InetAddress.getByAddress(address).getHostAddress();
+        } catch (UnknownHostException e) {
+            log.debug("failed to decode ip address, length={}", address.length);
+            return null;
+        }
+    }
+
+    private static byte[] parseIpv4(String ip) {
+        String[] octets = ip.split("\\.", -1);
+        if (octets.length != IPV4_LENGTH) {
+            return null;
+        }
+        byte[] address = new byte[IPV4_LENGTH];
+        for (int i = 0; i < IPV4_LENGTH; i++) {
+            String octet = octets[i];
+            if (octet.isEmpty() || octet.length() > 3 || !octet.chars().allMatch(c -> c >= '0' && c <= '9')) {
+                return null;
+            }
+            int value = Integer.parseInt(octet);
+            if (value > 255) {
+                return null;
+            }
+            address[i] = (byte) value;
+        }
+        return address;
+    }
+
+    // RFC 4291 표기: '::' 축약, 마지막 32 bit 의 IPv4 표기, [ ] 와 zone id(%eth0) 허용 (zone id 는 저장하지 않음)
+    private static byte[] parseIpv6(String ip) {
+        String literal = ip;
+        if (literal.startsWith("[") && literal.endsWith("]")) {
+            literal = literal.substring(1, literal.length() - 1);
+        }
+        int zone = literal.indexOf('%');
+        if (zone >= 0) {
+            if (zone == literal.length() - 1) {
+                return null;
+            }
+            literal = literal.substring(0, zone);
+        }
+
+        int compressed = literal.indexOf("::");
+        if (compressed >= 0 && literal.indexOf("::", compressed + 1) >= 0) {
+            return null;
+        }
+        int[] head;
+        int[] tail;
+        if (compressed >= 0) {
+            head = parseGroups(literal.substring(0, compressed), false);
+            tail = parseGroups(literal.substring(compressed + 2), true);
+        } else {
+            head = parseGroups(literal, true);
+            tail = new int[0];
+        }
+        if (Objects.isNull(head) || Objects.isNull(tail)) {
+            return null;
+        }
+        int groups = head.length + tail.length;
+        if (compressed >= 0 ? groups > IPV6_GROUPS - 1 : groups != IPV6_GROUPS) {
+            return null;
+        }
+
+        int[] expanded = new int[IPV6_GROUPS];
+        System.arraycopy(head, 0, expanded, 0, head.length);
+        System.arraycopy(tail, 0, expanded, IPV6_GROUPS - tail.length, tail.length);
+        byte[] address = new byte[IPV6_LENGTH];
+        for (int i = 0; i < IPV6_GROUPS; i++) {
+            address[i * 2] = (byte) (expanded[i] >>> 8);
+            address[i * 2 + 1] = (byte) expanded[i];
+        }
+        // IPv4-mapped(::ffff:a.b.c.d) 는 같은 client 가 같은 값으로 저장되도록 IPv4 로 변환
+        if (isIpv4Mapped(address)) {
+            return Arrays.copyOfRange(address, IPV6_LENGTH - IPV4_LENGTH, IPV6_LENGTH);
+        }
+        return address;
+    }
+
+    // ':' 로 구분된 16 bit group 목록, allowIpv4 이면 마지막 group 에 IPv4 표기(2 group) 허용
+    private static int[] parseGroups(String part, boolean allowIpv4) {
+        if (part.isEmpty()) {
+            return new int[0];
+        }
+        String[] tokens = part.split(":", -1);
+        String last = tokens[tokens.length - 1];
+        boolean ipv4Suffix = last.contains(".");
+        if (ipv4Suffix && !allowIpv4) {
+            return null;
+        }
+        int[] groups = new int[tokens.length + (ipv4Suffix ? 1 : 0)];
+        int hexTokens = ipv4Suffix ? tokens.length - 1 : tokens.length;
+        for (int i = 0; i < hexTokens; i++) {
+            String token = tokens[i];
+            if (token.isEmpty() || token.length() > 4) {
+                return null;
+            }
+            int value = 0;
+            for (int j = 0; j < token.length(); j++) {
+                int digit = hexDigit(token.charAt(j));
+                if (digit < 0) {
+                    return null;
+                }
+                value = (value << 4) | digit;
+            }
+            groups[i] = value;
+        }
+        if (ipv4Suffix) {
+            byte[] ipv4 = parseIpv4(last);
+            if (Objects.isNull(ipv4)) {
+                return null;
+            }
+            groups[hexTokens] = ((ipv4[0] & 0xff) << 8) | (ipv4[1] & 0xff);
+            groups[hexTokens + 1] = ((ipv4[2] & 0xff) << 8) | (ipv4[3] & 0xff);
+        }
+        return groups;
+    }
+
+    // Character.digit 은 전각 숫자 등도 허용하므로 ASCII 만 허용
+    private static int hexDigit(char c) {
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        }
+        if (c >= 'a' && c <= 'f') {
+            return c - 'a' + 10;
+        }
+        if (c >= 'A' && c <= 'F') {
+            return c - 'A' + 10;
+        }
+        return -1;
+    }
+
+    private static boolean isIpv4Mapped(byte[] address) {
+        for (int i = 0; i < 10; i++) {
+            if (address[i] != 0) {
+                return false;
+            }
+        }
+        return (address[10] & 0xff) == 0xff && (address[11] & 0xff) == 0xff;
+    }
+}
@@ -19,4 +19,14 @@ public record IpApiResponse(
         String isp,
         String org,
         String as
-) { }
+) {
+    public static final String UNKNOWN = "unknown";
+
+    // 조회하지 못한 경우 (provider 장애, timeout, 사설 IP 등)
+    public static IpApiResponse unknown(String ip) {
+        return IpApiResponse.builder()
+                .query(ip)
+                .status(UNKNOWN)
+                .build();
+    }
+}
@@ -0,0 +1,257 @@
+package io.andy.shorten_url.util.ip;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.andy.shorten_url.exception.server.LocationUtilException;
+import io.andy.shorten_url.util.ratelimit.TokenBucket;
+import io.andy.shorten_url.util.resilience.CircuitBreaker;
+
+import jakarta.annotation.PreDestroy;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ip-api batch endpoint 로 위치 조회를 모아서 처리
+ * - 조회 요청을 linger 시간 동안 모아 최대 100개씩 한 번의 POST 로 조회
+ *   (rate limit token 과 bulkhead 를 먼저 기다린 뒤 그동안 쌓인 요청까지 모아 batch 구성)
+ * - 같은 IP 의 동시 요청은 하나의 future 를 공유
+ * - batch 요청은 token bucket 으로 provider rate limit 이하로 제한
+ * - bulkhead, circuit breaker 는 IP 별 조회가 아니라 batch POST 단위로 적용
+ *   (같은 IP 를 기다리는 호출자 수나 queue 대기 시간이 실패 횟수에 섞이지 않도록 함)
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "ip.location.batch.enabled", havingValue = "true", matchIfMissing = true)
+public class IpLocationBatcher {
+    static final int MAX_BATCH_SIZE = 100; // ip-api batch 최대 개수
+
+    private final WebClient webClient;
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    private final TokenBucket rateLimiter;
+    private final Semaphore bulkhead;
+    private final CircuitBreaker circuitBreaker;
+    private final long lingerNanos;
+    private final Duration timeout;
+    private final BlockingQueue<String> queue;
+    private final Map<String, CompletableFuture<IpApiResponse>> waiters = new ConcurrentHashMap<>();
+    private final Thread dispatcher;
+    private volatile boolean running = true;
+
+    @Autowired
+    public IpLocationBatcher(
+            @Value("${ip.location.batch.linger-millis:5}") long lingerMillis,
+            @Value("${ip.location.batch.timeout-millis:3000}") long timeoutMillis,
+            @Value("${ip.location.batch.queue-size:10000}") int queueSize,
+            @Value("${ip.location.batch.requests-per-minute:15}") int requestsPerMinute,
+            @Value("${ip.location.batch.max-concurrent-calls:4}") int maxConcurrentCalls,
+            @Value("${ip.location.circuit.failure-threshold:5}") int failureThreshold,
+            @Value("${ip.location.circuit.open-millis:30000}") long openMillis
+    ) {
+        this(ExternalApiHostUrl.IP_API_BATCH, lingerMillis, timeoutMillis, queueSize,
+                new TokenBucket(requestsPerMinute, requestsPerMinute / 60.0), maxConcurrentCalls,
+                new CircuitBreaker(failureThreshold, openMillis));
+    }
+
+    public IpLocationBatcher(String batchUrl, long lingerMillis, long timeoutMillis, int queueSize, TokenBucket rateLimiter) {
+        this(batchUrl, lingerMillis, timeoutMillis, queueSize, rateLimiter, 4, new CircuitBreaker(5, 30000));
+    }
+
+    public IpLocationBatcher(
+            String batchUrl,
+            long lingerMillis,
+            long timeoutMillis,
+            int queueSize,
+            TokenBucket rateLimiter,
+            int maxConcurrentCalls,
+            CircuitBreaker circuitBreaker
+    ) {
+        this.webClient = WebClient.create(batchUrl);
+        this.lingerNanos = TimeUnit.MILLISECONDS.toNanos(lingerMillis);
+        this.timeout = Duration.ofMillis(timeoutMillis);
+        this.queue = new LinkedBlockingQueue<>(queueSize);
+        this.rateLimiter = rateLimiter;
+        this.bulkhead = new Semaphore(maxConcurrentCalls);
+        this.circuitBreaker = circuitBreaker;
+        this.dispatcher = new Thread(this::dispatchLoop, "ip-location-batcher");
+        this.dispatcher.setDaemon(true);
+        this.dispatcher.start();
+    }
+
+    public CompletableFuture<IpApiResponse> resolve(String ip) {
+        CompletableFuture<IpApiResponse> created = new CompletableFuture<>();
+        CompletableFuture<IpApiResponse> existing = waiters.putIfAbsent(ip, created);
+        if (Objects.nonNull(existing)) {
+            return existing;
+        }
+        if (!running || !queue.offer(ip)) {
+            waiters.remove(ip, created);
+            created.completeExceptionally(new LocationUtilException("IP LOCATION QUEUE IS FULL"));
+        }
+        return created;
+    }
+
+    CircuitBreaker.State circuitState() {
+        return circuitBreaker.getState();
+    }
+
+    int availableCalls() {
+        return bulkhead.availablePermits();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        dispatcher.interrupt();
+        LocationUtilException closed = new LocationUtilException("IP LOCATION BATCHER IS CLOSED");
+        waiters.values().forEach(future -> future.completeExceptionally(closed));
+        waiters.clear();
+    }
+
+    private void dispatchLoop() {
+        while (running) {
+            try {
+                String first = queue.poll(1, TimeUnit.SECONDS);
+                if (Objects.isNull(first)) {
+                    continue;
+                }
+                // 기다리는 동안 쌓인 요청이 같은 batch 에 들어가도록 token 과 bulkhead 를 먼저 획득
+                rateLimiter.acquire();
+                bulkhead.acquire();
+                List<String> batch;
+                try {
+                    batch = collect(first);
+                } catch (InterruptedException e) {
+                    bulkhead.release();
+                    throw e;
+                }
+                dispatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("failed to dispatch ip location batch, message={}", e.getMessage());
+            }
+        }
+    }
+
+    // 첫 요청 이후 linger 시간 동안 최대 batch 크기까지 모음
+    private List<String> collect(String first) throws InterruptedException {
+        List<String> batch = new ArrayList<>(MAX_BATCH_SIZE);
+        batch.add(first);
+        long deadline = System.nanoTime() + lingerNanos;
+        while (batch.size() < MAX_BATCH_SIZE) {
+            long remaining = deadline - System.nanoTime();
+            String ip = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+            if (Objects.isNull(ip)) {
+                break;
+            }
+            batch.add(ip);
+        }
+        return batch;
+    }
+
+    /**
+     * bulkhead permit 을 가진 상태에서 batch 하나를 POST 로 조회, 완료 시 permit 반환
+     * - 진행 중인 POST 가 bulkhead 만큼 차 있으면 dispatcher 가 대기하고, 그동안 요청은 queue 에 쌓임 (가득 차면 resolve 에서 거절)
+     * - circuit 이 열려 있으면 POST 없이 batch 전체를 실패 처리
+     */
+    private void dispatch(List<String> batch) {
+        if (!circuitBreaker.tryAcquirePermission()) {
+            bulkhead.release();
+            failAll(batch, new LocationUtilException("IP LOCATION CIRCUIT IS OPEN"));
+            return;
+        }
+        try {
+            webClient.post()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(batch)
+                    .retrieve()
+                    .bodyToMono(String.class)
+                    .timeout(timeout)
+                    .switchIfEmpty(Mono.error(new LocationUtilException("EMPTY IP LOCATION BATCH RESPONSE")))
+                    .doFinally(signal -> bulkhead.release())
+                    .subscribe(response -> onResponse(batch, response), e -> onFailure(batch, e));
+        } catch (RuntimeException e) {
+            bulkhead.release();
+            onFailure(batch, e);
+        }
+    }
+
+    private void onResponse(List<String> batch, String response) {
+        IpApiResponse[] results;
+        try {
+            results = objectMapper.readValue(response, IpApiResponse[].class);
+        } catch (Exception e) {
+            onFailure(batch, e);
+            return;
+        }
+        circuitBreaker.onSuccess();
+        // 응답은 요청 순서를 따르지만, query 로 다시 확인
+        for (int i = 0; i < batch.size(); i++) {
+            String ip = batch.get(i);
+            IpApiResponse result = i < results.length && ip.equals(results[i].query()) ? results[i] : find(results, ip);
+            complete(ip, result);
+        }
+    }
+
+    private void onFailure(List<String> batch, Throwable e) {
+        circuitBreaker.onFailure();
+        log.error("failed to get location by ip batch, size={}, message={}", batch.size(), e.getMessage());
+        failAll(batch, new LocationUtilException());
+    }
+
+    private void failAll(List<String> batch, LocationUtilException failure) {
+        batch.forEach(ip -> {
+            CompletableFuture<IpApiResponse> future = waiters.remove(ip);
+            if (Objects.nonNull(future)) {
+                future.completeExceptionally(failure);
+            }
+        });
+    }
+
+    private void complete(String ip, IpApiResponse result) {
+        CompletableFuture<IpApiResponse> future = waiters.remove(ip);
+        if (Objects.isNull(future)) {
+            return;
+        }
+        if (Objects.isNull(result)) {
+            log.error("failed to get location by ip={}", ip);
+            future.completeExceptionally(new LocationUtilException());
+            return;
+        }
+        // "fail" 응답(사설 IP 등)도 그대로 전달하여 호출자가 판단
+        future.complete(result);
+    }
+
+    private static IpApiResponse find(IpApiResponse[] results, String ip) {
+        for (IpApiResponse result : results) {
+            if (ip.equals(result.query())) {
+                return result;
+            }
+        }
+        return null;
+    }
+}
@@ -1,43 +1,179 @@
 package io.andy.shorten_url.util.ip;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
-
 import io.andy.shorten_url.exception.server.LocationUtilException;
+import io.andy.shorten_url.util.resilience.CircuitBreaker;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import io.netty.channel.ChannelOption;
+
 import lombok.extern.slf4j.Slf4j;
 
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
 
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * ip-api 위치 조회
+ * - connect/response timeout, 동시 호출 수 제한(bulkhead), 연속 실패 시 circuit breaker 로 호출 중단
+ * - batcher 사용 시 circuit breaker 는 batcher 가 batch POST 단위로 적용
+ *   호출자 쪽 bulkhead 는 batch 조회에도 적용하고, batch circuit 이 열려 있으면 기다리지 않고 바로 unknown
+ *   (batch 응답을 기다리며 block 된 redirect 스레드가 쌓이지 않도록 함)
+ * - provider 장애, 지연 시 예외 대신 unknown 응답으로 대체
+ */
 @Slf4j
 @Component
 public class IpLocationUtils {
+    private static final String LOOKUP_METRIC = "ip.location.lookup";
+
     private final WebClient webClient;
+    private final IpLocationBatcher batcher;
+    private final Duration callTimeout;
+    private final Semaphore bulkhead;
+    private final CircuitBreaker circuitBreaker;
+    private final MeterRegistry meterRegistry;
+    private final Counter rejectedCounter;
+    private final Counter shortCircuitedCounter;
 
     public IpLocationUtils() {
-        webClient = WebClient.create(ExternalApiHostUrl.IP_API);
+        this(ExternalApiHostUrl.IP_API, null, new SimpleMeterRegistry(), 1000, 3000, 3000, 32, 5, 30000);
     }
 
+    @Autowired
+    public IpLocationUtils(
+            ObjectProvider<IpLocationBatcher> batcher,
+            MeterRegistry meterRegistry,
+            @Value("${ip.location.connect-timeout-millis:1000}") long connectTimeoutMillis,
+            @Value("${ip.location.response-timeout-millis:2000}") long responseTimeoutMillis,
+            @Value("${ip.location.batch.wait-millis:3000}") long batchWaitMillis,
+            @Value("${ip.location.max-concurrent-calls:32}") int maxConcurrentCalls,
+            @Value("${ip.location.circuit.failure-threshold:5}") int failureThreshold,
+            @Value("${ip.location.circuit.open-millis:30000}") long openMillis
+    ) {
+        this(ExternalApiHostUrl.IP_API, batcher.getIfAvailable(), meterRegistry, connectTimeoutMillis, responseTimeoutMillis,
+                batchWaitMillis, maxConcurrentCalls, failureThreshold, openMillis);
+    }
+
+    public IpLocationUtils(
+            String baseUrl,
+            IpLocationBatcher batcher,
+            MeterRegistry meterRegistry,
+            long connectTimeoutMillis,
+            long responseTimeoutMillis,
+            long batchWaitMillis,
+            int maxConcurrentCalls,
+            int failureThreshold,
+            long openMillis
+    ) {
+        HttpClient httpClient = HttpClient.create()
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeoutMillis)
+                .responseTimeout(Duration.ofMillis(responseTimeoutMillis));
+        this.webClient = WebClient.builder()
+                .baseUrl(baseUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+        this.batcher = batcher;
+        // batch 조회는 linger, rate limit 대기 시간까지 포함
+        this.callTimeout = Duration.ofMillis(Objects.nonNull(batcher) ? batchWaitMillis : connectTimeoutMillis + responseTimeoutMillis);
+        this.bulkhead = new Semaphore(maxConcurrentCalls);
+        this.circuitBreaker = new CircuitBreaker(failureThreshold, openMillis);
+        this.meterRegistry = meterRegistry;
+        this.rejectedCounter = meterRegistry.counter(LOOKUP_METRIC + ".skipped", "reason", "bulkhead_full");
+        this.shortCircuitedCounter = meterRegistry.counter(LOOKUP_METRIC + ".skipped", "reason", "circuit_open");
+        meterRegistry.gauge("ip.location.circuit.state", this, utils -> utils.circuitState().ordinal());
+        meterRegistry.gauge("ip.location.bulkhead.available", this, IpLocationUtils::availableCalls);
+        if (Objects.nonNull(batcher)) {
+            meterRegistry.gauge("ip.location.batch.bulkhead.available", batcher, IpLocationBatcher::availableCalls);
+        }
+    }
+
+    // blocking 호출자용, timeout 이 걸려 있으므로 무한정 기다리지 않음
     public IpApiResponse getLocationByIp(String ip) {
-        try {
-            String response = webClient.get()
-                    .uri("/"+ip)
-                    .retrieve()
-                    .bodyToMono(String.class).block();
-            ObjectMapper objectMapper = new ObjectMapper();
-            IpApiResponse result = objectMapper.readValue(response, IpApiResponse.class);
-            if (result.status().equals("fail")) {
-                log.error("failed to get location by ip={}", ip);
-                throw new IllegalStateException("FAILED TO GET LOCATION BY IP");
+        return findLocationByIp(ip).block();
+    }
+
+    public Mono<IpApiResponse> findLocationByIp(String ip) {
+        return Mono.defer(() -> {
+            if (!bulkhead.tryAcquire()) {
+                rejectedCounter.increment();
+                return Mono.just(IpApiResponse.unknown(ip));
             }
-            return result;
-        } catch (IllegalStateException e) {
-            throw e;
-        } catch (JsonProcessingException e) {
-            throw new LocationUtilException();
-        } catch (Exception e) {
-            log.error("failed to get location by ip, message={}", e.getMessage());
-            throw e;
-        }
+            if (Objects.nonNull(batcher)) {
+                if (batcher.circuitState() == CircuitBreaker.State.OPEN) {
+                    bulkhead.release();
+                    shortCircuitedCounter.increment();
+                    return Mono.just(IpApiResponse.unknown(ip));
+                }
+                // 같은 IP 호출자끼리 future 를 공유하므로, 한 호출자의 취소(timeout 포함)가 future 를 취소하지 않도록 함
+                return lookup(ip, Mono.fromFuture(() -> batcher.resolve(ip), true), null)
+                        .doFinally(signal -> bulkhead.release());
+            }
+            if (!circuitBreaker.tryAcquirePermission()) {
+                bulkhead.release();
+                shortCircuitedCounter.increment();
+                return Mono.just(IpApiResponse.unknown(ip));
+            }
+            Mono<IpApiResponse> call = webClient.get()
+                    .uri("/{ip}", ip)
+                    .retrieve()
+                    .bodyToMono(IpApiResponse.class);
+            return lookup(ip, call, circuitBreaker)
+                    .doOnCancel(circuitBreaker::onFailure)
+                    .doFinally(signal -> bulkhead.release());
+        });
+    }
+
+    CircuitBreaker.State circuitState() {
+        return Objects.nonNull(batcher) ? batcher.circuitState() : circuitBreaker.getState();
+    }
+
+    int availableCalls() {
+        return bulkhead.availablePermits();
+    }
+
+    // breaker 가 null 이면 결과를 circuit breaker 에 반영하지 않음 (batcher 가 반영)
+    private Mono<IpApiResponse> lookup(String ip, Mono<IpApiResponse> call, CircuitBreaker breaker) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            return call.timeout(callTimeout)
+                    .switchIfEmpty(Mono.error(new LocationUtilException()))
+                    .map(response -> {
+                        // 사설 IP 등 provider 의 "fail" 응답은 정상 응답으로 취급
+                        if (Objects.nonNull(breaker)) {
+                            breaker.onSuccess();
+                        }
+                        boolean found = "success".equals(response.status());
+                        sample.stop(timer(found ? "success" : "fail"));
+                        return found ? response : IpApiResponse.unknown(ip);
+                    })
+                    .onErrorResume(e -> {
+                        if (Objects.nonNull(breaker)) {
+                            breaker.onFailure();
+                        }
+                        sample.stop(timer(e instanceof TimeoutException ? "timeout" : "error"));
+                        log.warn("failed to get location by ip={}, message={}", ip, e.getMessage());
+                        return Mono.just(IpApiResponse.unknown(ip));
+                    });
+        });
+    }
+
+    private Timer timer(String result) {
+        return Timer.builder(LOOKUP_METRIC)
+                .tag("result", result)
+                .register(meterRegistry);
     }
 }
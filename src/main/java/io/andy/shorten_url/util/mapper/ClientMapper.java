@@ -1,29 +1,25 @@
 package io.andy.shorten_url.util.mapper;
 
 import io.andy.shorten_url.exception.client.UnauthorizedException;
+import io.andy.shorten_url.util.useragent.UserAgentClassifier;
+import io.andy.shorten_url.util.useragent.UserAgentInfo;
 
 import jakarta.servlet.http.HttpServletRequest;
 
 import lombok.extern.slf4j.Slf4j;
 
-import java.net.MalformedURLException;
-import java.net.URL;
-
-import java.util.HashMap;
+import java.net.URI;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 
 @Slf4j
 public class ClientMapper {
+    private static final UserAgentClassifier USER_AGENT_CLASSIFIER = new UserAgentClassifier(10_000);
+
+    // 같은 요청에서 이미 파싱한 값은 재사용
     public static Map<ClientInfo, String> parseAccessInfo(HttpServletRequest request) {
-        Map<ClientInfo, String> accessInfo = new HashMap<>();
-        accessInfo.put(ClientInfo.IP_ADDRESS, parseClientIp(request));
-        accessInfo.put(ClientInfo.USER_AGENT, parseUserAgent(request));
-        accessInfo.put(ClientInfo.LOCALE, parseLocale(request));
-        accessInfo.put(ClientInfo.REFERER, parseReferer(request));
-        accessInfo.put(ClientInfo.TOKEN, parseAccessToken(request));
-        return accessInfo;
+        return RequestClientInfo.from(request).toMap();
     }
 
     public static String parseServerName(HttpServletRequest request) {
@@ -63,14 +59,11 @@ public class ClientMapper {
     }
 
     public static String parseUserAgent(HttpServletRequest request) {
-        String userAgent = request.getHeader("User-Agent");
-        String os = parseOS(userAgent);
-        String browser = parseBrowser(userAgent);
-        // 조건식에 의해 os, browser가 정상적으로 파싱되지 않은 경우
-        if (os.equals(browser)) {
-            return userAgent;
-        }
-        return String.format("%s %s", os, browser);
+        return parseUserAgentInfo(request).label();
+    }
+
+    public static UserAgentInfo parseUserAgentInfo(HttpServletRequest request) {
+        return USER_AGENT_CLASSIFIER.classify(request.getHeader("User-Agent"));
     }
 
     public static String parseLocale(HttpServletRequest request) {
@@ -81,21 +74,27 @@ public class ClientMapper {
         return locale.getCountry().isEmpty() ? "unknown" : locale.getCountry();
     }
 
+    // 원문 그대로 반환, host 가 필요하면 parseRefererHost 사용 (예외를 던지지 않음)
     public static String parseReferer(HttpServletRequest request) {
         String referer = request.getHeader("Referer");
-        if (referer == null || referer.isEmpty()) {
-            return "";
+        return referer == null ? "" : referer;
+    }
+
+    // referer URL 에서 host 만 추출 (없으면 "(direct)", 형식이 잘못되면 "unknown")
+    public static String parseRefererHost(String referer) {
+        if (referer == null || referer.isBlank()) {
+            return "(direct)";
         }
         try {
-           new URL(referer);
-        } catch (MalformedURLException e) {
-            log.error("Failed to parse referer by malformed, referer = {}, error message = {}", referer, e.getMessage());
+            String host = URI.create(referer.trim()).getHost();
+            return host == null ? "unknown" : host.toLowerCase(Locale.ROOT);
+        } catch (IllegalArgumentException e) {
+            return "unknown";
         }
-        return referer;
     }
 
     public static String parseAuthToken(HttpServletRequest request) {
-        String accessToken = parseAccessToken(request);
+        String accessToken = RequestClientInfo.from(request).token();
         if (accessToken == null || accessToken.isEmpty()) {
             log.warn("access token is null");
             throw new UnauthorizedException();
@@ -103,43 +102,7 @@ public class ClientMapper {
         return accessToken;
     }
 
-    private static String parseBrowser(String userAgent) {
-        if (userAgent.contains("Edg")) {
-            return "Edge";
-        } else if (userAgent.contains("Firefox")) {
-            return  "Firefox";
-        } else if (userAgent.contains("OPR")) {
-            return  "Opera";
-        } else if (userAgent.contains("Chrome") || userAgent.contains("CriOS")) {
-            return "Chrome";
-        } else if (userAgent.contains("Safari")) {
-            return  "Safari";
-        } else if (userAgent.toLowerCase().contains("postman")) {
-            return  "";
-        } else {
-            log.debug("failed to parse browser, userAgent = {}", userAgent);
-            return "undefined";
-        }
-    }
-
-    private static String parseOS(String userAgent) {
-        if (userAgent.contains("Windows")) {
-            return "Windows";
-        } else if (userAgent.contains("Android")) {
-            return  "Android";
-        } else if (userAgent.contains("iPhone") || userAgent.contains("iPad")) {
-            return "ios";
-        } else if (userAgent.contains("Macintosh") || userAgent.contains("Mac OS") || userAgent.contains("OS X")) {
-            return "Mac";
-        } else if (userAgent.contains("Ubuntu") || userAgent.contains("Linux")) {
-            return  "Linux";
-        } else if (userAgent.toLowerCase().contains("postman")) {
-            return  "Postman";
-        }
-        return userAgent;
-    }
-
-    private static String parseAccessToken(HttpServletRequest request) {
+    static String parseAccessToken(HttpServletRequest request) {
         String authHeader = request.getHeader("Authorization");
         if (Objects.isNull(authHeader) || authHeader.isBlank() || !authHeader.startsWith("Bearer")) {
             log.warn("access token is null");
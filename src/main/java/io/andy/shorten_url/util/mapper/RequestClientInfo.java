@@ -0,0 +1,109 @@
+package io.andy.shorten_url.util.mapper;
+
+import io.andy.shorten_url.exception.client.UnauthorizedException;
+import io.andy.shorten_url.util.useragent.UserAgentInfo;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 요청 단위 접속 정보
+ * - 요청 attribute 에 하나만 두고, 각 값은 처음 조회할 때 한 번만 파싱
+ * - ClientInfoFilter 가 요청마다 등록하며, filter 를 거치지 않은 경우 처음 조회 시 등록
+ */
+public class RequestClientInfo {
+    public static final String ATTRIBUTE = RequestClientInfo.class.getName();
+
+    private final HttpServletRequest request;
+    private final Map<ClientInfo, String> values = new EnumMap<>(ClientInfo.class);
+    private UserAgentInfo userAgentInfo;
+    private String refererHost;
+
+    private RequestClientInfo(HttpServletRequest request) {
+        this.request = request;
+    }
+
+    public static RequestClientInfo from(HttpServletRequest request) {
+        if (request.getAttribute(ATTRIBUTE) instanceof RequestClientInfo clientInfo) {
+            return clientInfo;
+        }
+        RequestClientInfo clientInfo = new RequestClientInfo(request);
+        request.setAttribute(ATTRIBUTE, clientInfo);
+        return clientInfo;
+    }
+
+    public String get(ClientInfo key) {
+        // 값이 null 인 경우(토큰 없음 등)도 다시 파싱하지 않도록 containsKey 로 확인
+        if (!values.containsKey(key)) {
+            values.put(key, parse(key));
+        }
+        return values.get(key);
+    }
+
+    public String ipAddress() {
+        return get(ClientInfo.IP_ADDRESS);
+    }
+
+    public String userAgent() {
+        return get(ClientInfo.USER_AGENT);
+    }
+
+    public String locale() {
+        return get(ClientInfo.LOCALE);
+    }
+
+    public String referer() {
+        return get(ClientInfo.REFERER);
+    }
+
+    public String token() {
+        return get(ClientInfo.TOKEN);
+    }
+
+    public String authToken() {
+        String token = token();
+        if (Objects.isNull(token) || token.isEmpty()) {
+            throw new UnauthorizedException();
+        }
+        return token;
+    }
+
+    public String header(String name) {
+        return request.getHeader(name);
+    }
+
+    public UserAgentInfo userAgentInfo() {
+        if (Objects.isNull(userAgentInfo)) {
+            userAgentInfo = ClientMapper.parseUserAgentInfo(request);
+        }
+        return userAgentInfo;
+    }
+
+    public String refererHost() {
+        if (Objects.isNull(refererHost)) {
+            refererHost = ClientMapper.parseRefererHost(referer());
+        }
+        return refererHost;
+    }
+
+    public Map<ClientInfo, String> toMap() {
+        Map<ClientInfo, String> snapshot = new EnumMap<>(ClientInfo.class);
+        for (ClientInfo key : ClientInfo.values()) {
+            snapshot.put(key, get(key));
+        }
+        return snapshot;
+    }
+
+    private String parse(ClientInfo key) {
+        return switch (key) {
+            case IP_ADDRESS -> ClientMapper.parseClientIp(request);
+            case USER_AGENT -> userAgentInfo().label();
+            case LOCALE -> ClientMapper.parseLocale(request);
+            case REFERER -> ClientMapper.parseReferer(request);
+            case TOKEN -> ClientMapper.parseAccessToken(request);
+        };
+    }
+}
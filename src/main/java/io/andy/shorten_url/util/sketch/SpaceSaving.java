@@ -0,0 +1,173 @@
+package io.andy.shorten_url.util.sketch;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Space-Saving heavy hitter 요약 (Metwally et al.)
+ * 최대 capacity 개의 항목만 유지하며, 추정치는 실제값보다 error 이하만큼 크게 나올 수 있다.
+ */
+public class SpaceSaving<T> {
+    private final int capacity;
+    private final Map<T, long[]> counters; // [0]: count, [1]: error
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public SpaceSaving(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be greater than 0");
+        }
+        this.capacity = capacity;
+        this.counters = new HashMap<>(capacity * 2);
+    }
+
+    public void offer(T item) {
+        offer(item, 1L);
+    }
+
+    public void offer(T item, long increment) {
+        Objects.requireNonNull(item, "item must not be null");
+        lock.lock();
+        try {
+            add(item, increment, 0L);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 다른 요약을 합침 (mergeable summaries, Agarwal et al.)
+     * 한쪽에만 있는 항목은 다른 쪽 요약의 최소 count 만큼 실제값이 더 있었을 수 있으므로 count, error 에 더한 뒤 상위 capacity 개만 유지
+     * 요약이 가득 차지 않았다면 빠진 항목은 실제로 0 이므로 최소 count 는 0 으로 본다.
+     */
+    public void merge(SpaceSaving<T> other) {
+        List<Counter<T>> theirs = other.top(Integer.MAX_VALUE);
+        long theirMin = theirs.size() < other.capacity || theirs.isEmpty() ? 0L : theirs.get(theirs.size() - 1).count();
+        lock.lock();
+        try {
+            long ourMin = minCount();
+            Map<T, long[]> combined = new HashMap<>(counters.size() + theirs.size());
+            for (Map.Entry<T, long[]> entry : counters.entrySet()) {
+                combined.put(entry.getKey(), new long[]{entry.getValue()[0] + theirMin, entry.getValue()[1] + theirMin});
+            }
+            for (Counter<T> counter : theirs) {
+                long[] ours = combined.get(counter.item());
+                if (ours == null) {
+                    combined.put(counter.item(), new long[]{counter.count() + ourMin, counter.error() + ourMin});
+                } else {
+                    // 양쪽에 있는 항목은 앞에서 더한 theirMin 대신 실제 count, error 를 더함
+                    ours[0] += counter.count() - theirMin;
+                    ours[1] += counter.error() - theirMin;
+                }
+            }
+
+            List<Map.Entry<T, long[]>> sorted = new ArrayList<>(combined.entrySet());
+            sorted.sort(Comparator.comparingLong((Map.Entry<T, long[]> entry) -> entry.getValue()[0]).reversed());
+            counters.clear();
+            for (Map.Entry<T, long[]> entry : sorted.subList(0, Math.min(capacity, sorted.size()))) {
+                counters.put(entry.getKey(), entry.getValue());
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public static <T> SpaceSaving<T> of(int capacity, List<Counter<T>> counters) {
+        SpaceSaving<T> summary = new SpaceSaving<>(capacity);
+        for (Counter<T> counter : counters) {
+            summary.add(counter.item(), counter.count(), counter.error());
+        }
+        return summary;
+    }
+
+    private void add(T item, long count, long error) {
+        long[] counter = counters.get(item);
+        if (counter != null) {
+            counter[0] += count;
+            counter[1] += error;
+            return;
+        }
+        if (counters.size() < capacity) {
+            counters.put(item, new long[]{count, error});
+            return;
+        }
+        // 가장 작은 항목을 교체하고, 교체된 값만큼을 오차로 기록
+        T minItem = null;
+        long minCount = Long.MAX_VALUE;
+        for (Map.Entry<T, long[]> entry : counters.entrySet()) {
+            if (entry.getValue()[0] < minCount) {
+                minCount = entry.getValue()[0];
+                minItem = entry.getKey();
+            }
+        }
+        counters.remove(minItem);
+        counters.put(item, new long[]{minCount + count, minCount + error});
+    }
+
+    // 가득 차지 않은 요약에 없는 항목의 실제값은 0
+    private long minCount() {
+        if (counters.size() < capacity) {
+            return 0L;
+        }
+        long min = Long.MAX_VALUE;
+        for (long[] counter : counters.values()) {
+            min = Math.min(min, counter[0]);
+        }
+        return min;
+    }
+
+    public long estimate(T item) {
+        lock.lock();
+        try {
+            long[] counter = counters.get(item);
+            return counter == null ? 0L : counter[0];
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public List<Counter<T>> top(int k) {
+        List<Counter<T>> result = new ArrayList<>(counters.size());
+        lock.lock();
+        try {
+            for (Map.Entry<T, long[]> entry : counters.entrySet()) {
+                result.add(new Counter<>(entry.getKey(), entry.getValue()[0], entry.getValue()[1]));
+            }
+        } finally {
+            lock.unlock();
+        }
+        result.sort(Comparator.comparingLong(Counter<T>::count).reversed());
+        return result.size() > k ? new ArrayList<>(result.subList(0, k)) : result;
+    }
+
+    // 현재 요약을 반환하고 비움 (offer 와 같은 lock 안에서 처리하여 그 사이 갱신 유실 없음)
+    public List<Counter<T>> drain() {
+        lock.lock();
+        try {
+            List<Counter<T>> result = top(Integer.MAX_VALUE);
+            counters.clear();
+            return result;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return counters.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public record Counter<T>(T item, long count, long error) { }
+}
@@ -0,0 +1,5 @@
+package io.andy.shorten_url.util.useragent;
+
+public enum DeviceClass {
+    DESKTOP, MOBILE, TABLET, BOT, UNKNOWN
+}
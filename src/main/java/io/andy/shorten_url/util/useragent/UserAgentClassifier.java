@@ -0,0 +1,300 @@
+package io.andy.shorten_url.util.useragent;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * user-agent 분류기
+ * - 모든 keyword 를 Aho-Corasick automaton 으로 미리 컴파일하여 user-agent 를 한 번만 훑음 (대소문자 무시)
+ * - 같은 종류(OS, 브라우저, bot)의 keyword 가 여러 개 걸리면 priority 가 낮은 값을 사용
+ *   (ex. Edge 는 "Chrome/", "Safari/" 도 포함하므로 Edge 가 우선)
+ * - 적은 수의 user-agent 가 대부분의 트래픽을 차지하므로 원문 기준으로 결과를 캐싱 (최대 maxCacheSize 개)
+ *   가득 차면 CLOCK(second chance) 방식으로 최근에 조회되지 않은 항목부터 제거하여 LRU 에 가깝게 유지
+ */
+public class UserAgentClassifier {
+    private static final int ALPHABET = 128;
+    private static final int MAX_CACHEABLE_LENGTH = 512;
+    // 기존 접속 로그, 분석 dimension 과 같은 label("Postman ") 을 유지
+    private static final UserAgentInfo POSTMAN = UserAgentInfo.of("Postman", "", null, DeviceClass.BOT, true);
+
+    private enum Category { OS, BROWSER, BOT, MOBILE, TABLET, VERSION }
+
+    private record Keyword(String text, Category category, String value, int priority) { }
+
+    private static final List<Keyword> KEYWORDS = List.of(
+            // OS (iPad, iPhone 은 "like Mac OS X", Android 는 "Linux" 를 포함)
+            new Keyword("iphone", Category.OS, "ios", 1),
+            new Keyword("ipad", Category.OS, "ios", 1),
+            new Keyword("ipod", Category.OS, "ios", 1),
+            new Keyword("android", Category.OS, "Android", 1),
+            new Keyword("windows", Category.OS, "Windows", 2),
+            new Keyword("cros ", Category.OS, "ChromeOS", 2),
+            new Keyword("macintosh", Category.OS, "Mac", 3),
+            new Keyword("mac os", Category.OS, "Mac", 3),
+            new Keyword("os x", Category.OS, "Mac", 3),
+            new Keyword("ubuntu", Category.OS, "Linux", 4),
+            new Keyword("linux", Category.OS, "Linux", 4),
+            // 브라우저
+            new Keyword("samsungbrowser/", Category.BROWSER, "Samsung", 1),
+            new Keyword("whale/", Category.BROWSER, "Whale", 1),
+            new Keyword("yabrowser/", Category.BROWSER, "Yandex", 1),
+            new Keyword("kakaotalk", Category.BROWSER, "KakaoTalk", 1),
+            new Keyword("naver(inapp", Category.BROWSER, "Naver", 1),
+            new Keyword("edg/", Category.BROWSER, "Edge", 2),
+            new Keyword("edge/", Category.BROWSER, "Edge", 2),
+            new Keyword("edga/", Category.BROWSER, "Edge", 2),
+            new Keyword("edgios/", Category.BROWSER, "Edge", 2),
+            new Keyword("opr/", Category.BROWSER, "Opera", 2),
+            new Keyword("opera", Category.BROWSER, "Opera", 2),
+            new Keyword("firefox/", Category.BROWSER, "Firefox", 3),
+            new Keyword("fxios/", Category.BROWSER, "Firefox", 3),
+            new Keyword("chrome/", Category.BROWSER, "Chrome", 4),
+            new Keyword("crios/", Category.BROWSER, "Chrome", 4),
+            new Keyword("msie ", Category.BROWSER, "IE", 4),
+            new Keyword("trident/", Category.BROWSER, "IE", 5),
+            new Keyword("safari/", Category.BROWSER, "Safari", 6),
+            // bot, 자동화 도구
+            new Keyword("googlebot", Category.BOT, "Googlebot", 1),
+            new Keyword("bingbot", Category.BOT, "Bingbot", 1),
+            new Keyword("yeti/", Category.BOT, "Yeti", 1),
+            new Keyword("daumoa", Category.BOT, "Daumoa", 1),
+            new Keyword("kakaotalk-scrap", Category.BOT, "KakaoScrap", 1),
+            new Keyword("facebookexternalhit", Category.BOT, "Facebook", 1),
+            new Keyword("slackbot", Category.BOT, "Slackbot", 1),
+            new Keyword("twitterbot", Category.BOT, "Twitterbot", 1),
+            new Keyword("headlesschrome", Category.BOT, "HeadlessChrome", 1),
+            new Keyword("postman", Category.BOT, "Postman", 1),
+            new Keyword("curl/", Category.BOT, "curl", 1),
+            new Keyword("wget/", Category.BOT, "Wget", 1),
+            new Keyword("python-requests", Category.BOT, "Python", 1),
+            new Keyword("okhttp", Category.BOT, "OkHttp", 1),
+            new Keyword("go-http-client", Category.BOT, "Go", 1),
+            new Keyword("bot", Category.BOT, "Bot", 9),
+            new Keyword("crawler", Category.BOT, "Bot", 9),
+            new Keyword("spider", Category.BOT, "Bot", 9),
+            // 기기 종류
+            new Keyword("mobile", Category.MOBILE, null, 0),
+            new Keyword("tablet", Category.TABLET, null, 0),
+            new Keyword("ipad", Category.TABLET, null, 0),
+            // Safari 는 "Version/17.0" 에 브라우저 버전이 있음
+            new Keyword("version/", Category.VERSION, null, 0)
+    );
+
+    private final int[] transitions;      // state * ALPHABET + char -> next state
+    private final int[][] outputs;        // state -> 매칭된 keyword index (failure link 포함)
+    private final int maxCacheSize;
+    private final Map<String, CachedInfo> cache = new ConcurrentHashMap<>();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+
+    private static final class CachedInfo {
+        private final UserAgentInfo info;
+        private volatile boolean referenced;
+
+        private CachedInfo(UserAgentInfo info) {
+            this.info = info;
+        }
+    }
+
+    public UserAgentClassifier(int maxCacheSize) {
+        this.maxCacheSize = maxCacheSize;
+
+        // trie
+        List<int[]> gotos = new ArrayList<>();
+        List<List<Integer>> matches = new ArrayList<>();
+        gotos.add(newRow());
+        matches.add(new ArrayList<>());
+        for (int k = 0; k < KEYWORDS.size(); k++) {
+            int state = 0;
+            for (char c : KEYWORDS.get(k).text().toCharArray()) {
+                if (gotos.get(state)[c] < 0) {
+                    gotos.get(state)[c] = gotos.size();
+                    gotos.add(newRow());
+                    matches.add(new ArrayList<>());
+                }
+                state = gotos.get(state)[c];
+            }
+            matches.get(state).add(k);
+        }
+
+        // failure link 를 BFS 로 계산하며 goto 를 완전한 DFA 로 채움
+        int states = gotos.size();
+        int[] failure = new int[states];
+        Queue<Integer> queue = new ArrayDeque<>();
+        for (int c = 0; c < ALPHABET; c++) {
+            int next = gotos.get(0)[c];
+            if (next < 0) {
+                gotos.get(0)[c] = 0;
+            } else {
+                failure[next] = 0;
+                queue.add(next);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            matches.get(state).addAll(matches.get(failure[state]));
+            for (int c = 0; c < ALPHABET; c++) {
+                int next = gotos.get(state)[c];
+                if (next < 0) {
+                    gotos.get(state)[c] = gotos.get(failure[state])[c];
+                } else {
+                    failure[next] = gotos.get(failure[state])[c];
+                    queue.add(next);
+                }
+            }
+        }
+
+        this.transitions = new int[states * ALPHABET];
+        this.outputs = new int[states][];
+        for (int state = 0; state < states; state++) {
+            System.arraycopy(gotos.get(state), 0, transitions, state * ALPHABET, ALPHABET);
+            outputs[state] = matches.get(state).stream().mapToInt(Integer::intValue).toArray();
+        }
+    }
+
+    public UserAgentInfo classify(String userAgent) {
+        if (Objects.isNull(userAgent) || userAgent.isBlank()) {
+            return UserAgentInfo.UNKNOWN;
+        }
+        CachedInfo cached = cache.get(userAgent);
+        if (cached != null) {
+            // 이미 표시된 경우 쓰지 않아 자주 조회되는 항목의 cache line 을 공유 상태로 유지
+            if (!cached.referenced) {
+                cached.referenced = true;
+            }
+            return cached.info;
+        }
+        UserAgentInfo classified = scan(userAgent);
+        if (userAgent.length() <= MAX_CACHEABLE_LENGTH) {
+            if (cache.size() >= maxCacheSize) {
+                evictOne();
+            }
+            cache.putIfAbsent(userAgent, new CachedInfo(classified));
+        }
+        return classified;
+    }
+
+    int cacheSize() {
+        return cache.size();
+    }
+
+    boolean isCached(String userAgent) {
+        return cache.containsKey(userAgent);
+    }
+
+    // 최근 조회 표시가 있는 항목은 표시만 지우고 넘어가고, 표시가 없는 첫 항목을 제거
+    // 다른 스레드가 제거 중이면 기다리지 않으므로 동시에 추가되는 만큼 잠시 최대 크기를 넘을 수 있음
+    private void evictOne() {
+        if (!evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            while (cache.size() >= maxCacheSize) {
+                Iterator<CachedInfo> iterator = cache.values().iterator();
+                while (iterator.hasNext()) {
+                    CachedInfo entry = iterator.next();
+                    if (entry.referenced) {
+                        entry.referenced = false;
+                    } else {
+                        iterator.remove();
+                        return;
+                    }
+                }
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private UserAgentInfo scan(String userAgent) {
+        int os = -1;
+        int browser = -1;
+        int browserEnd = -1;
+        int bot = -1;
+        int versionEnd = -1;
+        boolean mobile = false;
+        boolean tablet = false;
+
+        int state = 0;
+        for (int i = 0; i < userAgent.length(); i++) {
+            char c = userAgent.charAt(i);
+            if (c >= ALPHABET) {
+                state = 0;
+                continue;
+            }
+            if (c >= 'A' && c <= 'Z') {
+                c = (char) (c + ('a' - 'A'));
+            }
+            state = transitions[state * ALPHABET + c];
+            for (int k : outputs[state]) {
+                Keyword keyword = KEYWORDS.get(k);
+                switch (keyword.category()) {
+                    case OS -> os = better(os, k);
+                    case BROWSER -> {
+                        int chosen = better(browser, k);
+                        if (chosen != browser) {
+                            browser = chosen;
+                            browserEnd = i + 1;
+                        }
+                    }
+                    case BOT -> bot = better(bot, k);
+                    case MOBILE -> mobile = true;
+                    case TABLET -> tablet = true;
+                    case VERSION -> versionEnd = i + 1;
+                }
+            }
+        }
+
+        String osName = os < 0 ? "Other" : KEYWORDS.get(os).value();
+        if (bot >= 0) {
+            String botName = KEYWORDS.get(bot).value();
+            return "Postman".equals(botName) ? POSTMAN : UserAgentInfo.of("Bot", botName, null, DeviceClass.BOT, true);
+        }
+        String browserName = browser < 0 ? UserAgentInfo.UNDEFINED : KEYWORDS.get(browser).value();
+        String version = null;
+        if (browser >= 0) {
+            int from = "Safari".equals(browserName) && versionEnd >= 0 ? versionEnd : browserEnd;
+            version = majorVersion(userAgent, from);
+        }
+        return UserAgentInfo.of(osName, browserName, version, deviceClass(osName, mobile, tablet), false);
+    }
+
+    private static int better(int current, int candidate) {
+        return current < 0 || KEYWORDS.get(candidate).priority() < KEYWORDS.get(current).priority() ? candidate : current;
+    }
+
+    private static String majorVersion(String userAgent, int from) {
+        int to = from;
+        while (to < userAgent.length() && Character.isDigit(userAgent.charAt(to))) {
+            to++;
+        }
+        return to == from ? null : userAgent.substring(from, to);
+    }
+
+    private static DeviceClass deviceClass(String os, boolean mobile, boolean tablet) {
+        // Android 태블릿은 "Mobile" 을 포함하지 않음
+        if (tablet || ("Android".equals(os) && !mobile)) {
+            return DeviceClass.TABLET;
+        }
+        if (mobile || "ios".equals(os)) {
+            return DeviceClass.MOBILE;
+        }
+        return switch (os) {
+            case "Windows", "Mac", "Linux", "ChromeOS" -> DeviceClass.DESKTOP;
+            default -> DeviceClass.UNKNOWN;
+        };
+    }
+
+    private static int[] newRow() {
+        int[] row = new int[ALPHABET];
+        Arrays.fill(row, -1);
+        return row;
+    }
+}
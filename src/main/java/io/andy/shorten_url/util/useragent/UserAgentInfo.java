@@ -0,0 +1,22 @@
+package io.andy.shorten_url.util.useragent;
+
+/**
+ * user-agent 분류 결과
+ * @param label 접속 로그, 분석 dimension 에 저장하는 "OS Browser" 형태
+ * @param browserVersion major version, 알 수 없으면 null
+ */
+public record UserAgentInfo(
+        String label,
+        String os,
+        String browser,
+        String browserVersion,
+        DeviceClass deviceClass,
+        boolean bot
+) {
+    public static final String UNDEFINED = "undefined";
+    public static final UserAgentInfo UNKNOWN = of("unknown", UNDEFINED, null, DeviceClass.UNKNOWN, false);
+
+    public static UserAgentInfo of(String os, String browser, String browserVersion, DeviceClass deviceClass, boolean bot) {
+        return new UserAgentInfo(os + " " + browser, os, browser, browserVersion, deviceClass, bot);
+    }
+}
@@ -0,0 +1,50 @@
+package io.andy.shorten_url.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedVirtualThreadExecutorTest {
+
+    @Test
+    @DisplayName("동시 실행은 maxConcurrency 개까지, 대기 작업이 queueCap 을 넘으면 거절")
+    void boundConcurrencyAndQueue() throws Exception {
+        // given
+        BoundedVirtualThreadExecutor executor = new BoundedVirtualThreadExecutor(2, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch finished = new CountDownLatch(3);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        Runnable task = () -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                running.decrementAndGet();
+                finished.countDown();
+            }
+        };
+
+        // when
+        for (int i = 0; i < 3; i++) {
+            executor.execute(task);
+        }
+        assertThrows(RejectedExecutionException.class, () -> executor.execute(task));
+        release.countDown();
+
+        // then
+        assertTrue(finished.await(5, TimeUnit.SECONDS));
+        assertEquals(2, maxRunning.get());
+        executor.execute(() -> { });
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,106 @@
+package io.andy.shorten_url.config;
+
+import io.andy.shorten_url.util.mapper.RequestClientInfo;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RedirectConfigTest {
+
+    @Test
+    @DisplayName("max-age 미설정시 모든 요청을 캐시 금지로 응답하고 weight 1 로 집계")
+    void noStoreWithoutMaxAge() {
+        // given
+        RedirectConfig redirectConfig = redirectConfig(0, 0.1);
+
+        // when & then
+        assertFalse(redirectConfig.isCountSampling());
+        assertTrue(redirectConfig.isCountSampled("127.0.0.1", "Mac Safari"));
+        assertEquals(1L, redirectConfig.countWeight());
+        assertEquals("no-store", redirectConfig.cacheControl(true).getHeaderValue());
+    }
+
+    @Test
+    @DisplayName("샘플링 중에는 대상 client 만 no-store, 나머지는 브라우저 캐시만 허용")
+    void cacheControlWhileSampling() {
+        // given
+        RedirectConfig redirectConfig = redirectConfig(60, 0.5);
+
+        // when & then
+        assertEquals("no-store", redirectConfig.cacheControl(true).getHeaderValue());
+        assertEquals("max-age=60, private", redirectConfig.cacheControl(false).getHeaderValue());
+    }
+
+    @Test
+    @DisplayName("edge 가 샘플링 대상을 헤더로 전달하면 비대상 응답은 공유 캐시 허용, Vary 로 구분")
+    void sampleByEdgeHeader() {
+        // given
+        RedirectConfig redirectConfig = redirectConfig(60, 0.5);
+        ReflectionTestUtils.setField(redirectConfig, "countSampleHeader", "X-Count-Sample");
+        MockHttpServletRequest sampledRequest = new MockHttpServletRequest();
+        sampledRequest.addHeader("X-Count-Sample", "1");
+
+        // when
+        boolean sampled = redirectConfig.isCountSampled(RequestClientInfo.from(sampledRequest));
+        boolean unsampled = redirectConfig.isCountSampled(RequestClientInfo.from(new MockHttpServletRequest()));
+
+        // then
+        assertTrue(sampled);
+        assertFalse(unsampled);
+        assertEquals("no-store", redirectConfig.cacheControl(true).getHeaderValue());
+        assertEquals("max-age=60, public", redirectConfig.cacheControl(false).getHeaderValue());
+        assertEquals(Optional.of("X-Count-Sample"), redirectConfig.countSampleVary());
+    }
+
+    @Test
+    @DisplayName("같은 client 는 항상 같은 샘플링 결과를 받고, 전체 client 중 비율만큼 선택")
+    void sampleByClient() {
+        // given
+        RedirectConfig redirectConfig = redirectConfig(60, 0.25);
+        int clients = 10000;
+
+        // when
+        int sampled = 0;
+        for (int i = 0; i < clients; i++) {
+            String ipAddress = "10.0." + (i / 256) + "." + (i % 256);
+            boolean first = redirectConfig.isCountSampled(ipAddress, "Mac Safari");
+            assertEquals(first, redirectConfig.isCountSampled(ipAddress, "Mac Safari"));
+            sampled += first ? 1 : 0;
+        }
+
+        // then
+        assertEquals(0.25, (double) sampled / clients, 0.03);
+    }
+
+    @Test
+    @DisplayName("샘플링된 클릭의 weight 기대값은 샘플링 비율의 역수")
+    void countWeight() {
+        // given
+        RedirectConfig redirectConfig = redirectConfig(60, 0.4);
+        int samples = 100000;
+
+        // when
+        long total = 0;
+        for (int i = 0; i < samples; i++) {
+            long weight = redirectConfig.countWeight();
+            assertTrue(weight == 2L || weight == 3L);
+            total += weight;
+        }
+
+        // then
+        assertEquals(2.5, (double) total / samples, 0.05);
+    }
+
+    private RedirectConfig redirectConfig(long maxAge, double countSampleRate) {
+        RedirectConfig redirectConfig = new RedirectConfig();
+        ReflectionTestUtils.setField(redirectConfig, "maxAge", maxAge);
+        ReflectionTestUtils.setField(redirectConfig, "countSampleRate", countSampleRate);
+        return redirectConfig;
+    }
+}
@@ -0,0 +1,44 @@
+package io.andy.shorten_url.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VirtualThreadDataSourceEnvironmentPostProcessorTest {
+    private final VirtualThreadDataSourceEnvironmentPostProcessor postProcessor = new VirtualThreadDataSourceEnvironmentPostProcessor();
+
+    @Test
+    @DisplayName("virtual thread 모드에서만 짧은 connection 대기 시간 적용")
+    void applyOnlyInVirtualMode() {
+        // given
+        MockEnvironment platform = new MockEnvironment();
+        MockEnvironment virtual = new MockEnvironment()
+                .withProperty("spring.threads.virtual.enabled", "true")
+                .withProperty("datasource.virtual-threads.connection-timeout", "2000");
+
+        // when
+        postProcessor.postProcessEnvironment(platform, null);
+        postProcessor.postProcessEnvironment(virtual, null);
+
+        // then
+        assertNull(platform.getProperty("spring.datasource.hikari.connection-timeout"));
+        assertEquals("2000", virtual.getProperty("spring.datasource.hikari.connection-timeout"));
+    }
+
+    @Test
+    @DisplayName("connection-timeout 을 직접 설정한 경우 그 값을 유지")
+    void keepExplicitTimeout() {
+        // given
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("spring.threads.virtual.enabled", "true")
+                .withProperty("spring.datasource.hikari.connection-timeout", "10000");
+
+        // when
+        postProcessor.postProcessEnvironment(environment, null);
+
+        // then
+        assertEquals("10000", environment.getProperty("spring.datasource.hikari.connection-timeout"));
+    }
+}
@@ -0,0 +1,105 @@
+package io.andy.shorten_url.link.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.andy.shorten_url.link.constant.LinkState;
+import io.andy.shorten_url.link.entity.Link;
+import io.andy.shorten_url.link.hotkey.HotLinkCache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LinkCacheInvalidationBusTest {
+    @Mock private StringRedisTemplate stringRedisTemplate;
+    @Mock private RedirectCache redirectCache;
+    @Mock private HotLinkCache hotLinkCache;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private LinkCacheInvalidationBus bus;
+
+    private static final LinkCacheEntry ENTRY =
+            new LinkCacheEntry(1L, LinkState.DELETE, "shorten_", "https://github.com/youngjinmo", null);
+
+    @BeforeEach
+    void init() {
+        bus = new LinkCacheInvalidationBus(stringRedisTemplate, objectMapper, redirectCache, hotLinkCache);
+    }
+
+    @Test
+    @DisplayName("링크 변경을 다른 노드로 전파")
+    void publish() throws Exception {
+        // given
+        Link link = new Link(1L, LinkState.DELETE, "shorten_", "https://github.com/youngjinmo");
+        link.setId(1L);
+
+        // when
+        bus.purge(link);
+
+        // then
+        ArgumentCaptor<String> captor = ArgumentCaptor.forClass(String.class);
+        verify(stringRedisTemplate, times(1)).convertAndSend(eq(LinkCacheInvalidationBus.CHANNEL), captor.capture());
+        LinkCacheInvalidationBus.Invalidation invalidation =
+                objectMapper.readValue(captor.getValue(), LinkCacheInvalidationBus.Invalidation.class);
+        assertEquals(bus.nodeId(), invalidation.nodeId());
+        assertEquals(ENTRY, invalidation.entry());
+    }
+
+    @Test
+    @DisplayName("전파 실패는 링크 변경을 막지 않음")
+    void publishFailure() {
+        // given
+        Link link = new Link(1L, LinkState.DELETE, "shorten_", "https://github.com/youngjinmo");
+        when(stringRedisTemplate.convertAndSend(anyString(), anyString()))
+                .thenThrow(new RedisConnectionFailureException("redis down"));
+
+        // when & then
+        assertDoesNotThrow(() -> bus.purge(link));
+    }
+
+    @Test
+    @DisplayName("다른 노드의 변경은 로컬 캐시에 반영")
+    void applyRemoteInvalidation() throws Exception {
+        // when
+        bus.onMessage(message("other-node"), null);
+
+        // then
+        verify(redirectCache, times(1)).invalidate(ENTRY);
+        verify(hotLinkCache, times(1)).invalidate(ENTRY);
+    }
+
+    @Test
+    @DisplayName("자신이 보낸 메시지와 잘못된 메시지는 무시")
+    void ignoreOwnAndInvalidMessage() throws Exception {
+        // when
+        bus.onMessage(message(bus.nodeId()), null);
+        bus.onMessage(new DefaultMessage(LinkCacheInvalidationBus.CHANNEL.getBytes(StandardCharsets.UTF_8),
+                "{broken".getBytes(StandardCharsets.UTF_8)), null);
+
+        // then
+        verify(redirectCache, never()).invalidate(any(LinkCacheEntry.class));
+        verify(hotLinkCache, never()).invalidate(any(LinkCacheEntry.class));
+    }
+
+    private DefaultMessage message(String nodeId) throws Exception {
+        byte[] body = objectMapper.writeValueAsBytes(new LinkCacheInvalidationBus.Invalidation(nodeId, ENTRY));
+        return new DefaultMessage(LinkCacheInvalidationBus.CHANNEL.getBytes(StandardCharsets.UTF_8), body);
+    }
+}
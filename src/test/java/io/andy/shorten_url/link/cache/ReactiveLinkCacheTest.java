@@ -0,0 +1,170 @@
+package io.andy.shorten_url.link.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.andy.shorten_url.link.constant.LinkPolicy;
+import io.andy.shorten_url.link.constant.LinkState;
+import io.andy.shorten_url.link.constant.RedirectType;
+import io.andy.shorten_url.link.entity.Link;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.ReactiveValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveLinkCacheTest {
+    @Mock private ReactiveStringRedisTemplate redisTemplate;
+    @Mock private ReactiveValueOperations<String, String> valueOperations;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private ReactiveLinkCache linkCache;
+
+    private static final String URL_PATH = "shorten_";
+    private static final String KEY = LinkPolicy.LINK_CACHE_KEY_PREFIX + ":" + URL_PATH;
+    private static final String GENERATION_KEY = LinkPolicy.LINK_CACHE_KEY_PREFIX + ":gen:" + URL_PATH;
+    private static final LinkCacheEntry ENTRY =
+            new LinkCacheEntry(1L, LinkState.PUBLIC, URL_PATH, "https://github.com/youngjinmo", RedirectType.FOUND);
+
+    @BeforeEach
+    void init() {
+        linkCache = new ReactiveLinkCache(redisTemplate, objectMapper);
+        lenient().doReturn(valueOperations).when(redisTemplate).opsForValue();
+    }
+
+    @Test
+    @DisplayName("캐시 hit 시 저장된 링크 정보 반환")
+    void getHit() throws Exception {
+        // given
+        when(valueOperations.get(KEY)).thenReturn(Mono.just(objectMapper.writeValueAsString(ENTRY)));
+
+        // when
+        LinkCacheEntry result = linkCache.get(URL_PATH).block();
+
+        // then
+        assertEquals(ENTRY, result);
+    }
+
+    @Test
+    @DisplayName("캐시 miss 시 빈 결과")
+    void getMiss() {
+        // given
+        when(valueOperations.get(KEY)).thenReturn(Mono.empty());
+
+        // when
+        LinkCacheEntry result = linkCache.get(URL_PATH).block();
+
+        // then
+        assertNull(result);
+    }
+
+    @Test
+    @DisplayName("Redis 장애나 손상된 값은 miss 로 처리하여 DB 조회로 대체")
+    void getFailure() {
+        // given
+        when(valueOperations.get(KEY))
+                .thenReturn(Mono.error(new RedisConnectionFailureException("connection refused")))
+                .thenReturn(Mono.just("{broken"));
+
+        // when & then
+        assertNull(linkCache.get(URL_PATH).block());
+        assertNull(linkCache.get(URL_PATH).block());
+    }
+
+    @Test
+    @DisplayName("generation 이 없으면 0, Redis 장애 시 저장하지 않도록 unknown")
+    void generation() {
+        // given
+        when(valueOperations.get(GENERATION_KEY))
+                .thenReturn(Mono.empty())
+                .thenReturn(Mono.just("3"))
+                .thenReturn(Mono.error(new RedisConnectionFailureException("connection refused")));
+
+        // when & then
+        assertEquals(0L, linkCache.generation(URL_PATH).block());
+        assertEquals(3L, linkCache.generation(URL_PATH).block());
+        assertEquals(ReactiveLinkCache.UNKNOWN_GENERATION, linkCache.generation(URL_PATH).block());
+    }
+
+    @Test
+    @DisplayName("조회 시작 시점의 generation 과 함께 TTL 을 지정하여 저장")
+    @SuppressWarnings("unchecked")
+    void put() throws Exception {
+        // given
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), anyList())).thenReturn(Flux.just(1L));
+
+        // when
+        Boolean result = linkCache.put(ENTRY, 2L).block();
+
+        // then
+        assertTrue(result);
+        verify(redisTemplate, times(1)).execute(any(RedisScript.class), eq(List.of(KEY, GENERATION_KEY)),
+                eq(List.of(objectMapper.writeValueAsString(ENTRY), String.valueOf(LinkPolicy.LINK_CACHE_TTL), "2")));
+    }
+
+    @Test
+    @DisplayName("조회 중 purge 되어 generation 이 바뀌었거나 generation 을 모르면 저장하지 않음")
+    @SuppressWarnings("unchecked")
+    void putAfterPurge() {
+        // given
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), anyList())).thenReturn(Flux.just(0L));
+
+        // when
+        Boolean purged = linkCache.put(ENTRY, 2L).block();
+        Boolean unknown = linkCache.put(ENTRY, ReactiveLinkCache.UNKNOWN_GENERATION).block();
+
+        // then
+        assertFalse(purged);
+        assertFalse(unknown);
+        verify(redisTemplate, times(1)).execute(any(RedisScript.class), anyList(), anyList());
+    }
+
+    @Test
+    @DisplayName("저장 실패는 리다이렉트를 막지 않음")
+    @SuppressWarnings("unchecked")
+    void putFailure() {
+        // given
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), anyList()))
+                .thenReturn(Flux.error(new RedisConnectionFailureException("connection refused")));
+
+        // when
+        Boolean result = linkCache.put(ENTRY, 0L).block();
+
+        // then
+        assertFalse(result);
+    }
+
+    @Test
+    @DisplayName("링크 변경 시 generation 을 올리고 캐시 삭제")
+    @SuppressWarnings("unchecked")
+    void purge() {
+        // given
+        Link link = new Link(1L, LinkState.PRIVATE, URL_PATH, "https://github.com/youngjinmo");
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), anyList())).thenReturn(Flux.just(1L));
+
+        // when
+        linkCache.purge(link);
+
+        // then
+        verify(redisTemplate, times(1)).execute(any(RedisScript.class), eq(List.of(KEY, GENERATION_KEY)),
+                eq(List.of(String.valueOf(LinkPolicy.LINK_CACHE_TTL * 2))));
+    }
+}
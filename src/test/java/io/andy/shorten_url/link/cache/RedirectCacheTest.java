@@ -0,0 +1,175 @@
+package io.andy.shorten_url.link.cache;
+
+import io.andy.shorten_url.exception.client.NotFoundException;
+import io.andy.shorten_url.link.constant.LinkState;
+import io.andy.shorten_url.link.entity.Link;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RedirectCacheTest {
+    private static final String URL_PATH = "shorten_";
+    private static final String REDIRECTION_URL = "https://github.com/youngjinmo";
+
+    @Test
+    @DisplayName("동시에 miss 가 발생해도 로딩은 한 번만 수행")
+    void singleFlight() throws Exception {
+        // given
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        RedirectCache redirectCache = new RedirectCache(meterRegistry, Runnable::run, 60_000, 0, 0, 100);
+        AtomicInteger loadCount = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        // when
+        List<Future<LinkCacheEntry>> results = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            results.add(executor.submit(() -> redirectCache.get(URL_PATH, path -> {
+                loadCount.incrementAndGet();
+                loading.countDown();
+                await(release);
+                return entry(REDIRECTION_URL);
+            })));
+        }
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+        Thread.sleep(100);
+        release.countDown();
+
+        // then
+        for (Future<LinkCacheEntry> result : results) {
+            assertEquals(REDIRECTION_URL, result.get(5, TimeUnit.SECONDS).redirectionUrl());
+        }
+        executor.shutdown();
+        assertEquals(1, loadCount.get());
+    }
+
+    @Test
+    @DisplayName("캐시된 값은 다시 로딩하지 않음")
+    void hit() {
+        // given
+        RedirectCache redirectCache = new RedirectCache(new SimpleMeterRegistry(), Runnable::run, 60_000, 0, 0, 100);
+        AtomicInteger loadCount = new AtomicInteger();
+
+        // when
+        redirectCache.get(URL_PATH, path -> {
+            loadCount.incrementAndGet();
+            return entry(REDIRECTION_URL);
+        });
+        LinkCacheEntry result = redirectCache.get(URL_PATH, path -> {
+            loadCount.incrementAndGet();
+            return entry(REDIRECTION_URL);
+        });
+
+        // then
+        assertEquals(REDIRECTION_URL, result.redirectionUrl());
+        assertEquals(1, loadCount.get());
+    }
+
+    @Test
+    @DisplayName("만료된 값은 stale 구간 동안 응답하고 백그라운드로 갱신")
+    void staleWhileRevalidate() {
+        // given
+        RedirectCache redirectCache = new RedirectCache(new SimpleMeterRegistry(), Runnable::run, 0, 60_000, 0, 100);
+        String updatedUrl = "https://github.com";
+        redirectCache.get(URL_PATH, path -> entry(REDIRECTION_URL));
+
+        // when
+        LinkCacheEntry stale = redirectCache.get(URL_PATH, path -> entry(updatedUrl));
+
+        // then
+        assertEquals(REDIRECTION_URL, stale.redirectionUrl());
+        assertEquals(updatedUrl, redirectCache.get(URL_PATH, path -> entry("https://never.loaded")).redirectionUrl());
+    }
+
+    @Test
+    @DisplayName("로딩 실패는 캐싱하지 않고 예외 전달")
+    void loadFailure() {
+        // given
+        RedirectCache redirectCache = new RedirectCache(new SimpleMeterRegistry(), Runnable::run, 60_000, 0, 0, 100);
+
+        // when & then
+        assertThrows(NotFoundException.class, () -> redirectCache.get(URL_PATH, path -> {
+            throw new NotFoundException("NOT FOUND LINK");
+        }));
+        assertEquals(0, redirectCache.size());
+    }
+
+    @Test
+    @DisplayName("링크 변경 시 캐시된 값을 변경된 값으로 교체")
+    void purgeWritesThrough() {
+        // given
+        RedirectCache redirectCache = new RedirectCache(new SimpleMeterRegistry(), Runnable::run, 60_000, 0, 0, 100);
+        redirectCache.get(URL_PATH, path -> entry(REDIRECTION_URL));
+        Link link = new Link(1L, LinkState.PRIVATE, URL_PATH, REDIRECTION_URL);
+
+        // when
+        redirectCache.purge(link);
+        LinkCacheEntry result = redirectCache.get(URL_PATH, path -> entry("https://never.loaded"));
+
+        // then
+        assertEquals(LinkState.PRIVATE, result.state());
+    }
+
+    @Test
+    @DisplayName("로딩 중 purge 된 key 는 로딩 결과로 덮어쓰지 않음")
+    void purgeDuringLoad() {
+        // given
+        RedirectCache redirectCache = new RedirectCache(new SimpleMeterRegistry(), Runnable::run, 60_000, 0, 0, 100);
+        Link link = new Link(1L, LinkState.DELETE, URL_PATH, REDIRECTION_URL);
+
+        // when
+        LinkCacheEntry loaded = redirectCache.get(URL_PATH, path -> {
+            // 이전 값을 읽은 뒤 응답 전에 링크가 삭제됨
+            LinkCacheEntry before = entry(REDIRECTION_URL);
+            redirectCache.purge(link);
+            return before;
+        });
+        LinkCacheEntry result = redirectCache.get(URL_PATH, path -> entry("https://never.loaded"));
+
+        // then
+        assertEquals(LinkState.PUBLIC, loaded.state());
+        assertEquals(LinkState.DELETE, result.state());
+    }
+
+    @Test
+    @DisplayName("캐싱되지 않은 key 의 purge 도 기록")
+    void purgeAbsentKey() {
+        // given
+        RedirectCache redirectCache = new RedirectCache(new SimpleMeterRegistry(), Runnable::run, 60_000, 0, 0, 100);
+        Link link = new Link(1L, LinkState.PRIVATE, URL_PATH, REDIRECTION_URL);
+
+        // when
+        redirectCache.purge(link);
+
+        // then
+        assertTrue(redirectCache.contains(URL_PATH));
+        assertEquals(LinkState.PRIVATE, redirectCache.get(URL_PATH, path -> entry("https://never.loaded")).state());
+    }
+
+    private static LinkCacheEntry entry(String redirectionUrl) {
+        return new LinkCacheEntry(1L, LinkState.PUBLIC, URL_PATH, redirectionUrl, null);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
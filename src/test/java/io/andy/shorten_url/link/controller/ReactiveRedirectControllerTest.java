@@ -0,0 +1,168 @@
+package io.andy.shorten_url.link.controller;
+
+import io.andy.shorten_url.config.RedirectConfig;
+import io.andy.shorten_url.exception.client.BadRequestException;
+import io.andy.shorten_url.exception.client.NotFoundException;
+import io.andy.shorten_url.link.cache.LinkCacheEntry;
+import io.andy.shorten_url.link.cache.ReactiveLinkCache;
+import io.andy.shorten_url.link.constant.LinkPolicy;
+import io.andy.shorten_url.link.constant.LinkState;
+import io.andy.shorten_url.link.constant.RedirectType;
+import io.andy.shorten_url.link.entity.Link;
+import io.andy.shorten_url.link.hotkey.HotKeyDetector;
+import io.andy.shorten_url.link.hotkey.HotLinkCache;
+import io.andy.shorten_url.link.service.LinkService;
+import io.andy.shorten_url.link.service.SurrogateKeyPurgeHook;
+import io.andy.shorten_url.link_analytics.dto.ClickEvent;
+import io.andy.shorten_url.link_analytics.service.ClickEventPublisher;
+import io.andy.shorten_url.util.mapper.RequestClientInfo;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveRedirectControllerTest {
+    @Mock private LinkService linkService;
+    @Mock private ReactiveLinkCache linkCache;
+    @Mock private HotKeyDetector hotKeyDetector;
+    @Mock private HotLinkCache hotLinkCache;
+    @Mock private ClickEventPublisher clickEventPublisher;
+    private RedirectConfig redirectConfig;
+    private ReactiveRedirectController controller;
+    private RequestClientInfo clientInfo;
+
+    private static final String URL_PATH = "shorten_";
+    private static final String REDIRECTION_URL = "https://github.com/youngjinmo";
+
+    @BeforeEach
+    void init() {
+        redirectConfig = new RedirectConfig();
+        ReflectionTestUtils.setField(redirectConfig, "defaultType", RedirectType.FOUND);
+        controller = new ReactiveRedirectController(linkService, linkCache, hotKeyDetector, hotLinkCache,
+                clickEventPublisher, redirectConfig, Schedulers.immediate());
+
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr("127.0.0.1");
+        request.addHeader("User-Agent", "Mac Safari");
+        clientInfo = RequestClientInfo.from(request);
+    }
+
+    @Test
+    @DisplayName("hot link 는 노드 로컬 캐시에서 응답")
+    void redirectHotLink() {
+        // given
+        when(hotLinkCache.get(URL_PATH)).thenReturn(entry(LinkState.PUBLIC, null));
+
+        // when
+        ResponseEntity<Void> response = controller.redirectUrl(clientInfo, URL_PATH).block();
+
+        // then
+        assertRedirected(response, HttpStatus.FOUND);
+        verify(hotKeyDetector, times(1)).record(URL_PATH);
+        verify(linkCache, never()).get(URL_PATH);
+        verify(linkService, never()).findLinkByUrlPath(URL_PATH);
+        verify(clickEventPublisher, times(1)).publish(any(ClickEvent.class));
+    }
+
+    @Test
+    @DisplayName("Redis 캐시 hit 시 DB 를 조회하지 않고 링크별 redirect type 으로 응답")
+    void redirectCachedLink() {
+        // given
+        when(linkCache.get(URL_PATH)).thenReturn(Mono.just(entry(LinkState.PUBLIC, RedirectType.MOVED_PERMANENTLY)));
+
+        // when
+        ResponseEntity<Void> response = controller.redirectUrl(clientInfo, URL_PATH).block();
+
+        // then
+        assertRedirected(response, HttpStatus.MOVED_PERMANENTLY);
+        verify(linkService, never()).findLinkByUrlPath(URL_PATH);
+        verify(linkCache, never()).put(any(LinkCacheEntry.class), anyLong());
+    }
+
+    @Test
+    @DisplayName("캐시 miss 시 DB 에서 조회 후 캐시에 저장하고 클릭 이벤트 발행")
+    void redirectCacheMiss() {
+        // given
+        Link link = new Link(1L, LinkState.PUBLIC, URL_PATH, REDIRECTION_URL);
+        link.setId(1L);
+        when(linkCache.get(URL_PATH)).thenReturn(Mono.empty());
+        when(linkService.findLinkByUrlPath(URL_PATH)).thenReturn(link);
+        when(linkCache.generation(URL_PATH)).thenReturn(Mono.just(0L));
+        when(linkCache.put(any(LinkCacheEntry.class), anyLong())).thenReturn(Mono.just(true));
+
+        // when
+        ResponseEntity<Void> response = controller.redirectUrl(clientInfo, URL_PATH).block();
+
+        // then
+        assertRedirected(response, HttpStatus.FOUND);
+        verify(linkCache, times(1)).put(LinkCacheEntry.from(link), 0L);
+        ArgumentCaptor<ClickEvent> captor = ArgumentCaptor.forClass(ClickEvent.class);
+        verify(clickEventPublisher, times(1)).publish(captor.capture());
+        assertEquals(1L, captor.getValue().linkId());
+        assertEquals(URL_PATH, captor.getValue().urlPath());
+        assertEquals("127.0.0.1", captor.getValue().ipAddress());
+        assertEquals(1L, captor.getValue().weight());
+    }
+
+    @Test
+    @DisplayName("공개 상태가 아닌 링크는 리다이렉트하지 않고 클릭도 집계하지 않음")
+    void rejectNonPublicLink() {
+        // given
+        when(linkCache.get(URL_PATH)).thenReturn(Mono.just(entry(LinkState.PRIVATE, null)));
+
+        // when
+        Mono<ResponseEntity<Void>> response = controller.redirectUrl(clientInfo, URL_PATH);
+
+        // then
+        assertThrows(BadRequestException.class, response::block);
+        verify(clickEventPublisher, never()).publish(any(ClickEvent.class));
+    }
+
+    @Test
+    @DisplayName("존재하지 않는 링크는 NotFound, 캐시에 저장하지 않음")
+    void linkNotFound() {
+        // given
+        when(linkCache.get(URL_PATH)).thenReturn(Mono.empty());
+        when(linkCache.generation(URL_PATH)).thenReturn(Mono.just(0L));
+        when(linkService.findLinkByUrlPath(URL_PATH)).thenThrow(new NotFoundException("NOT FOUND LINK"));
+
+        // when
+        Mono<ResponseEntity<Void>> response = controller.redirectUrl(clientInfo, URL_PATH);
+
+        // then
+        assertThrows(NotFoundException.class, response::block);
+        verify(linkCache, never()).put(any(LinkCacheEntry.class), anyLong());
+        verify(clickEventPublisher, never()).publish(any(ClickEvent.class));
+    }
+
+    private LinkCacheEntry entry(LinkState state, RedirectType redirectType) {
+        return new LinkCacheEntry(1L, state, URL_PATH, REDIRECTION_URL, redirectType);
+    }
+
+    private void assertRedirected(ResponseEntity<Void> response, HttpStatus status) {
+        assertNotNull(response);
+        assertEquals(status, response.getStatusCode());
+        assertEquals(REDIRECTION_URL, response.getHeaders().getLocation().toString());
+        assertEquals(SurrogateKeyPurgeHook.surrogateKey(URL_PATH), response.getHeaders().getFirst(LinkPolicy.SURROGATE_KEY_HEADER));
+        assertEquals("no-store", response.getHeaders().getCacheControl());
+    }
+}
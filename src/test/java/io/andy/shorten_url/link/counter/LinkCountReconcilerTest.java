@@ -0,0 +1,127 @@
+package io.andy.shorten_url.link.counter;
+
+import io.andy.shorten_url.link.entity.LinkCountCheckpoint;
+import io.andy.shorten_url.link.repository.LinkCountCheckpointRepository;
+import io.andy.shorten_url.link.repository.LinkStore;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.SetOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LinkCountReconcilerTest {
+    @Mock private StringRedisTemplate stringRedisTemplate;
+    @Mock private HashOperations<String, Object, Object> hashOperations;
+    @Mock private SetOperations<String, String> setOperations;
+    @Mock private RedisLinkCounter redisLinkCounter;
+    @Mock private LinkStore linkStore;
+    @Mock private LinkCountCheckpointRepository checkpointRepository;
+    @Mock private TransactionTemplate transactionTemplate;
+    private LinkCountReconciler reconciler;
+
+    private static final Long LINK_ID = 1L;
+    private static final String KEY = RedisLinkCounter.clicksKey(LINK_ID);
+
+    @BeforeEach
+    void init() {
+        reconciler = new LinkCountReconciler(stringRedisTemplate, redisLinkCounter, linkStore,
+                checkpointRepository, transactionTemplate, 1L);
+        doReturn(hashOperations).when(stringRedisTemplate).opsForHash();
+        lenient().doAnswer(invocation -> {
+            Consumer<TransactionStatus> action = invocation.getArgument(0);
+            action.accept(mock(TransactionStatus.class));
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    @Test
+    @DisplayName("닫힌 bucket 만 합산하여 반영하고 checkpoint 갱신")
+    void reconcileClosedBuckets() {
+        // given
+        when(hashOperations.entries(KEY)).thenReturn(Map.of("100", "3", "101", "4", "102", "7"));
+        when(checkpointRepository.findForUpdate(LINK_ID)).thenReturn(Optional.empty());
+
+        // when
+        reconciler.reconcile(LINK_ID, 102L);
+
+        // then
+        verify(linkStore, times(1)).increaseAccessCount(LINK_ID, new TreeMap<>(Map.of(100L, 3L, 101L, 4L)));
+        verify(checkpointRepository, times(1)).save(argThat(checkpoint -> checkpoint.getLastBucket() == 101L));
+        verify(hashOperations, times(1)).delete(eq(KEY), any(Object[].class));
+        verify(stringRedisTemplate, times(1)).execute(any(RedisScript.class), anyList(), eq(String.valueOf(LINK_ID)));
+    }
+
+    @Test
+    @DisplayName("이미 반영된 bucket 은 다시 반영하지 않음")
+    void skipReconciledBuckets() {
+        // given
+        LinkCountCheckpoint checkpoint = new LinkCountCheckpoint(LINK_ID);
+        checkpoint.setLastBucket(101L);
+        when(hashOperations.entries(KEY)).thenReturn(Map.of("100", "3", "101", "4"));
+        when(checkpointRepository.findForUpdate(LINK_ID)).thenReturn(Optional.of(checkpoint));
+
+        // when
+        reconciler.reconcile(LINK_ID, 102L);
+
+        // then
+        verify(linkStore, never()).increaseAccessCount(anyLong(), any(SortedMap.class));
+        verify(checkpointRepository, never()).save(any());
+        assertEquals(101L, checkpoint.getLastBucket());
+        verify(hashOperations, times(1)).delete(eq(KEY), any(Object[].class));
+    }
+
+    @Test
+    @DisplayName("열려 있는 bucket 은 반영하지 않음")
+    void keepOpenBucket() {
+        // given
+        when(hashOperations.entries(KEY)).thenReturn(Map.of("102", "7"));
+
+        // when
+        reconciler.reconcile(LINK_ID, 102L);
+
+        // then
+        verify(transactionTemplate, never()).executeWithoutResult(any());
+        verify(hashOperations, never()).delete(anyString(), any(Object[].class));
+    }
+
+    @Test
+    @DisplayName("현재 bucket 직전 bucket 은 늦게 도착하는 증가분을 위해 grace 구간 동안 반영하지 않음")
+    void keepGraceBucket() {
+        // given
+        when(stringRedisTemplate.opsForSet()).thenReturn(setOperations);
+        when(setOperations.members(RedisLinkCounter.DIRTY_KEY)).thenReturn(Set.of(String.valueOf(LINK_ID)));
+        when(redisLinkCounter.currentBucket()).thenReturn(103L);
+        when(hashOperations.entries(KEY)).thenReturn(Map.of("101", "3", "102", "4", "103", "7"));
+        when(checkpointRepository.findForUpdate(LINK_ID)).thenReturn(Optional.empty());
+
+        // when
+        reconciler.reconcile();
+
+        // then
+        verify(linkStore, times(1)).increaseAccessCount(LINK_ID, new TreeMap<>(Map.of(101L, 3L)));
+        verify(checkpointRepository, times(1)).save(argThat(checkpoint -> checkpoint.getLastBucket() == 101L));
+        verify(hashOperations, times(1)).delete(KEY, "101");
+    }
+}
@@ -0,0 +1,66 @@
+package io.andy.shorten_url.link.hotkey;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HotKeyDetectorTest {
+
+    @Test
+    @DisplayName("여러 스레드가 나눠 기록한 요약을 rotate 에서 합쳐 hot key 탐지")
+    void detectFromStripes() throws Exception {
+        // given
+        HotKeyDetector hotKeyDetector = new HotKeyDetector(16, 3, 400, 4);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // when
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < 100; i++) {
+                    hotKeyDetector.record("hot");
+                    hotKeyDetector.record("cold" + (i % 10));
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        assertEquals(800L, hotKeyDetector.currentSlotTop(1).get(0).count());
+        hotKeyDetector.rotate();
+
+        // then
+        assertTrue(hotKeyDetector.isHot("hot"));
+        assertFalse(hotKeyDetector.isHot("cold0"));
+        assertEquals(800L, hotKeyDetector.getHotKeyStats().get("hot"));
+        assertTrue(hotKeyDetector.currentSlotTop(1).isEmpty());
+    }
+
+    @Test
+    @DisplayName("window 를 벗어난 slot 의 집계는 제외")
+    void expireOldestSlot() {
+        // given
+        HotKeyDetector hotKeyDetector = new HotKeyDetector(16, 2, 10, 4);
+        for (int i = 0; i < 10; i++) {
+            hotKeyDetector.record("hot");
+        }
+
+        // when
+        hotKeyDetector.rotate();
+        boolean hotInWindow = hotKeyDetector.isHot("hot");
+        hotKeyDetector.rotate();
+        hotKeyDetector.rotate();
+
+        // then
+        assertTrue(hotInWindow);
+        assertFalse(hotKeyDetector.isHot("hot"));
+    }
+}
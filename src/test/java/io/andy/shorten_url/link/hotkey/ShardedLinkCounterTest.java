@@ -0,0 +1,128 @@
+package io.andy.shorten_url.link.hotkey;
+
+import io.andy.shorten_url.link.counter.LinkCounter;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ShardedLinkCounterTest {
+    @Mock private LinkCounter linkCounter;
+    private ShardedLinkCounter shardedLinkCounter;
+
+    @BeforeEach
+    void init() {
+        shardedLinkCounter = new ShardedLinkCounter(linkCounter);
+    }
+
+    @Test
+    @DisplayName("주기마다 합산한 증가분을 한 번에 반영")
+    void flush() {
+        // given
+        shardedLinkCounter.increment(1L, 1L);
+        shardedLinkCounter.increment(1L, 2L);
+
+        // when
+        shardedLinkCounter.flush();
+
+        // then
+        verify(linkCounter, times(1)).increment(1L, 3L);
+        assertEquals(0L, shardedLinkCounter.pending(1L));
+    }
+
+    @Test
+    @DisplayName("한 주기 동안 증가가 없던 링크는 제거")
+    void evictIdleCounter() {
+        // given
+        shardedLinkCounter.increment(1L, 1L);
+        shardedLinkCounter.flush();
+
+        // when
+        shardedLinkCounter.flush();
+
+        // then
+        assertEquals(0, shardedLinkCounter.size());
+        verify(linkCounter, times(1)).increment(anyLong(), anyLong());
+    }
+
+    @Test
+    @DisplayName("제거와 동시에 들어온 증가분도 유실 없이 반영")
+    void keepIncrementsWhileEvicting() throws Exception {
+        // given
+        AtomicLong flushed = new AtomicLong();
+        doAnswer(invocation -> flushed.addAndGet(invocation.getArgument(1))).when(linkCounter).increment(anyLong(), anyLong());
+        ExecutorService executor = Executors.newFixedThreadPool(5);
+        AtomicBoolean running = new AtomicBoolean(true);
+
+        // when
+        Future<?> flusher = executor.submit(() -> {
+            while (running.get()) {
+                shardedLinkCounter.flush();
+            }
+        });
+        List<Future<?>> writers = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            writers.add(executor.submit(() -> {
+                for (int i = 0; i < 20_000; i++) {
+                    shardedLinkCounter.increment(1L, 1L);
+                }
+            }));
+        }
+        for (Future<?> writer : writers) {
+            writer.get();
+        }
+        running.set(false);
+        flusher.get();
+        executor.shutdown();
+        shardedLinkCounter.flush();
+
+        // then
+        assertEquals(80_000L, flushed.get());
+    }
+
+    @Test
+    @DisplayName("반영 실패 시 다음 주기에 다시 반영")
+    void retryOnFailure() {
+        // given
+        shardedLinkCounter.increment(1L, 5L);
+        doThrow(new RuntimeException("db down")).doNothing().when(linkCounter).increment(1L, 5L);
+
+        // when
+        shardedLinkCounter.flush();
+        shardedLinkCounter.flush();
+
+        // then
+        verify(linkCounter, times(2)).increment(1L, 5L);
+        assertEquals(0L, shardedLinkCounter.pending(1L));
+    }
+
+    @Test
+    @DisplayName("종료 시 남은 집계를 반영")
+    void flushOnClose() {
+        // given
+        shardedLinkCounter.increment(1L, 4L);
+
+        // when
+        shardedLinkCounter.close();
+
+        // then
+        verify(linkCounter, times(1)).increment(1L, 4L);
+    }
+}
@@ -0,0 +1,106 @@
+package io.andy.shorten_url.link.live;
+
+import io.andy.shorten_url.exception.client.BadRequestException;
+import io.andy.shorten_url.link.dto.LiveClickDto;
+import io.andy.shorten_url.link.service.LinkService;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import reactor.core.Disposable;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LiveClickStreamTest {
+    @Mock private LinkService linkService;
+    private LiveClickStream liveClickStream;
+
+    @BeforeEach
+    void init() {
+        liveClickStream = new LiveClickStream(linkService, Schedulers.immediate(), 20, 60_000, 60_000, 1);
+    }
+
+    @Test
+    @DisplayName("첫 값은 누적치, 이후에는 tick 사이 클릭을 delta 로 전송")
+    void streamDeltas() {
+        // given
+        when(linkService.findAccessCount(1L)).thenReturn(5L, 5L, 5L, 8L);
+
+        // when
+        List<LiveClickDto> clicks = liveClickStream.subscribe(1L)
+                .map(ServerSentEvent::data)
+                .filter(Objects::nonNull)
+                .take(2)
+                .collectList()
+                .block(Duration.ofSeconds(5));
+
+        // then
+        assertNotNull(clicks);
+        assertEquals(5L, clicks.get(0).total());
+        assertEquals(0L, clicks.get(0).delta());
+        assertEquals(8L, clicks.get(1).total());
+        assertEquals(3L, clicks.get(1).delta());
+    }
+
+    @Test
+    @DisplayName("같은 링크 구독자는 하나의 stream 공유, 모두 끊기면 정리")
+    void shareStreamPerLink() throws InterruptedException {
+        // given
+        lenient().when(linkService.findAccessCount(1L)).thenReturn(1L);
+
+        // when
+        Disposable first = liveClickStream.subscribe(1L).subscribe();
+        Disposable second = liveClickStream.subscribe(1L).subscribe();
+
+        // then
+        assertEquals(1, liveClickStream.activeLinks());
+        first.dispose();
+        second.dispose();
+        Thread.sleep(50);
+        assertEquals(0, liveClickStream.activeLinks());
+    }
+
+    @Test
+    @DisplayName("동시에 볼 수 있는 링크 수 제한")
+    void limitActiveLinks() {
+        // given
+        lenient().when(linkService.findAccessCount(1L)).thenReturn(1L);
+        Disposable first = liveClickStream.subscribe(1L).subscribe();
+
+        // when & then
+        assertThrows(BadRequestException.class, () -> liveClickStream.subscribe(2L));
+        first.dispose();
+    }
+
+    @Test
+    @DisplayName("SseEmitter 는 최대 구독 시간 + heartbeat 를 timeout 으로 사용, stream 이 끝나면 구독 해제")
+    void openEmitter() throws InterruptedException {
+        // given
+        liveClickStream = new LiveClickStream(linkService, Schedulers.immediate(), 20, 60_000, 50, 1);
+        lenient().when(linkService.findAccessCount(1L)).thenReturn(1L);
+
+        // when
+        SseEmitter emitter = liveClickStream.open(1L);
+
+        // then
+        assertEquals(60_050L, emitter.getTimeout());
+        assertEquals(1, liveClickStream.activeLinks());
+        Thread.sleep(200);
+        assertEquals(0, liveClickStream.activeLinks());
+    }
+}
@@ -2,11 +2,18 @@ package io.andy.shorten_url.link.service;
 
 import io.andy.shorten_url.exception.client.BadRequestException;
 import io.andy.shorten_url.exception.client.NotFoundException;
+import io.andy.shorten_url.link.cache.LinkCacheEntry;
+import io.andy.shorten_url.link.cache.RedirectCache;
 import io.andy.shorten_url.link.constant.LinkPolicy;
 import io.andy.shorten_url.link.constant.LinkState;
+import io.andy.shorten_url.link.constant.RedirectType;
+import io.andy.shorten_url.link.counter.DatabaseLinkCounter;
 import io.andy.shorten_url.link.dto.CreateLinkDto;
 import io.andy.shorten_url.link.entity.Link;
-import io.andy.shorten_url.link.repository.LinkRepository;
+import io.andy.shorten_url.link.hotkey.HotKeyDetector;
+import io.andy.shorten_url.link.hotkey.HotLinkCache;
+import io.andy.shorten_url.link.hotkey.ShardedLinkCounter;
+import io.andy.shorten_url.link.repository.LinkStore;
 import io.andy.shorten_url.util.random.RandomStringGenerator;
 
 import org.junit.jupiter.api.*;
@@ -14,7 +21,6 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -32,8 +38,19 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 class LinkServiceTest {
     @Mock private RandomStringGenerator randomUtility;
-    @Mock private LinkRepository linkRepository;
-    @InjectMocks private LinkServiceImpl linkService;
+    @Mock private LinkStore linkStore;
+    @Mock private LinkPurgeHook purgeHook;
+    @Mock private HotKeyDetector hotKeyDetector;
+    @Mock private HotLinkCache hotLinkCache;
+    @Mock private ShardedLinkCounter shardedLinkCounter;
+    @Mock private RedirectCache redirectCache;
+    private LinkServiceImpl linkService;
+
+    @BeforeEach
+    void init() {
+        linkService = new LinkServiceImpl(linkStore, randomUtility, List.of(purgeHook),
+                hotKeyDetector, hotLinkCache, shardedLinkCounter, redirectCache, new DatabaseLinkCounter(linkStore));
+    }
 
     @Test
     @DisplayName("링크 생성")
@@ -47,8 +64,8 @@ class LinkServiceTest {
 
         // when
         when(randomUtility.generate(LinkPolicy.URL_PATH_LENGTH)).thenReturn(shortenUrlPath);
-        when(linkRepository.findByUrlPath(shortenUrlPath)).thenReturn(Optional.empty());
-        when(linkRepository.save(any(Link.class))).thenReturn(expectedLink);
+        when(linkStore.findByUrlPath(shortenUrlPath)).thenReturn(Optional.empty());
+        when(linkStore.save(any(Link.class))).thenReturn(expectedLink);
         Link result = linkService.createLink(dto);
 
         // then
@@ -69,7 +86,7 @@ class LinkServiceTest {
         expectedLink.setId(1L);
 
         // when
-        when(linkRepository.findById(expectedLink.getId())).thenReturn(Optional.of(expectedLink));
+        when(linkStore.findById(expectedLink.getId())).thenReturn(Optional.of(expectedLink));
         Link result = linkService.findLinkById(expectedLink.getId());
 
         // then
@@ -89,7 +106,7 @@ class LinkServiceTest {
         Link expectedLink = new Link(userId, LinkState.PUBLIC, shortenUrlPath, redirectionUrl);
 
         // when
-        when(linkRepository.findById(expectedLink.getId())).thenReturn(Optional.empty());
+        when(linkStore.findById(expectedLink.getId())).thenReturn(Optional.empty());
         NotFoundException exception = assertThrows(NotFoundException.class, () -> linkService.findLinkById(expectedLink.getId()));
 
         // then
@@ -107,7 +124,7 @@ class LinkServiceTest {
         list.add(new Link(userId, LinkState.PUBLIC, "shorten2", redirectionUrl));
 
         // when
-        when(linkRepository.findByUserId(userId)).thenReturn(list);
+        when(linkStore.findByUserId(userId)).thenReturn(list);
         List<Link> result = linkService.findLinksByUserId(userId);
 
         // then
@@ -124,7 +141,7 @@ class LinkServiceTest {
         List<Link> list = new ArrayList<>();
 
         // when
-        when(linkRepository.findByUserId(userId)).thenReturn(list);
+        when(linkStore.findByUserId(userId)).thenReturn(list);
         List<Link> result = linkService.findLinksByUserId(userId);
 
         // then
@@ -145,7 +162,7 @@ class LinkServiceTest {
         }
 
         // when
-        when(linkRepository.findByUrlPath(shortenUrlPath)).thenReturn(entityResult);
+        when(linkStore.findByUrlPath(shortenUrlPath)).thenReturn(entityResult);
         boolean isUnique = linkService.isUniqueUrlPath(shortenUrlPath);
 
         // then
@@ -162,7 +179,7 @@ class LinkServiceTest {
         Link expectedLink = new Link(userId, LinkState.PUBLIC, shortenUrlPath, redirectionUrl);
 
         // when
-        when(linkRepository.findByUrlPath(shortenUrlPath)).thenReturn(Optional.of(expectedLink));
+        when(linkStore.findByUrlPath(shortenUrlPath)).thenReturn(Optional.of(expectedLink));
         Link result = linkService.findLinkByUrlPath(shortenUrlPath);
 
         // then
@@ -177,7 +194,7 @@ class LinkServiceTest {
         String shortenUrlPath = "shorten_";
 
         // when
-        when(linkRepository.findByUrlPath(shortenUrlPath)).thenReturn(Optional.empty());
+        when(linkStore.findByUrlPath(shortenUrlPath)).thenReturn(Optional.empty());
         NotFoundException exception = assertThrows(NotFoundException.class, () -> linkService.findLinkByUrlPath(shortenUrlPath));
 
         // then
@@ -194,12 +211,13 @@ class LinkServiceTest {
         Link expectedLink = new Link(userId, LinkState.PUBLIC, shortenUrlPath, redirectionUrl);
 
         // when
-        when(linkRepository.findById(expectedLink.getId())).thenReturn(Optional.of(expectedLink));
+        when(linkStore.findById(expectedLink.getId())).thenReturn(Optional.of(expectedLink));
         Link result = linkService.updateLinkState(expectedLink.getId(), LinkState.PRIVATE);
 
         // then
         assertEquals(LinkState.PRIVATE, result.getState());
         assertNotNull(result.getUpdatedAt());
+        verify(linkStore, times(1)).update(result);
     }
 
     @Test
@@ -213,12 +231,32 @@ class LinkServiceTest {
         Link expectedLink = new Link(userId, LinkState.PUBLIC, shortenUrlPath, originRedirectionUrl);
 
         // when
-        when(linkRepository.findById(expectedLink.getId())).thenReturn(Optional.of(expectedLink));
+        when(linkStore.findById(expectedLink.getId())).thenReturn(Optional.of(expectedLink));
         Link result = linkService.updateRedirectionUrl(expectedLink.getId(), newRedirectUrl);
 
         // then
         assertEquals(newRedirectUrl, result.getRedirectionUrl());
         assertNotNull(result.getUpdatedAt());
+        verify(purgeHook, times(1)).purge(result);
+    }
+
+    @Test
+    @DisplayName("링크 redirect type 변경")
+    public void updateRedirectType() {
+        // given
+        Long userId = 1L;
+        String redirectionUrl = "https://github.com/youngjinmo";
+        String shortenUrlPath = "shorten_";
+        Link expectedLink = new Link(userId, LinkState.PUBLIC, shortenUrlPath, redirectionUrl);
+
+        // when
+        when(linkStore.findById(expectedLink.getId())).thenReturn(Optional.of(expectedLink));
+        Link result = linkService.updateRedirectType(expectedLink.getId(), RedirectType.MOVED_PERMANENTLY);
+
+        // then
+        assertEquals(RedirectType.MOVED_PERMANENTLY, result.getRedirectType());
+        assertNotNull(result.getUpdatedAt());
+        verify(purgeHook, times(1)).purge(result);
     }
 
     @Test
@@ -231,12 +269,14 @@ class LinkServiceTest {
         Link link = new Link(userId, LinkState.PUBLIC, shortenUrlPath, redirectionUrl);
 
         // when
-        when(linkRepository.findById(link.getId())).thenReturn(Optional.of(link));
+        when(linkStore.findById(link.getId())).thenReturn(Optional.of(link));
         linkService.deleteLinkById(link.getId());
 
         // then
         assertEquals(LinkState.DELETE, link.getState());
         assertNotNull(link.getDeletedAt());
+        verify(linkStore, times(1)).update(link);
+        verify(purgeHook, times(1)).purge(link);
     }
 
     @Test
@@ -250,7 +290,7 @@ class LinkServiceTest {
         link.setAccessCount(0L);
 
         // when
-        when(linkRepository.findById(link.getId())).thenReturn(Optional.of(link));
+        when(linkStore.findById(link.getId())).thenReturn(Optional.of(link));
         Long result = linkService.increaseLinkCount(link.getId());
 
         // then
@@ -269,11 +309,77 @@ class LinkServiceTest {
         link.setAccessCount(initCount);
 
         // when
-        when(linkRepository.findById(link.getId())).thenReturn(Optional.of(link));
+        when(linkStore.findById(link.getId())).thenReturn(Optional.of(link));
         BadRequestException exception = assertThrows(BadRequestException.class, () -> linkService.increaseLinkCount(link.getId()));
 
         // then
         assertEquals("FAILED TO ACCESS LINK", exception.getMessage());
         assertEquals(initCount, link.getAccessCount());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("hot link 는 로컬 캐시에서 조회")
+    public void findHotRedirectionByUrlPath() {
+        // given
+        String shortenUrlPath = "shorten_";
+        Link link = new Link(1L, LinkState.PUBLIC, shortenUrlPath, "https://github.com/youngjinmo");
+        LinkCacheEntry hotLink = LinkCacheEntry.from(link);
+
+        // when
+        when(hotLinkCache.get(shortenUrlPath)).thenReturn(hotLink);
+        LinkCacheEntry result = linkService.findRedirectionByUrlPath(shortenUrlPath);
+
+        // then
+        assertEquals(hotLink, result);
+        verify(hotKeyDetector, times(1)).record(shortenUrlPath);
+        verify(linkStore, never()).findByUrlPath(shortenUrlPath);
+    }
+
+    @Test
+    @DisplayName("hot link 조회수는 sharded counter 로 증가")
+    public void countHotLinkAccess() {
+        // given
+        Long linkId = 1L;
+        String shortenUrlPath = "shorten_";
+
+        // when
+        when(hotKeyDetector.isHot(shortenUrlPath)).thenReturn(true);
+        linkService.countAccess(linkId, shortenUrlPath, 1L);
+
+        // then
+        verify(shardedLinkCounter, times(1)).increment(linkId, 1L);
+        verify(linkStore, never()).findById(linkId);
+    }
+
+    @Test
+    @DisplayName("일반 링크 조회수는 원자적 UPDATE 로 증가")
+    public void countAccess() {
+        // given
+        Long linkId = 1L;
+        String shortenUrlPath = "shorten_";
+
+        // when
+        when(hotKeyDetector.isHot(shortenUrlPath)).thenReturn(false);
+        linkService.countAccess(linkId, shortenUrlPath, 1L);
+
+        // then
+        verify(linkStore, times(1)).increaseAccessCount(linkId, 1L);
+        verify(shardedLinkCounter, never()).increment(linkId, 1L);
+    }
+
+    @Test
+    @DisplayName("조회수는 반영 대기 중인 hot link 집계를 포함")
+    public void findAccessCount() {
+        // given
+        Link link = new Link(1L, LinkState.PUBLIC, "shorten_", "https://github.com/youngjinmo");
+        link.setAccessCount(10L);
+
+        // when
+        when(linkStore.findById(link.getId())).thenReturn(Optional.of(link));
+        when(shardedLinkCounter.pending(link.getId())).thenReturn(5L);
+        long result = linkService.findAccessCount(link.getId());
+
+        // then
+        assertEquals(15L, result);
+    }
+}
@@ -0,0 +1,238 @@
+package io.andy.shorten_url.link.shard;
+
+import io.andy.shorten_url.link.entity.Link;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static io.andy.shorten_url.link.shard.ShardedLinkRepositoryTest.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class LinkReshardingServiceTest {
+    private final Scheduler scheduler = Schedulers.newBoundedElastic(4, 100, "reshard-test");
+    private Map<String, JdbcTemplate> shards;
+    private JdbcTemplate metaDb;
+    private LinkShardMapStore store;
+    private ShardedLinkRepository repository;
+    private LinkReshardingService reshardingService;
+
+    @BeforeEach
+    void init() {
+        // shard2 는 아직 bucket 을 소유하지 않은 새 shard
+        shards = Map.of("shard0", createShard(), "shard1", createShard(), "shard2", createShard());
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+        new ResourceDatabasePopulator(new FileSystemResource("sql/link_shard_meta.sql")).execute(dataSource);
+        metaDb = new JdbcTemplate(dataSource);
+        store = newStore(1);
+        repository = newRepository(store);
+        reshardingService = new LinkReshardingService(repository, store, 3);
+    }
+
+    // 같은 메인 DB 를 공유하는 다른 인스턴스
+    private LinkShardMapStore newStore(long workerId) {
+        return new LinkShardMapStore(metaDb, workerId, Duration.ofMinutes(1));
+    }
+
+    private ShardedLinkRepository newRepository(LinkShardMapStore store) {
+        LinkShardMapStore.VersionedShardMap stored = store.loadOrInit(LinkShardMap.parse(SHARD_MAP, 1024));
+        store.register(stored.version());
+        return new ShardedLinkRepository(shards, stored.map(), stored.version(), new LinkIdGenerator(1), scheduler);
+    }
+
+    @AfterEach
+    void close() {
+        scheduler.dispose();
+    }
+
+    private List<String> saveLinks(int fromBucket, int toBucket, int size) {
+        List<String> urlPaths = new ArrayList<>();
+        int seed = 0;
+        while (urlPaths.size() < size) {
+            String urlPath = urlPathIn(fromBucket, toBucket, seed);
+            seed = Integer.parseInt(urlPath.substring(4)) + 1;
+            repository.save(link(1L, urlPath, LocalDateTime.now()));
+            urlPaths.add(urlPath);
+        }
+        return urlPaths;
+    }
+
+    @Test
+    @DisplayName("bucket 범위를 새 shard 로 옮기고 원본에서 삭제")
+    void migrateRange() {
+        // given
+        List<String> urlPaths = saveLinks(0, 255, 20);
+        saveLinks(256, 511, 5);
+        repository.increaseAccessCount(urlPaths.get(0), 7);
+
+        // when
+        List<LinkReshardingService.MigrationResult> results = reshardingService.migrateRange(0, 255, "shard2");
+
+        // then
+        assertEquals(20, results.stream().mapToLong(LinkReshardingService.MigrationResult::copied).sum());
+        assertEquals(20, results.stream().mapToLong(LinkReshardingService.MigrationResult::deleted).sum());
+        assertEquals(20, count(shards.get("shard2")));
+        assertEquals(5, count(shards.get("shard0")));
+        assertEquals("0-255=shard2,256-511=shard0,512-1023=shard1", repository.shardMap().toSpec());
+        assertTrue(repository.shardMap().migrations().isEmpty());
+        for (String urlPath : urlPaths) {
+            assertTrue(repository.findByUrlPath(urlPath).isPresent());
+        }
+        assertEquals(7L, repository.findByUrlPath(urlPaths.get(0)).orElseThrow().getAccessCount());
+        assertEquals(25, repository.findByUserId(1L).size());
+        LinkShardMapStore.VersionedShardMap stored = store.load(1024).orElseThrow();
+        assertEquals(repository.shardMapVersion(), stored.version());
+        assertEquals(repository.shardMap().toSpec(), stored.map().toSpec());
+        assertTrue(stored.map().cleanups().isEmpty());
+    }
+
+    @Test
+    @DisplayName("이동 중에도 쓰기를 받으며, 이동 후 증가분이 빠지지 않음")
+    void migrateWhileWriting() throws Exception {
+        // given
+        List<String> urlPaths = saveLinks(0, 511, 30);
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicLong increments = new AtomicLong();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        // when
+        Future<?> writer = executor.submit(() -> {
+            int i = 0;
+            while (running.get()) {
+                repository.increaseAccessCount(urlPaths.get(i++ % urlPaths.size()), 1);
+                increments.incrementAndGet();
+            }
+        });
+        reshardingService.migrateRange(0, 511, "shard2");
+        running.set(false);
+        writer.get();
+        executor.shutdown();
+
+        // then
+        long total = urlPaths.stream()
+                .map(urlPath -> repository.findByUrlPath(urlPath).orElseThrow())
+                .mapToLong(Link::getAccessCount)
+                .sum();
+        assertEquals(increments.get(), total);
+        assertEquals(0, count(shards.get("shard0")));
+        assertEquals(30, count(shards.get("shard2")));
+    }
+
+    @Test
+    @DisplayName("알 수 없는 shard 로는 이동하지 않음")
+    void rejectUnknownShard() {
+        assertThrows(IllegalArgumentException.class, () -> reshardingService.migrateRange(0, 10, "shard9"));
+        assertTrue(repository.shardMap().migrations().isEmpty());
+    }
+
+    @Test
+    @DisplayName("다른 인스턴스가 실행 중이면 이동하지 않음")
+    void rejectWhenMultipleNodes() {
+        // given
+        newStore(2).register(1);
+
+        // when
+        assertThrows(IllegalStateException.class, () -> reshardingService.migrateRange(0, 10, "shard2"));
+
+        // then
+        assertEquals(SHARD_MAP, repository.shardMap().toSpec());
+        assertEquals(SHARD_MAP, store.load(1024).orElseThrow().map().toSpec());
+    }
+
+    @Test
+    @DisplayName("다른 인스턴스는 sync 에서 공유 shard map 을 적용")
+    void syncSharedShardMap() {
+        // given
+        List<String> urlPaths = saveLinks(0, 255, 5);
+        LinkShardMapStore.VersionedShardMap before = store.load(1024).orElseThrow();
+        reshardingService.migrateRange(0, 255, "shard2");
+        // 이동 전 map 을 들고 있는 인스턴스
+        LinkShardMapStore otherStore = newStore(2);
+        ShardedLinkRepository otherRepository = new ShardedLinkRepository(
+                shards, before.map(), before.version(), new LinkIdGenerator(2), scheduler);
+        LinkReshardingService otherService = new LinkReshardingService(otherRepository, otherStore, 3);
+
+        // when
+        otherService.sync();
+
+        // then
+        assertEquals(repository.shardMapVersion(), otherRepository.shardMapVersion());
+        assertEquals(repository.shardMap().toSpec(), otherRepository.shardMap().toSpec());
+        for (String urlPath : urlPaths) {
+            assertTrue(otherRepository.findByUrlPath(urlPath).isPresent());
+        }
+    }
+
+    @Test
+    @DisplayName("원본 row 는 모든 인스턴스가 새 version 을 적용한 뒤 삭제")
+    void deferCleanupUntilAdopted() {
+        // given
+        String urlPath = urlPathIn(0, 511, 0);
+        int bucket = LinkShardMap.bucketOf(urlPath, 1024);
+        repository.save(link(1L, urlPath, LocalDateTime.now()));
+        LinkShardMapStore otherStore = newStore(2);
+        otherStore.register(repository.shardMapVersion());
+        // 복사와 cutover 가 끝나고 원본 정리만 남은 상태
+        shards.get("shard0").query("SELECT " + LinkRow.COLUMNS + " FROM link WHERE bucket = ?", LinkRow.ROW_MAPPER, bucket)
+                .forEach(row -> shards.get("shard2").update(LinkRow.INSERT_SQL, row::bindInsert));
+        repository.updateShardMap(bucket, map -> map.startMigration(bucket, "shard2").completeMigration(bucket),
+                store::compareAndSet);
+
+        // when
+        reshardingService.sync();
+
+        // then
+        assertEquals(1, count(shards.get("shard0")));
+        assertEquals("shard0", repository.shardMap().cleanups().get(bucket));
+
+        // when
+        otherStore.acknowledge(repository.shardMapVersion());
+        reshardingService.sync();
+
+        // then
+        assertEquals(0, count(shards.get("shard0")));
+        assertTrue(repository.shardMap().cleanups().isEmpty());
+        assertTrue(store.load(1024).orElseThrow().map().cleanups().isEmpty());
+        assertTrue(repository.findByUrlPath(urlPath).isPresent());
+    }
+
+    @Test
+    @DisplayName("실행 중인 인스턴스와 같은 node id 로는 등록하지 않고, heartbeat 가 끊긴 인스턴스의 node id 는 넘겨받음")
+    void registerUniqueWorkerId() {
+        // given
+        LinkShardMapStore duplicate = newStore(1);
+        LinkShardMapStore other = newStore(2);
+        other.register(1);
+        metaDb.update("UPDATE link_shard_node SET heartbeat_at = ? WHERE node_id = ?",
+                LocalDateTime.now().minusMinutes(5), other.nodeId());
+
+        // when
+        assertThrows(IllegalStateException.class, () -> duplicate.register(1));
+        newStore(2).register(1);
+
+        // then
+        assertEquals(2, store.liveNodes());
+    }
+}
@@ -0,0 +1,245 @@
+package io.andy.shorten_url.link.shard;
+
+import io.andy.shorten_url.link.constant.LinkState;
+import io.andy.shorten_url.link.entity.Link;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShardedLinkRepositoryTest {
+    static final String SHARD_MAP = "0-511=shard0,512-1023=shard1";
+
+    private final Scheduler scheduler = Schedulers.newBoundedElastic(4, 100, "shard-test");
+    private Map<String, JdbcTemplate> shards;
+    private ShardedLinkRepository repository;
+
+    // shard 마다 별도의 in-memory DB
+    static JdbcTemplate createShard() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+        new ResourceDatabasePopulator(new FileSystemResource("sql/link_shard.sql")).execute(dataSource);
+        return new JdbcTemplate(dataSource);
+    }
+
+    static Link link(long userId, String urlPath, LocalDateTime createdAt) {
+        Link link = new Link(userId, LinkState.PUBLIC, urlPath, "https://github.com/" + urlPath);
+        link.setCreatedAt(createdAt);
+        return link;
+    }
+
+    // 지정한 bucket 범위에 들어가는 urlPath 생성
+    static String urlPathIn(int fromBucket, int toBucket, int seed) {
+        for (int i = seed; ; i++) {
+            String urlPath = "path" + i;
+            int bucket = LinkShardMap.bucketOf(urlPath, 1024);
+            if (bucket >= fromBucket && bucket <= toBucket) {
+                return urlPath;
+            }
+        }
+    }
+
+    static long count(JdbcTemplate shard) {
+        return shard.queryForObject("SELECT COUNT(*) FROM link", Long.class);
+    }
+
+    @BeforeEach
+    void init() {
+        shards = Map.of("shard0", createShard(), "shard1", createShard());
+        repository = new ShardedLinkRepository(shards, LinkShardMap.parse(SHARD_MAP, 1024), new LinkIdGenerator(1), scheduler);
+    }
+
+    @AfterEach
+    void close() {
+        scheduler.dispose();
+    }
+
+    @Test
+    @DisplayName("urlPath hash bucket 으로 shard 를 골라 저장/조회")
+    void routeByUrlPath() {
+        // given
+        String first = urlPathIn(0, 511, 0);
+        String second = urlPathIn(512, 1023, 0);
+
+        // when
+        Link saved = repository.save(link(1L, first, LocalDateTime.now()));
+        repository.save(link(1L, second, LocalDateTime.now()));
+        repository.increaseAccessCount(first, 3);
+
+        // then
+        assertNotNull(saved.getId());
+        assertEquals(1, count(shards.get("shard0")));
+        assertEquals(1, count(shards.get("shard1")));
+        assertEquals(3L, repository.findByUrlPath(first).orElseThrow().getAccessCount());
+        assertEquals(second, repository.findById(repository.findByUrlPath(second).orElseThrow().getId()).orElseThrow().getUrlPath());
+        assertTrue(repository.findByUrlPath("unknown").isEmpty());
+    }
+
+    @Test
+    @DisplayName("id 기준 조회수 증가, 다건 조회, 변경 반영은 소유 shard 에 적용")
+    void accessById() {
+        // given
+        Link first = repository.save(link(1L, urlPathIn(0, 511, 0), LocalDateTime.now()));
+        Link second = repository.save(link(1L, urlPathIn(512, 1023, 0), LocalDateTime.now()));
+
+        // when
+        repository.increaseAccessCount(first.getId(), 2L);
+        repository.increaseAccessCount(first.getId(), 3L);
+        int missing = repository.increaseAccessCount(-1L, 1L);
+        second.setState(LinkState.PRIVATE);
+        second.setUpdatedAt(LocalDateTime.now());
+        repository.update(second);
+
+        // then
+        assertEquals(5L, repository.findById(first.getId()).orElseThrow().getAccessCount());
+        assertEquals(0, missing);
+        assertEquals(LinkState.PRIVATE, repository.findById(second.getId()).orElseThrow().getState());
+        assertEquals(Set.of(first.getId(), second.getId()),
+                Set.copyOf(repository.findAllById(List.of(first.getId(), second.getId(), -1L)).stream().map(Link::getId).toList()));
+        assertEquals(2, repository.findAll().size());
+        assertTrue(repository.findAllById(List.of()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("bucket 별 조회수는 이미 반영한 bucket 을 건너뛰고, update 로 반영 기록이 지워지지 않음")
+    void increaseAccessCountOncePerBucket() {
+        // given
+        Link link = repository.save(link(1L, urlPathIn(0, 511, 0), LocalDateTime.now()));
+        repository.increaseAccessCount(link.getId(), new TreeMap<>(Map.of(100L, 3L, 101L, 4L)));
+
+        // when
+        int retried = repository.increaseAccessCount(link.getId(), new TreeMap<>(Map.of(100L, 3L, 101L, 4L)));
+        Link stored = repository.findById(link.getId()).orElseThrow();
+        stored.setState(LinkState.PRIVATE);
+        repository.update(stored);
+        repository.increaseAccessCount(link.getId(), new TreeMap<>(Map.of(100L, 3L, 101L, 4L, 102L, 5L)));
+
+        // then
+        assertEquals(0, retried);
+        assertEquals(12L, repository.findById(link.getId()).orElseThrow().getAccessCount());
+        assertEquals(102L, shards.get("shard0").queryForObject(
+                "SELECT count_bucket FROM link WHERE id = ?", Long.class, link.getId()));
+    }
+
+    @Test
+    @DisplayName("회원별 link 는 모든 shard 를 조회해 최신순으로 병합")
+    void scatterGatherByUserId() {
+        // given
+        LocalDateTime now = LocalDateTime.of(2024, 9, 1, 12, 0);
+        for (int i = 0; i < 6; i++) {
+            String urlPath = i % 2 == 0 ? urlPathIn(0, 511, i * 100) : urlPathIn(512, 1023, i * 100);
+            repository.save(link(1L, urlPath, now.plusMinutes(i)));
+        }
+        repository.save(link(2L, urlPathIn(0, 511, 10_000), now));
+
+        // when
+        List<Link> links = repository.findByUserId(1L);
+
+        // then
+        assertEquals(6, links.size());
+        for (int i = 1; i < links.size(); i++) {
+            assertTrue(links.get(i - 1).getCreatedAt().isAfter(links.get(i).getCreatedAt()));
+        }
+    }
+
+    @Test
+    @DisplayName("정렬된 목록 병합 시 중복 id 는 한 번만 포함")
+    void mergeSortedLists() {
+        // given
+        LocalDateTime now = LocalDateTime.now();
+        Link a = link(1L, "a", now.plusMinutes(3));
+        a.setId(3L);
+        Link b = link(1L, "b", now.plusMinutes(2));
+        b.setId(2L);
+        Link c = link(1L, "c", now.plusMinutes(1));
+        c.setId(1L);
+
+        // when
+        List<Link> merged = ShardedLinkRepository.merge(List.of(List.of(a, c), List.of(b), List.of(a), List.of()));
+
+        // then
+        assertEquals(List.of(3L, 2L, 1L), merged.stream().map(Link::getId).toList());
+    }
+
+    @Test
+    @DisplayName("이동 중인 bucket 의 쓰기는 이동 대상 shard 에도 반영")
+    void mirrorWritesDuringMigration() {
+        // given
+        String urlPath = urlPathIn(0, 511, 0);
+        int bucket = LinkShardMap.bucketOf(urlPath, 1024);
+        repository.updateShardMap(bucket, map -> map.startMigration(bucket, "shard1"), (version, next) -> version + 1);
+
+        // when
+        repository.save(link(1L, urlPath, LocalDateTime.now()));
+        repository.increaseAccessCount(urlPath, 2);
+
+        // then
+        assertEquals(1, count(shards.get("shard0")));
+        assertEquals(1, count(shards.get("shard1")));
+        assertEquals(2L, shards.get("shard1").queryForObject("SELECT access_count FROM link WHERE url_path = ?", Long.class, urlPath));
+        // 이동 중에도 조회는 원본 shard 기준, 중복 없이 반환
+        assertEquals(1, repository.findByUserId(1L).size());
+    }
+
+    @Test
+    @DisplayName("shard map 설정 파싱과 설정 형식 변환")
+    void parseShardMap() {
+        LinkShardMap map = LinkShardMap.parse(SHARD_MAP, 1024);
+
+        assertEquals("shard0", map.owner(0));
+        assertEquals("shard1", map.owner(1023));
+        assertEquals(SHARD_MAP, map.toSpec());
+        assertEquals("0-9=shard0,10=shard1,11-511=shard0,512-1023=shard1",
+                map.startMigration(10, "shard1").completeMigration(10).toSpec());
+        assertThrows(IllegalArgumentException.class, () -> LinkShardMap.parse("0-511=shard0", 1024));
+        assertThrows(IllegalArgumentException.class, () -> LinkShardMap.parse("0-600=shard0,512-1023=shard1", 1024));
+        assertThrows(IllegalStateException.class, () -> map.startMigration(0, "shard0"));
+
+        LinkShardMap migrating = map.startMigration(10, "shard1").completeMigration(10).startMigration(11, "shard1");
+        LinkShardMap restored = LinkShardMap.restore(
+                migrating.toSpec(), migrating.migrationsSpec(), migrating.cleanupsSpec(), 1024);
+        assertEquals(Map.of(11, "shard1"), restored.migrations());
+        assertEquals(Map.of(10, "shard0"), restored.cleanups());
+        // 원래 shard 정리 전에는 다시 이동하지 않음
+        assertThrows(IllegalStateException.class, () -> restored.startMigration(10, "shard0"));
+    }
+
+    @Test
+    @DisplayName("id 는 같은 시각에도 겹치지 않고 증가")
+    void generateUniqueIds() {
+        LinkIdGenerator generator = new LinkIdGenerator(3, () -> LinkIdGenerator.EPOCH_MILLIS + 1000);
+        Set<Long> ids = new HashSet<>();
+        List<Long> ordered = new ArrayList<>();
+
+        for (int i = 0; i < 10_000; i++) {
+            long id = generator.nextId();
+            ids.add(id);
+            ordered.add(id);
+        }
+
+        assertEquals(10_000, ids.size());
+        for (int i = 1; i < ordered.size(); i++) {
+            assertTrue(ordered.get(i) > ordered.get(i - 1));
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package io.andy.shorten_url.link_analytics.columnar;
+
+import io.andy.shorten_url.link_analytics.constant.ClickDimension;
+import io.andy.shorten_url.link_analytics.constant.DimensionType;
+import io.andy.shorten_url.link_analytics.dictionary.AnalyticsDictionary;
+import io.andy.shorten_url.link_analytics.entity.LinkAnalytics;
+import io.andy.shorten_url.link_analytics.repository.LinkAnalyticsRepository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import org.springframework.data.domain.Pageable;
+
+import reactor.core.scheduler.Schedulers;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ClickColumnStoreTest {
+    @Mock private LinkAnalyticsRepository linkAnalyticsRepository;
+    @Mock private AnalyticsDictionary analyticsDictionary;
+    private ClickColumnStore store;
+
+    private static final String CHROME = "Windows Chrome";
+    private static final String SAFARI = "Mac Safari";
+
+    @BeforeEach
+    void init() {
+        // segment 여러 개 / chunk 분할을 확인하기 위해 작은 segment 사용
+        store = new ClickColumnStore(linkAnalyticsRepository, analyticsDictionary, Schedulers.immediate(), 7, 4, 1_000, 2);
+    }
+
+    @AfterEach
+    void close() {
+        store.shutdown();
+    }
+
+    @Test
+    @DisplayName("지역 기준 클릭 수 집계 (내림차순)")
+    void countClicksByCountry() {
+        // given
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < 5; i++) {
+            store.append(1L, now, "KR", CHROME, "https://www.google.com");
+        }
+        store.append(1L, now, "US", SAFARI, null);
+        store.append(2L, now, "JP", SAFARI, null);
+
+        // when
+        Map<String, Long> result = store.countClicks(List.of(1L), now.minusHours(1), now.plusMinutes(1), ClickDimension.COUNTRY);
+
+        // then
+        assertEquals(Map.of("KR", 5L, "US", 1L), result);
+        assertEquals("KR", result.keySet().iterator().next());
+    }
+
+    @Test
+    @DisplayName("조회수 샘플링된 클릭은 weight 만큼 집계")
+    void countWeightedClicks() {
+        // given
+        LocalDateTime now = LocalDateTime.now();
+        store.append(1L, now, "KR", CHROME, null, 4);
+        store.append(1L, now, "KR", CHROME, null, 3);
+        store.append(1L, now, "US", SAFARI, null);
+
+        // when
+        Map<String, Long> result = store.countClicks(List.of(1L), now.minusHours(1), now.plusMinutes(1), ClickDimension.COUNTRY);
+
+        // then
+        assertEquals(Map.of("KR", 7L, "US", 1L), result);
+    }
+
+    @Test
+    @DisplayName("브라우저, referer host 기준 집계")
+    void countClicksByBrowserAndRefererHost() {
+        // given
+        LocalDateTime now = LocalDateTime.now();
+        store.append(1L, now, "KR", CHROME, "https://www.google.com/search");
+        store.append(1L, now, "KR", SAFARI, "https://www.google.com");
+        store.append(1L, now, "KR", SAFARI, "");
+
+        // when
+        Map<String, Long> browsers = store.countClicks(null, now.minusHours(1), now.plusMinutes(1), ClickDimension.BROWSER);
+        Map<String, Long> referers = store.countClicks(null, now.minusHours(1), now.plusMinutes(1), ClickDimension.REFERER_HOST);
+
+        // then
+        assertEquals(Map.of("Safari", 2L, "Chrome", 1L), browsers);
+        assertEquals(Map.of("www.google.com", 2L, "(direct)", 1L), referers);
+    }
+
+    @Test
+    @DisplayName("일 단위 집계는 기간 밖 클릭 제외")
+    void countClicksByDay() {
+        // given
+        LocalDate today = LocalDate.now();
+        LocalDateTime from = today.minusDays(2).atStartOfDay();
+        store.append(1L, from.minusMinutes(1), "KR", CHROME, null);
+        store.append(1L, from.plusHours(1), "KR", CHROME, null);
+        store.append(1L, today.atStartOfDay().plusMinutes(5), "KR", CHROME, null);
+        store.append(1L, today.atStartOfDay().plusMinutes(6), "KR", CHROME, null);
+
+        // when
+        Map<String, Long> result = store.countClicks(List.of(1L), from, today.plusDays(1).atStartOfDay(), ClickDimension.DAY);
+
+        // then
+        assertEquals(Map.of(today.minusDays(2).toString(), 1L, today.toString(), 2L), result);
+    }
+
+    @Test
+    @DisplayName("최대 row 수를 넘으면 오래된 segment 부터 제거")
+    void trimToMaxRows() {
+        // given
+        store.shutdown();
+        store = new ClickColumnStore(linkAnalyticsRepository, analyticsDictionary, Schedulers.immediate(), 7, 4, 8, 1);
+        LocalDateTime now = LocalDateTime.now();
+
+        // when
+        for (int i = 0; i < 20; i++) {
+            store.append((long) i, now, "KR", CHROME, null);
+        }
+
+        // then
+        assertTrue(store.size() <= 8);
+        Map<String, Long> result = store.countClicks(null, now.minusHours(1), now.plusMinutes(1), ClickDimension.LINK);
+        assertTrue(result.containsKey("19"));
+        assertFalse(result.containsKey("0"));
+    }
+
+    @Test
+    @DisplayName("Integer 범위를 넘는 링크 ID 도 잘리지 않고 집계")
+    void countClicksByLargeLinkId() {
+        // given
+        LocalDateTime now = LocalDateTime.now();
+        long largeId = Integer.MAX_VALUE + 5L;
+        long truncated = (long) (int) largeId;
+        store.append(largeId, now, "KR", CHROME, null);
+        store.append(largeId, now, "US", CHROME, null);
+        store.append(truncated, now, "JP", CHROME, null);
+
+        // when
+        Map<String, Long> byCountry = store.countClicks(List.of(largeId), now.minusHours(1), now.plusMinutes(1), ClickDimension.COUNTRY);
+        Map<String, Long> byLink = store.countClicks(null, now.minusHours(1), now.plusMinutes(1), ClickDimension.LINK);
+        Map<String, Long> unknown = store.countClicks(List.of(99L), now.minusHours(1), now.plusMinutes(1), ClickDimension.LINK);
+
+        // then
+        assertEquals(Map.of("KR", 1L, "US", 1L), byCountry);
+        assertEquals(Map.of(String.valueOf(largeId), 2L, String.valueOf(truncated), 1L), byLink);
+        assertTrue(unknown.isEmpty());
+    }
+
+    @Test
+    @DisplayName("시작 시 최근 접속 로그 재적재")
+    void rebuild() {
+        // given
+        LinkAnalytics analytics = mock(LinkAnalytics.class);
+        when(analytics.getId()).thenReturn(10L);
+        when(analytics.getLinkId()).thenReturn(3L);
+        when(analytics.getCreatedAt()).thenReturn(LocalDateTime.now().minusDays(1));
+        when(analytics.getLocationId()).thenReturn(1);
+        when(analytics.getUserAgentId()).thenReturn(2);
+        when(analytics.getRefererId()).thenReturn(null);
+        when(analyticsDictionary.decode(DimensionType.LOCATION, 1)).thenReturn("KR");
+        when(analyticsDictionary.decode(DimensionType.USER_AGENT, 2)).thenReturn(CHROME);
+        when(linkAnalyticsRepository.findChunkCreatedBetween(anyLong(), any(LocalDateTime.class), any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(analytics));
+
+        // when
+        store.scheduleRebuild();
+
+        // then
+        Map<String, Long> result = store.countClicks(List.of(3L), LocalDateTime.now().minusDays(2), LocalDateTime.now(), ClickDimension.COUNTRY);
+        assertEquals(Map.of("KR", 1L), result);
+    }
+}
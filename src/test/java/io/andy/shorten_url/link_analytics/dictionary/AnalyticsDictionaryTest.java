@@ -0,0 +1,118 @@
+package io.andy.shorten_url.link_analytics.dictionary;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.andy.shorten_url.link_analytics.constant.DimensionType;
+import io.andy.shorten_url.link_analytics.repository.AnalyticsDimensionRepository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class AnalyticsDictionaryTest {
+    private HikariDataSource dataSource;
+    private AnalyticsDimensionWriter dimensionWriter;
+    private AnalyticsDimensionRepository dimensionRepository;
+    private AnalyticsDictionary analyticsDictionary;
+
+    @BeforeEach
+    void init() {
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL;NON_KEYWORDS=VALUE;DB_CLOSE_DELAY=-1");
+        dataSource.setMaximumPoolSize(4);
+        new JdbcTemplate(dataSource).execute("""
+                CREATE TABLE analytics_dimension
+                (
+                    id INT AUTO_INCREMENT PRIMARY KEY,
+                    type VARCHAR(32) NOT NULL,
+                    value VARCHAR(255) NOT NULL,
+                    CONSTRAINT uk_analytics_dimension_type_value UNIQUE (type, value)
+                )""");
+        dimensionWriter = new AnalyticsDimensionWriter(dataSource);
+        // 클릭 트랜잭션 안에서는 아직 커밋되지 않은 다른 등록을 보지 못하는 상황
+        dimensionRepository = mock(AnalyticsDimensionRepository.class);
+        when(dimensionRepository.findByTypeAndValue(any(DimensionType.class), anyString())).thenReturn(Optional.empty());
+        analyticsDictionary = new AnalyticsDictionary(dimensionRepository, dimensionWriter, 100);
+    }
+
+    @AfterEach
+    void close() throws Exception {
+        dimensionWriter.close();
+    }
+
+    @Test
+    @DisplayName("처음 보는 값은 별도 pool 에서 등록하고 이후에는 캐싱된 id 사용")
+    void registerFirstSeenValue() {
+        // when
+        Integer first = analyticsDictionary.encode(DimensionType.USER_AGENT, "Mac Safari");
+        Integer second = analyticsDictionary.encode(DimensionType.USER_AGENT, "Mac Safari");
+        Integer other = analyticsDictionary.encode(DimensionType.REFERER, "Mac Safari");
+
+        // then
+        assertEquals(first, second);
+        assertNotEquals(first, other);
+        assertEquals(2, count());
+        verify(dimensionRepository, times(2)).findByTypeAndValue(any(DimensionType.class), anyString());
+    }
+
+    @Test
+    @DisplayName("같은 값을 여러 노드가 동시에 처음 등록해도 하나의 id 로 수렴")
+    void registerConcurrently() throws Exception {
+        // given
+        int threads = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> results = new ArrayList<>();
+
+        // when
+        for (int i = 0; i < threads; i++) {
+            // 노드마다 로컬 사전이 다르므로 각자 사전을 가진 것처럼 등록
+            AnalyticsDictionary node = new AnalyticsDictionary(dimensionRepository, dimensionWriter, 100);
+            results.add(executor.submit(() -> {
+                start.await();
+                return node.encode(DimensionType.LOCATION, "Seoul");
+            }));
+        }
+        start.countDown();
+
+        // then
+        Set<Integer> ids = new HashSet<>();
+        for (Future<Integer> result : results) {
+            ids.add(result.get(10, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+        assertEquals(1, ids.size());
+        assertEquals(1, count());
+    }
+
+    @Test
+    @DisplayName("null 은 등록하지 않음")
+    void encodeNull() {
+        assertNull(analyticsDictionary.encode(DimensionType.REFERER, null));
+        assertEquals(0, count());
+    }
+
+    private long count() {
+        return new JdbcTemplate(dataSource).queryForObject("SELECT COUNT(*) FROM analytics_dimension", Long.class);
+    }
+}
@@ -0,0 +1,98 @@
+package io.andy.shorten_url.link_analytics.journal;
+
+import io.andy.shorten_url.link_analytics.dto.ClickEvent;
+import io.andy.shorten_url.link_analytics.service.ClickEventPublisher;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ClickJournalReplayerTest {
+    @TempDir
+    Path directory;
+    @Mock private ClickEventPublisher clickEventPublisher;
+    private ClickJournal journal;
+    private ClickJournalReplayer replayer;
+    private final List<Long> recorded = new ArrayList<>();
+
+    @BeforeEach
+    void init() throws Exception {
+        journal = new ClickJournal(directory.toString(), 256, 0);
+        replayer = new ClickJournalReplayer(journal, clickEventPublisher, 2);
+        // 반영 후 batch 가 비워지므로 호출 시점에 복사
+        lenient().doAnswer(invocation -> {
+            List<ClickEvent> events = invocation.getArgument(0);
+            events.forEach(event -> recorded.add(event.linkId()));
+            return null;
+        }).when(clickEventPublisher).recordAll(anyList());
+    }
+
+    @AfterEach
+    void close() throws Exception {
+        journal.close();
+    }
+
+    @Test
+    @DisplayName("fsync 된 이벤트를 순서대로 반영하고 소비한 segment 삭제")
+    void replayAndDeleteSegments() throws Exception {
+        // given
+        for (long i = 1; i <= 10; i++) {
+            journal.append(ClickJournalTest.event(i)).get(5, TimeUnit.SECONDS);
+        }
+
+        // when
+        int replayed = replayer.replayOnce();
+
+        // then
+        assertEquals(10, replayed);
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L), recorded);
+        assertEquals(List.of(journal.durablePosition().segmentId()), ClickJournal.segmentIds(directory));
+        assertEquals(journal.durablePosition(), replayer.loadCheckpoint());
+    }
+
+    @Test
+    @DisplayName("checkpoint 이후 이벤트만 다시 반영")
+    void resumeFromCheckpoint() throws Exception {
+        // given
+        journal.append(ClickJournalTest.event(1L)).get(5, TimeUnit.SECONDS);
+        replayer.replayOnce();
+
+        // when
+        journal.append(ClickJournalTest.event(2L)).get(5, TimeUnit.SECONDS);
+        int replayed = replayer.replayOnce();
+
+        // then
+        assertEquals(1, replayed);
+        assertEquals(List.of(1L, 2L), recorded);
+    }
+
+    @Test
+    @DisplayName("반영 실패 시 checkpoint 를 옮기지 않음")
+    void keepCheckpointOnFailure() throws Exception {
+        // given
+        journal.append(ClickJournalTest.event(1L)).get(5, TimeUnit.SECONDS);
+        doThrow(new IllegalStateException("db down")).when(clickEventPublisher).recordAll(anyList());
+
+        // when
+        assertThrows(IllegalStateException.class, () -> replayer.replayOnce());
+
+        // then
+        assertEquals(JournalPosition.START, replayer.loadCheckpoint());
+    }
+}
@@ -0,0 +1,90 @@
+package io.andy.shorten_url.link_analytics.journal;
+
+import io.andy.shorten_url.link_analytics.dto.ClickEvent;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClickJournalTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("fsync 후 append future 완료 및 durable 위치 갱신")
+    void appendAndSync() throws Exception {
+        // given
+        ClickJournal journal = new ClickJournal(directory.toString(), 4096, 1);
+
+        // when
+        CompletableFuture<Void> first = journal.append(event(1L));
+        CompletableFuture<Void> second = journal.append(event(2L));
+        CompletableFuture.allOf(first, second).get(5, TimeUnit.SECONDS);
+
+        // then
+        JournalPosition durable = journal.durablePosition();
+        assertEquals(1L, durable.segmentId());
+        assertTrue(durable.offset() > 0);
+        journal.close();
+    }
+
+    @Test
+    @DisplayName("segment 가 가득 차면 다음 segment 로 교체")
+    void rotateSegment() throws Exception {
+        // given
+        ClickJournal journal = new ClickJournal(directory.toString(), 256, 0);
+
+        // when
+        for (long i = 0; i < 10; i++) {
+            journal.append(event(i)).get(5, TimeUnit.SECONDS);
+        }
+
+        // then
+        assertTrue(ClickJournal.segmentIds(directory).size() > 1);
+        journal.close();
+    }
+
+    @Test
+    @DisplayName("재시작 시 기존 segment 에 이어 쓰지 않고 새 segment 생성")
+    void reopenWithNewSegment() throws Exception {
+        // given
+        ClickJournal journal = new ClickJournal(directory.toString(), 4096, 0);
+        journal.append(event(1L)).get(5, TimeUnit.SECONDS);
+        journal.close();
+
+        // when
+        ClickJournal reopened = new ClickJournal(directory.toString(), 4096, 0);
+
+        // then
+        assertEquals(List.of(1L, 2L), ClickJournal.segmentIds(directory));
+        assertEquals(new JournalPosition(2L, 0), reopened.durablePosition());
+        reopened.close();
+    }
+
+    @Test
+    @DisplayName("journal record 직렬화")
+    void encodeAndDecode() {
+        // given
+        ClickEvent event = new ClickEvent(7L, "abc", "127.0.0.1", null, "https://www.google.com",
+                LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS), 3L);
+
+        // when
+        ClickEvent decoded = ClickJournalCodec.decode(ClickJournalCodec.encode(event));
+
+        // then
+        assertEquals(event, decoded);
+    }
+
+    static ClickEvent event(Long linkId) {
+        return ClickEvent.of(linkId, "path" + linkId, "127.0.0.1", "Mac Safari", null);
+    }
+}
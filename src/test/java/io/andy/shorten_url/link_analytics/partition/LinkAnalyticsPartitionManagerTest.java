@@ -0,0 +1,78 @@
+package io.andy.shorten_url.link_analytics.partition;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LinkAnalyticsPartitionManagerTest {
+    @Mock private JdbcTemplate jdbcTemplate;
+    private LinkAnalyticsPartitionManager partitionManager;
+
+    private static final LocalDate TODAY = LocalDate.of(2024, 10, 10);
+
+    @BeforeEach
+    void init() {
+        partitionManager = new LinkAnalyticsPartitionManager(jdbcTemplate, 2, 30);
+    }
+
+    @Test
+    @DisplayName("마지막 partition 이후부터 미래 partition 생성")
+    void addPartitions() {
+        // given
+        givenPartitions("p20241010", "p_future");
+
+        // when
+        partitionManager.maintain(TODAY);
+
+        // then
+        verify(jdbcTemplate, times(1)).execute(
+                "ALTER TABLE link_analytics REORGANIZE PARTITION p_future INTO ("
+                        + "PARTITION p20241011 VALUES LESS THAN (TO_DAYS('2024-10-12')), "
+                        + "PARTITION p20241012 VALUES LESS THAN (TO_DAYS('2024-10-13')), "
+                        + "PARTITION p_future VALUES LESS THAN MAXVALUE)");
+    }
+
+    @Test
+    @DisplayName("보관 기간이 지난 partition 삭제")
+    void dropExpiredPartitions() {
+        // given
+        givenPartitions("p20240901", "p20240909", "p20240910", "p20241010", "p20241011", "p20241012", "p_future");
+
+        // when
+        partitionManager.maintain(TODAY);
+
+        // then
+        verify(jdbcTemplate, times(1)).execute("ALTER TABLE link_analytics DROP PARTITION p20240901, p20240909");
+        verify(jdbcTemplate, never()).execute(startsWith("ALTER TABLE link_analytics REORGANIZE"));
+    }
+
+    @Test
+    @DisplayName("partition 되지 않은 테이블은 변경하지 않음")
+    void skipWithoutPartitions() {
+        // given
+        givenPartitions();
+
+        // when
+        partitionManager.maintain(TODAY);
+
+        // then
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+
+    private void givenPartitions(String... names) {
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), eq("link_analytics"))).thenReturn(List.of(names));
+    }
+}
@@ -0,0 +1,169 @@
+package io.andy.shorten_url.link_analytics.service;
+
+import io.andy.shorten_url.exception.client.NotFoundException;
+import io.andy.shorten_url.link.service.LinkService;
+import io.andy.shorten_url.link_analytics.dto.ClickEvent;
+import io.andy.shorten_url.link_analytics.dto.PutAccessLogDto;
+import io.andy.shorten_url.link_analytics.journal.ClickJournal;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ClickEventPublisherTest {
+    @Mock private LinkService linkService;
+    @Mock private LinkAnalyticsService linkAnalyticsService;
+    @Mock private TransactionTemplate transactionTemplate;
+    @Mock private ObjectProvider<ClickJournal> clickJournalProvider;
+    @Mock private ClickJournal clickJournal;
+    private ClickEventPublisher publisher;
+
+    @BeforeEach
+    void init() {
+        publisher = new ClickEventPublisher(linkService, linkAnalyticsService, transactionTemplate,
+                Schedulers.immediate(), clickJournalProvider);
+        lenient().doAnswer(invocation -> {
+            Consumer<TransactionStatus> action = invocation.getArgument(0);
+            action.accept(mock(TransactionStatus.class));
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    @Test
+    @DisplayName("journal 사용 시 journal 에만 기록하고 DB 반영은 replayer 에 맡김")
+    void publishToJournal() {
+        // given
+        ClickEvent event = event(1L);
+        when(clickJournalProvider.getIfAvailable()).thenReturn(clickJournal);
+        when(clickJournal.append(event)).thenReturn(CompletableFuture.completedFuture(null));
+
+        // when
+        publisher.publish(event);
+
+        // then
+        verify(clickJournal, times(1)).append(event);
+        verify(linkService, never()).countAccess(anyLong(), anyString(), anyLong());
+    }
+
+    @Test
+    @DisplayName("journal 기록 실패 시 DB 에 바로 반영")
+    void publishWhenJournalFails() {
+        // given
+        ClickEvent event = event(1L);
+        when(clickJournalProvider.getIfAvailable()).thenReturn(clickJournal);
+        when(clickJournal.append(event)).thenThrow(new UncheckedIOException(new IOException("disk full")));
+
+        // when
+        publisher.publish(event);
+
+        // then
+        verify(linkService, times(1)).countAccess(1L, "path1", 1L);
+        verify(linkAnalyticsService, times(1)).putAccessCount(eq(1L), any(PutAccessLogDto.class));
+    }
+
+    @Test
+    @DisplayName("journal 미사용 시 조회수와 접속 로그를 한 트랜잭션으로 반영")
+    void publishWithoutJournal() {
+        // given
+        ClickEvent event = ClickEvent.of(1L, "path1", "127.0.0.1", "Mac Safari", null, 4L);
+        when(clickJournalProvider.getIfAvailable()).thenReturn(null);
+
+        // when
+        publisher.publish(event);
+
+        // then
+        verify(transactionTemplate, times(1)).executeWithoutResult(any());
+        verify(linkService, times(1)).countAccess(1L, "path1", 4L);
+        verify(linkAnalyticsService, times(1)).putAccessCount(1L, event.toAccessLogDto());
+    }
+
+    @Test
+    @DisplayName("반영 실패는 리다이렉트 요청으로 전파하지 않음")
+    void publishFailureIsNotPropagated() {
+        // given
+        ClickEvent event = event(1L);
+        when(clickJournalProvider.getIfAvailable()).thenReturn(null);
+        doThrow(new NotFoundException("NOT FOUND LINK")).when(linkService).countAccess(1L, "path1", 1L);
+
+        // when
+        publisher.publish(event);
+
+        // then
+        verify(linkAnalyticsService, never()).putAccessCount(anyLong(), any(PutAccessLogDto.class));
+    }
+
+    @Test
+    @DisplayName("일괄 반영 실패 시 건별로 재시도하고 처리할 수 없는 이벤트만 건너뜀")
+    void recordAllRetriesOneByOne() {
+        // given
+        List<ClickEvent> events = List.of(event(1L), event(2L), event(3L));
+        doThrow(new NotFoundException("NOT FOUND LINK")).when(linkService).countAccess(2L, "path2", 1L);
+
+        // when
+        publisher.recordAll(events);
+
+        // then
+        verify(transactionTemplate, times(4)).executeWithoutResult(any());
+        verify(linkService, times(2)).countAccess(1L, "path1", 1L);
+        verify(linkService, times(1)).countAccess(3L, "path3", 1L);
+        verify(linkAnalyticsService, never()).putAccessCount(eq(2L), any(PutAccessLogDto.class));
+    }
+
+    @Test
+    @DisplayName("건별 재시도 중 예상하지 못한 예외도 해당 이벤트만 건너뛰어 checkpoint 가 진행되도록 함")
+    void recordAllSkipsUnexpectedFailure() {
+        // given
+        List<ClickEvent> events = List.of(event(1L), event(2L), event(3L));
+        doThrow(new DataIntegrityViolationException("too long")).when(linkAnalyticsService).putAccessCount(eq(2L), any(PutAccessLogDto.class));
+
+        // when
+        publisher.recordAll(events);
+
+        // then
+        verify(linkService, times(2)).countAccess(1L, "path1", 1L);
+        verify(linkService, times(1)).countAccess(3L, "path3", 1L);
+        verify(linkAnalyticsService, times(1)).putAccessCount(eq(3L), any(PutAccessLogDto.class));
+    }
+
+    @Test
+    @DisplayName("일시적인 DB 오류는 건너뛰지 않고 호출자에게 전달")
+    void recordAllPropagatesTransientFailure() {
+        // given
+        List<ClickEvent> events = List.of(event(1L), event(2L));
+        doThrow(new QueryTimeoutException("timeout")).when(linkService).countAccess(1L, "path1", 1L);
+
+        // when & then
+        assertThrows(QueryTimeoutException.class, () -> publisher.recordAll(events));
+        verify(linkService, never()).countAccess(2L, "path2", 1L);
+    }
+
+    private ClickEvent event(Long linkId) {
+        return ClickEvent.of(linkId, "path" + linkId, "127.0.0.1", "Mac Safari", null);
+    }
+}
@@ -0,0 +1,117 @@
+package io.andy.shorten_url.link_analytics.service;
+
+import io.andy.shorten_url.link_analytics.entity.LinkAnalyticsPurge;
+import io.andy.shorten_url.link_analytics.repository.LinkAnalyticsPurgeRepository;
+import io.andy.shorten_url.link_analytics.repository.LinkAnalyticsRepository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LinkAnalyticsPurgeJobTest {
+    @Mock private LinkAnalyticsRepository linkAnalyticsRepository;
+    @Mock private LinkAnalyticsPurgeRepository purgeRepository;
+    private LinkAnalyticsPurgeJob purgeJob;
+
+    private static final int CHUNK_SIZE = 100;
+
+    @BeforeEach
+    void init() {
+        purgeJob = new LinkAnalyticsPurgeJob(linkAnalyticsRepository, purgeRepository, CHUNK_SIZE, 0, 10);
+    }
+
+    @Test
+    @DisplayName("chunk 보다 적게 삭제될 때까지 반복 후 완료 처리")
+    void purgeUntilCompleted() {
+        // given
+        LocalDateTime purgeBefore = LocalDateTime.now();
+        LinkAnalyticsPurge purge = new LinkAnalyticsPurge(1L, purgeBefore);
+        purge.setDeletedCount(0L);
+
+        // when
+        when(purgeRepository.findByCompletedAtIsNullOrderByIdAsc()).thenReturn(List.of(purge));
+        when(linkAnalyticsRepository.deleteChunkByLinkId(1L, purgeBefore, CHUNK_SIZE)).thenReturn(CHUNK_SIZE, CHUNK_SIZE, 30);
+        purgeJob.run();
+
+        // then
+        verify(linkAnalyticsRepository, times(3)).deleteChunkByLinkId(1L, purgeBefore, CHUNK_SIZE);
+        assertEquals(230L, purge.getDeletedCount());
+        assertNotNull(purge.getCompletedAt());
+        verify(purgeRepository, times(1)).save(purge);
+    }
+
+    @Test
+    @DisplayName("한 번의 실행에서 최대 chunk 수까지만 삭제")
+    void boundedByMaxChunks() {
+        // given
+        LocalDateTime purgeBefore = LocalDateTime.now();
+        LinkAnalyticsPurge purge = new LinkAnalyticsPurge(1L, purgeBefore);
+        purge.setDeletedCount(0L);
+
+        // when
+        when(purgeRepository.findByCompletedAtIsNullOrderByIdAsc()).thenReturn(List.of(purge));
+        when(linkAnalyticsRepository.deleteChunkByLinkId(1L, purgeBefore, CHUNK_SIZE)).thenReturn(CHUNK_SIZE);
+        purgeJob.run();
+
+        // then
+        verify(linkAnalyticsRepository, times(10)).deleteChunkByLinkId(1L, purgeBefore, CHUNK_SIZE);
+        assertEquals(1000L, purge.getDeletedCount());
+        assertNull(purge.getCompletedAt());
+    }
+
+    @Test
+    @DisplayName("공용 scheduler thread 가 아닌 전용 thread 에서 실행")
+    void runOnDedicatedThread() throws Exception {
+        // given
+        AtomicReference<String> threadName = new AtomicReference<>();
+        CountDownLatch finished = new CountDownLatch(1);
+        when(purgeRepository.findByCompletedAtIsNullOrderByIdAsc()).thenAnswer(invocation -> {
+            threadName.set(Thread.currentThread().getName());
+            finished.countDown();
+            return List.of();
+        });
+
+        // when
+        purgeJob.schedule();
+
+        // then
+        assertTrue(finished.await(5, TimeUnit.SECONDS));
+        assertEquals("link-analytics-purge", threadName.get());
+        purgeJob.close();
+    }
+
+    @Test
+    @DisplayName("종료 요청 시 다음 chunk 전에 진행 상황을 저장하고 멈춤")
+    void stopOnClose() throws Exception {
+        // given
+        LocalDateTime purgeBefore = LocalDateTime.now();
+        LinkAnalyticsPurge purge = new LinkAnalyticsPurge(1L, purgeBefore);
+        purge.setDeletedCount(0L);
+        when(purgeRepository.findByCompletedAtIsNullOrderByIdAsc()).thenReturn(List.of(purge));
+        when(linkAnalyticsRepository.deleteChunkByLinkId(1L, purgeBefore, CHUNK_SIZE)).thenReturn(CHUNK_SIZE);
+
+        // when
+        purgeJob.close();
+        purgeJob.run();
+        purgeJob.schedule();
+
+        // then
+        verify(linkAnalyticsRepository, times(1)).deleteChunkByLinkId(1L, purgeBefore, CHUNK_SIZE);
+        assertEquals(100L, purge.getDeletedCount());
+        verify(purgeRepository, times(1)).save(purge);
+    }
+}
@@ -2,9 +2,17 @@ package io.andy.shorten_url.link_analytics.service;
 
 import io.andy.shorten_url.link.constant.LinkState;
 import io.andy.shorten_url.link.entity.Link;
+import io.andy.shorten_url.link_analytics.constant.DimensionType;
+import io.andy.shorten_url.link_analytics.dictionary.AnalyticsDictionary;
+import io.andy.shorten_url.link_analytics.dto.LinkAnalyticsDto;
 import io.andy.shorten_url.link_analytics.dto.PutAccessLogDto;
 import io.andy.shorten_url.link_analytics.entity.LinkAnalytics;
+import io.andy.shorten_url.link_analytics.entity.LinkAnalyticsPurge;
+import io.andy.shorten_url.link_analytics.repository.LinkAnalyticsPurgeRepository;
 import io.andy.shorten_url.link_analytics.repository.LinkAnalyticsRepository;
+import io.andy.shorten_url.link_analytics.topk.LinkTopKAggregator;
+import io.andy.shorten_url.link_analytics.visitor.UniqueVisitorCounter;
+import io.andy.shorten_url.util.ip.IpAddressCodec;
 import io.andy.shorten_url.util.ip.IpApiResponse;
 import io.andy.shorten_url.util.ip.IpLocationUtils;
 
@@ -13,7 +21,6 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -22,13 +29,19 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ActiveProfiles("test")
@@ -36,7 +49,19 @@ import static org.mockito.Mockito.*;
 class LinkAnalyticsServiceTest {
     @Mock private LinkAnalyticsRepository repository;
     @Mock private IpLocationUtils ipLocationUtils;
-    @InjectMocks private LinkAnalyticsServiceImpl linkAnalyticsService;
+    @Mock private LinkAnalyticsPurgeRepository purgeRepository;
+    @Mock private AnalyticsDictionary analyticsDictionary;
+    @Mock private UniqueVisitorCounter uniqueVisitorCounter;
+    @Mock private LinkTopKAggregator linkTopKAggregator;
+    @Mock private ClickEventListener clickEventListener;
+    @Mock private PlatformTransactionManager transactionManager;
+    private LinkAnalyticsServiceImpl linkAnalyticsService;
+
+    @BeforeEach
+    void init() {
+        linkAnalyticsService = new LinkAnalyticsServiceImpl(repository, ipLocationUtils, purgeRepository,
+                analyticsDictionary, uniqueVisitorCounter, linkTopKAggregator, List.of(clickEventListener), transactionManager);
+    }
 
     @Test
     @DisplayName("link counter 저장")
@@ -50,21 +75,63 @@ class LinkAnalyticsServiceTest {
                 .userAgent("mac safari")
                 .referer("www.google.com")
                 .build();
-        LinkAnalytics analytics = new LinkAnalytics(link.getId(), dto);
-
         IpApiResponse apiResponse = IpApiResponse.builder()
                 .country(location)
                 .build();
 
         // when
         when(ipLocationUtils.getLocationByIp(dto.getIpAddress())).thenReturn(apiResponse);
-        when(repository.save(analytics)).thenReturn(analytics);
+        when(analyticsDictionary.encode(DimensionType.USER_AGENT, "mac safari")).thenReturn(1);
+        when(analyticsDictionary.encode(DimensionType.LOCATION, "KR")).thenReturn(2);
+        when(analyticsDictionary.encode(DimensionType.REFERER, "www.google.com")).thenReturn(3);
         linkAnalyticsService.putAccessCount(link.getId(), dto);
 
         // then
+        verify(repository, times(1)).save(argThat(analytics -> analytics.getUserAgentId() == 1
+                && analytics.getLocationId() == 2
+                && analytics.getRefererId() == 3
+                && analytics.getIpAddress().length == 4));
+        verify(clickEventListener, times(1)).onClick(link.getId(), dto);
+    }
+
+    @Test
+    @DisplayName("집계 listener 실패는 접속 로그 저장에 영향 없음")
+    void putAccessCountWithFailingListener() {
+        // given
+        PutAccessLogDto dto = PutAccessLogDto.builder()
+                .ipAddress("127.0.0.1")
+                .location("KR")
+                .userAgent("mac safari")
+                .referer("www.google.com")
+                .build();
+
+        // when
+        when(ipLocationUtils.getLocationByIp(dto.getIpAddress())).thenReturn(IpApiResponse.builder().country("KR").build());
+        doThrow(new IllegalStateException("redis down")).when(clickEventListener).onClick(1L, dto);
+
+        // then
+        assertDoesNotThrow(() -> linkAnalyticsService.putAccessCount(1L, dto));
         verify(repository, times(1)).save(any(LinkAnalytics.class));
     }
 
+    @Test
+    @DisplayName("IP 조회 결과의 국가 코드를 지역으로 저장, 조회 실패 시 unknown")
+    void putAccessCountWithCountryCode() {
+        // given
+        PutAccessLogDto found = PutAccessLogDto.builder().ipAddress("1.1.1.1").build();
+        PutAccessLogDto notFound = PutAccessLogDto.builder().ipAddress("10.0.0.1").build();
+
+        // when
+        when(ipLocationUtils.getLocationByIp("1.1.1.1")).thenReturn(IpApiResponse.builder().status("success").countryCode("AU").build());
+        when(ipLocationUtils.getLocationByIp("10.0.0.1")).thenReturn(IpApiResponse.unknown("10.0.0.1"));
+        linkAnalyticsService.putAccessCount(1L, found);
+        linkAnalyticsService.putAccessCount(1L, notFound);
+
+        // then
+        verify(analyticsDictionary, times(1)).encode(DimensionType.LOCATION, "AU");
+        verify(analyticsDictionary, times(1)).encode(DimensionType.LOCATION, IpApiResponse.UNKNOWN);
+    }
+
     @ParameterizedTest
     @DisplayName("최근 3일 이내 생성된 link counter 조회")
     @ValueSource(ints = 3)
@@ -79,24 +146,33 @@ class LinkAnalyticsServiceTest {
                 .referer("www.google.com")
                 .build();
 
-        LinkAnalytics analytic1 = new LinkAnalytics(linkId, dto);
-        analytic1.setCreatedAt(now.minusDays(5));
-        LinkAnalytics analytic2 = new LinkAnalytics(linkId, dto);
-        analytic2.setCreatedAt(now.minusDays(3));
-        LinkAnalytics analytic3 = new LinkAnalytics(linkId, dto);
-        analytic3.setCreatedAt(now.minusDays(2));
+        LinkAnalytics analytic = new LinkAnalytics(linkId, IpAddressCodec.encode(dto.getIpAddress()), 1, 2, 3);
+        analytic.setCreatedAt(now.minusDays(2));
 
-        List<LinkAnalytics> list = Arrays.asList(analytic1, analytic2, analytic3);
+        List<LinkAnalytics> list = Arrays.asList(analytic);
         Pageable pageable = PageRequest.of(0, 10);
         Page<LinkAnalytics> page = new PageImpl<>(list, pageable, list.size());
 
         // when
-        when(repository.findByLinkId(linkId, pageable)).thenReturn(page);
-        Page<LinkAnalytics> result = linkAnalyticsService.findLatestLinkCountsWithinNdays(linkId, days, pageable);
+        when(repository.findByLinkIdAndCreatedAtAfter(eq(linkId), any(LocalDateTime.class), any(Pageable.class))).thenReturn(page);
+        when(analyticsDictionary.decode(DimensionType.USER_AGENT, 1)).thenReturn(dto.getUserAgent());
+        when(analyticsDictionary.decode(DimensionType.LOCATION, 2)).thenReturn(dto.getLocation());
+        when(analyticsDictionary.decode(DimensionType.REFERER, 3)).thenReturn(dto.getReferer());
+        Page<LinkAnalyticsDto> result = linkAnalyticsService.findLatestLinkCountsWithinNdays(linkId, days, pageable);
 
         // then
-        assertEquals(1, result.stream().count());
-        assertEquals(analytic3, result.getContent().get(0));
+        assertEquals(1, result.getTotalElements());
+        LinkAnalyticsDto analyticDto = result.getContent().get(0);
+        assertEquals(analytic.getCreatedAt(), analyticDto.createdAt());
+        assertEquals(dto.getIpAddress(), analyticDto.ipAddress());
+        assertEquals(dto.getUserAgent(), analyticDto.userAgent());
+        assertEquals(dto.getLocation(), analyticDto.location());
+        assertEquals(dto.getReferer(), analyticDto.referer());
+        verify(repository, times(1)).findByLinkIdAndCreatedAtAfter(
+                eq(linkId),
+                argThat(from -> !from.isBefore(now.minusDays(days))),
+                argThat(sorted -> sorted.getSort().getOrderFor("createdAt") != null));
+        verify(repository, never()).findByLinkId(any(), any());
     }
 
     @Test
@@ -106,11 +182,52 @@ class LinkAnalyticsServiceTest {
         Long linkId = 999L;
 
         // when
-        when(repository.countByLinkId(linkId)).thenReturn(10L);
-        doNothing().when(repository).deleteByLinkId(linkId);
+        when(purgeRepository.save(any(LinkAnalyticsPurge.class))).thenAnswer(invocation -> invocation.getArgument(0));
         linkAnalyticsService.deleteAccessCountsByLinkId(linkId);
 
         // then
-        verify(repository, times(1)).deleteByLinkId(linkId);
+        verify(purgeRepository, times(1)).save(argThat(purge -> purge.getLinkId().equals(linkId)));
+        verify(repository, never()).deleteByLinkId(linkId);
+    }
+
+    @Test
+    @DisplayName("트랜잭션 안에서 요청한 link counter 삭제는 커밋 이후에 기록")
+    void deleteAccessCountAfterCommit() {
+        // given
+        Long linkId = 999L;
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // when
+            linkAnalyticsService.deleteAccessCountsByLinkId(linkId);
+            verify(purgeRepository, never()).save(any());
+            when(purgeRepository.save(any(LinkAnalyticsPurge.class))).thenAnswer(invocation -> invocation.getArgument(0));
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+            // then
+            verify(purgeRepository, times(1)).save(argThat(purge -> purge.getLinkId().equals(linkId)
+                    && purge.getPurgeBefore().getNano() % 1000 == 0));
+            verify(transactionManager, times(1)).commit(any());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("삭제 요청 이전의 link counter 는 조회에서 제외")
+    void excludePurgedAccessCounts() {
+        // given
+        Long linkId = 999L;
+        LocalDateTime purgeBefore = LocalDateTime.now().minusHours(1);
+        Pageable pageable = PageRequest.of(0, 10);
+        Page<LinkAnalytics> page = new PageImpl<>(List.of(), pageable, 0);
+
+        // when
+        when(purgeRepository.findTopByLinkIdOrderByPurgeBeforeDesc(linkId))
+                .thenReturn(Optional.of(new LinkAnalyticsPurge(linkId, purgeBefore)));
+        when(repository.findByLinkIdAndCreatedAtNotBefore(linkId, purgeBefore, pageable)).thenReturn(page);
+        linkAnalyticsService.findAccessCountsByLinkId(linkId, pageable);
+
+        // then
+        verify(repository, never()).findByLinkId(any(), any());
     }
 }
\ No newline at end of file
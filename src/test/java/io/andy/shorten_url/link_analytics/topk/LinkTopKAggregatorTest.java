@@ -0,0 +1,116 @@
+package io.andy.shorten_url.link_analytics.topk;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.andy.shorten_url.link_analytics.constant.DimensionType;
+import io.andy.shorten_url.link_analytics.dto.PutAccessLogDto;
+import io.andy.shorten_url.link_analytics.entity.LinkTopK;
+import io.andy.shorten_url.link_analytics.repository.LinkTopKRepository;
+import io.andy.shorten_url.util.sketch.SpaceSaving;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LinkTopKAggregatorTest {
+    @Mock private LinkTopKRepository topKRepository;
+    @Mock private TransactionTemplate transactionTemplate;
+    private LinkTopKAggregator aggregator;
+
+    private static final Long LINK_ID = 1L;
+
+    @BeforeEach
+    void init() {
+        aggregator = new LinkTopKAggregator(topKRepository, transactionTemplate, new ObjectMapper(), 8, 31);
+        lenient().doAnswer(invocation -> {
+            Consumer<TransactionStatus> action = invocation.getArgument(0);
+            action.accept(mock(TransactionStatus.class));
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    @Test
+    @DisplayName("반영 전 로컬 변화량으로 top-K 조회")
+    void findTopFromPending() {
+        // given
+        LocalDate today = LocalDate.now();
+        click("https://google.com", 3);
+        click("https://github.com", 1);
+        click("", 2);
+
+        // when
+        when(topKRepository.findByLinkIdAndTypeAndDayBetween(LINK_ID, DimensionType.REFERER, today, today)).thenReturn(List.of());
+        List<SpaceSaving.Counter<String>> result = aggregator.findTop(LINK_ID, DimensionType.REFERER, today, today, 2);
+
+        // then
+        assertEquals(2, result.size());
+        assertEquals("https://google.com", result.get(0).item());
+        assertEquals(3, result.get(0).count());
+        assertEquals(LinkTopKAggregator.DIRECT, result.get(1).item());
+    }
+
+    @Test
+    @DisplayName("저장된 요약에 변화량을 합쳐서 저장")
+    void flushMergesWithStoredSummary() throws Exception {
+        // given
+        LocalDate today = LocalDate.now();
+        LinkTopK stored = new LinkTopK(LINK_ID, today, DimensionType.REFERER);
+        stored.setSummary(new ObjectMapper().writeValueAsString(List.of(new SpaceSaving.Counter<>("https://google.com", 10L, 0L))));
+        click("https://google.com", 2);
+
+        // when
+        when(topKRepository.findForUpdate(eq(LINK_ID), eq(today), any(DimensionType.class))).thenReturn(Optional.empty());
+        when(topKRepository.findForUpdate(LINK_ID, today, DimensionType.REFERER)).thenReturn(Optional.of(stored));
+        aggregator.flush();
+
+        // then
+        ArgumentCaptor<LinkTopK> captor = ArgumentCaptor.forClass(LinkTopK.class);
+        verify(topKRepository, times(3)).save(captor.capture());
+        assertTrue(stored.getSummary().contains("\"count\":12"));
+        assertEquals(0, aggregator.pendingSize());
+    }
+
+    @Test
+    @DisplayName("저장 실패 시 변화량을 유지하고 다음 주기에 다시 반영")
+    void keepPendingOnFailure() {
+        // given
+        click("https://google.com", 1);
+
+        // when
+        when(topKRepository.findForUpdate(any(), any(), any())).thenThrow(new IllegalStateException("db down"));
+        aggregator.flush();
+
+        // then
+        assertEquals(3, aggregator.pendingSize());
+    }
+
+    private void click(String referer, int times) {
+        PutAccessLogDto dto = PutAccessLogDto.builder()
+                .ipAddress("127.0.0.1")
+                .userAgent("Mac Safari")
+                .location("KR")
+                .referer(referer)
+                .build();
+        for (int i = 0; i < times; i++) {
+            aggregator.onClick(LINK_ID, dto);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package io.andy.shorten_url.link_analytics.trending;
+
+import io.andy.shorten_url.exception.client.BadRequestException;
+import io.andy.shorten_url.link_analytics.constant.TrendingWindow;
+import io.andy.shorten_url.link_analytics.dto.PutAccessLogDto;
+import io.andy.shorten_url.link_analytics.dto.TrendingLinkDto;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.DefaultTypedTuple;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TrendingLinkTrackerTest {
+    @Mock private StringRedisTemplate stringRedisTemplate;
+    @Mock private ZSetOperations<String, String> zSetOperations;
+    private TrendingLinkTracker trendingLinkTracker;
+
+    @BeforeEach
+    void init() {
+        trendingLinkTracker = new TrendingLinkTracker(stringRedisTemplate, 5000);
+    }
+
+    @Test
+    @DisplayName("window 에 해당하는 bucket key 생성")
+    void bucketKeys() {
+        long now = 10 * 60_000L + 30_000L;
+
+        List<String> minuteKeys = TrendingLinkTracker.bucketKeys(TrendingWindow.FIVE_MINUTES, now);
+        List<String> hourKeys = TrendingLinkTracker.bucketKeys(TrendingWindow.ONE_DAY, now);
+
+        assertEquals(List.of("link:trending:m:10", "link:trending:m:9", "link:trending:m:8", "link:trending:m:7", "link:trending:m:6"), minuteKeys);
+        assertEquals(24, hourKeys.size());
+        assertEquals("link:trending:h:0", hourKeys.get(0));
+    }
+
+    @Test
+    @DisplayName("합산된 window 에서 클릭 수 순으로 조회")
+    void findTop() {
+        // given
+        Set<ZSetOperations.TypedTuple<String>> tuples = new LinkedHashSet<>();
+        tuples.add(new DefaultTypedTuple<>("3", 30.0));
+        tuples.add(new DefaultTypedTuple<>("1", 10.0));
+
+        // when
+        when(stringRedisTemplate.hasKey("link:trending:w:1h")).thenReturn(true);
+        when(stringRedisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        when(zSetOperations.reverseRangeWithScores("link:trending:w:1h", 0, 1)).thenReturn(tuples);
+        List<TrendingLinkDto> result = trendingLinkTracker.findTop(TrendingWindow.ONE_HOUR, 2);
+
+        // then
+        assertEquals(List.of(new TrendingLinkDto(3L, 30L), new TrendingLinkDto(1L, 10L)), result);
+    }
+
+    @Test
+    @DisplayName("Redis 반영 실패 시 클릭 수를 유지")
+    void keepPendingOnFailure() {
+        // given
+        trendingLinkTracker.onClick(1L, PutAccessLogDto.builder().build());
+        trendingLinkTracker.onClick(1L, PutAccessLogDto.builder().build());
+
+        // when
+        when(stringRedisTemplate.executePipelined(any(RedisCallback.class)))
+                .thenThrow(new RedisConnectionFailureException("redis down"));
+        trendingLinkTracker.flush();
+
+        // then
+        assertEquals(2L, trendingLinkTracker.pending(1L));
+    }
+
+    @Test
+    @DisplayName("한 주기 동안 클릭이 없던 링크는 제거")
+    void evictIdleLink() {
+        // given
+        trendingLinkTracker.onClick(1L, PutAccessLogDto.builder().build());
+        trendingLinkTracker.onClick(2L, PutAccessLogDto.builder().build());
+        trendingLinkTracker.flush();
+
+        // when
+        trendingLinkTracker.onClick(2L, PutAccessLogDto.builder().build());
+        trendingLinkTracker.flush();
+
+        // then
+        assertEquals(1, trendingLinkTracker.size());
+        assertEquals(0L, trendingLinkTracker.pending(1L));
+        verify(stringRedisTemplate, times(2)).executePipelined(any(RedisCallback.class));
+    }
+
+    @Test
+    @DisplayName("종료 시 남은 클릭 수를 반영")
+    void flushOnClose() {
+        // given
+        trendingLinkTracker.onClick(1L, PutAccessLogDto.builder().build());
+
+        // when
+        trendingLinkTracker.close();
+
+        // then
+        verify(stringRedisTemplate, times(1)).executePipelined(any(RedisCallback.class));
+        assertEquals(0L, trendingLinkTracker.pending(1L));
+    }
+
+    @Test
+    @DisplayName("지원하지 않는 window 는 예외 발생")
+    void invalidWindow() {
+        assertThrows(BadRequestException.class, () -> TrendingWindow.fromLabel("7d"));
+    }
+}
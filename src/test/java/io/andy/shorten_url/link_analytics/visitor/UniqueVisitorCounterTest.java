@@ -0,0 +1,100 @@
+package io.andy.shorten_url.link_analytics.visitor;
+
+import io.andy.shorten_url.exception.client.BadRequestException;
+import io.andy.shorten_url.link_analytics.dto.PutAccessLogDto;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import org.springframework.data.redis.core.HyperLogLogOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UniqueVisitorCounterTest {
+    @Mock private StringRedisTemplate stringRedisTemplate;
+    @Mock private HyperLogLogOperations<String, String> hyperLogLogOperations;
+    private UniqueVisitorCounter uniqueVisitorCounter;
+
+    @BeforeEach
+    void init() {
+        uniqueVisitorCounter = new UniqueVisitorCounter(stringRedisTemplate, 400, 31);
+        lenient().when(stringRedisTemplate.opsForHyperLogLog()).thenReturn(hyperLogLogOperations);
+    }
+
+    @Test
+    @DisplayName("IP 와 user agent 조합으로 오늘 sketch 에 추가")
+    void onClick() {
+        // given
+        PutAccessLogDto dto = PutAccessLogDto.builder()
+                .ipAddress("127.0.0.1")
+                .userAgent("Mac Safari")
+                .build();
+        String key = UniqueVisitorCounter.key(1L, LocalDate.now());
+
+        // when
+        when(hyperLogLogOperations.add(key, "127.0.0.1|Mac Safari")).thenReturn(1L);
+        uniqueVisitorCounter.onClick(1L, dto);
+
+        // then
+        verify(stringRedisTemplate, times(1)).expire(eq(key), any(Duration.class));
+    }
+
+    @Test
+    @DisplayName("샘플링된 방문자는 weight 개의 가상 방문자로 추가")
+    void onWeightedClick() {
+        // given
+        PutAccessLogDto dto = PutAccessLogDto.builder()
+                .ipAddress("127.0.0.1")
+                .userAgent("Mac Safari")
+                .weight(3L)
+                .build();
+        String key = UniqueVisitorCounter.key(1L, LocalDate.now());
+
+        // when
+        when(hyperLogLogOperations.add(key, "127.0.0.1|Mac Safari", "127.0.0.1|Mac Safari#1", "127.0.0.1|Mac Safari#2")).thenReturn(1L);
+        uniqueVisitorCounter.onClick(1L, dto);
+
+        // then
+        verify(stringRedisTemplate, times(1)).expire(eq(key), any(Duration.class));
+    }
+
+    @Test
+    @DisplayName("기간 내 일별 sketch 를 합쳐서 조회")
+    void countRange() {
+        // given
+        LocalDate from = LocalDate.of(2024, 10, 1);
+        LocalDate to = LocalDate.of(2024, 10, 3);
+
+        // when
+        when(hyperLogLogOperations.size("link:uv:1:20241001", "link:uv:1:20241002", "link:uv:1:20241003")).thenReturn(42L);
+        long result = uniqueVisitorCounter.count(1L, from, to);
+
+        // then
+        assertEquals(42L, result);
+    }
+
+    @Test
+    @DisplayName("최대 조회 기간을 넘으면 예외 발생")
+    void rangeTooLong() {
+        // given
+        LocalDate from = LocalDate.of(2024, 1, 1);
+        LocalDate to = LocalDate.of(2024, 12, 31);
+
+        // when & then
+        assertThrows(BadRequestException.class, () -> uniqueVisitorCounter.count(1L, from, to));
+        verify(hyperLogLogOperations, never()).size(anyString());
+    }
+}
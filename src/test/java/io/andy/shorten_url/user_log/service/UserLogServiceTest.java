@@ -0,0 +1,126 @@
+package io.andy.shorten_url.user_log.service;
+
+import io.andy.shorten_url.exception.client.BadRequestException;
+import io.andy.shorten_url.user_log.constant.UserLogMessage;
+import io.andy.shorten_url.user_log.dto.UserLogCursor;
+import io.andy.shorten_url.user_log.dto.UserLogDto;
+import io.andy.shorten_url.user_log.dto.UserLogPageDto;
+import io.andy.shorten_url.user_log.entity.UserLog;
+import io.andy.shorten_url.user_log.repository.UserLogRepository;
+import io.andy.shorten_url.user_log.writer.UserLogWriter;
+
+import jakarta.persistence.EntityManager;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserLogServiceTest {
+    @Mock private UserLogRepository userLogRepository;
+    @Mock private UserLogWriter userLogWriter;
+    @Mock private EntityManager entityManager;
+    @Mock private PlatformTransactionManager transactionManager;
+    private UserLogServiceImpl userLogService;
+
+    private final LocalDateTime now = LocalDateTime.of(2024, 9, 1, 12, 0);
+
+    @BeforeEach
+    void init() {
+        userLogService = new UserLogServiceImpl(userLogRepository, userLogWriter, entityManager, transactionManager);
+    }
+
+    private UserLog userLog(long id, LocalDateTime createdAt) {
+        UserLog userLog = new UserLog();
+        userLog.setId(id);
+        userLog.setUserId(1L);
+        userLog.setMessage(UserLogMessage.LOGIN);
+        userLog.setCreatedAt(createdAt);
+        return userLog;
+    }
+
+    @Test
+    @DisplayName("첫 페이지 조회 시 size + 1 건을 읽어 다음 cursor 생성")
+    void findFirstPage() {
+        // given
+        List<UserLog> userLogs = List.of(userLog(3L, now), userLog(2L, now), userLog(1L, now.minusMinutes(1)));
+
+        // when
+        when(userLogRepository.findByUserIdOrderByCreatedAtDescIdDesc(eq(1L), any(Pageable.class))).thenReturn(userLogs);
+        UserLogPageDto page = userLogService.findUserLogsByUserId(1L, null, 2);
+
+        // then
+        assertEquals(List.of(3L, 2L), page.items().stream().map(UserLogDto::id).toList());
+        assertEquals(new UserLogCursor(now, 2L), UserLogCursor.decode(page.nextCursor()));
+        verify(userLogRepository).findByUserIdOrderByCreatedAtDescIdDesc(eq(1L), argThat(pageable -> pageable.getPageSize() == 3));
+    }
+
+    @Test
+    @DisplayName("cursor 이후 페이지 조회, 마지막 페이지는 다음 cursor 없음")
+    void findNextPage() {
+        // given
+        String cursor = new UserLogCursor(now, 2L).encode();
+
+        // when
+        when(userLogRepository.findByMessageBefore(eq(UserLogMessage.LOGIN), eq(now), eq(2L), any(Pageable.class)))
+                .thenReturn(List.of(userLog(1L, now.minusMinutes(1))));
+        UserLogPageDto page = userLogService.findUserLogsByMessage(UserLogMessage.LOGIN, cursor, 2);
+
+        // then
+        assertEquals(1, page.items().size());
+        assertNull(page.nextCursor());
+        verify(userLogRepository, never()).findByMessageOrderByCreatedAtDescIdDesc(any(), any());
+    }
+
+    @Test
+    @DisplayName("잘못된 cursor, page size 는 BadRequest")
+    void invalidPageRequest() {
+        assertThrows(BadRequestException.class, () -> userLogService.findUserLogsByUserId(1L, "not-a-cursor", 10));
+        assertThrows(BadRequestException.class, () -> userLogService.findUserLogsByUserId(1L, null, 0));
+        assertThrows(BadRequestException.class,
+                () -> userLogService.findUserLogsByUserId(1L, null, UserLogServiceImpl.MAX_PAGE_SIZE + 1));
+    }
+
+    @Test
+    @DisplayName("stream 조회는 keyset chunk 마다 짧은 트랜잭션으로 읽고 엔티티를 detach")
+    void streamUserLogs() {
+        // given
+        List<UserLog> firstChunk = new ArrayList<>();
+        for (int i = 0; i < UserLogServiceImpl.STREAM_CHUNK_SIZE; i++) {
+            firstChunk.add(userLog(1_000L - i, now));
+        }
+        UserLog last = firstChunk.get(firstChunk.size() - 1);
+        List<UserLogDto> received = new ArrayList<>();
+
+        // when
+        when(userLogRepository.findByUserIdOrderByCreatedAtDescIdDesc(eq(1L), any(Pageable.class))).thenReturn(firstChunk);
+        when(userLogRepository.findByUserIdBefore(eq(1L), eq(last.getCreatedAt()), eq(last.getId()), any(Pageable.class)))
+                .thenReturn(List.of(userLog(1L, now.minusMinutes(1))));
+        long count = userLogService.streamUserLogsByUserId(1L, received::add);
+
+        // then
+        assertEquals(UserLogServiceImpl.STREAM_CHUNK_SIZE + 1L, count);
+        assertEquals(1_000L, received.get(0).id());
+        assertEquals(1L, received.get(received.size() - 1).id());
+        verify(entityManager, times(UserLogServiceImpl.STREAM_CHUNK_SIZE + 1)).detach(any(UserLog.class));
+        verify(transactionManager, times(2)).getTransaction(any());
+        verify(transactionManager, times(2)).commit(any());
+    }
+}
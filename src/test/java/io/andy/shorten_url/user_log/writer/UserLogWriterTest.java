@@ -0,0 +1,134 @@
+package io.andy.shorten_url.user_log.writer;
+
+import io.andy.shorten_url.user.constant.UserRole;
+import io.andy.shorten_url.user.constant.UserState;
+import io.andy.shorten_url.user_log.constant.UserLogMessage;
+import io.andy.shorten_url.user_log.constant.UserLogWriteMode;
+import io.andy.shorten_url.user_log.dto.AccessUserInfoDto;
+import io.andy.shorten_url.user_log.entity.UserLog;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class UserLogWriterTest {
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+    private final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+    private UserLogWriter writer;
+
+    @AfterEach
+    void close() throws InterruptedException {
+        writer.close();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void recordBatches(CountDownLatch release) {
+        when(jdbcTemplate.batchUpdate(eq(UserLogWriter.INSERT_SQL), any(Collection.class), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenAnswer(invocation -> {
+                    batchSizes.add(((Collection<?>) invocation.getArgument(1)).size());
+                    // writer 스레드만 대기시켜 queue 가 쌓이도록 함
+                    if (Thread.currentThread().getName().equals("user-log-writer")) {
+                        release.await(5, TimeUnit.SECONDS);
+                    }
+                    return new int[0][];
+                });
+    }
+
+    private UserLog userLog(long userId) {
+        return new UserLog(new AccessUserInfoDto(userId, UserRole.USER, UserState.NORMAL, UserLogMessage.LOGIN, "127.0.0.1", "Mac Chrome"));
+    }
+
+    @Test
+    @DisplayName("ASYNC 모드는 저장을 기다리지 않고, 쌓인 로그를 batch 로 저장")
+    void writeAsyncInBatch() throws InterruptedException {
+        // given
+        CountDownLatch release = new CountDownLatch(1);
+        recordBatches(release);
+        writer = new UserLogWriter(jdbcTemplate, transactionTemplate, UserLogWriteMode.ASYNC, 100, 50, 10, 10, 1000);
+
+        // when
+        for (long userId = 1; userId <= 120; userId++) {
+            writer.write(userLog(userId));
+        }
+        release.countDown();
+        writer.close();
+
+        // then
+        assertEquals(120, batchSizes.stream().mapToInt(Integer::intValue).sum());
+        assertTrue(batchSizes.stream().allMatch(size -> size <= 50));
+        assertTrue(batchSizes.size() < 120);
+        assertEquals(0, writer.pendingSize());
+    }
+
+    @Test
+    @DisplayName("FLUSH 모드는 batch 저장이 끝난 뒤 반환")
+    void writeAndWaitForFlush() {
+        // given
+        CountDownLatch release = new CountDownLatch(0);
+        recordBatches(release);
+        writer = new UserLogWriter(jdbcTemplate, transactionTemplate, UserLogWriteMode.FLUSH, 100, 50, 10, 10, 1000);
+
+        // when
+        writer.write(userLog(1L));
+
+        // then
+        assertEquals(List.of(1), batchSizes);
+    }
+
+    @Test
+    @DisplayName("queue 가 가득 차면 호출 스레드에서 직접 저장")
+    void writeDirectlyWhenQueueIsFull() throws InterruptedException {
+        // given
+        CountDownLatch release = new CountDownLatch(1);
+        recordBatches(release);
+        writer = new UserLogWriter(jdbcTemplate, transactionTemplate, UserLogWriteMode.ASYNC, 1, 1, 10, 10, 1000);
+
+        // when
+        writer.write(userLog(1L)); // writer 스레드가 batch 저장에서 대기
+        Thread.sleep(100);
+        writer.write(userLog(2L)); // queue 에 들어감
+        writer.write(userLog(3L)); // queue 가 가득 차 직접 저장
+
+        // then
+        assertEquals(List.of(1, 1), batchSizes);
+        release.countDown();
+        writer.close();
+        assertEquals(3, batchSizes.stream().mapToInt(Integer::intValue).sum());
+    }
+
+    @Test
+    @DisplayName("batch 저장 실패 시 건별로 재시도")
+    @SuppressWarnings("unchecked")
+    void retryOneByOne() throws InterruptedException {
+        // given
+        when(jdbcTemplate.batchUpdate(eq(UserLogWriter.INSERT_SQL), any(Collection.class), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenThrow(new DataIntegrityViolationException("user_id is null"));
+        writer = new UserLogWriter(jdbcTemplate, transactionTemplate, UserLogWriteMode.ASYNC, 100, 50, 10, 10, 1000);
+
+        // when
+        writer.write(userLog(1L));
+        writer.write(userLog(2L));
+        writer.close();
+
+        // then
+        verify(jdbcTemplate, times(2)).update(eq(UserLogWriter.INSERT_SQL), any(PreparedStatementSetter.class));
+    }
+}
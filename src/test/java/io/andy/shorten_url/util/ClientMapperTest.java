@@ -97,6 +97,17 @@ class ClientMapperTest {
         assertEquals("https://www.google.com", referer);
     }
 
+    @ParameterizedTest
+    @DisplayName("referer host 파싱")
+    @CsvSource(value = {
+            "https://www.Google.com/search?q=whitebox, www.google.com",
+            "'', (direct)",
+            "not a url, unknown"
+    })
+    void parseRefererHost(String referer, String expected) {
+        assertEquals(expected, ClientMapper.parseRefererHost(referer));
+    }
+
     @Test
     @DisplayName("인증 헤더 파싱")
     void parseAuthorization() {
@@ -0,0 +1,106 @@
+package io.andy.shorten_url.util;
+
+import io.andy.shorten_url.exception.client.UnauthorizedException;
+import io.andy.shorten_url.util.mapper.ClientInfo;
+import io.andy.shorten_url.util.mapper.RequestClientInfo;
+import io.andy.shorten_url.util.useragent.DeviceClass;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class RequestClientInfoTest {
+    MockHttpServletRequest request;
+
+    @BeforeEach
+    void init() {
+        request = new MockHttpServletRequest();
+    }
+
+    @Test
+    @DisplayName("같은 요청에서는 하나의 접속 정보 객체 공유")
+    void sharePerRequest() {
+        assertSame(RequestClientInfo.from(request), RequestClientInfo.from(request));
+        assertNotSame(RequestClientInfo.from(request), RequestClientInfo.from(new MockHttpServletRequest()));
+    }
+
+    @Test
+    @DisplayName("각 값은 처음 조회할 때 한 번만 파싱")
+    void parseOnce() {
+        // given
+        HttpServletRequest mockRequest = mock(HttpServletRequest.class);
+        when(mockRequest.getHeader("X-Forwarded-For")).thenReturn("127.0.0.1, 10.0.0.1");
+        RequestClientInfo clientInfo = RequestClientInfo.from(mockRequest);
+
+        // when
+        String first = clientInfo.ipAddress();
+        String second = clientInfo.ipAddress();
+        String token = clientInfo.token();
+        clientInfo.token();
+
+        // then
+        assertEquals("127.0.0.1", first);
+        assertEquals(first, second);
+        assertNull(token);
+        verify(mockRequest, times(1)).getHeader("X-Forwarded-For");
+        verify(mockRequest, times(1)).getHeader("Authorization");
+    }
+
+    @Test
+    @DisplayName("user-agent, referer host 파싱")
+    void parseUserAgentAndRefererHost() {
+        // given
+        request.addHeader("User-Agent", "Mozilla/5.0 (Android 13; SM-F711N; Mobile; rv:117.0) Gecko/117.0 Firefox/117.0");
+        request.addHeader("Referer", "https://m.Search.naver.com/search?q=whitebox");
+        RequestClientInfo clientInfo = RequestClientInfo.from(request);
+
+        // then
+        assertEquals("Android Firefox", clientInfo.userAgent());
+        assertEquals(DeviceClass.MOBILE, clientInfo.userAgentInfo().deviceClass());
+        assertEquals("m.search.naver.com", clientInfo.refererHost());
+    }
+
+    @Test
+    @DisplayName("잘못된 referer 는 예외 없이 unknown")
+    void malformedReferer() {
+        request.addHeader("Referer", "http://exa mple.com/%%");
+
+        RequestClientInfo clientInfo = RequestClientInfo.from(request);
+
+        assertEquals("http://exa mple.com/%%", clientInfo.referer());
+        assertEquals("unknown", assertDoesNotThrow(clientInfo::refererHost));
+    }
+
+    @Test
+    @DisplayName("토큰이 없으면 인증 예외")
+    void requireAuthToken() {
+        RequestClientInfo clientInfo = RequestClientInfo.from(request);
+
+        assertThrows(UnauthorizedException.class, clientInfo::authToken);
+    }
+
+    @Test
+    @DisplayName("전체 접속 정보 map 변환")
+    void toMap() {
+        // given
+        request.addHeader("X-Forwarded-For", "127.0.0.1");
+        request.addHeader("Authorization", "Bearer token");
+
+        // when
+        Map<ClientInfo, String> accessInfo = RequestClientInfo.from(request).toMap();
+
+        // then
+        assertEquals(ClientInfo.values().length, accessInfo.size());
+        assertEquals("127.0.0.1", accessInfo.get(ClientInfo.IP_ADDRESS));
+        assertEquals("token", accessInfo.get(ClientInfo.TOKEN));
+    }
+}
@@ -0,0 +1,95 @@
+package io.andy.shorten_url.util.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ReplicaRoutingDataSourceTest {
+    private ReplicaRoutingDataSource routingDataSource;
+
+    @BeforeEach
+    void init() {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-0", mock(DataSource.class));
+        replicas.put("replica-1", mock(DataSource.class));
+        routingDataSource = new ReplicaRoutingDataSource(mock(DataSource.class), replicas, 5);
+    }
+
+    @AfterEach
+    void clear() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    @DisplayName("읽기 전용 트랜잭션이 아니면 primary")
+    void routeWritesToPrimary() {
+        assertEquals(ReplicaRoutingDataSource.PRIMARY, routingDataSource.determineCurrentLookupKey());
+    }
+
+    @Test
+    @DisplayName("읽기 전용 트랜잭션은 replica 사이에서 round-robin")
+    void routeReadsToReplicas() {
+        // given
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // when
+        List<Object> keys = IntStream.range(0, 4).mapToObj(i -> routingDataSource.determineCurrentLookupKey()).toList();
+
+        // then
+        assertEquals(List.of("replica-0", "replica-1", "replica-0", "replica-1"), keys);
+    }
+
+    @Test
+    @DisplayName("지연이 큰 replica 는 제외, 모두 제외되면 primary")
+    void fallbackToPrimaryWhenLagging() {
+        // given
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // when
+        routingDataSource.updateLag("replica-0", 30L);
+        routingDataSource.updateLag("replica-1", 1L);
+        List<Object> keys = IntStream.range(0, 3).mapToObj(i -> routingDataSource.determineCurrentLookupKey()).toList();
+        routingDataSource.updateLag("replica-1", null);
+
+        // then
+        assertEquals(List.of("replica-1", "replica-1", "replica-1"), keys);
+        assertEquals(ReplicaRoutingDataSource.PRIMARY, routingDataSource.determineCurrentLookupKey());
+        assertEquals(-1, routingDataSource.lagSeconds("replica-1"));
+
+        // 지연이 회복되면 다시 포함
+        routingDataSource.updateLag("replica-0", 0L);
+        assertEquals("replica-0", routingDataSource.determineCurrentLookupKey());
+    }
+
+    @Test
+    @DisplayName("replica status 의 지연 시간 파싱, 복제가 멈추면 null")
+    void queryLag() {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+
+        when(jdbcTemplate.queryForList("SHOW REPLICA STATUS")).thenReturn(List.of(Map.of("Seconds_Behind_Source", 3L)));
+        assertEquals(3L, ReplicaLagMonitor.queryLag(jdbcTemplate));
+
+        Map<String, Object> stopped = new LinkedHashMap<>();
+        stopped.put("Seconds_Behind_Source", null);
+        when(jdbcTemplate.queryForList("SHOW REPLICA STATUS")).thenReturn(List.of(stopped));
+        assertNull(ReplicaLagMonitor.queryLag(jdbcTemplate));
+
+        // MySQL 8.0.22 미만
+        when(jdbcTemplate.queryForList("SHOW REPLICA STATUS")).thenThrow(new RuntimeException("syntax error"));
+        when(jdbcTemplate.queryForList("SHOW SLAVE STATUS")).thenReturn(List.of(Map.of("Seconds_Behind_Master", 7L)));
+        assertEquals(7L, ReplicaLagMonitor.queryLag(jdbcTemplate));
+    }
+}
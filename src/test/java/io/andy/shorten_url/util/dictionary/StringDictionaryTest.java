@@ -0,0 +1,52 @@
+package io.andy.shorten_url.util.dictionary;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StringDictionaryTest {
+
+    @Test
+    @DisplayName("한 번 등록된 값은 loader 를 다시 호출하지 않음")
+    void encodeOnce() {
+        StringDictionary dictionary = new StringDictionary(10);
+        AtomicInteger loadCount = new AtomicInteger();
+
+        int first = dictionary.encode("Mac Safari", value -> {
+            loadCount.incrementAndGet();
+            return 7;
+        });
+        int second = dictionary.encode("Mac Safari", value -> {
+            loadCount.incrementAndGet();
+            return 8;
+        });
+
+        assertEquals(7, first);
+        assertEquals(7, second);
+        assertEquals(1, loadCount.get());
+    }
+
+    @Test
+    @DisplayName("등록된 id 는 원래 값으로 복원")
+    void decode() {
+        StringDictionary dictionary = new StringDictionary(10);
+        dictionary.encode("Windows Edge", value -> 3);
+
+        assertEquals("Windows Edge", dictionary.decode(3, id -> "never.loaded"));
+        assertEquals("Android Firefox", dictionary.decode(4, id -> "Android Firefox"));
+    }
+
+    @Test
+    @DisplayName("maxSize 이상은 캐싱하지 않음")
+    void boundedByMaxSize() {
+        StringDictionary dictionary = new StringDictionary(1);
+        dictionary.encode("Mac Safari", value -> 1);
+        dictionary.encode("Windows Edge", value -> 2);
+
+        assertEquals(1, dictionary.size());
+        assertEquals(2, dictionary.encode("Windows Edge", value -> 2));
+    }
+}
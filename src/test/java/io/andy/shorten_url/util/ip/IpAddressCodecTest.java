@@ -0,0 +1,58 @@
+package io.andy.shorten_url.util.ip;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IpAddressCodecTest {
+
+    @Test
+    @DisplayName("IPv4 는 4 byte 로 변환")
+    void encodeIpv4() {
+        byte[] encoded = IpAddressCodec.encode("192.168.0.1");
+
+        assertEquals(4, encoded.length);
+        assertEquals("192.168.0.1", IpAddressCodec.decode(encoded));
+    }
+
+    @Test
+    @DisplayName("IPv6 는 16 byte 로 변환")
+    void encodeIpv6() {
+        byte[] encoded = IpAddressCodec.encode("2001:db8::1");
+
+        assertEquals(16, encoded.length);
+        assertEquals("2001:db8:0:0:0:0:0:1", IpAddressCodec.decode(encoded));
+    }
+
+    @Test
+    @DisplayName("IPv6 축약, IPv4 표기, zone id 를 DNS 조회 없이 변환")
+    void encodeIpv6Notations() {
+        assertEquals("0:0:0:0:0:0:0:1", IpAddressCodec.decode(IpAddressCodec.encode("::1")));
+        assertEquals("0:0:0:0:0:0:0:0", IpAddressCodec.decode(IpAddressCodec.encode("::")));
+        assertEquals("fe80:0:0:0:0:0:0:1", IpAddressCodec.decode(IpAddressCodec.encode("fe80::1%eth0")));
+        assertEquals("2001:db8:0:0:0:0:0:1", IpAddressCodec.decode(IpAddressCodec.encode("[2001:DB8::1]")));
+        assertEquals("64:ff9b:0:0:0:0:c000:201", IpAddressCodec.decode(IpAddressCodec.encode("64:ff9b::192.0.2.1")));
+        assertEquals("1:2:3:4:5:6:7:8", IpAddressCodec.decode(IpAddressCodec.encode("1:2:3:4:5:6:7:8")));
+    }
+
+    @Test
+    @DisplayName("IPv4-mapped IPv6 는 IPv4 로 저장")
+    void encodeIpv4Mapped() {
+        byte[] encoded = IpAddressCodec.encode("::ffff:192.168.0.1");
+
+        assertEquals(4, encoded.length);
+        assertEquals("192.168.0.1", IpAddressCodec.decode(encoded));
+    }
+
+    @ParameterizedTest
+    @DisplayName("IP 형식이 아니면 null 반환")
+    @ValueSource(strings = {"", "localhost", "github.com", "256.0.0.1", "1.2.3", "1.2.3.+4",
+            "foo:bar", "github.com:443", "1::2::3", ":::", "1:2:3:4:5:6:7", "1:2:3:4:5:6:7:8:9", "1:2:3:4:5:6:7::8",
+            "12345::1", "::1.2.3", "1.2.3.4::", "fe80::1%", "::ffff:256.0.0.1"})
+    void encodeInvalid(String ip) {
+        assertNull(IpAddressCodec.encode(ip));
+    }
+}
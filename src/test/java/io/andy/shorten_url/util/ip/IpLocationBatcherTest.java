@@ -0,0 +1,243 @@
+package io.andy.shorten_url.util.ip;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+
+import io.andy.shorten_url.exception.server.LocationUtilException;
+import io.andy.shorten_url.util.ratelimit.TokenBucket;
+import io.andy.shorten_url.util.resilience.CircuitBreaker;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import reactor.core.Disposable;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IpLocationBatcherTest {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+    private HttpServer server;
+    private IpLocationBatcher batcher;
+
+    // ip-api batch endpoint stub ("10." 대역은 실패 응답)
+    @BeforeEach
+    void init() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/batch", exchange -> {
+            String[] ips = objectMapper.readValue(exchange.getRequestBody(), String[].class);
+            batchSizes.add(ips.length);
+            List<Map<String, Object>> results = new ArrayList<>();
+            for (String ip : ips) {
+                results.add(ip.startsWith("10.")
+                        ? Map.of("query", ip, "status", "fail", "message", "private range")
+                        : Map.of("query", ip, "status", "success", "country", "South Korea", "countryCode", "KR", "lat", 37.5));
+            }
+            byte[] body = objectMapper.writeValueAsBytes(results);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+        String url = "http://127.0.0.1:" + server.getAddress().getPort() + "/batch";
+        batcher = new IpLocationBatcher(url, 50, 3000, 1000, new TokenBucket(100, 100));
+    }
+
+    @AfterEach
+    void close() {
+        batcher.shutdown();
+        server.stop(0);
+    }
+
+    @Test
+    @DisplayName("동시에 들어온 조회를 최대 100개씩 묶어서 요청")
+    void resolveInBatches() throws Exception {
+        // given
+        List<CompletableFuture<IpApiResponse>> futures = new ArrayList<>();
+
+        // when
+        for (int i = 0; i < 150; i++) {
+            futures.add(batcher.resolve("1.1." + (i / 256) + "." + (i % 256)));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+
+        // then
+        assertEquals("1.1.0.7", futures.get(7).get().query());
+        assertEquals("KR", futures.get(7).get().countryCode());
+        assertEquals(150, batchSizes.stream().mapToInt(Integer::intValue).sum());
+        assertTrue(batchSizes.stream().allMatch(size -> size <= IpLocationBatcher.MAX_BATCH_SIZE));
+        assertTrue(batchSizes.size() < 150);
+    }
+
+    @Test
+    @DisplayName("같은 IP 동시 조회는 한 번만 요청")
+    void coalesceSameIp() throws Exception {
+        // when
+        CompletableFuture<IpApiResponse> first = batcher.resolve("1.1.1.1");
+        CompletableFuture<IpApiResponse> second = batcher.resolve("1.1.1.1");
+
+        // then
+        assertSame(first, second);
+        assertEquals("1.1.1.1", first.get(5, TimeUnit.SECONDS).query());
+        assertEquals(List.of(1), batchSizes);
+    }
+
+    @Test
+    @DisplayName("조회 실패한 IP 는 fail 응답으로 완료")
+    void completeFailedIp() throws Exception {
+        // when
+        CompletableFuture<IpApiResponse> success = batcher.resolve("1.1.1.1");
+        CompletableFuture<IpApiResponse> failure = batcher.resolve("10.0.0.1");
+
+        // then
+        assertEquals("success", success.get(5, TimeUnit.SECONDS).status());
+        assertEquals("fail", failure.get(5, TimeUnit.SECONDS).status());
+    }
+
+    @Test
+    @DisplayName("provider 오류 시 batch 전체를 예외로 완료")
+    void failBatchOnServerError() {
+        // given
+        server.removeContext("/batch");
+        server.createContext("/batch", exchange -> {
+            exchange.sendResponseHeaders(503, -1);
+            exchange.close();
+        });
+
+        // when
+        CompletableFuture<IpApiResponse> future = batcher.resolve("1.1.1.1");
+
+        // then
+        ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(LocationUtilException.class, e.getCause());
+    }
+
+    @Test
+    @DisplayName("rate limit token 을 기다리는 동안 쌓인 조회를 한 batch 로 요청")
+    void collectWhileWaitingForToken() throws Exception {
+        // given
+        batcher.shutdown();
+        String url = "http://127.0.0.1:" + server.getAddress().getPort() + "/batch";
+        batcher = new IpLocationBatcher(url, 50, 3000, 1000, new TokenBucket(1, 1));
+        batcher.resolve("1.1.1.1").get(5, TimeUnit.SECONDS);
+
+        // when
+        List<CompletableFuture<IpApiResponse>> futures = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            futures.add(batcher.resolve("2.2.2." + i));
+            Thread.sleep(100);
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+
+        // then
+        assertEquals(List.of(1, 4), batchSizes);
+    }
+
+    @Test
+    @DisplayName("batch 조회 결과로 위치 조회")
+    void getLocationByIpInBatch() {
+        // given
+        IpLocationUtils ipLocationUtils = new IpLocationUtils("http://127.0.0.1", batcher, new SimpleMeterRegistry(),
+                1000, 1000, 5000, 8, 5, 30000);
+
+        // when
+        IpApiResponse response = ipLocationUtils.getLocationByIp("8.8.8.8");
+
+        // then
+        assertEquals("8.8.8.8", response.query());
+    }
+
+    @Test
+    @DisplayName("batch POST 가 연속 실패하면 circuit 을 열고 이후 batch 는 요청 없이 실패")
+    void openCircuitPerBatch() throws Exception {
+        // given
+        AtomicInteger requests = new AtomicInteger();
+        server.removeContext("/batch");
+        server.createContext("/batch", exchange -> {
+            requests.incrementAndGet();
+            exchange.sendResponseHeaders(503, -1);
+            exchange.close();
+        });
+        batcher.shutdown();
+        String url = "http://127.0.0.1:" + server.getAddress().getPort() + "/batch";
+        batcher = new IpLocationBatcher(url, 50, 3000, 1000, new TokenBucket(100, 100), 2, new CircuitBreaker(1, 60_000));
+
+        // when
+        CompletableFuture<IpApiResponse> first = batcher.resolve("1.1.1.1");
+        ExecutionException failed = assertThrows(ExecutionException.class, () -> first.get(5, TimeUnit.SECONDS));
+        CompletableFuture<IpApiResponse> second = batcher.resolve("1.1.1.2");
+        ExecutionException shortCircuited = assertThrows(ExecutionException.class, () -> second.get(5, TimeUnit.SECONDS));
+
+        // then
+        assertInstanceOf(LocationUtilException.class, failed.getCause());
+        assertEquals("IP LOCATION CIRCUIT IS OPEN", shortCircuited.getCause().getMessage());
+        assertEquals(1, requests.get());
+        assertEquals(CircuitBreaker.State.OPEN, batcher.circuitState());
+        assertEquals(2, batcher.availableCalls());
+    }
+
+    @Test
+    @DisplayName("한 호출자가 구독을 취소해도 같은 IP 를 기다리는 future 는 취소되지 않음")
+    void cancelDoesNotCancelSharedFuture() throws Exception {
+        // given
+        IpLocationUtils ipLocationUtils = new IpLocationUtils("http://127.0.0.1", batcher, new SimpleMeterRegistry(),
+                1000, 1000, 5000, 8, 5, 30000);
+        CompletableFuture<IpApiResponse> waiting = batcher.resolve("8.8.8.8");
+
+        // when
+        Disposable cancelled = ipLocationUtils.findLocationByIp("8.8.8.8").subscribe();
+        cancelled.dispose();
+
+        // then
+        assertEquals("8.8.8.8", waiting.get(5, TimeUnit.SECONDS).query());
+        assertFalse(waiting.isCancelled());
+        assertEquals(CircuitBreaker.State.CLOSED, ipLocationUtils.circuitState());
+    }
+
+    @Test
+    @DisplayName("batch 조회도 호출자 bulkhead 가 가득 차면 기다리지 않고 unknown")
+    void rejectCallerWhenBulkheadFull() throws Exception {
+        // given
+        server.removeContext("/batch");
+        server.createContext("/batch", exchange -> {
+            try {
+                Thread.sleep(1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(503, -1);
+            exchange.close();
+        });
+        IpLocationUtils ipLocationUtils = new IpLocationUtils("http://127.0.0.1", batcher, new SimpleMeterRegistry(),
+                1000, 1000, 5000, 1, 5, 30000);
+        Disposable waiting = ipLocationUtils.findLocationByIp("1.1.1.1").subscribe();
+
+        // when
+        long startedAt = System.nanoTime();
+        IpApiResponse response = ipLocationUtils.getLocationByIp("1.1.1.2");
+
+        // then
+        assertEquals(IpApiResponse.UNKNOWN, response.status());
+        assertTrue(System.nanoTime() - startedAt < TimeUnit.MILLISECONDS.toNanos(500));
+        assertEquals(0, ipLocationUtils.availableCalls());
+        waiting.dispose();
+    }
+}
@@ -1,8 +1,19 @@
 package io.andy.shorten_url.util.ip;
 
+import com.sun.net.httpserver.HttpServer;
+
+import io.andy.shorten_url.util.resilience.CircuitBreaker;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class IpLocationUtilsTest {
@@ -19,4 +30,67 @@ class IpLocationUtilsTest {
         assertEquals("success", response.status());
         assertEquals(ip, response.query());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("응답 지연 시 unknown 으로 대체하고, 연속 실패하면 호출 중단")
+    void degradeOnSlowProvider() throws IOException {
+        // given
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            try {
+                Thread.sleep(500);
+            } catch (InterruptedException ignored) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.close();
+        });
+        server.start();
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        IpLocationUtils ipLocationUtils = new IpLocationUtils("http://127.0.0.1:" + server.getAddress().getPort(), null,
+                meterRegistry, 100, 100, 0, 4, 2, 60_000);
+
+        try {
+            // when
+            for (int i = 0; i < 4; i++) {
+                IpApiResponse response = ipLocationUtils.getLocationByIp("1.1.1.1");
+                assertEquals(IpApiResponse.UNKNOWN, response.status());
+            }
+
+            // then
+            assertEquals(CircuitBreaker.State.OPEN, ipLocationUtils.circuitState());
+            assertEquals(2.0, meterRegistry.get("ip.location.lookup.skipped").tag("reason", "circuit_open").counter().count());
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    @DisplayName("응답을 IpApiResponse 로 바로 변환")
+    void decodeResponse() throws IOException {
+        // given
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            byte[] body = "{\"query\":\"1.1.1.1\",\"status\":\"success\",\"countryCode\":\"AU\",\"lat\":-33.8,\"mobile\":false}"
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json; charset=utf-8");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+        IpLocationUtils ipLocationUtils = new IpLocationUtils("http://127.0.0.1:" + server.getAddress().getPort(), null,
+                new SimpleMeterRegistry(), 1000, 1000, 0, 4, 2, 60_000);
+
+        try {
+            // when
+            IpApiResponse response = ipLocationUtils.getLocationByIp("1.1.1.1");
+
+            // then
+            assertEquals("AU", response.countryCode());
+            assertEquals("-33.8", response.lat());
+        } finally {
+            server.stop(0);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package io.andy.shorten_url.util.ratelimit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketTest {
+    private final AtomicLong now = new AtomicLong();
+
+    @Test
+    @DisplayName("capacity 만큼 사용 후에는 token 이 채워질 때까지 거절")
+    void consumeUntilEmpty() {
+        // given
+        TokenBucket bucket = new TokenBucket(2, 1.0, now::get);
+
+        // when & then
+        assertTrue(bucket.tryAcquire());
+        assertTrue(bucket.tryAcquire());
+        assertFalse(bucket.tryAcquire());
+        assertEquals(TimeUnit.SECONDS.toNanos(1), bucket.nanosUntilAvailable());
+    }
+
+    @Test
+    @DisplayName("경과 시간만큼 채우되 capacity 를 넘지 않음")
+    void refill() {
+        // given
+        TokenBucket bucket = new TokenBucket(2, 1.0, now::get);
+        bucket.tryAcquire();
+        bucket.tryAcquire();
+
+        // when
+        now.addAndGet(TimeUnit.SECONDS.toNanos(10));
+
+        // then
+        assertTrue(bucket.tryAcquire());
+        assertTrue(bucket.tryAcquire());
+        assertFalse(bucket.tryAcquire());
+    }
+}
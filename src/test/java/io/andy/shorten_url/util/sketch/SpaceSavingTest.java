@@ -0,0 +1,150 @@
+package io.andy.shorten_url.util.sketch;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpaceSavingTest {
+
+    @Test
+    @DisplayName("빈도가 높은 항목을 상위로 반환")
+    void top() {
+        SpaceSaving<String> summary = new SpaceSaving<>(3);
+        for (int i = 0; i < 100; i++) {
+            summary.offer("hot");
+        }
+        for (int i = 0; i < 50; i++) {
+            summary.offer("warm");
+        }
+        for (int i = 0; i < 10; i++) {
+            summary.offer("cold-" + i);
+        }
+
+        List<SpaceSaving.Counter<String>> top = summary.top(2);
+
+        assertEquals(2, top.size());
+        assertEquals("hot", top.get(0).item());
+        assertEquals(100, top.get(0).count());
+        assertEquals("warm", top.get(1).item());
+    }
+
+    @Test
+    @DisplayName("capacity 이상의 항목은 유지하지 않음")
+    void boundedByCapacity() {
+        SpaceSaving<String> summary = new SpaceSaving<>(4);
+        for (int i = 0; i < 1000; i++) {
+            summary.offer("item-" + i);
+        }
+
+        assertEquals(4, summary.size());
+    }
+
+    @Test
+    @DisplayName("교체된 항목의 추정치는 실제값 이상")
+    void overestimateWithError() {
+        SpaceSaving<String> summary = new SpaceSaving<>(1);
+        summary.offer("a", 5);
+        summary.offer("b");
+
+        SpaceSaving.Counter<String> counter = summary.top(1).get(0);
+
+        assertEquals("b", counter.item());
+        assertEquals(6, counter.count());
+        assertEquals(5, counter.error());
+    }
+
+    @Test
+    @DisplayName("다른 요약과 합치면 항목별 count 를 더함")
+    void merge() {
+        SpaceSaving<String> node1 = new SpaceSaving<>(3);
+        node1.offer("google", 10);
+        node1.offer("naver", 3);
+        SpaceSaving<String> node2 = new SpaceSaving<>(3);
+        node2.offer("google", 5);
+        node2.offer("github", 7);
+
+        node1.merge(node2);
+
+        assertEquals(15, node1.estimate("google"));
+        assertEquals(7, node1.estimate("github"));
+        assertEquals("google", node1.top(1).get(0).item());
+    }
+
+    @Test
+    @DisplayName("가득 찬 요약끼리 합치면 한쪽에만 있는 항목에 다른 쪽 최소 count 를 더해 실제값 이상으로 추정")
+    void mergeFullSummaries() {
+        // given
+        // node1 실제값: a=10, b=5(교체됨), c=3 / node2 실제값: a=1(교체됨), b=6, d=9
+        SpaceSaving<String> node1 = new SpaceSaving<>(2);
+        node1.offer("a", 10);
+        node1.offer("b", 5);
+        node1.offer("c", 3);
+        SpaceSaving<String> node2 = new SpaceSaving<>(2);
+        node2.offer("a", 1);
+        node2.offer("b", 6);
+        node2.offer("d", 9);
+        long node1Min = node1.top(2).get(1).count();
+        long node2Min = node2.top(2).get(1).count();
+        long node2D = node2.estimate("d");
+
+        // when
+        node1.merge(node2);
+
+        // then
+        assertEquals(2, node1.size());
+        List<SpaceSaving.Counter<String>> top = node1.top(2);
+        assertEquals(List.of("d", "a"), top.stream().map(SpaceSaving.Counter::item).toList());
+        // 실제 합계 a=11, d=9 이상이며, 초과분은 error 이하
+        SpaceSaving.Counter<String> d = top.get(0);
+        SpaceSaving.Counter<String> a = top.get(1);
+        assertEquals(10 + node2Min, a.count());
+        assertEquals(node2Min, a.error());
+        assertEquals(node2D + node1Min, d.count());
+        assertTrue(a.count() >= 11 && a.count() - a.error() <= 11);
+        assertTrue(d.count() >= 9 && d.count() - d.error() <= 9);
+    }
+
+    @Test
+    @DisplayName("합치는 순서와 관계없이 같은 추정치")
+    void mergeIsSymmetric() {
+        // given
+        SpaceSaving<String> left = new SpaceSaving<>(3);
+        SpaceSaving<String> right = new SpaceSaving<>(3);
+        for (int i = 0; i < 20; i++) {
+            left.offer("item-" + (i % 5), i);
+            right.offer("item-" + (i % 7), i);
+        }
+        SpaceSaving<String> leftFirst = new SpaceSaving<>(3);
+        leftFirst.merge(left);
+        leftFirst.merge(right);
+        SpaceSaving<String> rightFirst = new SpaceSaving<>(3);
+        rightFirst.merge(right);
+        rightFirst.merge(left);
+
+        // then
+        for (SpaceSaving.Counter<String> counter : leftFirst.top(3)) {
+            assertEquals(counter.count(), rightFirst.estimate(counter.item()));
+        }
+    }
+
+    @Test
+    @DisplayName("저장된 counter 목록으로 요약 복원")
+    void restore() {
+        SpaceSaving<String> summary = new SpaceSaving<>(2);
+        summary.offer("google", 10);
+        summary.offer("naver", 3);
+
+        SpaceSaving<String> restored = SpaceSaving.of(2, summary.top(2));
+
+        assertEquals(summary.top(2), restored.top(2));
+    }
+
+    @Test
+    @DisplayName("capacity 는 0보다 커야함")
+    void throwIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new SpaceSaving<String>(0));
+    }
+}
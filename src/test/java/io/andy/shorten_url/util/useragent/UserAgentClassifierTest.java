@@ -0,0 +1,93 @@
+package io.andy.shorten_url.util.useragent;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserAgentClassifierTest {
+    private UserAgentClassifier classifier;
+
+    @BeforeEach
+    void init() {
+        classifier = new UserAgentClassifier(2);
+    }
+
+    @ParameterizedTest
+    @DisplayName("OS, 브라우저, 버전, 기기 종류 분류")
+    @CsvSource(delimiter = '|', value = {
+            "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/110.0.5481.100 Safari/537.36 Edg/110.0.1587.57|Windows Edge|110|DESKTOP",
+            "Mozilla/5.0 (iPhone; CPU iPhone OS 17_0 like Mac OS X) AppleWebKit/605.1.15 (KHTML, like Gecko) Version/17.0 Mobile/15E148 Safari/604.1|ios Safari|17|MOBILE",
+            "Mozilla/5.0 (Linux; Android 13; SM-X700) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/116.0.0.0 Safari/537.36|Android Chrome|116|TABLET",
+            "Mozilla/5.0 (Linux; Android 13; SM-S918N) AppleWebKit/537.36 (KHTML, like Gecko) SamsungBrowser/22.0 Chrome/111.0.5563.116 Mobile Safari/537.36|Android Samsung|22|MOBILE",
+            "Mozilla/5.0 (X11; CrOS x86_64 14541.0.0) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/118.0.0.0 Safari/537.36|ChromeOS Chrome|118|DESKTOP",
+            "Mozilla/5.0 (X11; Ubuntu; Linux x86_64; rv:109.0) Gecko/20100101 Firefox/119.0|Linux Firefox|119|DESKTOP"
+    })
+    void classify(String userAgent, String label, String version, DeviceClass deviceClass) {
+        UserAgentInfo info = classifier.classify(userAgent);
+
+        assertEquals(label, info.label());
+        assertEquals(version, info.browserVersion());
+        assertEquals(deviceClass, info.deviceClass());
+        assertFalse(info.bot());
+    }
+
+    @ParameterizedTest
+    @DisplayName("bot, 자동화 도구 분류")
+    @CsvSource(delimiter = '|', value = {
+            "Mozilla/5.0 (compatible; Googlebot/2.1; +http://www.google.com/bot.html)|Bot Googlebot",
+            "Mozilla/5.0 (compatible; Yeti/1.1; +https://naver.me/spd)|Bot Yeti",
+            "curl/8.4.0|Bot curl",
+            "PostmanRuntime/7.36.0|'Postman '",
+            "Mozilla/5.0 (compatible; SomeCrawler/1.0)|Bot Bot"
+    })
+    void classifyBot(String userAgent, String label) {
+        UserAgentInfo info = classifier.classify(userAgent);
+
+        assertEquals(label, info.label());
+        assertEquals(DeviceClass.BOT, info.deviceClass());
+        assertTrue(info.bot());
+    }
+
+    @Test
+    @DisplayName("빈 user-agent 는 unknown")
+    void classifyBlank() {
+        assertSame(UserAgentInfo.UNKNOWN, classifier.classify(null));
+        assertSame(UserAgentInfo.UNKNOWN, classifier.classify(" "));
+    }
+
+    @Test
+    @DisplayName("결과 캐시는 최대 크기까지만 저장")
+    void boundedCache() {
+        // when
+        UserAgentInfo first = classifier.classify("curl/8.4.0");
+        UserAgentInfo second = classifier.classify("curl/8.4.0");
+        classifier.classify("Wget/1.21");
+        classifier.classify("okhttp/4.12.0");
+
+        // then
+        assertSame(first, second);
+        assertEquals(2, classifier.cacheSize());
+    }
+
+    @Test
+    @DisplayName("가득 차면 최근에 조회되지 않은 항목을 제거하고 새 항목을 저장")
+    void evictNotRecentlyUsed() {
+        // given
+        classifier.classify("curl/8.4.0");
+        classifier.classify("Wget/1.21");
+        classifier.classify("curl/8.4.0");
+
+        // when
+        classifier.classify("okhttp/4.12.0");
+
+        // then
+        assertEquals(2, classifier.cacheSize());
+        assertTrue(classifier.isCached("curl/8.4.0"));
+        assertTrue(classifier.isCached("okhttp/4.12.0"));
+        assertFalse(classifier.isCached("Wget/1.21"));
+    }
+}